@@ -0,0 +1,108 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.dto.deepfake.FlaskResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flask 결과 이미지(1MB) 한 건의 응답 형식 비교: base64 JSON vs multipart/mixed(원본 바이트).
+ * 요청당 CPU = Flask 쪽 본문 만들기(base64 인코딩 포함) + Spring 쪽 읽기(디코딩, 임시 파일 쓰기).
+ * 전송 바이트 수는 trial 끝에 출력한다 (JSON 은 이미지의 약 4/3).
+ *
+ * ./gradlew jmh -PjmhIncludes=FlaskResponseFormatBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlaskResponseFormatBenchmark {
+
+    private static final String FIELD = "most_suspect_image";
+    private static final String METADATA = "{\"taskId\":\"bench\",\"result\":\"FAKE\",\"score_weighted\":0.87}";
+    private static final String BOUNDARY = "bench-boundary";
+    // reactor-netty 가 넘겨주는 청크 크기와 비슷하게
+    private static final int CHUNK = 64 * 1024;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] image;
+    private long jsonWireBytes;
+    private long multipartWireBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        image = new byte[1024 * 1024];
+        new Random(18).nextBytes(image);
+        jsonWireBytes = jsonBody().length;
+        multipartWireBytes = multipartBody().length;
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        System.out.printf("%nwire bytes/request - json: %d, multipart: %d (%.1f%%)%n",
+                jsonWireBytes, multipartWireBytes, multipartWireBytes * 100.0 / jsonWireBytes);
+    }
+
+    @Benchmark
+    public long jsonBase64() {
+        try (FlaskBinaryResponse<FlaskResponseDTO> response = FlaskClient
+                .extractBinaries(chunks(jsonBody()), FlaskResponseDTO.class, Set.of(FIELD)).block()) {
+            return response.binary(FIELD).orElseThrow().getSize();
+        }
+    }
+
+    @Benchmark
+    public long multipartMixed() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("multipart/mixed; boundary=" + BOUNDARY));
+        try (FlaskBinaryResponse<FlaskResponseDTO> response = FlaskMultipartResponseReader
+                .read(headers, chunks(multipartBody()), FlaskResponseDTO.class, Set.of(FIELD), 1024 * 1024, objectMapper)
+                .block()) {
+            return response.binary(FIELD).orElseThrow().getSize();
+        }
+    }
+
+    private byte[] jsonBody() {
+        String json = METADATA.substring(0, METADATA.length() - 1)
+                + ",\"" + FIELD + "\":\"data:image/jpeg;base64," + Base64.getEncoder().encodeToString(image) + "\"}";
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] multipartBody() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(image.length + 512);
+        out.writeBytes(("--" + BOUNDARY + "\r\nContent-Type: application/json\r\n"
+                + "Content-Disposition: form-data; name=\"metadata\"\r\n\r\n" + METADATA + "\r\n"
+                + "--" + BOUNDARY + "\r\nContent-Type: image/jpeg\r\n"
+                + "Content-Disposition: form-data; name=\"" + FIELD + "\"; filename=\"" + FIELD + ".jpg\"\r\n\r\n")
+                .getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(image);
+        out.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+    private static Flux<DataBuffer> chunks(byte[] body) {
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int off = 0; off < body.length; off += CHUNK) {
+            int len = Math.min(CHUNK, body.length - off);
+            byte[] chunk = new byte[len];
+            System.arraycopy(body, off, chunk, 0, len);
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+        }
+        return Flux.fromIterable(buffers);
+    }
+}
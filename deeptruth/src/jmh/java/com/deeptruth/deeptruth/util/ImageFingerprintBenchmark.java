@@ -0,0 +1,60 @@
+package com.deeptruth.deeptruth.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 3회 호출(sha256 → pHash → normalizeToPng+sha256, 디코딩 2회)과
+ * ImageFingerprint(디코딩 1회)를 1/4/12MP JPEG 에서 비교한다.
+ *
+ * ./gradlew jmh -PjmhIncludes=ImageFingerprintBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageFingerprintBenchmark {
+
+    @Param({"1", "4", "12"})
+    public int megapixels;
+
+    private byte[] jpeg;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // 4:3 비율로 megapixels 에 맞춘 해상도
+        int width = (int) Math.round(Math.sqrt(megapixels * 1_000_000 * 4.0 / 3.0));
+        int height = megapixels * 1_000_000 / width;
+
+        Random random = new Random(7);
+        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++)
+            for (int x = 0; x < width; x++)
+                img.setRGB(x, y, ((x & 0xFF) << 16) | ((y & 0xFF) << 8) | random.nextInt(256));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(img, "jpg", out);
+        jpeg = out.toByteArray();
+    }
+
+    @Benchmark
+    public void threeCalls(Blackhole bh) {
+        bh.consume(ImageHashUtils.sha256(jpeg));
+        bh.consume(ImageHashUtils.pHash(jpeg));
+        bh.consume(ImageHashUtils.sha256(ImageNormalizer.normalizeToPng(jpeg)));
+    }
+
+    @Benchmark
+    public ImageFingerprint fingerprint() {
+        return ImageFingerprint.of(jpeg);
+    }
+}
@@ -0,0 +1,63 @@
+package com.deeptruth.deeptruth.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * pHash 의 DCT 단계 비교: 기존 32x32 전체 DCT(매 항 Math.cos) vs 코사인 테이블 + 8x8 블록만 계산.
+ * 이미지 축소(drawImage)는 두 방식이 같으므로 32x32 그레이 입력에서 DCT+해시만 측정한다.
+ *
+ * ./gradlew jmh -PjmhIncludes=PHashBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PHashBenchmark {
+
+    private BufferedImage gray;
+    private double[][] pixels;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(11);
+        gray = new BufferedImage(32, 32, BufferedImage.TYPE_BYTE_GRAY);
+        pixels = new double[32][32];
+        for (int y = 0; y < 32; y++)
+            for (int x = 0; x < 32; x++) {
+                int v = (x * 8 + y * 3 + random.nextInt(40)) & 0xFF;
+                gray.getRaster().setSample(x, y, 0, v);
+                pixels[y][x] = v;
+            }
+    }
+
+    @Benchmark
+    public double[][] naiveDct() {
+        int N = 32;
+        double[][] f = pixels;
+        double[][] F = new double[N][N];
+        double c0 = Math.sqrt(1.0 / N), c = Math.sqrt(2.0 / N);
+        for (int u = 0; u < N; u++) for (int v = 0; v < N; v++) {
+            double sum = 0.0;
+            for (int x = 0; x < N; x++) for (int y = 0; y < N; y++) {
+                sum += f[x][y] *
+                        Math.cos(((2 * x + 1) * u * Math.PI) / (2 * N)) *
+                        Math.cos(((2 * y + 1) * v * Math.PI) / (2 * N));
+            }
+            double au = (u == 0) ? c0 : c, av = (v == 0) ? c0 : c;
+            F[u][v] = au * av * sum;
+        }
+        return F;
+    }
+
+    // 32x32 입력이면 축소가 사실상 복사이므로 현재 pHash 전체 경로 비용 ≈ 테이블 DCT + 중앙값
+    @Benchmark
+    public long tablePHash() {
+        return ImageHashUtils.pHash(gray);
+    }
+}
@@ -0,0 +1,86 @@
+package com.deeptruth.deeptruth.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * pHash 최근접 탐색: 전체 스캔(SQL ORDER BY BIT_COUNT 와 같은 방식) vs multi-index hashing 인덱스,
+ * 그리고 반경 top-5 후보 검색(인덱스 vs long[] 스캔). 반경 8 은 조각 프로브 경로, 30(탐지 흐름의 임계)은
+ * 프로브가 스캔보다 비싸 스캔으로 넘어가는 경로를 잰다.
+ * nearDuplicate 는 저장된 해시에서 0~12비트를 뒤집은 질의(실제 재업로드 이미지), random 은 매칭이 없는 질의.
+ *
+ * ./gradlew jmh -PjmhIncludes=PhashIndexBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class PhashIndexBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    @Param({"nearDuplicate", "random"})
+    private String queryKind;
+
+    @Param({"8", "30"})
+    private int radius;
+
+    private PhashIndex index;
+    private long[] queries;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        index = new PhashIndex();
+        long[] stored = new long[size];
+        for (int i = 0; i < size; i++) {
+            stored[i] = random.nextLong();
+            index.put(i + 1L, stored[i]);
+        }
+        queries = new long[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            if ("random".equals(queryKind)) {
+                queries[q] = random.nextLong();
+            } else {
+                long query = stored[random.nextInt(size)];
+                for (int f = random.nextInt(13); f > 0; f--) query ^= 1L << random.nextInt(64);
+                queries[q] = query;
+            }
+        }
+    }
+
+    private long nextQuery() {
+        cursor = (cursor + 1) & (QUERIES - 1);
+        return queries[cursor];
+    }
+
+    @Benchmark
+    public Optional<PhashIndex.Match> scan() {
+        return index.nearestByScan(nextQuery());
+    }
+
+    @Benchmark
+    public Optional<PhashIndex.Match> multiIndex() {
+        return index.nearest(nextQuery());
+    }
+
+    @Benchmark
+    public List<PhashIndex.Match> radiusTopK() {
+        return index.search(nextQuery(), radius, 5);
+    }
+
+    @Benchmark
+    public List<PhashIndex.Match> radiusTopKScan() {
+        return index.searchByScan(nextQuery(), radius, 5);
+    }
+}
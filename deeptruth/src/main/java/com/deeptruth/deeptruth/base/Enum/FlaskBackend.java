@@ -0,0 +1,7 @@
+package com.deeptruth.deeptruth.base.Enum;
+
+public enum FlaskBackend {
+    DEEPFAKE,
+    WATERMARK,
+    NOISE
+}
@@ -0,0 +1,25 @@
+package com.deeptruth.deeptruth.base.Enum;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum FlaskJobClass {
+    IMAGE_DEEPFAKE(FlaskBackend.DEEPFAKE),
+    VIDEO_DEEPFAKE(FlaskBackend.DEEPFAKE),
+    WATERMARK_INSERT(FlaskBackend.WATERMARK),
+    WATERMARK_DETECTION(FlaskBackend.WATERMARK),
+    NOISE(FlaskBackend.NOISE);
+
+    private final FlaskBackend backend;
+
+    // 작업 종류를 모르는 호출이 들어갈 기본 큐
+    public static FlaskJobClass defaultFor(FlaskBackend backend) {
+        return switch (backend) {
+            case DEEPFAKE -> IMAGE_DEEPFAKE;
+            case WATERMARK -> WATERMARK_DETECTION;
+            case NOISE -> NOISE;
+        };
+    }
+}
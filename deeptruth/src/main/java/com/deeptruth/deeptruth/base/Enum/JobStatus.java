@@ -0,0 +1,8 @@
+package com.deeptruth.deeptruth.base.Enum;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,32 @@
+package com.deeptruth.deeptruth.base.dto.deepfake;
+
+import com.deeptruth.deeptruth.base.Enum.JobStatus;
+import com.deeptruth.deeptruth.entity.DeepfakeJob;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeepfakeJobDTO {
+    private String taskId;
+    private JobStatus status;
+    private Long detectionId;       // SUCCEEDED일 때만
+    private String errorMessage;    // FAILED일 때만
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static DeepfakeJobDTO fromEntity(DeepfakeJob job) {
+        return DeepfakeJobDTO.builder()
+                .taskId(job.getTaskId())
+                .status(job.getStatus())
+                .detectionId(job.getDetectionId())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
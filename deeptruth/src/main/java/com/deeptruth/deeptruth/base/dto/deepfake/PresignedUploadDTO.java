@@ -0,0 +1,17 @@
+package com.deeptruth.deeptruth.base.dto.deepfake;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Getter
+@Builder
+public class PresignedUploadDTO {
+    private String objectKey;       // 탐지 요청 때 그대로 보냄
+    private String uploadUrl;
+    private String method;
+    private Map<String, String> headers;    // PUT 할 때 반드시 같은 값으로 보내야 하는 헤더 (서명에 포함됨)
+    private Instant expiresAt;
+}
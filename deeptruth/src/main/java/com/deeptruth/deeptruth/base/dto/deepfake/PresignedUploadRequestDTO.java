@@ -0,0 +1,16 @@
+package com.deeptruth.deeptruth.base.dto.deepfake;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresignedUploadRequestDTO {
+    private String filename;
+    private String contentType;
+    private Long size;
+}
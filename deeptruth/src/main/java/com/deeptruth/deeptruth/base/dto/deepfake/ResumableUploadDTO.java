@@ -0,0 +1,25 @@
+package com.deeptruth.deeptruth.base.dto.deepfake;
+
+import com.deeptruth.deeptruth.entity.ResumableUpload;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class ResumableUploadDTO {
+    private String uploadId;
+    private Long offset;
+    private Long length;
+    private LocalDateTime expiresAt;
+
+    public static ResumableUploadDTO fromEntity(ResumableUpload upload) {
+        return ResumableUploadDTO.builder()
+                .uploadId(upload.getUploadId())
+                .offset(upload.getUploadOffset())
+                .length(upload.getUploadLength())
+                .expiresAt(upload.getExpiresAt())
+                .build();
+    }
+}
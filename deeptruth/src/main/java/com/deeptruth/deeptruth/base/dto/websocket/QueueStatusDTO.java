@@ -0,0 +1,17 @@
+package com.deeptruth.deeptruth.base.dto.websocket;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskJobClass;
+import com.deeptruth.deeptruth.base.Enum.JobStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class QueueStatusDTO {
+    private String taskId;
+    private String loginId;
+    private JobStatus status;           // 항상 QUEUED (실행이 시작되면 Flask 진행률이 이어서 옴)
+    private FlaskJobClass jobClass;
+    private int position;               // 앞에 남은 대기 작업 수
+    private long estimatedWaitSeconds;
+}
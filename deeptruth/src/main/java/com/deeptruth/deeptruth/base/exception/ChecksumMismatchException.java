@@ -0,0 +1,7 @@
+package com.deeptruth.deeptruth.base.exception;
+
+public class ChecksumMismatchException extends RuntimeException {
+    public ChecksumMismatchException(String uploadId, long offset) {
+        super("청크 체크섬이 일치하지 않습니다. 같은 위치부터 다시 보내주세요. (uploadId=" + uploadId + ", offset=" + offset + ")");
+    }
+}
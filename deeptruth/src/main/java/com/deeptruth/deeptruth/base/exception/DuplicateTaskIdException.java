@@ -0,0 +1,7 @@
+package com.deeptruth.deeptruth.base.exception;
+
+public class DuplicateTaskIdException extends RuntimeException {
+    public DuplicateTaskIdException(String taskId) {
+        super("이미 사용 중인 taskId입니다: " + taskId);
+    }
+}
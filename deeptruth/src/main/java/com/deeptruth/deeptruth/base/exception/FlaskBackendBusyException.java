@@ -0,0 +1,15 @@
+package com.deeptruth.deeptruth.base.exception;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskBackend;
+import lombok.Getter;
+
+@Getter
+public class FlaskBackendBusyException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public FlaskBackendBusyException(FlaskBackend backend, String reason, long retryAfterSeconds) {
+        super("분석 서버가 혼잡합니다. 잠시 후 다시 시도해주세요. backend=" + backend.name().toLowerCase()
+                + ", reason=" + reason);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
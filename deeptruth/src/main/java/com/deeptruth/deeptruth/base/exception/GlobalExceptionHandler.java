@@ -2,6 +2,7 @@ package com.deeptruth.deeptruth.base.exception;
 
 import com.deeptruth.deeptruth.base.dto.response.ResponseDTO;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -38,7 +39,7 @@ public class GlobalExceptionHandler {
 
     // 404 - 리소스 없음
     @ExceptionHandler({UserNotFoundException.class, DetectionNotFoundException.class, WatermarkNotFoundException.class,
-            NoiseNotFoundException.class, ArtifactNotFoundException.class})
+            NoiseNotFoundException.class, ArtifactNotFoundException.class, JobNotFoundException.class})
     public ResponseEntity<ResponseDTO> handleResourceNotFound(RuntimeException ex) {
         log.info("[404] {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -47,7 +48,7 @@ public class GlobalExceptionHandler {
 
     // 409 - 중복 리소스
     @ExceptionHandler({DuplicateEmailException.class, DuplicateNicknameException.class,
-            DuplicateLoginIdException.class})
+            DuplicateLoginIdException.class, DuplicateTaskIdException.class, UploadOffsetConflictException.class})
     public ResponseEntity<ResponseDTO> handleDuplicateResource(RuntimeException ex) {
         log.info("[409] {}", ex.getMessage());
         return ResponseEntity
@@ -55,6 +56,15 @@ public class GlobalExceptionHandler {
                 .body(ResponseDTO.fail(409, ex.getMessage()));
     }
 
+    // 460 - 이어 올리기 청크 체크섬 불일치 (tus checksum 확장)
+    @ExceptionHandler(ChecksumMismatchException.class)
+    public ResponseEntity<ResponseDTO> handleChecksumMismatch(ChecksumMismatchException ex) {
+        log.info("[460] {}", ex.getMessage());
+        return ResponseEntity
+                .status(460)
+                .body(ResponseDTO.fail(460, ex.getMessage()));
+    }
+
     // 415 Unsupported Media Type
     @ExceptionHandler(UnsupportedMediaTypeException.class)
     public ResponseEntity<ResponseDTO<Void>> handleUnsupported(UnsupportedMediaTypeException ex) {
@@ -82,6 +92,26 @@ public class GlobalExceptionHandler {
                 .body(ResponseDTO.fail(502, ex.getMessage()));
     }
 
+    // 503 - 작업 대기열 포화 (잠시 후 재시도)
+    @ExceptionHandler(JobQueueFullException.class)
+    public ResponseEntity<ResponseDTO> handleServiceUnavailable(RuntimeException ex) {
+        log.warn("[503] {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(ResponseDTO.fail(503, ex.getMessage()));
+    }
+
+    // 503 - Flask 백엔드 동시 호출 한도 초과 (예상 대기시간을 Retry-After 로 안내)
+    @ExceptionHandler(FlaskBackendBusyException.class)
+    public ResponseEntity<ResponseDTO> handleBackendBusy(FlaskBackendBusyException ex) {
+        log.warn("[503] {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ResponseDTO.fail(503, ex.getMessage()));
+    }
+
     // 500 - 그 외 모든 예외
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ResponseDTO> handleGeneral(Exception ex) {
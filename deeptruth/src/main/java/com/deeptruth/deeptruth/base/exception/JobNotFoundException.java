@@ -0,0 +1,7 @@
+package com.deeptruth.deeptruth.base.exception;
+
+public class JobNotFoundException extends RuntimeException {
+    public JobNotFoundException(String taskId, Long userId) {
+        super("Deepfake job not found. taskId=" + taskId + ", userId=" + userId);
+    }
+}
@@ -0,0 +1,7 @@
+package com.deeptruth.deeptruth.base.exception;
+
+public class JobQueueFullException extends RuntimeException {
+    public JobQueueFullException(String queue) {
+        super("작업 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요. queue=" + queue);
+    }
+}
@@ -4,4 +4,9 @@ public class SimilarityThresholdExceededException extends RuntimeException {
     public SimilarityThresholdExceededException(int dist, int th) {
         super("유사도가 임계값을 초과했습니다. dist=" + dist + ", threshold=" + th);
     }
+
+    // 반경 검색에서 후보가 없을 때 (정확한 최근접 거리는 계산하지 않음)
+    public SimilarityThresholdExceededException(int th) {
+        super("유사도가 임계값을 초과했습니다. dist>" + th + ", threshold=" + th);
+    }
 }
\ No newline at end of file
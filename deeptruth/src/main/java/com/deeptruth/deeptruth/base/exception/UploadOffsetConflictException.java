@@ -0,0 +1,7 @@
+package com.deeptruth.deeptruth.base.exception;
+
+public class UploadOffsetConflictException extends RuntimeException {
+    public UploadOffsetConflictException(String uploadId, String reason) {
+        super("업로드를 이어 쓸 수 없습니다: " + reason + " (uploadId=" + uploadId + ")");
+    }
+}
@@ -0,0 +1,78 @@
+package com.deeptruth.deeptruth.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    @Value("${deepfake.job.core-pool-size:2}")
+    private int jobCorePoolSize;
+
+    @Value("${deepfake.job.max-pool-size:4}")
+    private int jobMaxPoolSize;
+
+    @Value("${deepfake.job.queue-capacity:50}")
+    private int jobQueueCapacity;
+
+    @Value("${storage.io.concurrency-limit:64}")
+    private int storageIoConcurrencyLimit;
+
+    @Value("${flask.io.thread-cap:16}")
+    private int ioThreadCap;
+
+    @Value("${flask.io.queued-task-cap:1000}")
+    private int ioQueuedTaskCap;
+
+    // 비동기 딥페이크 탐지 작업 전용 풀 (큐가 가득 차면 즉시 거절 → 503)
+    @Bean(name = "deepfakeJobExecutor")
+    public ThreadPoolTaskExecutor deepfakeJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(jobCorePoolSize);
+        executor.setMaxPoolSize(jobMaxPoolSize);
+        executor.setQueueCapacity(jobQueueCapacity);
+        executor.setThreadNamePrefix("deepfake-job-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // 결과물 outbox 업로드 워커 (큐가 가득 차면 거절 → 다음 폴링에서 다시 가져감)
+    @Bean(name = "uploadOutboxExecutor")
+    public ThreadPoolTaskExecutor uploadOutboxExecutor(UploadOutboxProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getConcurrency());
+        executor.setMaxPoolSize(properties.getConcurrency());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("upload-outbox-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // 한 요청 안의 서로 독립적인 저장소 쓰기를 동시에 보내는 용도 (블로킹 I/O 라 가상 스레드)
+    // multipart 파트 전송(s3TransferExecutor)과 분리해 서로를 기다리며 막히지 않게 함
+    @Bean(name = "storageIoExecutor")
+    public SimpleAsyncTaskExecutor storageIoExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("storage-io-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(storageIoConcurrencyLimit);
+        return executor;
+    }
+
+    // Flask 응답 이후의 블로킹 작업(S3 업로드, JPA 저장) 전용 스케줄러
+    // Netty 이벤트 루프나 서블릿 스레드를 막지 않도록 여기로 넘긴다.
+    @Bean(destroyMethod = "dispose")
+    public Scheduler flaskIoScheduler() {
+        return Schedulers.newBoundedElastic(ioThreadCap, ioQueuedTaskCap, "flask-io");
+    }
+}
@@ -0,0 +1,24 @@
+package com.deeptruth.deeptruth.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 내용 주소 결과물 저장소 (storage.blob.*).
+ * 참조가 0 이 된 객체는 gc-grace-minutes 동안 아무도 다시 쓰지 않으면 지운다.
+ * 유예 시간은 업로드부터 결과물 행 저장까지 걸리는 시간보다 충분히 길어야 한다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "storage.blob")
+public class BlobStorageProperties {
+
+    private long gcGraceMinutes = 60;
+    // 정리 한 번에 확인하는 객체 수
+    private int gcBatchSize = 500;
+    // 정리 중인 같은 내용을 새로 등록하려 할 때 정리가 끝나기를 기다리는 최대 시간
+    private long collectWaitMillis = 5000;
+}
@@ -0,0 +1,27 @@
+package com.deeptruth.deeptruth.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 브라우저가 S3 로 바로 올리는 딥페이크 원본 업로드 (storage.direct-upload.*).
+ * presigned PUT URL 에 Content-Type / Content-Length 를 서명해 넣어 다른 타입·크기로는 올릴 수 없게 하고,
+ * 탐지 요청 때 실제 객체 메타데이터를 다시 확인한다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "storage.direct-upload")
+public class DirectUploadProperties {
+
+    private long maxSizeBytes = 1024L * 1024 * 1024;
+    private long urlExpirySeconds = 900;
+    private List<String> allowedContentTypes = new ArrayList<>(List.of(
+            "video/mp4", "video/quicktime", "video/webm", "video/x-matroska", "video/x-msvideo",
+            "image/jpeg", "image/png", "image/webp"));
+}
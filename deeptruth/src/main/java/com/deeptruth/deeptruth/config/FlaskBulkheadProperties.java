@@ -0,0 +1,98 @@
+package com.deeptruth.deeptruth.config;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskBackend;
+import com.deeptruth.deeptruth.base.Enum.FlaskJobClass;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Flask 백엔드별 동시 호출 제한 (flask.bulkhead.{deepfake|watermark|noise}.*).
+ * max-concurrent 만큼만 동시에 호출하고, 나머지는 max-queue 까지 최대 max-wait-seconds 동안 대기시킨다.
+ * 기본은 max-concurrent 고정 한도. adaptive=true 로 켜면(백엔드별 opt-in) max-concurrent 는 시작값이고,
+ * 실제 한도는 지연시간에 따라 [min-limit, max-limit] 안에서 움직인다.
+ * max-limit 을 정하지 않으면(0) max-concurrent 가 상한: 딥페이크는 GPU 메모리가 한도라 지연이 늘 때 줄이기만 한다.
+ * max-concurrent / min-limit / max-limit 은 복제 서버 1대당 값으로, 실제 한도는 사용 가능한 서버 수를 곱한다.
+ * 대기 작업은 종류별(flask.bulkhead.classes.{image-deepfake|video-deepfake|...}.*)로 weight 비율에 따라 꺼내고,
+ * max-share 로 한 종류가 차지할 수 있는 동시 호출 비율을 제한한다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "flask.bulkhead")
+public class FlaskBulkheadProperties {
+
+    private Backend deepfake = new Backend(4, 20, 30);
+    private Backend watermark = new Backend(8, 50, 10, 16);
+    private Backend noise = new Backend(8, 50, 10, 16);
+    private Map<FlaskJobClass, JobClass> classes = defaultClasses();
+
+    public Backend of(FlaskBackend backend) {
+        return switch (backend) {
+            case DEEPFAKE -> deepfake;
+            case WATERMARK -> watermark;
+            case NOISE -> noise;
+        };
+    }
+
+    // 짧은 대화형 요청(이미지/워터마크 검출)을 우선하고, 영상 분석은 슬롯의 3/4 까지만
+    private static Map<FlaskJobClass, JobClass> defaultClasses() {
+        Map<FlaskJobClass, JobClass> classes = new EnumMap<>(FlaskJobClass.class);
+        classes.put(FlaskJobClass.IMAGE_DEEPFAKE, new JobClass(8, 1.0));
+        classes.put(FlaskJobClass.VIDEO_DEEPFAKE, new JobClass(1, 0.75));
+        classes.put(FlaskJobClass.WATERMARK_DETECTION, new JobClass(4, 1.0));
+        classes.put(FlaskJobClass.WATERMARK_INSERT, new JobClass(2, 1.0));
+        classes.put(FlaskJobClass.NOISE, new JobClass(1, 1.0));
+        return classes;
+    }
+
+    public JobClass of(FlaskJobClass jobClass) {
+        return classes.getOrDefault(jobClass, new JobClass());
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Backend {
+        private int maxConcurrent;
+        private int maxQueue;
+        private long maxWaitSeconds;
+        private boolean adaptive;
+        private int minLimit = 1;
+        private int maxLimit;
+
+        public Backend(int maxConcurrent, int maxQueue, long maxWaitSeconds) {
+            this(maxConcurrent, maxQueue, maxWaitSeconds, 0);
+        }
+
+        public Backend(int maxConcurrent, int maxQueue, long maxWaitSeconds, int maxLimit) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueue = maxQueue;
+            this.maxWaitSeconds = maxWaitSeconds;
+            this.maxLimit = maxLimit;
+        }
+
+        // 적응형 한도의 상한 (0 이면 max-concurrent 보다 늘리지 않음)
+        public int effectiveMaxLimit() {
+            return (maxLimit > 0) ? maxLimit : maxConcurrent;
+        }
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class JobClass {
+        private int weight = 1;
+        private double maxShare = 1.0;
+
+        public JobClass(int weight, double maxShare) {
+            this.weight = weight;
+            this.maxShare = maxShare;
+        }
+    }
+}
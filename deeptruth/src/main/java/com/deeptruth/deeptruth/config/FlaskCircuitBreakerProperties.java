@@ -0,0 +1,71 @@
+package com.deeptruth.deeptruth.config;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskBackend;
+import com.deeptruth.deeptruth.base.Enum.FlaskJobClass;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Flask 백엔드별 circuit breaker (flask.circuit-breaker.{deepfake|watermark|noise}.*).
+ * 최근 sliding-window-size 건 중 실패율(5xx/타임아웃/연결 실패) 또는 느린 호출 비율이 임계를 넘으면
+ * wait-in-open-seconds 동안 새 요청을 바로 503 으로 거절하고, 이후 permitted-calls-in-half-open 건으로 회복 여부를 본다.
+ * slow-call-millis 를 넘긴 호출은 끝나기를 기다리지 않고 그 시점에 느린 호출로 센다 (멈춘 서버 감지).
+ * 느린 호출 기준은 작업 종류별로 덮어쓸 수 있다 (flask.circuit-breaker.slow-call-millis-by-class.{image-deepfake|...}).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "flask.circuit-breaker")
+public class FlaskCircuitBreakerProperties {
+
+    // 딥페이크는 수 분짜리 영상 분석이 정상이라 느린 호출 기준을 길게
+    private Backend deepfake = new Backend(240_000);
+    private Backend watermark = new Backend(10_000);
+    private Backend noise = new Backend(60_000);
+    private Map<FlaskJobClass, Long> slowCallMillisByClass = defaultSlowCallMillisByClass();
+
+    public Backend of(FlaskBackend backend) {
+        return switch (backend) {
+            case DEEPFAKE -> deepfake;
+            case WATERMARK -> watermark;
+            case NOISE -> noise;
+        };
+    }
+
+    // 이미지 분석은 수 초면 끝나므로 영상 기준(4분)을 같이 쓰면 멈춘 서버를 알아채지 못함
+    private static Map<FlaskJobClass, Long> defaultSlowCallMillisByClass() {
+        Map<FlaskJobClass, Long> slowCallMillis = new EnumMap<>(FlaskJobClass.class);
+        slowCallMillis.put(FlaskJobClass.IMAGE_DEEPFAKE, 30_000L);
+        return slowCallMillis;
+    }
+
+    /** 작업 종류의 느린 호출 기준, 따로 정하지 않았으면 백엔드 기준 */
+    public long slowCallMillis(FlaskJobClass jobClass) {
+        Long millis = slowCallMillisByClass.get(jobClass);
+        return (millis != null) ? millis : of(jobClass.getBackend()).getSlowCallMillis();
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Backend {
+        private boolean enabled = true;
+        private int failureRateThreshold = 50;      // %
+        private int slowCallRateThreshold = 80;     // %
+        private long slowCallMillis;
+        private int slidingWindowSize = 20;
+        private int minimumCalls = 10;
+        private long waitInOpenSeconds = 30;
+        private int permittedCallsInHalfOpen = 3;
+
+        public Backend(long slowCallMillis) {
+            this.slowCallMillis = slowCallMillis;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.deeptruth.deeptruth.config;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskBackend;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Flask 백엔드별 HTTP 연결 풀 (flask.pool.{deepfake|watermark|noise}.*).
+ * 연결 수 한도는 복제 서버(주소)마다 적용되고, 한도를 넘은 요청은 pending-acquire-max-count 까지
+ * pending-acquire-timeout-millis 동안 연결을 기다린다.
+ * max-idle-seconds 는 Flask(gunicorn 등) 쪽 keep-alive 보다 짧게 두어 서버가 닫은 연결을 재사용하지 않게 한다.
+ * h2c=true 는 HTTP/2 를 평문으로 바로 쓰는 백엔드(prior knowledge)에만 켠다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "flask.pool")
+public class FlaskConnectionPoolProperties {
+
+    private Backend deepfake = new Backend(32);
+    private Backend watermark = new Backend(64);
+    private Backend noise = new Backend(64);
+
+    public Backend of(FlaskBackend backend) {
+        return switch (backend) {
+            case DEEPFAKE -> deepfake;
+            case WATERMARK -> watermark;
+            case NOISE -> noise;
+        };
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Backend {
+        private int maxConnections;
+        private int pendingAcquireMaxCount = 256;
+        private long pendingAcquireTimeoutMillis = 10_000;
+        private long maxIdleSeconds = 15;
+        private long maxLifeSeconds = 300;
+        private long evictIntervalSeconds = 30;
+        private boolean keepAlive = true;
+        private boolean h2c = false;
+        private int connectTimeoutMillis = 10_000;
+        private long responseTimeoutSeconds = 300;
+
+        public Backend(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.deeptruth.deeptruth.config;
+
+import com.deeptruth.deeptruth.service.flask.FlaskHedger;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class FlaskHedgeConfig {
+
+    // 워터마크 검출(/watermark-detection) 전용: 짧고 지연에 민감한 호출
+    @Bean
+    public FlaskHedger watermarkDetectionHedger(FlaskHedgeProperties properties, MeterRegistry meterRegistry) {
+        return new FlaskHedger("watermark_detection", properties, meterRegistry, Schedulers.parallel());
+    }
+}
@@ -0,0 +1,27 @@
+package com.deeptruth.deeptruth.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 워터마크 검출 Flask 호출 헤징 (flask.hedge.watermark-detection.*).
+ * 최근 응답시간의 percentile 안에 응답이 없으면 같은 요청을 한 번 더 보내 먼저 성공한 쪽을 쓴다.
+ * 추가 요청은 전체의 budget-percent % 이내로 제한한다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "flask.hedge.watermark-detection")
+public class FlaskHedgeProperties {
+
+    private boolean enabled = false;
+    private double percentile = 0.95;
+    private double budgetPercent = 5;
+    private int windowSize = 200;
+    // 표본이 이만큼 쌓이기 전에는 헤징하지 않음
+    private int minSamples = 20;
+    private long minDelayMillis = 50;
+    private long maxDelayMillis = 2000;
+}
@@ -0,0 +1,31 @@
+package com.deeptruth.deeptruth.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Flask 복제 서버 간 클라이언트 측 부하 분산 (flask.lb.*).
+ * flask.{deepfake|watermark|noise}Server.url 에 쉼표로 여러 주소를 주면 요청마다 두 후보 중 진행 중 요청이 적은 쪽으로 보낸다.
+ * 연속 eject-after-failures 번 5xx/타임아웃이면 ejection-seconds(반복될수록 배수, max-ejection-seconds 까지) 동안 제외하고,
+ * 복귀 후 slow-start-seconds 동안 받는 비중을 서서히 늘린다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "flask.lb")
+public class FlaskLoadBalancerProperties {
+
+    private int ejectAfterFailures = 5;
+    private long ejectionSeconds = 30;
+    private long maxEjectionSeconds = 300;
+    private long slowStartSeconds = 30;
+
+    // 능동 헬스체크: health-path 로 GET, 5xx/연결 실패가 health-check-failures 번 이어지면 제외
+    private boolean healthCheckEnabled = true;
+    private long healthCheckIntervalMillis = 5000;
+    private String healthPath = "/health";
+    private long healthCheckTimeoutMillis = 2000;
+    private int healthCheckFailures = 2;
+}
@@ -0,0 +1,26 @@
+package com.deeptruth.deeptruth.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * local-storage 프로필의 파일시스템 저장소 (storage.local.*).
+ * public-base-url 은 LocalStorageController 가 받는 주소, signing-secret 이 비어 있으면 기동할 때마다 새로 만든다.
+ * private-prefixes 아래 객체는 서명 URL 로만 읽을 수 있다 (S3 에서 presigned PUT 으로 올린 객체는 비공개).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "storage.local")
+public class LocalStorageProperties {
+
+    private Path root = Path.of(System.getProperty("java.io.tmpdir"), "deeptruth-storage");
+    private String publicBaseUrl = "http://localhost:8080/local-storage";
+    private String signingSecret = "";
+    private List<String> privatePrefixes = List.of("deepfake/uploads/");
+}
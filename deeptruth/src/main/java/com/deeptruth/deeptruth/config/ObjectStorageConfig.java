@@ -0,0 +1,66 @@
+package com.deeptruth.deeptruth.config;
+
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.deeptruth.deeptruth.service.storage.LocalObjectStorage;
+import com.deeptruth.deeptruth.service.storage.ObjectStorage;
+import com.deeptruth.deeptruth.service.storage.S3MultipartUploader;
+import com.deeptruth.deeptruth.service.storage.S3ObjectStorage;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Clock;
+
+/**
+ * 저장소 선택: 기본은 S3, local-storage 프로필이면 로컬 파일시스템 (AWS 자격 증명 불필요).
+ */
+@Configuration
+public class ObjectStorageConfig {
+
+    @Bean
+    @Profile("!local-storage")
+    public ObjectStorage s3ObjectStorage(AmazonS3Client amazonS3Client,
+                                         @Value("${spring.s3.bucket}") String bucketName,
+                                         S3MultipartProperties multipart,
+                                         @Qualifier("s3TransferExecutor") ThreadPoolTaskExecutor s3TransferExecutor) {
+        if (!multipart.isEnabled()) {
+            return new S3ObjectStorage(amazonS3Client, bucketName);
+        }
+        S3MultipartUploader uploader = new S3MultipartUploader(amazonS3Client, s3TransferExecutor,
+                Math.max(S3MultipartProperties.MIN_PART_SIZE, multipart.getPartSizeBytes()), multipart.getParallelism());
+        return new S3ObjectStorage(amazonS3Client, bucketName, uploader,
+                Math.max(multipart.getThresholdBytes(), multipart.getPartSizeBytes()));
+    }
+
+    // multipart 파트 전송 전용 풀. 업로드마다 버퍼 수(parallelism)만큼만 파트를 넣으므로 큐는 길어지지 않음
+    @Bean(name = "s3TransferExecutor")
+    @Profile("!local-storage")
+    public ThreadPoolTaskExecutor s3TransferExecutor(S3MultipartProperties multipart) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(1, multipart.getThreads()));
+        executor.setMaxPoolSize(Math.max(1, multipart.getThreads()));
+        executor.setThreadNamePrefix("s3-transfer-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean
+    @Profile("local-storage")
+    public LocalObjectStorage localObjectStorage(LocalStorageProperties properties) {
+        byte[] secret;
+        if (properties.getSigningSecret().isBlank()) {
+            secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+        } else {
+            secret = properties.getSigningSecret().getBytes(StandardCharsets.UTF_8);
+        }
+        return new LocalObjectStorage(properties.getRoot(), properties.getPublicBaseUrl(), secret, Clock.systemUTC(),
+                properties.getPrivatePrefixes());
+    }
+}
@@ -0,0 +1,25 @@
+package com.deeptruth.deeptruth.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * 이어 올리기(tus 방식) 업로드 (storage.resumable-upload.*).
+ * 청크는 dir 아래 업로드별 파일에 쓰고, 마지막 PATCH 후 expiry-hours 동안 이어지지 않으면 정리한다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "storage.resumable-upload")
+public class ResumableUploadProperties {
+
+    private Path dir = Path.of(System.getProperty("java.io.tmpdir"), "deeptruth-uploads");
+    private long maxSizeBytes = 2L * 1024 * 1024 * 1024;
+    // PATCH 한 번에 받을 수 있는 최대 크기 (연결이 끊기면 이 단위로 다시 보냄)
+    private long maxChunkBytes = 64L * 1024 * 1024;
+    private long expiryHours = 24;
+}
@@ -2,13 +2,16 @@ package com.deeptruth.deeptruth.config;
 
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
 @Configuration
+@Profile("!local-storage")
 public class S3Config {
     @Value("${spring.s3.access-key}")
     private String accessKey;
@@ -19,13 +22,22 @@ public class S3Config {
     @Value("${cloud.aws.region.static}")
     private String region;
 
+    // 비어 있으면 AWS, 로컬에서는 MinIO 같은 S3 호환 서버 주소 (path-style)
+    @Value("${spring.s3.endpoint:}")
+    private String endpoint;
+
     @Bean
     public AmazonS3Client amazonS3Client() {
         BasicAWSCredentials basicAWSCredentials = new BasicAWSCredentials(accessKey, secretKey);
-        return (AmazonS3Client) AmazonS3ClientBuilder
+        AmazonS3ClientBuilder builder = AmazonS3ClientBuilder
                 .standard()
-                .withCredentials(new AWSStaticCredentialsProvider(basicAWSCredentials))
-                .withRegion(region)
-                .build();
+                .withCredentials(new AWSStaticCredentialsProvider(basicAWSCredentials));
+        if (endpoint.isBlank()) {
+            builder.withRegion(region);
+        } else {
+            builder.withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpoint, region))
+                    .withPathStyleAccessEnabled(true);
+        }
+        return (AmazonS3Client) builder.build();
     }
 }
@@ -0,0 +1,27 @@
+package com.deeptruth.deeptruth.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 큰 객체의 S3 multipart 업로드 (storage.s3.multipart.*).
+ * threshold-bytes 이상이거나 길이를 모르는 스트림은 part-size-bytes 단위로 parallelism 개씩 동시에 올린다.
+ * 업로드 하나의 메모리 상한 = part-size-bytes × parallelism. S3 는 마지막 파트를 빼고 5MB 미만 파트를 거절한다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "storage.s3.multipart")
+public class S3MultipartProperties {
+
+    public static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    private boolean enabled = true;
+    private long thresholdBytes = 16L * 1024 * 1024;
+    private int partSizeBytes = 8 * 1024 * 1024;
+    private int parallelism = 4;
+    // 모든 업로드가 나눠 쓰는 파트 전송 스레드 수
+    private int threads = 16;
+}
@@ -5,6 +5,8 @@ import com.deeptruth.deeptruth.service.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -23,6 +25,21 @@ public class SecurityConfig {
     private final CustomUserDetailsService customUserDetailsService;
 
 
+    // local-storage 프로필에서만: 저장소 엔드포인트는 JWT 대신 서명 URL 로 확인 (LocalStorageController)
+    @Bean
+    @Order(0)
+    @Profile("local-storage")
+    public SecurityFilterChain localStorageFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher("/local-storage/**")
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+                .sessionManagement(session ->
+                        session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .csrf(csrf -> csrf.disable());
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -0,0 +1,39 @@
+package com.deeptruth.deeptruth.config;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.file.Path;
+
+/**
+ * 결과물 저장소 업로드 outbox (storage.outbox.*).
+ * dir 에 스풀한 파일은 업로드가 끝날 때까지 유일한 사본이므로, 재부팅에 지워지지 않는 디스크를 지정해야 한다.
+ * 임시 디렉터리로 조용히 떨어지지 않도록 기본값 없이 필수 (없으면 기동 실패).
+ * 실패하면 initial-backoff-seconds 부터 두 배씩 max-backoff-seconds 까지 늘려 가며 다시 시도한다.
+ */
+@Getter
+@Setter
+@Component
+@Validated
+@ConfigurationProperties(prefix = "storage.outbox")
+public class UploadOutboxProperties {
+
+    @NotNull
+    private Path dir;
+    // 동시에 올리는 개수 (워커 스레드 수)
+    private int concurrency = 8;
+    private int queueCapacity = 256;
+    // 폴링 한 번에 가져오는 행 수
+    private int batchSize = 64;
+    private long pollIntervalMillis = 2000;
+    private long initialBackoffSeconds = 2;
+    private long maxBackoffSeconds = 600;
+    // 워커가 죽으면 이 시간 뒤에 다른 워커가 다시 가져감
+    private long leaseSeconds = 300;
+    // 완료된 행과 참조 없는 스풀 파일 보관 시간
+    private long retentionHours = 24;
+}
@@ -13,6 +13,7 @@ import io.netty.handler.timeout.WriteTimeoutHandler;
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
+// Flask 백엔드 호출은 백엔드별 연결 풀을 쓰는 FlaskWebClients 를 사용 (이 WebClient 는 그 외 용도)
 @Configuration
 public class WebClientConfig {
     @Bean
@@ -2,9 +2,14 @@ package com.deeptruth.deeptruth.controller;
 
 import com.deeptruth.deeptruth.base.dto.deepfake.DeepfakeDetectionDTO;
 import com.deeptruth.deeptruth.base.dto.deepfake.DeepfakeDetectionListDTO;
+import com.deeptruth.deeptruth.base.dto.deepfake.DeepfakeJobDTO;
+import com.deeptruth.deeptruth.base.dto.deepfake.PresignedUploadDTO;
+import com.deeptruth.deeptruth.base.dto.deepfake.PresignedUploadRequestDTO;
 import com.deeptruth.deeptruth.base.dto.response.ResponseDTO;
 import com.deeptruth.deeptruth.config.CustomUserDetails;
 import com.deeptruth.deeptruth.service.DeepfakeDetectionService;
+import com.deeptruth.deeptruth.service.DeepfakeJobService;
+import com.deeptruth.deeptruth.service.DirectUploadService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -14,7 +19,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
 
+import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -24,15 +31,46 @@ import java.util.Map;
 public class DeepfakeDetectionController {
 
     private final DeepfakeDetectionService deepfakeDetectionService;
+    private final DeepfakeJobService deepfakeJobService;
+    private final DirectUploadService directUploadService;
 
     @PostMapping
-    public ResponseEntity<ResponseDTO> detectVideo(
+    public Mono<ResponseEntity<ResponseDTO>> detectVideo(
             @AuthenticationPrincipal CustomUserDetails userDetails,
             @RequestPart("file")MultipartFile multipartFile,
+            @RequestParam(value = "async", defaultValue = "false") boolean async,
             @RequestParam(required = false) Map<String, String> params){
-            Map<String, String> form = (params == null) ? new HashMap<>() : params;
-            DeepfakeDetectionDTO dto = deepfakeDetectionService.createDetection(userDetails.getUserId(), multipartFile, form);
-            return ResponseEntity.ok(ResponseDTO.success(200, "딥페이크 탐지 결과 수신 성공", dto));
+            Map<String, String> form = (params == null) ? new HashMap<>() : new HashMap<>(params);
+            form.remove("async");
+            if (async) {
+                DeepfakeJobDTO job = deepfakeJobService.submit(userDetails.getUserId(), multipartFile, form);
+                ResponseEntity<ResponseDTO> accepted = ResponseEntity.accepted()
+                        .location(URI.create("/api/deepfake/jobs/" + job.getTaskId()))
+                        .body(ResponseDTO.success(202, "딥페이크 탐지 작업 접수 성공", job));
+                return Mono.just(accepted);
+            }
+            return deepfakeDetectionService.createDetectionAsync(userDetails.getUserId(), multipartFile, form)
+                    .map(dto -> ResponseEntity.ok(ResponseDTO.success(200, "딥페이크 탐지 결과 수신 성공", dto)));
+    }
+
+    // 큰 영상은 S3 에 직접 올린 뒤 objectKey 로 탐지 요청
+    @PostMapping("/uploads")
+    public ResponseEntity<ResponseDTO> createUploadUrl(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                                       @RequestBody PresignedUploadRequestDTO request) {
+        PresignedUploadDTO upload = directUploadService.issue(userDetails.getUserId(),
+                request.getFilename(), request.getContentType(), request.getSize());
+        return ResponseEntity.ok(ResponseDTO.success(200, "업로드 URL 발급 성공", upload));
+    }
+
+    @PostMapping("/objects")
+    public Mono<ResponseEntity<ResponseDTO>> detectUploadedObject(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam("objectKey") String objectKey,
+            @RequestParam(required = false) Map<String, String> params) {
+        Map<String, String> form = (params == null) ? new HashMap<>() : new HashMap<>(params);
+        form.remove("objectKey");
+        return deepfakeDetectionService.createDetectionFromObjectAsync(userDetails.getUserId(), objectKey, form)
+                .map(dto -> ResponseEntity.ok(ResponseDTO.success(200, "딥페이크 탐지 결과 수신 성공", dto)));
     }
 
     @GetMapping
@@ -44,6 +82,12 @@ public class DeepfakeDetectionController {
         );
     }
 
+    @GetMapping("/jobs/{taskId}")
+    public ResponseEntity<ResponseDTO> getJob(@PathVariable String taskId, @AuthenticationPrincipal CustomUserDetails userDetails) {
+        DeepfakeJobDTO job = deepfakeJobService.getJob(userDetails.getUserId(), taskId);
+        return ResponseEntity.ok(ResponseDTO.success(200, "딥페이크 탐지 작업 조회 성공", job));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getDetection(@PathVariable Long id, @AuthenticationPrincipal CustomUserDetails userDetails) {
         DeepfakeDetectionDTO result = deepfakeDetectionService.getSingleResult(userDetails.getUserId(), id);
@@ -0,0 +1,97 @@
+package com.deeptruth.deeptruth.controller;
+
+import com.deeptruth.deeptruth.service.storage.LocalObjectStorage;
+import com.deeptruth.deeptruth.service.storage.ObjectStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * local-storage 프로필에서 S3 대신 객체를 주고받는 엔드포인트.
+ * GET 은 공개 읽기(S3 PublicRead 와 같음, 단일 Range 지원), 비공개 접두어 아래 객체는 presignGet 서명 URL 만 허용.
+ * PUT 은 presignPut 서명 URL 만 허용.
+ */
+@Profile("local-storage")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/local-storage")
+public class LocalStorageController {
+
+    private static final String PREFIX = "/local-storage/";
+
+    private final LocalObjectStorage localObjectStorage;
+
+    @PutMapping("/**")
+    public ResponseEntity<Void> putObject(HttpServletRequest request,
+                                          @RequestParam long expires,
+                                          @RequestParam long length,
+                                          @RequestParam String signature) throws IOException {
+        String key = key(request);
+        String contentType = request.getContentType();
+        if (!localObjectStorage.verifyPut(key, contentType, length, expires, signature)
+                || request.getContentLengthLong() != length) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        localObjectStorage.put(key, request.getInputStream(), length, contentType);
+        return ResponseEntity.ok().build();
+    }
+
+    @GetMapping("/**")
+    public ResponseEntity<InputStreamResource> getObject(HttpServletRequest request,
+                                                         @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                                         @RequestParam(required = false) Long expires,
+                                                         @RequestParam(required = false) String signature)
+            throws IOException {
+        String key = key(request);
+        if (!localObjectStorage.isPublicRead(key)
+                && (expires == null || !localObjectStorage.verifyGet(key, expires, signature))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Optional<ObjectStorage.StoredObject> stat = localObjectStorage.stat(key);
+        if (stat.isEmpty()) return ResponseEntity.notFound().build();
+        ObjectStorage.StoredObject object = stat.get();
+        MediaType type = object.contentType() != null ? MediaType.parseMediaType(object.contentType())
+                : MediaType.APPLICATION_OCTET_STREAM;
+
+        long start = 0;
+        long end = object.size() - 1;
+        boolean partial = range != null && range.startsWith("bytes=") && !range.contains(",");
+        if (partial) {
+            String[] bounds = range.substring("bytes=".length()).split("-", 2);
+            if (bounds[0].isEmpty()) {
+                start = Math.max(0, object.size() - Long.parseLong(bounds[1]));
+            } else {
+                start = Long.parseLong(bounds[0]);
+                if (bounds.length > 1 && !bounds[1].isEmpty()) end = Math.min(end, Long.parseLong(bounds[1]));
+            }
+            if (start > end) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + object.size()).build();
+            }
+        }
+        long count = end - start + 1;
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(partial ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                .contentType(type)
+                .contentLength(count)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (object.eTag() != null) response.eTag(object.eTag());
+        if (partial) response.header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + object.size());
+        return response.body(new InputStreamResource(localObjectStorage.get(key, start, count)));
+    }
+
+    private static String key(HttpServletRequest request) {
+        String uri = request.getRequestURI().substring(request.getContextPath().length());
+        return uri.startsWith(PREFIX) ? URLDecoder.decode(uri.substring(PREFIX.length()), StandardCharsets.UTF_8) : "";
+    }
+}
@@ -3,6 +3,7 @@ package com.deeptruth.deeptruth.controller;
 import com.deeptruth.deeptruth.base.dto.noise.NoiseDTO;
 import com.deeptruth.deeptruth.base.dto.noise.NoiseFlaskResponseDTO;
 import com.deeptruth.deeptruth.base.dto.response.ResponseDTO;
+import com.deeptruth.deeptruth.base.exception.FlaskBackendBusyException;
 import com.deeptruth.deeptruth.config.CustomUserDetails;
 import com.deeptruth.deeptruth.entity.User;
 import com.deeptruth.deeptruth.service.NoiseService;
@@ -12,6 +13,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -23,6 +25,7 @@ import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -35,43 +38,48 @@ public class NoiseController {
     private final NoiseService noiseService;
 
     @PostMapping
-    public ResponseEntity<ResponseDTO<NoiseDTO>> createNoise(
+    public Mono<ResponseEntity<ResponseDTO<NoiseDTO>>> createNoise(
             @AuthenticationPrincipal CustomUserDetails userDetails,
             @RequestPart("file") MultipartFile multipartFile,
             @RequestParam(value = "mode", defaultValue = "auto") String mode,
             @RequestParam(value = "level", defaultValue = "2") Integer level,
             @RequestParam(value = "taskId", required = false)  String taskId) {
-        try {
-            if (userDetails == null) {
-                return ResponseEntity.status(401)
-                        .body(ResponseDTO.fail(401, "인증이 필요합니다."));
-            }
-
-            if (multipartFile.isEmpty()) {
-                return ResponseEntity.status(400)
-                        .body(ResponseDTO.fail(400, "파일이 필요합니다."));
-            }
-
-            NoiseDTO result = noiseService.createNoise(
-                    userDetails.getUserId(),
-                    userDetails.getUser().getLoginId(),
-                    multipartFile,
-                    mode,
-                    level,
-                    taskId
-            );
-
-            return ResponseEntity.ok(ResponseDTO.success(200, "적대적 노이즈 삽입 성공", result));
+        if (userDetails == null) {
+            return Mono.just(ResponseEntity.status(401)
+                    .body(ResponseDTO.fail(401, "인증이 필요합니다.")));
+        }
 
-        } catch (IllegalArgumentException e) {
-            log.warn("잘못된 요청 파라미터", e);
-            return ResponseEntity.status(400)
-                    .body(ResponseDTO.fail(400, e.getMessage()));
-        } catch (Exception e) {
-            log.error("적대적 노이즈 삽입 중 오류 발생", e);
-            return ResponseEntity.status(500)
-                    .body(ResponseDTO.fail(500, "서버 내부 오류가 발생했습니다."));
+        if (multipartFile.isEmpty()) {
+            return Mono.just(ResponseEntity.status(400)
+                    .body(ResponseDTO.fail(400, "파일이 필요합니다.")));
         }
+
+        // 검증 예외(동기)와 Flask/S3 처리 예외(비동기)를 동일하게 응답으로 변환
+        return Mono.defer(() -> noiseService.createNoiseAsync(
+                        userDetails.getUserId(),
+                        userDetails.getUser().getLoginId(),
+                        multipartFile,
+                        mode,
+                        level,
+                        taskId
+                ))
+                .map(result -> ResponseEntity.ok(ResponseDTO.success(200, "적대적 노이즈 삽입 성공", result)))
+                .onErrorResume(IllegalArgumentException.class, e -> {
+                    log.warn("잘못된 요청 파라미터", e);
+                    return Mono.just(ResponseEntity.status(400)
+                            .body(ResponseDTO.fail(400, e.getMessage())));
+                })
+                .onErrorResume(FlaskBackendBusyException.class, e -> {
+                    log.warn("노이즈 서버 혼잡: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.status(503)
+                            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                            .body(ResponseDTO.fail(503, e.getMessage())));
+                })
+                .onErrorResume(e -> {
+                    log.error("적대적 노이즈 삽입 중 오류 발생", e);
+                    return Mono.just(ResponseEntity.status(500)
+                            .body(ResponseDTO.fail(500, "서버 내부 오류가 발생했습니다.")));
+                });
     }
 
     @GetMapping
@@ -3,6 +3,7 @@ package com.deeptruth.deeptruth.controller;
 import com.deeptruth.deeptruth.base.dto.websocket.ProgressDTO;
 import com.deeptruth.deeptruth.config.CustomUserDetails;
 import com.deeptruth.deeptruth.entity.User;
+import com.deeptruth.deeptruth.service.flask.FlaskSingleFlight;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +22,7 @@ import java.nio.file.attribute.UserPrincipal;
 @RequestMapping("/progress")
 public class ProgressController {
     private final SimpMessagingTemplate messagingTemplate;
+    private final FlaskSingleFlight flaskSingleFlight;
 
     // Flask에서 전송: POST /progress
     @PostMapping
@@ -33,6 +35,14 @@ public class ProgressController {
                 "/queue/progress/" + progressDto.getTaskId(),
                 progressDto
         );
+        // 합쳐진 중복 요청들도 각자의 taskId 로 같은 진행률을 받음
+        for (FlaskSingleFlight.ProgressTarget follower : flaskSingleFlight.followersOf(progressDto.getTaskId())) {
+            messagingTemplate.convertAndSendToUser(
+                    follower.loginId(),
+                    "/queue/progress/" + follower.taskId(),
+                    new ProgressDTO(follower.taskId(), progressDto.getProgress(), follower.loginId())
+            );
+        }
         log.info("progress:{}",progressDto.getProgress());
         return ResponseEntity.ok().build();
     }
@@ -0,0 +1,116 @@
+package com.deeptruth.deeptruth.controller;
+
+import com.deeptruth.deeptruth.base.dto.deepfake.DeepfakeJobDTO;
+import com.deeptruth.deeptruth.base.dto.deepfake.ResumableUploadDTO;
+import com.deeptruth.deeptruth.base.dto.response.ResponseDTO;
+import com.deeptruth.deeptruth.config.CustomUserDetails;
+import com.deeptruth.deeptruth.service.ResumableUploadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 큰 영상 이어 올리기 (tus 1.0 방식 헤더).
+ * POST → PATCH(application/offset+octet-stream, Upload-Offset[, Upload-Checksum]) 반복 → POST /{id}/complete
+ * 끊긴 뒤에는 HEAD 로 Upload-Offset 을 받아 그 위치부터 이어서 보낸다.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/deepfake/resumable")
+public class ResumableUploadController {
+
+    private static final String TUS_RESUMABLE = "Tus-Resumable";
+    private static final String TUS_VERSION = "1.0.0";
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+    private static final String UPLOAD_LENGTH = "Upload-Length";
+
+    private final ResumableUploadService resumableUploadService;
+
+    @PostMapping
+    public ResponseEntity<ResponseDTO> createUpload(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestHeader(UPLOAD_LENGTH) Long length,
+            @RequestHeader(value = "Upload-Metadata", required = false) String metadata) {
+        Map<String, String> meta = parseMetadata(metadata);
+        ResumableUploadDTO upload = resumableUploadService.create(userDetails.getUserId(), length,
+                meta.get("filename"), meta.getOrDefault("filetype", meta.get("contentType")));
+        return ResponseEntity.created(URI.create("/api/deepfake/resumable/" + upload.getUploadId()))
+                .headers(tusHeaders(upload))
+                .body(ResponseDTO.success(201, "업로드 생성 성공", upload));
+    }
+
+    @RequestMapping(path = "/{uploadId}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> getOffset(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                          @PathVariable String uploadId) {
+        ResumableUploadDTO upload = resumableUploadService.get(userDetails.getUserId(), uploadId);
+        return ResponseEntity.ok()
+                .headers(tusHeaders(upload))
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .build();
+    }
+
+    @PatchMapping(path = "/{uploadId}", consumes = "application/offset+octet-stream")
+    public ResponseEntity<Void> appendChunk(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                            @PathVariable String uploadId,
+                                            @RequestHeader(UPLOAD_OFFSET) Long offset,
+                                            @RequestHeader(value = "Upload-Checksum", required = false) String checksum,
+                                            InputStream body) {
+        ResumableUploadDTO upload = resumableUploadService.append(userDetails.getUserId(), uploadId, offset, checksum, body);
+        return ResponseEntity.noContent()
+                .headers(tusHeaders(upload))
+                .build();
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<ResponseDTO> completeUpload(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                                      @PathVariable String uploadId,
+                                                      @RequestParam(required = false) Map<String, String> params) {
+        Map<String, String> form = (params == null) ? new HashMap<>() : new HashMap<>(params);
+        DeepfakeJobDTO job = resumableUploadService.complete(userDetails.getUserId(), uploadId, form);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/deepfake/jobs/" + job.getTaskId()))
+                .body(ResponseDTO.success(202, "딥페이크 탐지 작업 접수 성공", job));
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> deleteUpload(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                             @PathVariable String uploadId) {
+        resumableUploadService.terminate(userDetails.getUserId(), uploadId);
+        return ResponseEntity.noContent().header(TUS_RESUMABLE, TUS_VERSION).build();
+    }
+
+    private static HttpHeaders tusHeaders(ResumableUploadDTO upload) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(TUS_RESUMABLE, TUS_VERSION);
+        headers.set(UPLOAD_OFFSET, String.valueOf(upload.getOffset()));
+        headers.set(UPLOAD_LENGTH, String.valueOf(upload.getLength()));
+        headers.set("Upload-Expires", DateTimeFormatter.RFC_1123_DATE_TIME
+                .format(ZonedDateTime.of(upload.getExpiresAt(), ZoneId.systemDefault())));
+        return headers;
+    }
+
+    // "filename d29ybGQ=,filetype dmlkZW8vbXA0" (값은 base64)
+    static Map<String, String> parseMetadata(String header) {
+        Map<String, String> meta = new HashMap<>();
+        if (header == null || header.isBlank()) return meta;
+        for (String pair : header.split(",")) {
+            String[] kv = pair.trim().split(" ", 2);
+            if (kv[0].isEmpty()) continue;
+            meta.put(kv[0], kv.length < 2 ? ""
+                    : new String(Base64.getDecoder().decode(kv[1].trim()), StandardCharsets.UTF_8));
+        }
+        return meta;
+    }
+}
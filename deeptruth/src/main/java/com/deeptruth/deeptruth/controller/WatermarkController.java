@@ -15,6 +15,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequiredArgsConstructor
@@ -27,9 +28,9 @@ public class WatermarkController {
     private final WebClient webClient;
 
     @PostMapping
-    public ResponseEntity<ResponseDTO> insertWatermark(@AuthenticationPrincipal CustomUserDetails userDetails, @RequestPart("file") MultipartFile multipartFile, @RequestPart String message, @RequestParam(required = false) String taskId){
-        InsertResultDTO result = waterMarkService.insert(userDetails.getUserId(), multipartFile, message, taskId);
-        return ResponseEntity.ok(ResponseDTO.success(200, "워터마크 삽입 성공", result));
+    public Mono<ResponseEntity<ResponseDTO>> insertWatermark(@AuthenticationPrincipal CustomUserDetails userDetails, @RequestPart("file") MultipartFile multipartFile, @RequestPart String message, @RequestParam(required = false) String taskId){
+        return waterMarkService.insertAsync(userDetails.getUserId(), multipartFile, message, taskId)
+                .map(result -> ResponseEntity.ok(ResponseDTO.success(200, "워터마크 삽입 성공", result)));
     }
 
     @GetMapping
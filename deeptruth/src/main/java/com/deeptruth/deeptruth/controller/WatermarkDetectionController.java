@@ -1,7 +1,6 @@
 package com.deeptruth.deeptruth.controller;
 
 import com.deeptruth.deeptruth.base.dto.response.ResponseDTO;
-import com.deeptruth.deeptruth.base.dto.watermarkDetection.DetectResultDTO;
 import com.deeptruth.deeptruth.config.CustomUserDetails;
 import com.deeptruth.deeptruth.entity.User;
 import com.deeptruth.deeptruth.service.WatermarkDetectionService;
@@ -11,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequiredArgsConstructor
@@ -19,11 +19,11 @@ public class WatermarkDetectionController {
     private final WatermarkDetectionService detectionService;
 
     @PostMapping(value = "/detection", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<ResponseDTO> detect(
+    public Mono<ResponseEntity<ResponseDTO>> detect(
             @AuthenticationPrincipal CustomUserDetails userDetails,
             @RequestPart("file") MultipartFile file,
             @RequestParam(required = false) String taskId) {
-            DetectResultDTO result = detectionService.detect(userDetails.getUserId(), file, taskId);
-            return ResponseEntity.ok(ResponseDTO.success(200, "워터마크 탐지 성공", result));
+            return detectionService.detectAsync(userDetails.getUserId(), file, taskId)
+                    .map(result -> ResponseEntity.ok(ResponseDTO.success(200, "워터마크 탐지 성공", result)));
     }
 }
@@ -10,12 +10,15 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Builder
+@Builder(toBuilder = true)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "deepfake_detection")
+@Table(name = "deepfake_detection",
+        indexes = {
+                @Index(name = "idx_dd_cache_key", columnList = "cache_key")
+        })
 public class DeepfakeDetection {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -29,6 +32,9 @@ public class DeepfakeDetection {
     @Enumerated(EnumType.STRING) @Column(nullable = false) private DeepfakeResult result;
     @Column(length = 64) private String taskId;
 
+    // sha256(업로드 sha256 + 분석 파라미터), 같은 분석 결과 재사용용
+    @Column(length = 64) private String cacheKey;
+
     @Column private Float scoreWeighted;
     @Column(name = "threshold_tau") private Float thresholdTau;
     @Column private Float frameVoteRatio;
@@ -0,0 +1,65 @@
+package com.deeptruth.deeptruth.entity;
+
+import com.deeptruth.deeptruth.base.Enum.JobStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "deepfake_job",
+        indexes = {
+                @Index(name = "idx_dfj_user_created", columnList = "user_id, created_at")
+        },
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_dfj_task", columnNames = {"task_id"})
+        }
+)
+public class DeepfakeJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long deepfakeJobId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /** 클라이언트 폴링/STOMP 구독 키 */
+    @Column(name = "task_id", nullable = false, length = 64)
+    private String taskId;
+
+    /** QUEUED → RUNNING → SUCCEEDED / FAILED */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private JobStatus status;
+
+    /** 성공 시 생성된 deepfake_detection id */
+    @Column
+    private Long detectionId;
+
+    /** 실패 사유 */
+    @Column(length = 500)
+    private String errorMessage;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,85 @@
+package com.deeptruth.deeptruth.entity;
+
+import com.deeptruth.deeptruth.base.Enum.UploadStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 저장소에 아직 올라가지 않은 결과물 (transactional outbox).
+ * 결과물 엔티티와 같은 트랜잭션에서 저장되고, UploadOutboxService 워커가 올린 뒤 COMPLETED 로 바꾼다.
+ */
+@Entity
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "pending_upload",
+        indexes = {
+                @Index(name = "idx_pu_status_next", columnList = "status, next_attempt_at"),
+                @Index(name = "idx_pu_owner_status_next", columnList = "owner, status, next_attempt_at")
+        }
+)
+public class PendingUpload {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long pendingUploadId;
+
+    /** 저장소 키 */
+    @Column(name = "object_key", nullable = false, length = 255)
+    private String objectKey;
+
+    /** 스풀 파일이 있는 인스턴스 (outbox 디렉터리의 instance-id). 다른 인스턴스는 이 행을 가져가지 않는다 */
+    @Column(name = "owner", length = 36)
+    private String owner;
+
+    /** outbox 디렉터리 안의 스풀 파일 이름 */
+    @Column(name = "spool_file", nullable = false, length = 64)
+    private String spoolFile;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(length = 100)
+    private String contentType;
+
+    /** PENDING → COMPLETED (스풀 파일이 사라진 경우에만 FAILED) */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private UploadStatus status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /** 워커가 처리 중인 동안 다른 워커(인스턴스)가 가져가지 못하게 잡아 두는 시각 */
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column
+    private LocalDateTime completedAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,68 @@
+package com.deeptruth.deeptruth.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "resumable_upload",
+        indexes = {
+                @Index(name = "idx_ru_expires", columnList = "expires_at")
+        },
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_ru_upload", columnNames = {"upload_id"})
+        }
+)
+public class ResumableUpload {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long resumableUploadId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /** URL 에 쓰는 업로드 식별자 (스풀 파일 이름) */
+    @Column(name = "upload_id", nullable = false, length = 36)
+    private String uploadId;
+
+    @Column(length = 255)
+    private String filename;
+
+    @Column(length = 100)
+    private String contentType;
+
+    /** 전체 크기 (Upload-Length) */
+    @Column(nullable = false)
+    private Long uploadLength;
+
+    /** 확인까지 마치고 디스크에 쓴 바이트 수 (Upload-Offset) */
+    @Column(name = "upload_offset", nullable = false)
+    private Long uploadOffset;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,79 @@
+package com.deeptruth.deeptruth.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 내용(SHA-256) 기준으로 한 번만 저장하는 결과물 객체와 그 참조 수.
+ * 결과물 행(노이즈, 워터마크, 딥페이크 탐지)이 URL 을 저장/삭제할 때 refCount 를 올리고 내리며,
+ * 참조가 0 이 된 뒤 유예 시간이 지나면 BlobStorageService 가 객체와 행을 지운다.
+ */
+@Entity
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "stored_blob",
+        indexes = {
+                @Index(name = "idx_blob_gc", columnList = "ref_count, last_used_at")
+        },
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_blob_sha256", columnNames = {"sha256"})
+        }
+)
+public class StoredBlob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long storedBlobId;
+
+    /** 내용 SHA-256 (hex) */
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    /** 저장소 키 (blobs/{앞 2자}/{sha256}) */
+    @Column(name = "object_key", nullable = false, length = 255)
+    private String objectKey;
+
+    @Column(nullable = false)
+    private Long size;
+
+    /** 처음 저장할 때의 Content-Type */
+    @Column(length = 100)
+    private String contentType;
+
+    /** 이 객체 URL 을 가진 결과물 행 수 */
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    /** 업로드가 끝나 재사용할 수 있는지 (outbox 로 올리는 동안은 false) */
+    @Column(nullable = false)
+    private Boolean stored;
+
+    /** 정리(객체 삭제)를 시작한 시각. 이 동안은 재사용/등록하지 않고 정리가 끝나 행이 지워지기를 기다린다 */
+    @Column(name = "collecting_since")
+    private LocalDateTime collectingSince;
+
+    /** 마지막으로 저장/재사용/참조 변경된 시각. 참조 0 인 객체는 이 시각부터 유예 시간 뒤에 지운다 */
+    @Column(name = "last_used_at", nullable = false)
+    private LocalDateTime lastUsedAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -20,6 +20,12 @@ public interface DeepfakeDetectionRepository extends JpaRepository<DeepfakeDetec
     List<DeepfakeDetection> findAllByUser(User user);
     Page<DeepfakeDetection> findByUser_UserId(Long userId, Pageable pageable);
 
+    Optional<DeepfakeDetection> findFirstByCacheKeyOrderByDeepfakeDetectionIdDesc(String cacheKey);
+
+    // 삭제 전 blob 참조 해제용
+    @Query("SELECT d.filePath FROM DeepfakeDetection d WHERE d.user = :user AND d.filePath IS NOT NULL")
+    List<String> findFilePathsByUser(@Param("user") User user);
+
     // 삭제 메서드
     @Modifying
     @Query("DELETE FROM DeepfakeDetection d WHERE d.user = :user")
@@ -0,0 +1,23 @@
+package com.deeptruth.deeptruth.repository;
+
+import com.deeptruth.deeptruth.entity.DeepfakeJob;
+import com.deeptruth.deeptruth.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface DeepfakeJobRepository extends JpaRepository<DeepfakeJob, Long> {
+    Optional<DeepfakeJob> findByTaskIdAndUser_UserId(String taskId, Long userId);
+
+    boolean existsByTaskId(String taskId);
+
+    // 삭제 메서드
+    @Modifying
+    @Query("DELETE FROM DeepfakeJob j WHERE j.user = :user")
+    int deleteByUser(@Param("user") User user);
+}
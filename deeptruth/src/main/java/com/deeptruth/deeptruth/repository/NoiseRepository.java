@@ -23,8 +23,18 @@ public interface NoiseRepository extends JpaRepository<Noise, Long> {
 
     boolean existsByUser_UserId(Long userId);
 
+    // 삭제 전 blob 참조 해제용
+    @Query("SELECT n.originalFilePath AS originalFilePath, n.processedFilePath AS processedFilePath " +
+            "FROM Noise n WHERE n.user = :user")
+    List<FilePathRow> findFilePathsByUser(@Param("user") User user);
+
     // 삭제 메서드
     @Modifying
     @Query("DELETE FROM Noise n WHERE n.user = :user")
     int deleteByUser(@Param("user") User user);
+
+    interface FilePathRow {
+        String getOriginalFilePath();
+        String getProcessedFilePath();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.deeptruth.deeptruth.repository;
+
+import com.deeptruth.deeptruth.base.Enum.UploadStatus;
+import com.deeptruth.deeptruth.entity.PendingUpload;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PendingUploadRepository extends JpaRepository<PendingUpload, Long> {
+
+    // 스풀 파일은 만든 인스턴스의 로컬 디스크에만 있으므로 자기 행만 (owner 가 없는 예전 행은 누구나)
+    @Query("SELECT p.pendingUploadId FROM PendingUpload p " +
+            "WHERE (p.owner = :owner OR p.owner IS NULL) " +
+            "AND p.status = :status AND p.nextAttemptAt <= :now " +
+            "AND (p.leaseUntil IS NULL OR p.leaseUntil < :now) " +
+            "ORDER BY p.nextAttemptAt")
+    List<Long> findDueIds(@Param("owner") String owner, @Param("status") UploadStatus status,
+                          @Param("now") LocalDateTime now, Pageable pageable);
+
+    boolean existsBySpoolFileAndStatusNot(String spoolFile, UploadStatus status);
+
+    // 워커 실행마다 자체 트랜잭션 (파트 업로드 동안 트랜잭션을 잡지 않음)
+    @Modifying
+    @Transactional
+    @Query("UPDATE PendingUpload p SET p.leaseUntil = :leaseUntil " +
+            "WHERE p.pendingUploadId = :id AND (p.owner = :owner OR p.owner IS NULL) AND p.status = :status " +
+            "AND (p.leaseUntil IS NULL OR p.leaseUntil < :now)")
+    int claim(@Param("id") Long id, @Param("owner") String owner, @Param("status") UploadStatus status,
+              @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE PendingUpload p SET p.status = :status, p.completedAt = :now, p.updatedAt = :now, " +
+            "p.leaseUntil = NULL, p.lastError = :error WHERE p.pendingUploadId = :id")
+    int finish(@Param("id") Long id, @Param("status") UploadStatus status,
+               @Param("error") String error, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE PendingUpload p SET p.attempts = :attempts, p.nextAttemptAt = :nextAttemptAt, " +
+            "p.lastError = :error, p.leaseUntil = NULL, p.updatedAt = :now WHERE p.pendingUploadId = :id")
+    int reschedule(@Param("id") Long id, @Param("attempts") int attempts,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("error") String error, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PendingUpload p WHERE p.status = :status AND p.completedAt < :before")
+    int deleteFinishedBefore(@Param("status") UploadStatus status, @Param("before") LocalDateTime before);
+}
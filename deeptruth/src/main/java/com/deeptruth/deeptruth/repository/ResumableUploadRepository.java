@@ -0,0 +1,19 @@
+package com.deeptruth.deeptruth.repository;
+
+import com.deeptruth.deeptruth.entity.ResumableUpload;
+import com.deeptruth.deeptruth.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ResumableUploadRepository extends JpaRepository<ResumableUpload, Long> {
+    Optional<ResumableUpload> findByUploadIdAndUser_UserId(String uploadId, Long userId);
+
+    List<ResumableUpload> findByExpiresAtBefore(LocalDateTime cutoff);
+
+    List<ResumableUpload> findByUser(User user);
+}
@@ -0,0 +1,83 @@
+package com.deeptruth.deeptruth.repository;
+
+import com.deeptruth.deeptruth.entity.StoredBlob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, Long> {
+
+    // 업로드가 끝난 객체가 있으면 사용 시각만 갱신 (1 = 재사용 가능, PUT 생략)
+    @Modifying
+    @Transactional
+    @Query("UPDATE StoredBlob b SET b.lastUsedAt = :now WHERE b.sha256 = :sha256 AND b.stored = true")
+    int touchStored(@Param("sha256") String sha256, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    // 정리 중인 행은 건드리지 않음 (0 = 행이 없거나 정리 중)
+    @Query("UPDATE StoredBlob b SET b.lastUsedAt = :now WHERE b.sha256 = :sha256 AND b.collectingSince IS NULL")
+    int touch(@Param("sha256") String sha256, @Param("now") LocalDateTime now);
+
+    boolean existsBySha256AndCollectingSinceIsNotNull(String sha256);
+
+    // 결과물 저장 트랜잭션 안에서 행 생성: 유니크 충돌을 예외 대신 0 으로 받아 트랜잭션을 롤백 전용으로 만들지 않음
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO stored_blob (sha256, object_key, size, content_type, ref_count, stored, " +
+            "last_used_at, created_at, updated_at) " +
+            "VALUES (:sha256, :objectKey, :size, :contentType, 0, false, :now, :now, :now)", nativeQuery = true)
+    int insertIfAbsent(@Param("sha256") String sha256, @Param("objectKey") String objectKey, @Param("size") long size,
+                       @Param("contentType") String contentType, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE StoredBlob b SET b.stored = true, b.lastUsedAt = :now, b.updatedAt = :now WHERE b.sha256 = :sha256")
+    int markStored(@Param("sha256") String sha256, @Param("now") LocalDateTime now);
+
+    // 참조 증감은 결과물 행 저장/삭제와 같은 트랜잭션에 참여
+    @Modifying
+    @Transactional
+    @Query("UPDATE StoredBlob b SET b.refCount = b.refCount + 1, b.lastUsedAt = :now, b.updatedAt = :now " +
+            "WHERE b.sha256 = :sha256")
+    int retain(@Param("sha256") String sha256, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE StoredBlob b SET b.refCount = b.refCount - 1, b.lastUsedAt = :now, b.updatedAt = :now " +
+            "WHERE b.sha256 = :sha256 AND b.refCount > 0")
+    int release(@Param("sha256") String sha256, @Param("now") LocalDateTime now);
+
+    @Query("SELECT b.sha256 FROM StoredBlob b WHERE b.refCount = 0 AND b.lastUsedAt < :cutoff ORDER BY b.lastUsedAt")
+    List<String> findCollectable(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // 정리 1단계: 아직 참조 0 / 유예 시간 경과면 정리 중으로 표시 (1 = 정리 대상으로 잡음, 이후 touch/재사용 불가)
+    @Modifying
+    @Transactional
+    @Query("UPDATE StoredBlob b SET b.stored = false, b.collectingSince = :now, b.updatedAt = :now " +
+            "WHERE b.sha256 = :sha256 AND b.refCount = 0 AND b.lastUsedAt < :cutoff")
+    int markCollecting(@Param("sha256") String sha256, @Param("cutoff") LocalDateTime cutoff,
+                       @Param("now") LocalDateTime now);
+
+    // 정리 3단계: 객체를 지우는 동안 참조가 생기지 않았으면 행 삭제 (0 = 그 사이 retain 됨)
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM StoredBlob b WHERE b.sha256 = :sha256 AND b.collectingSince IS NOT NULL " +
+            "AND b.refCount = 0 AND b.lastUsedAt < :cutoff")
+    int deleteCollected(@Param("sha256") String sha256, @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Transactional
+    // 정리를 끝내지 못한 행을 되살림: 객체는 지워졌으므로 다음 put 이 다시 올림
+    @Query("UPDATE StoredBlob b SET b.stored = false, b.collectingSince = NULL, b.updatedAt = :now " +
+            "WHERE b.sha256 = :sha256")
+    int cancelCollecting(@Param("sha256") String sha256, @Param("now") LocalDateTime now);
+}
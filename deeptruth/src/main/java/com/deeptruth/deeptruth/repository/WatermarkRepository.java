@@ -30,8 +30,35 @@ public interface WatermarkRepository extends JpaRepository<Watermark, Long> {
     @Query(value = "SELECT * FROM watermark ORDER BY BIT_COUNT(phash ^ :phash) ASC LIMIT 1", nativeQuery = true)
     Watermark findNearestByPhash(@Param("phash") long phash);
 
+    // pHash 반경 검색: 거리 순 (인덱스 적재 전 폴백용)
+    @Query(value = "SELECT * FROM watermark WHERE phash IS NOT NULL AND BIT_COUNT(phash ^ :phash) <= :radius " +
+            "ORDER BY BIT_COUNT(phash ^ :phash) ASC, watermark_id ASC LIMIT :limit", nativeQuery = true)
+    List<Watermark> findWithinPhashRadius(@Param("phash") long phash, @Param("radius") int radius, @Param("limit") int limit);
+
+    // pHash 메모리 인덱스 적재용: watermarkId 기준 키셋 페이지
+    @Query("SELECT w.watermarkId AS watermarkId, w.phash AS phash FROM Watermark w " +
+            "WHERE w.phash IS NOT NULL AND w.watermarkId > :afterId ORDER BY w.watermarkId ASC")
+    List<PhashRow> findPhashPage(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT w.watermarkId FROM Watermark w WHERE w.user = :user")
+    List<Long> findIdsByUser(@Param("user") User user);
+
+    // 삭제 전 blob 참조 해제용
+    @Query("SELECT w.s3WatermarkedKey AS s3WatermarkedKey, w.s3MessageKey AS s3MessageKey FROM Watermark w WHERE w.user = :user")
+    List<ArtifactKeyRow> findArtifactKeysByUser(@Param("user") User user);
+
     // 삭제 메서드
     @Modifying
     @Query("DELETE FROM Watermark w WHERE w.user = :user")
     int deleteByUser(@Param("user") User user);
-}
\ No newline at end of file
+
+    interface PhashRow {
+        Long getWatermarkId();
+        Long getPhash();
+    }
+
+    interface ArtifactKeyRow {
+        String getS3WatermarkedKey();
+        String getS3MessageKey();
+    }
+}
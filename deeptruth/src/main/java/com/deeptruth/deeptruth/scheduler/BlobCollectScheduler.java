@@ -0,0 +1,37 @@
+package com.deeptruth.deeptruth.scheduler;
+
+import com.deeptruth.deeptruth.service.BlobStorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BlobCollectScheduler {
+
+    private final BlobStorageService blobStorageService;
+
+    @Scheduled(cron = "0 */10 * * * ?") // 10분마다: 참조가 없어진 결과물 객체 삭제
+    public void collectUnreferencedBlobs() {
+        int collected = 0;
+        try {
+            List<String> candidates = blobStorageService.findCollectable();
+            for (String sha256 : candidates) {
+                try {
+                    if (blobStorageService.collect(sha256)) collected++;
+                } catch (Exception e) {
+                    // 행은 남아 있으므로 다음 실행에서 다시 시도
+                    log.warn("[WARN] 실패: blob 삭제 - sha256: {}, 오류: {}", sha256, e.getMessage(), e);
+                }
+            }
+        } catch (Exception e) {
+            log.error("[ERROR] blob 정리 실패 - 원인: {}", e.getMessage(), e);
+        } finally {
+            if (collected > 0) log.info("[INFO] 완료: blob 정리 - 삭제 {}건", collected);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.deeptruth.deeptruth.scheduler;
+
+import com.deeptruth.deeptruth.service.ResumableUploadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ResumableUploadCleanupScheduler {
+
+    private final ResumableUploadService resumableUploadService;
+
+    @Scheduled(cron = "0 15 * * * ?") // 매시 15분: 만료된 이어 올리기 스풀 정리
+    public void purgeExpiredUploads() {
+        try {
+            int purged = resumableUploadService.purgeExpired();
+            if (purged > 0) log.info("[INFO] 만료된 이어 올리기 업로드 {}건 정리", purged);
+        } catch (Exception e) {
+            log.error("[ERROR] 이어 올리기 업로드 정리 실패 - 원인: {}", e.getMessage(), e);
+        }
+    }
+}
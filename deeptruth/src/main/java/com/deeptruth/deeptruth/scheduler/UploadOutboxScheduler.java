@@ -0,0 +1,34 @@
+package com.deeptruth.deeptruth.scheduler;
+
+import com.deeptruth.deeptruth.service.UploadOutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UploadOutboxScheduler {
+
+    private final UploadOutboxService uploadOutboxService;
+
+    // 재시도 차례가 된 업로드와, 커밋 직후 바로 못 올린 업로드(재기동, 워커 큐 초과)를 다시 넣음
+    @Scheduled(fixedDelayString = "${storage.outbox.poll-interval-millis:2000}")
+    public void dispatchPendingUploads() {
+        try {
+            uploadOutboxService.dispatchDue();
+        } catch (Exception e) {
+            log.error("[ERROR] outbox 업로드 디스패치 실패 - 원인: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(cron = "0 45 * * * ?") // 매시 45분: 완료된 outbox 행과 남은 스풀 파일 정리
+    public void purgeCompletedUploads() {
+        try {
+            uploadOutboxService.purge();
+        } catch (Exception e) {
+            log.error("[ERROR] outbox 정리 실패 - 원인: {}", e.getMessage(), e);
+        }
+    }
+}
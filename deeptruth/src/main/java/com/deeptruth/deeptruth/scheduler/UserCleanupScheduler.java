@@ -4,7 +4,12 @@ import com.deeptruth.deeptruth.entity.User;
 import com.deeptruth.deeptruth.repository.UserRepository;
 import com.deeptruth.deeptruth.repository.NoiseRepository;
 import com.deeptruth.deeptruth.repository.DeepfakeDetectionRepository;
+import com.deeptruth.deeptruth.repository.DeepfakeJobRepository;
 import com.deeptruth.deeptruth.repository.WatermarkRepository;
+import com.deeptruth.deeptruth.service.BlobStorageService;
+import com.deeptruth.deeptruth.service.DirectUploadService;
+import com.deeptruth.deeptruth.service.ResumableUploadService;
+import com.deeptruth.deeptruth.service.WatermarkPhashIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -12,6 +17,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Component
@@ -23,6 +29,11 @@ public class UserCleanupScheduler {
     private final NoiseRepository noiseRepository;
     private final DeepfakeDetectionRepository deepfakeRepository;
     private final WatermarkRepository watermarkRepository;
+    private final DeepfakeJobRepository deepfakeJobRepository;
+    private final WatermarkPhashIndex watermarkPhashIndex;
+    private final ResumableUploadService resumableUploadService;
+    private final BlobStorageService blobStorageService;
+    private final DirectUploadService directUploadService;
 
     @Scheduled(cron = "0 0 2 * * ?") // 매일 새벽 2시 실행
     @Transactional
@@ -71,18 +82,43 @@ public class UserCleanupScheduler {
         log.debug("[DEBUG] 시작: 회원 연관 데이터 삭제 - ID: {}", user.getUserId());
 
         try {
+            // 지울 행이 가리키는 결과물 (blob 참조는 행 삭제 후 같은 트랜잭션에서 해제)
+            List<String> artifactUrls = new ArrayList<>(deepfakeRepository.findFilePathsByUser(user));
+            watermarkRepository.findArtifactKeysByUser(user).forEach(row -> {
+                artifactUrls.add(row.getS3WatermarkedKey());
+                artifactUrls.add(row.getS3MessageKey());
+            });
+            noiseRepository.findFilePathsByUser(user).forEach(row -> {
+                artifactUrls.add(row.getOriginalFilePath());
+                artifactUrls.add(row.getProcessedFilePath());
+            });
+
             // 1. 딥페이크 탐지 기록 삭제
             int deepfakeCount = deepfakeRepository.deleteByUser(user);
             log.debug("[DEBUG] 삭제됨: 딥페이크 기록 {}건 - 회원 ID: {}", deepfakeCount, user.getUserId());
 
-            // 2. 워터마크 기록 삭제
+            int jobCount = deepfakeJobRepository.deleteByUser(user);
+            log.debug("[DEBUG] 삭제됨: 딥페이크 작업 {}건 - 회원 ID: {}", jobCount, user.getUserId());
+
+            int uploadCount = resumableUploadService.purgeUser(user);
+            log.debug("[DEBUG] 삭제됨: 이어 올리기 업로드 {}건 - 회원 ID: {}", uploadCount, user.getUserId());
+
+            int directUploadCount = directUploadService.purgeUser(user);
+            log.debug("[DEBUG] 삭제됨: 직접 업로드 원본 {}건 - 회원 ID: {}", directUploadCount, user.getUserId());
+
+            // 2. 워터마크 기록 삭제 (pHash 인덱스는 커밋 후 제거)
+            List<Long> watermarkIds = watermarkRepository.findIdsByUser(user);
             int watermarkCount = watermarkRepository.deleteByUser(user);
+            watermarkPhashIndex.removeAfterCommit(watermarkIds);
             log.debug("[DEBUG] 삭제됨: 워터마크 기록 {}건 - 회원 ID: {}", watermarkCount, user.getUserId());
 
             // 3. 적대적 노이즈 기록 삭제
             int noiseCount = noiseRepository.deleteByUser(user);
             log.debug("[DEBUG] 삭제됨: 노이즈 기록 {}건 - 회원 ID: {}", noiseCount, user.getUserId());
 
+            // 4. 결과물 참조 해제 (다른 행이 같은 내용을 참조하면 객체는 남음)
+            blobStorageService.release(artifactUrls);
+
             log.info("[INFO] 완료: 연관 데이터 삭제 - 회원 ID: {}, 딥페이크: {}건, 워터마크: {}건, 노이즈: {}건",
                     user.getUserId(), deepfakeCount, watermarkCount, noiseCount);
 
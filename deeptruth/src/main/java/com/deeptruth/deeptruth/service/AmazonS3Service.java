@@ -1,37 +1,45 @@
 package com.deeptruth.deeptruth.service;
 
-import com.amazonaws.services.s3.AmazonS3Client;
-import com.amazonaws.services.s3.model.CannedAccessControlList;
-import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.deeptruth.deeptruth.base.exception.FileEmptyException;
 import com.deeptruth.deeptruth.base.exception.InvalidFilenameException;
 import com.deeptruth.deeptruth.base.exception.S3UploadFailedException;
+import com.deeptruth.deeptruth.base.exception.StorageException;
 import com.deeptruth.deeptruth.base.exception.UnsupportedMediaTypeException;
 import com.deeptruth.deeptruth.repository.UserRepository;
+import com.deeptruth.deeptruth.service.storage.ObjectStorage;
+import com.deeptruth.deeptruth.util.SpooledBinary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URL;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+// 저장소 구현(S3 / 로컬)은 ObjectStorage 로 분리, 여기서는 검증·키 생성·예외 변환만
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class AmazonS3Service {
 
-    @Value("${spring.s3.bucket}")
-    private String bucketName;
-
-    private final AmazonS3Client amazonS3Client;
+    private final ObjectStorage objectStorage;
 
     private final UserRepository userRepository;
 
+    @Qualifier("storageIoExecutor")
+    private final TaskExecutor storageIoExecutor;
+
     private static final Set<String> ALLOWED_PREFIXES = Set.of("image/", "video/", "application/octet-stream");
 
     private void validateMultipart(MultipartFile file) {
@@ -59,45 +67,25 @@ public class AmazonS3Service {
     public String uploadFile(String folder, MultipartFile multipartFile) {
         validateMultipart(multipartFile);
 
-        String uploadFileUrl = "";
         String keyName = null;
 
-        ObjectMetadata objectMetadata = new ObjectMetadata();
-        objectMetadata.setContentLength(multipartFile.getSize());
-        objectMetadata.setContentType(multipartFile.getContentType());
-
         try (InputStream inputStream = multipartFile.getInputStream()) {
 
             keyName = buildKey(folder, multipartFile.getOriginalFilename());
 
-            // S3에 폴더 및 파일 업로드
-            amazonS3Client.putObject(
-                    new PutObjectRequest(bucketName, keyName, inputStream, objectMetadata)
-                            .withCannedAcl(CannedAccessControlList.PublicRead));
-
-            // S3에 업로드한 폴더 및 파일 URL
-            uploadFileUrl = amazonS3Client.getUrl(bucketName, keyName).toString();
+            // 폴더 및 파일 업로드, 업로드한 파일 URL 반환
+            return objectStorage.put(keyName, inputStream, multipartFile.getSize(), multipartFile.getContentType());
 
         } catch (IOException | RuntimeException e) {
             log.error("S3 업로드 실패 (key: {})", keyName, e);
             throw new S3UploadFailedException(keyName, e);
         }
-
-        return uploadFileUrl;
     }
 
-    public String uploadBase64Image(InputStream inputStream, String key) {
-        try {
-            ObjectMetadata metadata = new ObjectMetadata();
-            metadata.setContentType("image/jpeg");
-            metadata.setContentLength(inputStream.available());
-
-            amazonS3Client.putObject(
-                    new PutObjectRequest(bucketName, key, inputStream, metadata)
-                            .withCannedAcl(CannedAccessControlList.PublicRead)
-            );
-
-            return amazonS3Client.getUrl(bucketName, key).toString();
+    // 임시 파일에 디코딩해 둔 이미지: 길이를 알고 있어 메모리 버퍼링 없이 파일에서 바로 전송
+    public String uploadBinary(SpooledBinary binary, String key, String contentType) {
+        try (InputStream inputStream = binary.getInputStream()) {
+            return objectStorage.put(key, inputStream, binary.getSize(), contentType);
         } catch (IOException | RuntimeException e) {
             log.error("S3 이미지 업로드 실패 (key: {})", key, e);
             throw new S3UploadFailedException(key, e);
@@ -106,39 +94,91 @@ public class AmazonS3Service {
 
     public String uploadStream(InputStream inputStream, String key, String contentType) {
         try {
-            ObjectMetadata metadata = new ObjectMetadata();
-            metadata.setContentType(contentType);
-
-            // 1) ByteArrayInputStream이면 available()로 정확한 길이 설정 가능
-            if (inputStream instanceof java.io.ByteArrayInputStream) {
-                int len = inputStream.available();
-                metadata.setContentLength(len);
-
-                amazonS3Client.putObject(
-                        new PutObjectRequest(bucketName, key, inputStream, metadata)
-                                .withCannedAcl(CannedAccessControlList.PublicRead)
-                );
-
-            } else {
-                // 2) 길이를 모르면 메모리에 한 번 버퍼링해서 Content-Length 설정
-                byte[] bytes = inputStream.readAllBytes(); // Java 11+
-                metadata.setContentLength(bytes.length);
-
-                try (InputStream bais = new java.io.ByteArrayInputStream(bytes)) {
-                    amazonS3Client.putObject(
-                            new PutObjectRequest(bucketName, key, bais, metadata)
-                                    .withCannedAcl(CannedAccessControlList.PublicRead)
-                    );
-                }
+            // ByteArrayInputStream 이면 available()로 정확한 길이, 아니면 -1: S3 는 파트 단위로 나눠 전송 (전체를 메모리에 올리지 않음)
+            long length = (inputStream instanceof ByteArrayInputStream) ? inputStream.available() : -1;
+            return objectStorage.put(key, inputStream, length, contentType);
+        } catch (IOException | RuntimeException e) {
+            log.error("S3 업로드 실패 (key: {})", key, e);
+            throw new S3UploadFailedException(key, e);
+        }
+    }
+
+    public record BinaryUpload(SpooledBinary binary, String key, String contentType) {
+    }
+
+    /**
+     * 서로 독립적인 업로드를 storageIoExecutor 에서 동시에 보내고, 입력 순서대로 URL 을 돌려준다.
+     * 하나라도 실패하면 모두 끝날 때까지 기다린 뒤 이미 올라간 객체를 지우고 첫 실패를 던진다.
+     */
+    public List<String> uploadBinaries(List<BinaryUpload> uploads) {
+        if (uploads.size() <= 1) {
+            return uploads.stream().map(u -> uploadBinary(u.binary(), u.key(), u.contentType())).toList();
+        }
+        List<CompletableFuture<String>> futures = uploads.stream()
+                .map(u -> CompletableFuture.supplyAsync(() -> uploadBinary(u.binary(), u.key(), u.contentType()),
+                        storageIoExecutor))
+                .toList();
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            for (int i = 0; i < futures.size(); i++) {
+                if (!futures.get(i).isCompletedExceptionally()) deleteQuietly(uploads.get(i).key());
             }
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
 
-            return amazonS3Client.getUrl(bucketName, key).toString();
+    // 지우지 못하면 호출한 쪽이 다시 시도할 수 있게 예외로 알림 (blob 정리)
+    public void deleteObject(String key) {
+        try {
+            objectStorage.delete(key);
+        } catch (IOException | RuntimeException e) {
+            throw new StorageException("failed to delete object: " + key, e);
+        }
+    }
 
+    // 실패 정리용: 지우지 못한 객체는 로그만 남김
+    public void deleteQuietly(String key) {
+        try {
+            objectStorage.delete(key);
         } catch (IOException | RuntimeException e) {
-            log.error("S3 업로드 실패 (key: {})", key, e);
-            throw new S3UploadFailedException(key, e);
+            log.warn("S3 객체 삭제 실패 (key: {})", key, e);
+        }
+    }
+
+    // prefix 아래 객체 전부 삭제, 지운 수 반환 (목록을 못 읽으면 예외, 개별 삭제 실패는 로그만)
+    public int deletePrefix(String prefix) {
+        List<String> keys;
+        try {
+            keys = objectStorage.list(prefix);
+        } catch (IOException | RuntimeException e) {
+            throw new StorageException("failed to list objects: " + prefix, e);
+        }
+        keys.forEach(this::deleteQuietly);
+        return keys.size();
+    }
+
+    // 클라이언트가 직접 PUT 할 URL: Content-Type, Content-Length 가 고정됨
+    public URL presignPut(String key, String contentType, long contentLength, Instant expiresAt) {
+        return objectStorage.presignPut(key, contentType, contentLength, expiresAt);
+    }
+
+    public Optional<ObjectStorage.StoredObject> findObject(String key) {
+        try {
+            return objectStorage.stat(key);
+        } catch (IOException | RuntimeException e) {
+            throw new StorageException("failed to read object metadata: " + key, e);
         }
     }
 
+    // 올리기 전에 결정되는 공개 URL (outbox 는 업로드 완료 전에 엔티티에 저장)
+    public String getUrl(String key) {
+        return objectStorage.getUrl(key);
+    }
 
+    public String getBucketName() {
+        return objectStorage.location();
+    }
 }
@@ -0,0 +1,223 @@
+package com.deeptruth.deeptruth.service;
+
+import com.deeptruth.deeptruth.base.exception.StorageException;
+import com.deeptruth.deeptruth.config.BlobStorageProperties;
+import com.deeptruth.deeptruth.entity.StoredBlob;
+import com.deeptruth.deeptruth.repository.StoredBlobRepository;
+import com.deeptruth.deeptruth.util.FileChunks;
+import com.deeptruth.deeptruth.util.SpooledBinary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 내용 주소(SHA-256) 결과물 저장소.
+ * 같은 바이트는 blobs/{앞 2자}/{sha256} 한 곳에만 올리고, 이미 올라가 있으면 PUT 을 생략한다.
+ * put() 은 객체만 보장하고 참조는 잡지 않는다: 결과물 행을 저장할 때 retain(), 지울 때 release() 로 참조 수를 맞춘다.
+ * 참조가 0 인 객체는 유예 시간 동안 재사용되지 않으면 collect() 가 지운다 (BlobCollectScheduler).
+ * 예전 UUID 키 URL 은 참조를 세지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BlobStorageService {
+
+    private static final String PREFIX = "blobs/";
+    private static final Duration COLLECT_POLL = Duration.ofMillis(100);
+    private static final Pattern BLOB_KEY = Pattern.compile("(?:^|/)blobs/[0-9a-f]{2}/([0-9a-f]{64})$");
+
+    private final StoredBlobRepository storedBlobRepository;
+    private final AmazonS3Service amazonS3Service;
+    private final BlobStorageProperties properties;
+
+    @Qualifier("storageIoExecutor")
+    private final TaskExecutor storageIoExecutor;
+
+    public record BlobUpload(SpooledBinary binary, String contentType) {
+    }
+
+    public static String key(String sha256) {
+        return PREFIX + sha256.substring(0, 2) + "/" + sha256;
+    }
+
+    /** 내용 주소 키/URL 이면 sha256, 아니면(예전 UUID 키, null) 빈 값 */
+    public static Optional<String> sha256Of(String keyOrUrl) {
+        if (keyOrUrl == null) return Optional.empty();
+        Matcher m = BLOB_KEY.matcher(keyOrUrl);
+        return m.find() ? Optional.of(m.group(1)) : Optional.empty();
+    }
+
+    /** 내용이 저장소에 있도록 보장하고 URL 반환. 같은 내용이 이미 올라가 있으면 PUT 하지 않음 */
+    public String put(SpooledBinary binary, String contentType) {
+        String sha256;
+        try {
+            sha256 = FileChunks.sha256(binary.getPath());
+        } catch (IOException e) {
+            throw new StorageException("failed to hash blob", e);
+        }
+        String key = key(sha256);
+        if (storedBlobRepository.touchStored(sha256, LocalDateTime.now()) == 0) {
+            register(sha256, binary.getSize(), contentType);
+            amazonS3Service.uploadBinary(binary, key, contentType);
+            storedBlobRepository.markStored(sha256, LocalDateTime.now());
+        }
+        return amazonS3Service.getUrl(key);
+    }
+
+    /**
+     * 서로 독립적인 put 을 storageIoExecutor 에서 동시에 수행하고 입력 순서대로 URL 반환.
+     * 하나라도 실패하면 모두 끝난 뒤 첫 실패를 던진다. 먼저 올라간 객체는 참조가 없으므로 유예 시간 뒤 정리된다.
+     */
+    public List<String> putAll(List<BlobUpload> uploads) {
+        if (uploads.size() <= 1) {
+            return uploads.stream().map(u -> put(u.binary(), u.contentType())).toList();
+        }
+        List<CompletableFuture<String>> futures = uploads.stream()
+                .map(u -> CompletableFuture.supplyAsync(() -> put(u.binary(), u.contentType()), storageIoExecutor))
+                .toList();
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    /** 이미 올라가 있는 같은 내용이 있으면 URL (PUT 생략), 없으면 빈 값 */
+    public Optional<String> reuse(String sha256) {
+        if (storedBlobRepository.touchStored(sha256, LocalDateTime.now()) == 0) return Optional.empty();
+        return Optional.of(amazonS3Service.getUrl(key(sha256)));
+    }
+
+    /**
+     * 아직 올라가지 않은 내용의 행을 만들고 URL 반환 (업로드는 호출한 쪽이, 끝나면 onUploaded).
+     * 동시에 같은 내용이 들어오면 먼저 만든 행을 그대로 씀. 유니크 충돌을 잡으므로 트랜잭션 밖에서 호출.
+     * 같은 내용이 정리(객체 삭제) 중이면 정리가 끝나 행이 지워질 때까지 기다렸다 새로 만든다 (지워질 객체를 쓰지 않도록).
+     */
+    public String register(String sha256, long size, String contentType) {
+        long deadline = System.nanoTime() + Duration.ofMillis(properties.getCollectWaitMillis()).toNanos();
+        while (storedBlobRepository.touch(sha256, LocalDateTime.now()) == 0) {
+            try {
+                storedBlobRepository.saveAndFlush(StoredBlob.builder()
+                        .sha256(sha256)
+                        .objectKey(key(sha256))
+                        .size(size)
+                        .contentType(contentType)
+                        .refCount(0)
+                        .stored(false)
+                        .lastUsedAt(LocalDateTime.now())
+                        .build());
+                break;
+            } catch (DataIntegrityViolationException e) {
+                // 행은 있는데 touch 가 안 됨: 방금 다른 요청이 만들었거나(다시 touch 하면 됨) 정리 중
+                if (System.nanoTime() > deadline) {
+                    throw new StorageException("blob is being collected: " + sha256, e);
+                }
+                sleep(COLLECT_POLL);
+            }
+        }
+        return amazonS3Service.getUrl(key(sha256));
+    }
+
+    /**
+     * 같은 내용이 정리(객체 삭제) 중이면 행이 지워질 때까지 기다림. 트랜잭션 밖에서 registerStaged 전에 호출.
+     * 기다리는 시간 안에 끝나지 않으면 지워질 객체를 쓰지 않도록 실패.
+     */
+    public void awaitCollected(String sha256) {
+        long deadline = System.nanoTime() + Duration.ofMillis(properties.getCollectWaitMillis()).toNanos();
+        while (storedBlobRepository.existsBySha256AndCollectingSinceIsNotNull(sha256)) {
+            if (System.nanoTime() > deadline) {
+                throw new StorageException("blob is being collected: " + sha256);
+            }
+            sleep(COLLECT_POLL);
+        }
+    }
+
+    /**
+     * outbox 로 올릴 내용의 행을 결과물 행과 같은 트랜잭션에서 만듦 (commit 콜백 안에서 retain 전에 호출).
+     * 저장이 실패해 롤백되면 행도 함께 사라져, 참조도 업로드도 없는 행이 남지 않는다.
+     * 그 사이 정리가 시작돼 행을 쓸 수 없으면 실패해 트랜잭션 전체를 롤백한다.
+     */
+    public void registerStaged(String sha256, long size, String contentType) {
+        LocalDateTime now = LocalDateTime.now();
+        if (storedBlobRepository.touch(sha256, now) > 0) return;
+        if (storedBlobRepository.insertIfAbsent(sha256, key(sha256), size, contentType, now) > 0) return;
+        // 다른 요청이 방금 만든 행이면 touch 가 됨
+        if (storedBlobRepository.touch(sha256, now) == 0) {
+            throw new StorageException("blob is being collected: " + sha256);
+        }
+    }
+
+    /** 업로드가 끝난 키가 내용 주소 객체면 재사용 가능으로 표시 */
+    public void onUploaded(String key) {
+        sha256Of(key).ifPresent(sha256 -> storedBlobRepository.markStored(sha256, LocalDateTime.now()));
+    }
+
+    /** 결과물 행이 이 URL 들을 갖게 됨 (행 저장 전에, 가능하면 같은 트랜잭션에서 호출) */
+    public void retain(Collection<String> urls) {
+        LocalDateTime now = LocalDateTime.now();
+        urls.stream().map(BlobStorageService::sha256Of).flatMap(Optional::stream).forEach(sha256 -> {
+            if (storedBlobRepository.retain(sha256, now) == 0) {
+                log.warn("참조할 blob 행 없음 - sha256: {}", sha256);
+            }
+        });
+    }
+
+    /** 결과물 행이 이 URL 들을 더 이상 갖지 않음 (행 삭제 후, 가능하면 같은 트랜잭션에서 호출) */
+    public void release(Collection<String> urls) {
+        LocalDateTime now = LocalDateTime.now();
+        urls.stream().filter(Objects::nonNull).map(BlobStorageService::sha256Of).flatMap(Optional::stream)
+                .forEach(sha256 -> storedBlobRepository.release(sha256, now));
+    }
+
+    /** 참조 0 으로 유예 시간이 지난 객체 */
+    public List<String> findCollectable() {
+        return storedBlobRepository.findCollectable(cutoff(), PageRequest.of(0, properties.getGcBatchSize()));
+    }
+
+    /**
+     * 행을 먼저 정리 중(재사용/touch 불가)으로 커밋하고, 잠금 없이 객체를 지운 뒤 행을 지운다.
+     * 정리 중인 행은 put/reuse/register 가 쓰지 않고 기다리므로, 지우는 사이 같은 내용을 다시 올리거나 재사용하지 않는다.
+     * 객체 삭제가 실패하면 행이 정리 중으로 남아 다음 실행에서 다시 시도한다 (고아 객체 없음).
+     */
+    public boolean collect(String sha256) {
+        LocalDateTime cutoff = cutoff();
+        if (storedBlobRepository.markCollecting(sha256, cutoff, LocalDateTime.now()) == 0) return false;
+        amazonS3Service.deleteObject(key(sha256));
+        if (storedBlobRepository.deleteCollected(sha256, cutoff) > 0) return true;
+        // 유예 시간보다 오래 걸린 업로드가 정리 중에 참조를 잡음: 객체는 이미 없으므로 다음 put 이 다시 올리도록 되살림
+        log.error("정리 중 참조된 blob 객체 삭제됨, 재업로드 대기 - sha256: {}", sha256);
+        storedBlobRepository.cancelCollecting(sha256, LocalDateTime.now());
+        return false;
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("interrupted while waiting for blob collection", e);
+        }
+    }
+
+    private LocalDateTime cutoff() {
+        return LocalDateTime.now().minusMinutes(properties.getGcGraceMinutes());
+    }
+}
@@ -2,6 +2,7 @@ package com.deeptruth.deeptruth.service;
 
 import com.deeptruth.deeptruth.base.Enum.DeepfakeDetector;
 import com.deeptruth.deeptruth.base.Enum.DeepfakeMode;
+import com.deeptruth.deeptruth.base.Enum.FlaskJobClass;
 import com.deeptruth.deeptruth.base.dto.deepfake.BulletDTO;
 import com.deeptruth.deeptruth.base.dto.deepfake.DeepfakeDetectionDTO;
 import com.deeptruth.deeptruth.base.dto.deepfake.DeepfakeDetectionListDTO;
@@ -11,21 +12,27 @@ import com.deeptruth.deeptruth.entity.DeepfakeDetection;
 import com.deeptruth.deeptruth.entity.User;
 import com.deeptruth.deeptruth.repository.DeepfakeDetectionRepository;
 import com.deeptruth.deeptruth.repository.UserRepository;
+import com.deeptruth.deeptruth.service.flask.FlaskBinaryResponse;
+import com.deeptruth.deeptruth.service.flask.FlaskClient;
+import com.deeptruth.deeptruth.service.flask.FlaskJob;
+import com.deeptruth.deeptruth.service.flask.FlaskSingleFlight;
+import com.deeptruth.deeptruth.util.SpooledBinary;
+import com.deeptruth.deeptruth.util.SpooledMultipartFile;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 @Transactional
@@ -34,16 +41,31 @@ public class DeepfakeDetectionService {
 
     private final DeepfakeDetectionRepository deepfakeDetectionRepository;
     private final UserRepository userRepository;
-    private final AmazonS3Service amazonS3Service;
+    private final BlobStorageService blobStorageService;
     private final DeepfakeViewAssembler assembler;
     private final ActiveTaskService activeTaskService;
-    private final WebClient webClient;
-    @Value("${flask.deepfakeServer.url}")
-    private String flaskServerUrl;
+    private final FlaskClient flaskClient;
+    private final Scheduler flaskIoScheduler;
+    private final DeepfakeResultCache deepfakeResultCache;
+    private final FlaskSingleFlight flaskSingleFlight;
+    private final DirectUploadService directUploadService;
 
+    private static final Set<String> VIDEO_EXTENSIONS = Set.of("mp4", "mov", "avi", "mkv", "webm", "m4v");
+    private static final String SUSPECT_FRAME_FIELD = "most_suspect_image";
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DeepfakeDetectionDTO createDetection(Long userId,
                                                 MultipartFile file,
                                                 Map<String, String> form){
+        return createDetectionAsync(userId, file, form).block();
+    }
+
+    // Flask 호출은 논블로킹, 이후 S3 업로드/DB 저장은 flaskIoScheduler 에서 수행
+    // (Flask 응답을 기다리는 동안 DB 커넥션을 잡지 않도록 트랜잭션 밖에서 조립)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Mono<DeepfakeDetectionDTO> createDetectionAsync(Long userId,
+                                                           MultipartFile file,
+                                                           Map<String, String> form){
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
         if (file == null || file.isEmpty()) throw new FileEmptyException();
@@ -58,12 +80,88 @@ public class DeepfakeDetectionService {
 
         String taskId = form.getOrDefault("taskId", UUID.randomUUID().toString());
 
+        // 업로드 sha256 은 스풀 복사 중에 계산 (비동기 작업은 이미 스풀된 파일을 넘겨줌)
+        return Mono.using(
+                        () -> (file instanceof SpooledMultipartFile spooled) ? spooled : spoolUpload(file),
+                        spool -> detectFromSpool(user, spool, form, taskId),
+                        spool -> { if (spool != file) spool.close(); })
+                .doOnSubscribe(s -> activeTaskService.registerTask(user.getLoginId(), taskId))
+                .doFinally(signal -> activeTaskService.deregisterTask(user.getLoginId()));
+    }
+
+    private static SpooledMultipartFile spoolUpload(MultipartFile file) {
+        try {
+            return SpooledMultipartFile.spool(file);
+        } catch (UncheckedIOException e) {
+            throw new DataMappingException("failed to read upload");
+        }
+    }
+
+    private Mono<DeepfakeDetectionDTO> detectFromSpool(User user, SpooledMultipartFile spool,
+                                                       Map<String, String> form, String taskId) {
+        // 같은 내용 + 같은 파라미터로 분석한 결과가 있으면 Flask 호출 없이 복제
+        String cacheKey = DeepfakeResultCache.key(spool.getSha256(), form);
+        Optional<DeepfakeDetection> cached = deepfakeResultCache.find(cacheKey);
+        if (cached.isPresent()) {
+            return Mono.just(cloneDetection(user, cached.get(), taskId));
+        }
+
         MultipartBodyBuilder mb = new MultipartBodyBuilder();
-        mb.part("file", file.getResource())
-                .filename(file.getOriginalFilename() != null ? file.getOriginalFilename() : "upload.mp4")
-                .contentType(file.getContentType() != null ? MediaType.parseMediaType(file.getContentType())
+        mb.part("file", spool.getResource())
+                .filename(spool.getOriginalFilename() != null ? spool.getOriginalFilename() : "upload.mp4")
+                .contentType(spool.getContentType() != null ? MediaType.parseMediaType(spool.getContentType())
                         : MediaType.APPLICATION_OCTET_STREAM);
 
+        passThroughForm(mb, user, form, taskId);
+
+        // 영상은 별도 큐 → 짧은 이미지 분석이 영상 뒤에 밀리지 않음
+        FlaskJob job = FlaskJob.of(isVideo(spool) ? FlaskJobClass.VIDEO_DEEPFAKE : FlaskJobClass.IMAGE_DEEPFAKE,
+                user.getLoginId(), taskId);
+        return predict(user, mb, job, cacheKey, taskId, spool::retain, spool::close);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DeepfakeDetectionDTO createDetectionFromObject(Long userId, String objectKey, Map<String, String> form) {
+        return createDetectionFromObjectAsync(userId, objectKey, form).block();
+    }
+
+    // presigned URL 로 S3 에 직접 올린 원본: 파일 대신 객체 키를 넘기고 Flask 가 스토리지에서 직접 읽음
+    // 원본은 탐지가 끝나면 지움: Flask 로 보낸 요청은 그 호출이 끝날 때, 캐시 적중/합쳐진 요청은 자기 요청이 끝날 때
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Mono<DeepfakeDetectionDTO> createDetectionFromObjectAsync(Long userId, String objectKey,
+                                                                     Map<String, String> form) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+        DirectUploadService.UploadedObject object = directUploadService.verify(userId, objectKey);
+        String taskId = form.getOrDefault("taskId", UUID.randomUUID().toString());
+
+        // 내용 해시를 모르므로 ETag 로 캐시 (업로드 sha256 키와 섞이지 않도록 접두어)
+        String cacheKey = DeepfakeResultCache.key("s3-etag:" + object.eTag() + ":" + object.size(), form);
+        Optional<DeepfakeDetection> cached = deepfakeResultCache.find(cacheKey);
+        if (cached.isPresent()) {
+            return Mono.fromCallable(() -> cloneDetection(user, cached.get(), taskId))
+                    .doFinally(signal -> directUploadService.discard(objectKey));
+        }
+
+        MultipartBodyBuilder mb = new MultipartBodyBuilder();
+        passThrough(mb, "bucket", object.bucket());
+        passThrough(mb, "object_key", object.key());
+        passThrough(mb, "content_type", object.contentType());
+        passThroughForm(mb, user, form, taskId);
+
+        FlaskJob job = FlaskJob.of(object.isVideo() ? FlaskJobClass.VIDEO_DEEPFAKE : FlaskJobClass.IMAGE_DEEPFAKE,
+                user.getLoginId(), taskId);
+        AtomicBoolean sentToFlask = new AtomicBoolean();
+        return predict(user, mb, job, cacheKey, taskId,
+                        () -> sentToFlask.set(true), () -> directUploadService.discard(objectKey))
+                .doOnSubscribe(s -> activeTaskService.registerTask(user.getLoginId(), taskId))
+                .doFinally(signal -> {
+                    activeTaskService.deregisterTask(user.getLoginId());
+                    if (!sentToFlask.get()) directUploadService.discard(objectKey);
+                });
+    }
+
+    private static void passThroughForm(MultipartBodyBuilder mb, User user, Map<String, String> form, String taskId) {
         passThrough(mb, "loginId", user.getLoginId());
         passThrough(mb, "taskId", taskId);
         passThrough(mb, "mode", form.get("mode"));
@@ -75,42 +173,64 @@ public class DeepfakeDetectionService {
         passThrough(mb, "smooth_window", form.get("smooth_window"));
 //        passThrough(mb, "target_fps", form.get("target_fps"));
 //        passThrough(mb, "max_latency_ms", form.get("max_latency_ms"));
+    }
 
-        activeTaskService.registerTask(user.getLoginId(), taskId);
-        FlaskResponseDTO flaskResult;
-        try {
-            flaskResult = webClient.post()
-                    .uri(flaskServerUrl + "/predict")
-                    .contentType(MediaType.MULTIPART_FORM_DATA)
-                    .body(BodyInserters.fromMultipartData(mb.build()))
-                    .retrieve()
-                    .bodyToMono(FlaskResponseDTO.class)
-                    .block();
-        } catch (org.springframework.web.reactive.function.client.WebClientResponseException e) {
-            // HTTP 응답은 왔지만 4xx/5xx
-            throw new ExternalServiceException("Flask HTTP error: " + e.getRawStatusCode() + " " + e.getResponseBodyAsString());
-        } catch (org.springframework.web.reactive.function.client.WebClientRequestException e) {
-            // 연결 실패/타임아웃 등
-            throw new ExternalServiceException("Flask request failed: " + e.getMessage());
-        }  catch (Exception e) {
-            throw new ExternalServiceException("Flask invocation failed");
-        } finally {
-            activeTaskService.deregisterTask(user.getLoginId());
-        }
-
-
+    // 합쳐진 호출의 결과: leader 가 저장한 행 (follower 는 이 행을 복제)
+    private record SavedDetection(DeepfakeDetection entity, DeepfakeDetectionDTO dto) {}
+
+    private Mono<DeepfakeDetectionDTO> predict(User user, MultipartBodyBuilder mb, FlaskJob job,
+                                               String cacheKey, String taskId,
+                                               Runnable retainInput, Runnable releaseInput) {
+        // 같은 키로 진행 중인 분석이 있으면 그 결과를 함께 받음 (의심 프레임 업로드까지 한 번만)
+        // 입력(스풀/원본 객체)은 호출이 잡고 호출 종료 시 놓음: leader 가 취소돼도 남은 follower 의 분석 중에 지워지지 않음
+        // leader 행 저장 + 결과 캐시 등록까지 호출 안에서 끝내야 키가 풀린 직후의 같은 요청이 캐시를 봄
+        return flaskSingleFlight.execute("deepfake:" + cacheKey, user.getLoginId(), taskId,
+                        () -> {
+                            retainInput.run();
+                            return flaskClient.postMultipartWithBinaries(job, "/predict", mb.build(), FlaskResponseDTO.class,
+                                            Set.of(SUSPECT_FRAME_FIELD))
+                                    .switchIfEmpty(Mono.error(() -> new ExternalServiceException("Flask response is null")))
+                                    .publishOn(flaskIoScheduler)
+                                    .map(response -> {
+                                        try (response) {
+                                            return uploadSuspectFrame(user, response);
+                                        }
+                                    })
+                                    .map(flaskResult -> saveDetection(user, flaskResult, cacheKey, taskId))
+                                    .doFinally(signal -> releaseInput.run());
+                        })
+                .publishOn(flaskIoScheduler)
+                .map(saved -> isOwn(saved, user, taskId) ? saved.dto() : cloneDetection(user, saved.entity(), taskId));
+    }
 
-        if (flaskResult == null) {
-            throw new ExternalServiceException("Flask response is null");
-        }
+    private static boolean isOwn(SavedDetection saved, User user, String taskId) {
+        return saved.entity().getUser() == user && taskId.equals(saved.entity().getTaskId());
+    }
 
-        String base64Image = flaskResult.getBase64Url();
+    // content-type 이 octet-stream 으로 오는 경우가 있어 확장자도 확인
+    static boolean isVideo(MultipartFile file) {
+        String contentType = file.getContentType();
+        if (contentType != null && contentType.startsWith("video/")) return true;
+        if (contentType != null && contentType.startsWith("image/")) return false;
+        String name = file.getOriginalFilename();
+        if (name == null || !name.contains(".")) return false;
+        String ext = name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return VIDEO_EXTENSIONS.contains(ext);
+    }
 
-        if (base64Image != null && !base64Image.isEmpty()) {
-            flaskResult.setImageUrl(uploadBase64ImageToS3(base64Image, user.getUserId()));
-        }
+    // 의심 프레임(base64)은 응답 수신 중에 임시 파일로 디코딩되어 있음
+    private FlaskResponseDTO uploadSuspectFrame(User user, FlaskBinaryResponse<FlaskResponseDTO> response) {
+        FlaskResponseDTO flaskResult = response.getBody();
+        response.binary(SUSPECT_FRAME_FIELD)
+                .ifPresent(frame -> flaskResult.setImageUrl(uploadSuspectFrameToS3(frame, user.getUserId())));
+        return flaskResult;
+    }
 
+    // leader 행 저장 + 캐시 등록 (합쳐진 follower 는 이 행을 자기 taskId 로 복제)
+    private SavedDetection saveDetection(User user, FlaskResponseDTO flaskResult, String cacheKey, String taskId) {
         DeepfakeDetection entity = mapToEntity(user, flaskResult);
+        entity.setTaskId(taskId);
+        entity.setCacheKey(cacheKey);
         List<BulletDTO> stability = assembler.makeStabilityBullets(entity);
         List<BulletDTO> speed     = assembler.makeSpeedBullets(entity);
         if (stability == null || speed == null) {
@@ -118,23 +238,47 @@ public class DeepfakeDetectionService {
         }
         entity.setStabilityScore(DeepfakeViewAssembler.meanScore(stability));
         entity.setSpeedScore(DeepfakeViewAssembler.meanScore(speed));
-        deepfakeDetectionRepository.save(entity);
+        saveRetainingFrame(entity);
+        deepfakeResultCache.put(cacheKey, entity.getDeepfakeDetectionId());
 
-        return DeepfakeDetectionDTO.fromEntity(entity,stability, speed);
+        return new SavedDetection(entity, DeepfakeDetectionDTO.fromEntity(entity,stability, speed));
     }
 
-    public String uploadBase64ImageToS3(String base64Image, Long userId) {
-        userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
-        final byte[] decodedBytes;
+    // 캐시 적중: 결과 행을 요청 사용자 소유로 복제 (S3 의심 프레임 객체는 참조를 하나 더 잡고 공유)
+    private DeepfakeDetectionDTO cloneDetection(User user, DeepfakeDetection source, String taskId) {
+        DeepfakeDetection entity = source.toBuilder()
+                .deepfakeDetectionId(null)
+                .user(user)
+                .taskId(taskId)
+                .createdAt(null)
+                .build();
+        List<BulletDTO> stability = assembler.makeStabilityBullets(entity);
+        List<BulletDTO> speed     = assembler.makeSpeedBullets(entity);
+        if (stability == null || speed == null) {
+            throw new DataMappingException("bullet assembling failed");
+        }
+        saveRetainingFrame(entity);
+
+        return DeepfakeDetectionDTO.fromEntity(entity, stability, speed);
+    }
+
+    // 의심 프레임 참조를 먼저 잡고 저장, 저장 실패 시 되돌림
+    private void saveRetainingFrame(DeepfakeDetection entity) {
+        List<String> frame = Collections.singletonList(entity.getFilePath());
+        blobStorageService.retain(frame);
         try {
-            decodedBytes = Base64.getDecoder().decode(base64Image);
-        } catch (IllegalArgumentException e) {
-            throw new ImageDecodingException("invalid base64");
+            deepfakeDetectionRepository.save(entity);
+        } catch (RuntimeException e) {
+            blobStorageService.release(frame);
+            throw e;
         }
+    }
 
-        try (InputStream inputStream = new ByteArrayInputStream(decodedBytes)) {
-            String key = "deepfake/" + userId + "/" + UUID.randomUUID() + ".jpg";
-            return amazonS3Service.uploadBase64Image(inputStream, key);
+    // 의심 프레임은 내용 주소 blob: 같은 프레임이 이미 올라가 있으면 PUT 생략
+    public String uploadSuspectFrameToS3(SpooledBinary frame, Long userId) {
+        userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
+        try {
+            return blobStorageService.put(frame, "image/jpeg");
         } catch (Exception e) {
             throw new StorageException("failed to upload image to S3", e);
         }
@@ -271,5 +415,7 @@ public class DeepfakeDetectionService {
         if (deleted == 0) {
             throw new DetectionNotFoundException(id, userId);
         }
+        // 마지막 참조면 BlobCollectScheduler 가 프레임 객체 삭제
+        blobStorageService.release(Collections.singletonList(entity.getFilePath()));
     }
 }
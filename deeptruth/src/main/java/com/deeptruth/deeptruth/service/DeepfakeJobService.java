@@ -0,0 +1,144 @@
+package com.deeptruth.deeptruth.service;
+
+import com.deeptruth.deeptruth.base.Enum.JobStatus;
+import com.deeptruth.deeptruth.base.dto.deepfake.DeepfakeDetectionDTO;
+import com.deeptruth.deeptruth.base.dto.deepfake.DeepfakeJobDTO;
+import com.deeptruth.deeptruth.base.exception.*;
+import com.deeptruth.deeptruth.entity.DeepfakeJob;
+import com.deeptruth.deeptruth.entity.User;
+import com.deeptruth.deeptruth.repository.DeepfakeJobRepository;
+import com.deeptruth.deeptruth.repository.UserRepository;
+import com.deeptruth.deeptruth.util.SpooledMultipartFile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 비동기 딥페이크 탐지 작업.
+ * 업로드는 요청 스레드에서 임시 파일로 옮긴 뒤 바로 202로 응답하고,
+ * Flask 호출과 S3/DB 처리는 deepfakeJobExecutor 에서 수행한다.
+ * 완료 상태는 GET /api/deepfake/jobs/{taskId} 또는 /user/queue/progress/{taskId} 로 전달된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeepfakeJobService {
+
+    private final DeepfakeJobRepository deepfakeJobRepository;
+    private final UserRepository userRepository;
+    private final DeepfakeDetectionService deepfakeDetectionService;
+    private final SimpMessagingTemplate messagingTemplate;
+    @Qualifier("deepfakeJobExecutor")
+    private final TaskExecutor deepfakeJobExecutor;
+
+    public DeepfakeJobDTO submit(Long userId, MultipartFile file, Map<String, String> form) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+        if (file == null || file.isEmpty()) throw new FileEmptyException();
+
+        Map<String, String> params = new HashMap<>(form);
+        String taskId = params.get("taskId");
+        if (taskId == null || taskId.isBlank()) {
+            taskId = UUID.randomUUID().toString();
+            params.put("taskId", taskId);
+        }
+        if (deepfakeJobRepository.existsByTaskId(taskId)) {
+            throw new DuplicateTaskIdException(taskId);
+        }
+
+        // 이어 올리기로 이미 디스크에 있는 파일은 그대로 작업에 넘김
+        SpooledMultipartFile spooled = (file instanceof SpooledMultipartFile s) ? s : SpooledMultipartFile.spool(file);
+
+        DeepfakeJob job;
+        try {
+            job = deepfakeJobRepository.save(DeepfakeJob.builder()
+                    .user(user)
+                    .taskId(taskId)
+                    .status(JobStatus.QUEUED)
+                    .build());
+        } catch (RuntimeException e) {
+            if (spooled != file) spooled.close();
+            // 확인 직후 같은 taskId 가 먼저 저장됨 (uk_dfj_task)
+            if (e instanceof DataIntegrityViolationException) throw new DuplicateTaskIdException(taskId);
+            throw e;
+        }
+
+        try {
+            deepfakeJobExecutor.execute(() -> run(job.getDeepfakeJobId(), user, spooled, params));
+        } catch (RejectedExecutionException e) {
+            // 넘겨받은 파일은 호출한 쪽이 다시 시도할 수 있도록 남겨 둠
+            if (spooled != file) spooled.close();
+            markFailed(job, "queue full");
+            throw new JobQueueFullException("deepfake");
+        }
+
+        log.info("딥페이크 작업 접수 - taskId: {}, loginId: {}", taskId, user.getLoginId());
+        return DeepfakeJobDTO.fromEntity(job);
+    }
+
+    public DeepfakeJobDTO getJob(Long userId, String taskId) {
+        userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
+        return deepfakeJobRepository.findByTaskIdAndUser_UserId(taskId, userId)
+                .map(DeepfakeJobDTO::fromEntity)
+                .orElseThrow(() -> new JobNotFoundException(taskId, userId));
+    }
+
+    // 워커 스레드에서 실행
+    void run(Long jobId, User user, SpooledMultipartFile file, Map<String, String> params) {
+        DeepfakeJob job = deepfakeJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            file.close();
+            return;
+        }
+        try {
+            job.setStatus(JobStatus.RUNNING);
+            deepfakeJobRepository.save(job);
+
+            DeepfakeDetectionDTO result = deepfakeDetectionService.createDetection(user.getUserId(), file, params);
+
+            job.setStatus(JobStatus.SUCCEEDED);
+            job.setDetectionId(result.getId());
+            deepfakeJobRepository.save(job);
+            log.info("딥페이크 작업 완료 - taskId: {}, detectionId: {}", job.getTaskId(), result.getId());
+        } catch (Exception e) {
+            log.warn("딥페이크 작업 실패 - taskId: {}, 원인: {}", job.getTaskId(), e.getMessage());
+            markFailed(job, e.getMessage());
+        } finally {
+            file.close();
+            notifyUser(user.getLoginId(), job);
+        }
+    }
+
+    private void markFailed(DeepfakeJob job, String reason) {
+        job.setStatus(JobStatus.FAILED);
+        job.setErrorMessage(truncate(reason));
+        deepfakeJobRepository.save(job);
+    }
+
+    private void notifyUser(String loginId, DeepfakeJob job) {
+        try {
+            messagingTemplate.convertAndSendToUser(
+                    loginId,
+                    "/queue/progress/" + job.getTaskId(),
+                    DeepfakeJobDTO.fromEntity(job)
+            );
+        } catch (Exception e) {
+            log.warn("작업 완료 알림 전송 실패 - taskId: {}, 원인: {}", job.getTaskId(), e.getMessage());
+        }
+    }
+
+    private static String truncate(String s) {
+        if (s == null) return "unknown error";
+        return s.length() > 500 ? s.substring(0, 500) : s;
+    }
+}
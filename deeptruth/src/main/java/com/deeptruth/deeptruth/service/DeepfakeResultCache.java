@@ -0,0 +1,125 @@
+package com.deeptruth.deeptruth.service;
+
+import com.deeptruth.deeptruth.entity.DeepfakeDetection;
+import com.deeptruth.deeptruth.repository.DeepfakeDetectionRepository;
+import com.deeptruth.deeptruth.util.ImageHashUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 같은 업로드(sha256) + 같은 분석 파라미터로 이미 탐지한 결과를 찾는다.
+ * 앞단은 크기/TTL 제한이 있는 메모리 맵(cacheKey → detectionId), 뒤는 deepfake_detection.cache_key 인덱스.
+ * 요청 결과는 deepfake.result.cache{result=hit|miss} 카운터로 집계한다.
+ */
+@Component
+public class DeepfakeResultCache {
+
+    // 결과에 영향을 주는 Flask 파라미터 (순서 고정)
+    private static final String[] KEY_PARAMS = {
+            "mode", "detector", "use_tta", "use_illum", "min_face", "sample_count", "smooth_window"
+    };
+
+    private final DeepfakeDetectionRepository deepfakeDetectionRepository;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Map<String, Entry> entries;
+
+    private record Entry(Long detectionId, long expiresAt) {}
+
+    public DeepfakeResultCache(DeepfakeDetectionRepository deepfakeDetectionRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${deepfake.cache.max-size:10000}") int maxSize,
+                               @Value("${deepfake.cache.ttl-seconds:3600}") long ttlSeconds) {
+        this.deepfakeDetectionRepository = deepfakeDetectionRepository;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > DeepfakeResultCache.this.maxSize;
+            }
+        };
+        this.hitCounter = Counter.builder("deepfake.result.cache")
+                .description("딥페이크 결과 캐시 조회")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("deepfake.result.cache")
+                .description("딥페이크 결과 캐시 조회")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        meterRegistry.gauge("deepfake.result.cache.size", this, DeepfakeResultCache::size);
+    }
+
+    // sha256(업로드) 와 파라미터 값으로 만든 캐시 키 (hex 64자)
+    public static String key(String contentSha256, Map<String, String> form) {
+        StringBuilder sb = new StringBuilder(contentSha256);
+        for (String param : KEY_PARAMS) {
+            String value = form.get(param);
+            sb.append('|').append(param).append('=')
+                    .append(value == null ? "" : value.trim().toLowerCase());
+        }
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return ImageHashUtils.toHex(md.digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Optional<DeepfakeDetection> find(String cacheKey) {
+        Long cachedId = getFresh(cacheKey);
+        if (cachedId != null) {
+            Optional<DeepfakeDetection> cached = deepfakeDetectionRepository.findById(cachedId);
+            if (cached.isPresent()) {
+                hitCounter.increment();
+                return cached;
+            }
+            // 원본 행이 삭제됨 → DB 에서 같은 키의 다른 결과를 찾는다
+            evict(cacheKey);
+        }
+
+        Optional<DeepfakeDetection> stored =
+                deepfakeDetectionRepository.findFirstByCacheKeyOrderByDeepfakeDetectionIdDesc(cacheKey);
+        if (stored.isPresent()) {
+            put(cacheKey, stored.get().getDeepfakeDetectionId());
+            hitCounter.increment();
+        } else {
+            missCounter.increment();
+        }
+        return stored;
+    }
+
+    public synchronized void put(String cacheKey, Long detectionId) {
+        if (cacheKey == null || detectionId == null || maxSize <= 0) return;
+        entries.put(cacheKey, new Entry(detectionId, System.currentTimeMillis() + ttlMillis));
+    }
+
+    public synchronized void evict(String cacheKey) {
+        entries.remove(cacheKey);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized Long getFresh(String cacheKey) {
+        Entry entry = entries.get(cacheKey);
+        if (entry == null) return null;
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(cacheKey);
+            return null;
+        }
+        return entry.detectionId();
+    }
+}
@@ -0,0 +1,121 @@
+package com.deeptruth.deeptruth.service;
+
+import com.deeptruth.deeptruth.base.dto.deepfake.PresignedUploadDTO;
+import com.deeptruth.deeptruth.base.exception.ArtifactNotFoundException;
+import com.deeptruth.deeptruth.base.exception.FileEmptyException;
+import com.deeptruth.deeptruth.base.exception.InvalidFileException;
+import com.deeptruth.deeptruth.base.exception.InvalidFilenameException;
+import com.deeptruth.deeptruth.base.exception.UnauthorizedOperationException;
+import com.deeptruth.deeptruth.base.exception.UnsupportedMediaTypeException;
+import com.deeptruth.deeptruth.base.exception.UserNotFoundException;
+import com.deeptruth.deeptruth.config.DirectUploadProperties;
+import com.deeptruth.deeptruth.entity.User;
+import com.deeptruth.deeptruth.repository.UserRepository;
+import com.deeptruth.deeptruth.service.storage.ObjectStorage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 딥페이크 원본을 Spring 을 거치지 않고 S3 에 바로 올리게 하는 presigned PUT 발급과,
+ * 올라온 객체를 탐지 요청에 쓰기 전 확인(소유자 prefix, 존재, 크기, 타입).
+ * 객체 키: deepfake/uploads/{userId}/{uuid}.{ext}
+ * 원본은 탐지가 끝나면 discard() 로 지우고, 탐지에 쓰이지 않고 남은 것은 회원 영구 삭제 때 purgeUser() 가 지운다.
+ */
+@Service
+@RequiredArgsConstructor
+public class DirectUploadService {
+
+    static final String PREFIX = "deepfake/uploads/";
+
+    private final AmazonS3Service amazonS3Service;
+    private final UserRepository userRepository;
+    private final DirectUploadProperties properties;
+    private final Clock clock = Clock.systemUTC();
+
+    /** 탐지 요청이 참조하는, 확인을 마친 업로드 객체 */
+    public record UploadedObject(String bucket, String key, long size, String contentType, String eTag) {
+        public boolean isVideo() {
+            return contentType.startsWith("video/");
+        }
+    }
+
+    public PresignedUploadDTO issue(Long userId, String filename, String contentType, Long size) {
+        userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
+        if (size == null || size <= 0) throw new FileEmptyException();
+        if (size > properties.getMaxSizeBytes()) {
+            throw new InvalidFileException("file too large (max " + properties.getMaxSizeBytes() + " bytes)");
+        }
+        String type = normalize(contentType);
+        if (!properties.getAllowedContentTypes().contains(type)) {
+            throw new UnsupportedMediaTypeException(contentType);
+        }
+
+        String key = prefix(userId) + UUID.randomUUID() + "." + extension(filename);
+        Instant expiresAt = clock.instant().plusSeconds(properties.getUrlExpirySeconds());
+        String url = amazonS3Service.presignPut(key, type, size, expiresAt).toString();
+
+        return PresignedUploadDTO.builder()
+                .objectKey(key)
+                .uploadUrl(url)
+                .method("PUT")
+                .headers(Map.of(HttpHeaders.CONTENT_TYPE, type, HttpHeaders.CONTENT_LENGTH, String.valueOf(size)))
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    public UploadedObject verify(Long userId, String objectKey) {
+        if (objectKey == null || !objectKey.startsWith(prefix(userId)) || objectKey.contains("..")) {
+            throw new UnauthorizedOperationException("업로드 객체에 접근할 권한이 없습니다: " + objectKey);
+        }
+        ObjectStorage.StoredObject object = amazonS3Service.findObject(objectKey)
+                .orElseThrow(() -> new ArtifactNotFoundException("업로드된 객체가 없습니다: " + objectKey));
+
+        // presigned URL 이 크기/타입을 묶어 두지만, 다른 경로로 올라온 객체일 수도 있어 다시 확인
+        if (object.size() <= 0) throw new FileEmptyException();
+        if (object.size() > properties.getMaxSizeBytes()) {
+            throw new InvalidFileException("file too large (max " + properties.getMaxSizeBytes() + " bytes)");
+        }
+        String type = normalize(object.contentType());
+        if (!properties.getAllowedContentTypes().contains(type)) {
+            throw new UnsupportedMediaTypeException(object.contentType());
+        }
+        return new UploadedObject(amazonS3Service.getBucketName(), objectKey, object.size(), type, object.eTag());
+    }
+
+    /** 탐지에 쓴 원본 삭제 (실패해도 탐지 결과에는 영향 없음) */
+    public void discard(String objectKey) {
+        amazonS3Service.deleteQuietly(objectKey);
+    }
+
+    // 회원 영구 삭제 시 남아 있는 원본 전부
+    public int purgeUser(User user) {
+        return amazonS3Service.deletePrefix(prefix(user.getUserId()));
+    }
+
+    static String prefix(Long userId) {
+        return PREFIX + userId + "/";
+    }
+
+    private static String normalize(String contentType) {
+        if (contentType == null) return "";
+        int semicolon = contentType.indexOf(';');
+        return (semicolon < 0 ? contentType : contentType.substring(0, semicolon)).trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String extension(String filename) {
+        int dot = filename == null ? -1 : filename.lastIndexOf('.');
+        if (dot < 0 || dot == filename.length() - 1) {
+            throw new InvalidFilenameException(String.valueOf(filename));
+        }
+        String ext = filename.substring(dot + 1).toLowerCase(Locale.ROOT);
+        if (!ext.matches("[a-z0-9]{1,8}")) throw new InvalidFilenameException(filename);
+        return ext;
+    }
+}
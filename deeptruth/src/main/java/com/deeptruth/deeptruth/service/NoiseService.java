@@ -1,5 +1,6 @@
 package com.deeptruth.deeptruth.service;
 
+import com.deeptruth.deeptruth.base.Enum.FlaskJobClass;
 import com.deeptruth.deeptruth.base.dto.noise.NoiseDTO;
 import com.deeptruth.deeptruth.base.dto.noise.NoiseFlaskResponseDTO;
 import com.deeptruth.deeptruth.base.exception.*;
@@ -7,25 +8,28 @@ import com.deeptruth.deeptruth.entity.Noise;
 import com.deeptruth.deeptruth.entity.User;
 import com.deeptruth.deeptruth.repository.NoiseRepository;
 import com.deeptruth.deeptruth.repository.UserRepository;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
+import com.deeptruth.deeptruth.service.flask.FlaskBinaryResponse;
+import com.deeptruth.deeptruth.service.flask.FlaskClient;
+import com.deeptruth.deeptruth.service.flask.FlaskJob;
+import com.deeptruth.deeptruth.util.SpooledMultipartFile;
 import org.springframework.data.domain.Pageable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.http.MediaType;
 import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.Base64;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -37,20 +41,27 @@ public class NoiseService {
 
     private final NoiseRepository noiseRepository;
     private final UserRepository userRepository;
-    private final AmazonS3Service amazonS3Service;
+    private final BlobStorageService blobStorageService;
     private final ActiveTaskService activeTaskService;
-    private final WebClient webClient;
+    private final FlaskClient flaskClient;
+    private final Scheduler flaskIoScheduler;
 
-    @Value("${flask.noiseServer.url}")
-    private String flaskServerUrl;
+    private static final String ORIGINAL_IMAGE_FIELD = "originalFilePath";
+    private static final String PROCESSED_IMAGE_FIELD = "processedFilePath";
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public NoiseDTO createNoise(Long userId, String loginId, MultipartFile multipartFile,
                                 String mode, Integer level, String taskId) {
+        return createNoiseAsync(userId, loginId, multipartFile, mode, level, taskId).block();
+    }
+
+    // Flask 호출은 논블로킹, 이후 S3 업로드(내용 주소 blob, storageIoExecutor 에서 동시 전송)/DB 저장은 flaskIoScheduler 에서 수행
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Mono<NoiseDTO> createNoiseAsync(Long userId, String loginId, MultipartFile multipartFile,
+                                           String mode, Integer level, String taskId) {
 
         // 1. taskId 생성
-        if (taskId == null || taskId.isBlank()) {
-            taskId = UUID.randomUUID().toString();
-        }
+        final String resolvedTaskId = (taskId == null || taskId.isBlank()) ? UUID.randomUUID().toString() : taskId;
 
         // 2. 비즈니스 검증
         validateBusinessParameters(multipartFile, mode, level);
@@ -59,23 +70,24 @@ public class NoiseService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
-        // 4. 웹소켓 세션 관리
-        activeTaskService.registerTask(loginId, taskId);
-
-        try {
-            // 5. Flask API 호출
-            NoiseFlaskResponseDTO flaskResponse = callFlaskAPI(multipartFile, mode, level, taskId, loginId);
-
-            // 6. 이미지 후처리 (S3 업로드)
-            processImageUploads(flaskResponse, userId, multipartFile.getOriginalFilename());
-
-            // 7. 데이터베이스 저장
-            return saveNoiseEntity(user, flaskResponse, multipartFile.getOriginalFilename());
-
-        } finally {
-            // 8. 세션 정리
-            activeTaskService.deregisterTask(loginId);
-        }
+        String originalFilename = multipartFile.getOriginalFilename();
+
+        // 4. Flask API 호출 → 5. 이미지 후처리 (S3 업로드) → 6. 데이터베이스 저장
+        //    업로드는 임시 파일로 스풀해 파일 리소스로 스트리밍 (요청 종료 시 삭제)
+        return Mono.using(
+                        () -> spoolUpload(multipartFile),
+                        spool -> callFlaskAPI(spool, mode, level, resolvedTaskId, loginId),
+                        SpooledMultipartFile::close)
+                .publishOn(flaskIoScheduler)
+                .map(flaskResponse -> {
+                    try (flaskResponse) {
+                        processImageUploads(flaskResponse);
+                        return saveNoiseEntity(user, flaskResponse.getBody(), originalFilename);
+                    }
+                })
+                // 7. 웹소켓 세션 관리
+                .doOnSubscribe(s -> activeTaskService.registerTask(loginId, resolvedTaskId))
+                .doFinally(signal -> activeTaskService.deregisterTask(loginId));
     }
 
     // 비즈니스 파라미터 검증
@@ -102,73 +114,68 @@ public class NoiseService {
         }
     }
 
-    // Flask 호출
-    private NoiseFlaskResponseDTO callFlaskAPI(MultipartFile multipartFile, String mode,
-                                               Integer level, String taskId, String loginId) {
+    private static SpooledMultipartFile spoolUpload(MultipartFile multipartFile) {
         try {
-            log.info("Flask API 호출 시작 - taskId: {}, loginId: {}", taskId, loginId);
-
-            // 파일 리소스 준비
-            ByteArrayResource resource = new ByteArrayResource(multipartFile.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return multipartFile.getOriginalFilename();
-                }
-            };
-
-            // 요청 데이터 구성
-            MultipartBodyBuilder builder = new MultipartBodyBuilder();
-            builder.part("file", resource);
-            builder.part("mode", mode);
-            builder.part("level", level);
-            builder.part("taskId", taskId);
-            builder.part("loginId", loginId);
-
-            // Flask API 호출
-            NoiseFlaskResponseDTO response = webClient.post()
-                    .uri(flaskServerUrl + "/upload")
-                    .contentType(MediaType.MULTIPART_FORM_DATA)
-                    .body(BodyInserters.fromMultipartData(builder.build()))
-                    .retrieve()
-                    .bodyToMono(NoiseFlaskResponseDTO.class)
-                    .block();
-
-            if (response == null) {
-                throw new RuntimeException("Flask 서버에서 응답을 받지 못했습니다.");
-            }
-
-            log.info("Flask API 호출 성공 - taskId: {}, attackSuccess: {}",
-                    response.getTaskId(), response.getAttackSuccess());
-
-            return response;
-
-        } catch (Exception e) {
+            return SpooledMultipartFile.spool(multipartFile);
+        } catch (UncheckedIOException e) {
             log.error("Flask API 호출 실패: {}", e.getMessage());
             throw new RuntimeException("Flask API 호출 중 오류가 발생했습니다: " + e.getMessage());
         }
     }
 
-    // 이미지 S3 업로드 처리
-    private void processImageUploads(NoiseFlaskResponseDTO flaskResult, Long userId, String filename) {
-
-        // 원본 이미지 업로드
-        if (flaskResult.getOriginalFilePath() != null &&
-                flaskResult.getOriginalFilePath().startsWith("data:image")) {
+    // Flask 호출
+    private Mono<FlaskBinaryResponse<NoiseFlaskResponseDTO>> callFlaskAPI(SpooledMultipartFile spool, String mode,
+                                                     Integer level, String taskId, String loginId) {
+        log.info("Flask API 호출 시작 - taskId: {}, loginId: {}", taskId, loginId);
+
+        // 요청 데이터 구성
+        MultipartBodyBuilder builder = new MultipartBodyBuilder();
+        builder.part("file", spool.getResource());
+        builder.part("mode", mode);
+        builder.part("level", level);
+        builder.part("taskId", taskId);
+        builder.part("loginId", loginId);
+
+        // Flask API 호출 (data:image base64 두 장은 수신 중에 임시 파일로 디코딩)
+        return flaskClient.postMultipartWithBinaries(FlaskJob.of(FlaskJobClass.NOISE, loginId, taskId), "/upload",
+                        builder.build(), NoiseFlaskResponseDTO.class, Set.of(ORIGINAL_IMAGE_FIELD, PROCESSED_IMAGE_FIELD))
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Flask 서버에서 응답을 받지 못했습니다.")))
+                .doOnNext(response -> log.info("Flask API 호출 성공 - taskId: {}, attackSuccess: {}",
+                        response.getBody().getTaskId(), response.getBody().getAttackSuccess()))
+                .onErrorMap(e -> !(e instanceof FlaskBackendBusyException || e instanceof ImageDecodingException), e -> {
+                    log.error("Flask API 호출 실패: {}", e.getMessage());
+                    return new RuntimeException("Flask API 호출 중 오류가 발생했습니다: " + e.getMessage());
+                });
+    }
 
-            String originalUrl = uploadBase64ImageToS3(
-                    flaskResult.getOriginalFilePath(), userId, "original", filename
-            );
-            flaskResult.setOriginalFilePath(originalUrl);
+    // 이미지 S3 업로드 처리: 원본/처리 이미지는 서로 독립이라 동시에 올림. 같은 내용이 이미 있으면 PUT 생략
+    // 하나라도 실패하면 올라간 쪽은 참조가 없으므로 blob 정리에서 지워짐
+    private void processImageUploads(FlaskBinaryResponse<NoiseFlaskResponseDTO> flaskResponse) {
+        NoiseFlaskResponseDTO flaskResult = flaskResponse.getBody();
+
+        List<String> fields = new ArrayList<>(2);
+        List<BlobStorageService.BlobUpload> uploads = new ArrayList<>(2);
+        flaskResponse.binary(ORIGINAL_IMAGE_FIELD).ifPresent(image -> {
+            fields.add(ORIGINAL_IMAGE_FIELD);
+            uploads.add(new BlobStorageService.BlobUpload(image, image.getContentType()));
+        });
+        flaskResponse.binary(PROCESSED_IMAGE_FIELD).ifPresent(image -> {
+            fields.add(PROCESSED_IMAGE_FIELD);
+            uploads.add(new BlobStorageService.BlobUpload(image, image.getContentType()));
+        });
+        if (uploads.isEmpty()) return;
+
+        List<String> urls;
+        try {
+            urls = blobStorageService.putAll(uploads);
+        } catch (Exception e) {
+            log.error("S3 업로드 실패: {}", e.getMessage());
+            throw new StorageException("failed to upload image to S3", e);
         }
-
-        // 처리된 이미지 업로드
-        if (flaskResult.getProcessedFilePath() != null &&
-                flaskResult.getProcessedFilePath().startsWith("data:image")) {
-
-            String processedUrl = uploadBase64ImageToS3(
-                    flaskResult.getProcessedFilePath(), userId, "processed", filename
-            );
-            flaskResult.setProcessedFilePath(processedUrl);
+        for (int i = 0; i < fields.size(); i++) {
+            log.info("S3 업로드 성공: {} ({} bytes)", urls.get(i), uploads.get(i).binary().getSize());
+            if (ORIGINAL_IMAGE_FIELD.equals(fields.get(i))) flaskResult.setOriginalFilePath(urls.get(i));
+            else flaskResult.setProcessedFilePath(urls.get(i));
         }
     }
 
@@ -200,8 +207,15 @@ public class NoiseService {
                 .level(flaskResponse.getLevel())
                 .build();
 
-        // 데이터베이스 저장
-        noiseRepository.save(noise);
+        // 데이터베이스 저장 (결과물 참조를 먼저 잡고, 저장 실패 시 되돌림)
+        List<String> artifactUrls = Arrays.asList(noise.getOriginalFilePath(), noise.getProcessedFilePath());
+        blobStorageService.retain(artifactUrls);
+        try {
+            noiseRepository.save(noise);
+        } catch (RuntimeException e) {
+            blobStorageService.release(artifactUrls);
+            throw e;
+        }
 
         log.info("적대적 노이즈 엔티티 저장 완료 - 사용자: {}, 파일: {}",
                 user.getLoginId(), originalFileName);
@@ -210,43 +224,6 @@ public class NoiseService {
         return NoiseDTO.fromEntityWithFlaskData(noise, flaskResponse);
     }
 
-    // S3 업로드 메소드
-    public String uploadBase64ImageToS3(String base64Image, Long userId, String type, String originalFileName) {
-        if (base64Image == null || base64Image.isBlank()) {
-            throw new ImageDecodingException("empty string");
-        }
-
-        // data:image/png;base64, 제거
-        String cleanBase64 = base64Image;
-        if (base64Image.startsWith("data:image/")) {
-            cleanBase64 = base64Image.substring(base64Image.indexOf(",") + 1);
-        }
-
-        final byte[] decodedBytes;
-        try {
-            decodedBytes = Base64.getDecoder().decode(cleanBase64);
-            log.info("Base64 디코딩 성공, 크기: {} bytes", decodedBytes.length);
-        } catch (IllegalArgumentException e) {
-            String preview = base64Image.length() > 50 ? base64Image.substring(0, 50) + "..." : base64Image;
-            log.error("유효하지 않은 Base64 문자 발견: [{}]", preview);
-            throw new ImageDecodingException("Failed to decode Base64 image: Invalid Base64 characters detected");
-        }
-
-        try (InputStream inputStream = new ByteArrayInputStream(decodedBytes)) {
-            // S3에는 UUID로 저장 (충돌 방지)
-            String key = "noise/" + userId + "/" + type + "/" + UUID.randomUUID() + ".jpg";
-            String result = amazonS3Service.uploadBase64Image(inputStream, key);
-            log.info("S3 업로드 성공: {}", result);
-            return result;
-        } catch (IOException e) {
-            log.error("InputStream 처리 실패: {}", e.getMessage());
-            throw new StorageException("failed to process image stream", e);
-        } catch (Exception e) {
-            log.error("S3 업로드 실패: {}", e.getMessage());
-            throw new StorageException("failed to upload image to S3", e);
-        }
-    }
-
     public Page<NoiseDTO> getAllResult(Long userId, Pageable pageable) {
         userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
@@ -269,10 +246,13 @@ public class NoiseService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
+        // 행을 지운 뒤 결과물 참조 해제 (마지막 참조면 BlobCollectScheduler 가 객체 삭제)
+        Optional<Noise> noise = noiseRepository.findByNoiseIdAndUser(noiseId, user);
         int deleted = noiseRepository.deleteByNoiseIdAndUser(noiseId, user);
         if (deleted == 0) {
             throw new NoiseNotFoundException(noiseId, userId);
         }
+        noise.ifPresent(n -> blobStorageService.release(Arrays.asList(n.getOriginalFilePath(), n.getProcessedFilePath())));
     }
 
     public List<NoiseDTO> getUserNoiseHistory(Long userId) {
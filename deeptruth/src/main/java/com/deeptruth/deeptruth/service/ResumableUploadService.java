@@ -0,0 +1,236 @@
+package com.deeptruth.deeptruth.service;
+
+import com.deeptruth.deeptruth.base.dto.deepfake.DeepfakeJobDTO;
+import com.deeptruth.deeptruth.base.dto.deepfake.ResumableUploadDTO;
+import com.deeptruth.deeptruth.base.exception.*;
+import com.deeptruth.deeptruth.config.ResumableUploadProperties;
+import com.deeptruth.deeptruth.entity.ResumableUpload;
+import com.deeptruth.deeptruth.entity.User;
+import com.deeptruth.deeptruth.repository.ResumableUploadRepository;
+import com.deeptruth.deeptruth.repository.UserRepository;
+import com.deeptruth.deeptruth.util.FileChunks;
+import com.deeptruth.deeptruth.util.SpooledMultipartFile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 딥페이크 원본 이어 올리기 (tus 1.0 core + checksum 방식).
+ * 생성 → PATCH(Upload-Offset 위치부터 청크) 반복 → HEAD 로 현재 offset 확인 → 완료 시 탐지 작업으로 넘긴다.
+ * 청크는 체크섬 확인과 fsync 가 끝난 뒤에만 offset 을 올리므로, 끊기거나 손상된 청크는 같은 offset 부터 다시 보내면 된다.
+ * 완료된 스풀 파일은 복사 없이 SpooledMultipartFile 로 DeepfakeJobService 에 넘어간다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ResumableUploadService {
+
+    // tus Upload-Checksum 알고리즘 이름 → JCA 이름
+    private static final Map<String, String> CHECKSUM_ALGORITHMS = Map.of(
+            "sha1", "SHA-1", "md5", "MD5", "sha256", "SHA-256");
+
+    private final ResumableUploadRepository resumableUploadRepository;
+    private final UserRepository userRepository;
+    private final DeepfakeJobService deepfakeJobService;
+    private final ResumableUploadProperties properties;
+
+    // 같은 업로드에 PATCH/완료가 겹치면 같은 위치를 덮어쓸 수 있어 한 번에 하나만 허용
+    private final Set<String> busy = ConcurrentHashMap.newKeySet();
+
+    public ResumableUploadDTO create(Long userId, Long length, String filename, String contentType) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+        if (length == null || length <= 0) throw new FileEmptyException();
+        if (length > properties.getMaxSizeBytes()) {
+            throw new InvalidFileException("file too large (max " + properties.getMaxSizeBytes() + " bytes)");
+        }
+        if (contentType == null) contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        if (!(contentType.startsWith("image/") || contentType.startsWith("video/")
+                || MediaType.APPLICATION_OCTET_STREAM_VALUE.equals(contentType))) {
+            throw new UnsupportedMediaTypeException(contentType);
+        }
+
+        String uploadId = UUID.randomUUID().toString();
+        try {
+            Files.createDirectories(properties.getDir());
+            Files.createFile(spoolPath(uploadId));
+        } catch (IOException e) {
+            throw new StorageException("failed to create upload spool", e);
+        }
+
+        ResumableUpload upload = resumableUploadRepository.save(ResumableUpload.builder()
+                .user(user)
+                .uploadId(uploadId)
+                .filename(filename)
+                .contentType(contentType)
+                .uploadLength(length)
+                .uploadOffset(0L)
+                .expiresAt(LocalDateTime.now().plusHours(properties.getExpiryHours()))
+                .build());
+        return ResumableUploadDTO.fromEntity(upload);
+    }
+
+    public ResumableUploadDTO get(Long userId, String uploadId) {
+        return ResumableUploadDTO.fromEntity(find(userId, uploadId));
+    }
+
+    /**
+     * offset 위치부터 청크를 이어 쓰고 새 offset 을 돌려준다.
+     * checksum 은 tus Upload-Checksum 형식("sha256 <base64>")이며, 맞지 않으면 offset 을 올리지 않는다.
+     */
+    public ResumableUploadDTO append(Long userId, String uploadId, long offset, String checksum, InputStream body) {
+        ResumableUpload upload = find(userId, uploadId);
+        if (!busy.add(uploadId)) {
+            throw new UploadOffsetConflictException(uploadId, "다른 요청이 같은 업로드에 쓰는 중입니다");
+        }
+        try {
+            if (offset != upload.getUploadOffset()) {
+                throw new UploadOffsetConflictException(uploadId,
+                        "offset " + offset + " != 현재 offset " + upload.getUploadOffset());
+            }
+            long remaining = upload.getUploadLength() - offset;
+            long limit = Math.min(remaining, properties.getMaxChunkBytes());
+
+            ExpectedChecksum expected = ExpectedChecksum.parse(checksum);
+            long written = FileChunks.write(spoolPath(uploadId), offset, body, limit,
+                    expected != null ? expected.digest() : null);
+            if (written == limit && body.read() >= 0) {
+                // 남은 크기 또는 청크 한도를 넘는 본문: 쓴 부분도 인정하지 않음
+                throw new InvalidFileException(remaining <= properties.getMaxChunkBytes()
+                        ? "chunk exceeds Upload-Length" : "chunk too large (max " + properties.getMaxChunkBytes() + " bytes)");
+            }
+            if (expected != null && !expected.matches()) {
+                throw new ChecksumMismatchException(uploadId, offset);
+            }
+
+            upload.setUploadOffset(offset + written);
+            upload.setExpiresAt(LocalDateTime.now().plusHours(properties.getExpiryHours()));
+            resumableUploadRepository.save(upload);
+            return ResumableUploadDTO.fromEntity(upload);
+        } catch (IOException e) {
+            // 청크 도중 끊김: offset 은 그대로, 클라이언트는 HEAD 로 확인 후 다시 보냄
+            throw new UncheckedIOException("failed to write upload chunk", e);
+        } finally {
+            busy.remove(uploadId);
+        }
+    }
+
+    /** 다 받은 업로드를 비동기 탐지 작업으로 넘긴다. 작업 접수에 실패하면 업로드는 그대로 남아 다시 시도할 수 있다. */
+    public DeepfakeJobDTO complete(Long userId, String uploadId, Map<String, String> form) {
+        ResumableUpload upload = find(userId, uploadId);
+        if (!busy.add(uploadId)) {
+            throw new UploadOffsetConflictException(uploadId, "다른 요청이 같은 업로드에 쓰는 중입니다");
+        }
+        try {
+            if (!upload.getUploadOffset().equals(upload.getUploadLength())) {
+                throw new UploadOffsetConflictException(uploadId,
+                        "아직 다 받지 못했습니다 (" + upload.getUploadOffset() + "/" + upload.getUploadLength() + ")");
+            }
+            Path path = spoolPath(uploadId);
+            SpooledMultipartFile file = SpooledMultipartFile.adopt(path, "file", upload.getFilename(),
+                    upload.getContentType(), upload.getUploadLength(), FileChunks.sha256(path));
+
+            DeepfakeJobDTO job = deepfakeJobService.submit(userId, file, form);
+            // 파일은 이제 작업 소유 (작업이 끝나면 삭제)
+            resumableUploadRepository.delete(upload);
+            log.info("이어 올리기 완료 - uploadId: {}, taskId: {}, bytes: {}", uploadId, job.getTaskId(), upload.getUploadLength());
+            return job;
+        } catch (IOException e) {
+            throw new StorageException("failed to read upload spool", e);
+        } finally {
+            busy.remove(uploadId);
+        }
+    }
+
+    public void terminate(Long userId, String uploadId) {
+        ResumableUpload upload = find(userId, uploadId);
+        if (!busy.add(uploadId)) {
+            throw new UploadOffsetConflictException(uploadId, "다른 요청이 같은 업로드에 쓰는 중입니다");
+        }
+        try {
+            discard(upload);
+        } finally {
+            busy.remove(uploadId);
+        }
+    }
+
+    /** 만료된(오래 이어지지 않은) 업로드와 스풀 파일 정리 */
+    public int purgeExpired() {
+        List<ResumableUpload> expired = resumableUploadRepository.findByExpiresAtBefore(LocalDateTime.now());
+        int purged = 0;
+        for (ResumableUpload upload : expired) {
+            if (!busy.add(upload.getUploadId())) continue;
+            try {
+                discard(upload);
+                purged++;
+            } finally {
+                busy.remove(upload.getUploadId());
+            }
+        }
+        return purged;
+    }
+
+    // 회원 영구 삭제 시 (호출한 쪽 트랜잭션 안에서 행 삭제)
+    public int purgeUser(User user) {
+        List<ResumableUpload> uploads = resumableUploadRepository.findByUser(user);
+        uploads.forEach(this::discard);
+        return uploads.size();
+    }
+
+    Path spoolPath(String uploadId) {
+        return properties.getDir().resolve(uploadId + ".part");
+    }
+
+    private ResumableUpload find(Long userId, String uploadId) {
+        return resumableUploadRepository.findByUploadIdAndUser_UserId(uploadId, userId)
+                .orElseThrow(() -> new ArtifactNotFoundException("업로드를 찾을 수 없습니다: " + uploadId));
+    }
+
+    private void discard(ResumableUpload upload) {
+        resumableUploadRepository.delete(upload);
+        try {
+            Files.deleteIfExists(spoolPath(upload.getUploadId()));
+        } catch (IOException e) {
+            log.warn("업로드 스풀 삭제 실패 - uploadId: {}, 원인: {}", upload.getUploadId(), e.getMessage());
+        }
+    }
+
+    private record ExpectedChecksum(MessageDigest digest, byte[] value) {
+
+        static ExpectedChecksum parse(String header) {
+            if (header == null || header.isBlank()) return null;
+            String[] parts = header.trim().split(" ", 2);
+            String algorithm = CHECKSUM_ALGORITHMS.get(parts[0].toLowerCase(Locale.ROOT));
+            if (algorithm == null || parts.length < 2) {
+                throw new IllegalArgumentException("지원하지 않는 Upload-Checksum 입니다: " + header);
+            }
+            try {
+                return new ExpectedChecksum(MessageDigest.getInstance(algorithm),
+                        Base64.getDecoder().decode(parts[1].trim()));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        boolean matches() {
+            return MessageDigest.isEqual(digest.digest(), value);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.deeptruth.deeptruth.service;
+
+import com.deeptruth.deeptruth.base.Enum.UploadStatus;
+import com.deeptruth.deeptruth.base.exception.StorageException;
+import com.deeptruth.deeptruth.config.UploadOutboxProperties;
+import com.deeptruth.deeptruth.entity.PendingUpload;
+import com.deeptruth.deeptruth.repository.PendingUploadRepository;
+import com.deeptruth.deeptruth.util.SpooledBinary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 결과물 저장소 쓰기 outbox.
+ * stage() 로 바이트와 디렉터리 항목을 로컬 디스크에 fsync 해 두고, commit() 으로 결과물 엔티티와 pending_upload 행을 한 트랜잭션에 저장한다.
+ * 업로드는 커밋 직후 워커 풀에서 동시에 진행되고, 실패하면 지수 백오프로 다시 시도한다.
+ * 커밋된 행은 올라갈 때까지 남으므로 프로세스가 죽어도 다음 폴링(UploadOutboxScheduler)에서 이어서 올린다.
+ * 같은 키를 다시 올려도 결과가 같아서, 업로드 후 완료 표시 전에 죽어 한 번 더 올리는 것은 문제없다.
+ * 스풀 파일은 로컬 디스크에만 있으므로 행에 만든 인스턴스(outbox 디렉터리의 instance-id)를 적고, 그 인스턴스만 올린다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UploadOutboxService {
+
+    private static final String SPOOL_SUFFIX = ".outbox";
+    private static final String INSTANCE_ID_FILE = "instance-id";
+
+    private final PendingUploadRepository pendingUploadRepository;
+    private final AmazonS3Service amazonS3Service;
+    private final BlobStorageService blobStorageService;
+    private final UploadOutboxProperties properties;
+
+    @Qualifier("uploadOutboxExecutor")
+    private final TaskExecutor uploadOutboxExecutor;
+
+    // 이 인스턴스에서 이미 큐에 넣은 행 (다른 인스턴스와의 중복은 lease 로 막음)
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+
+    private volatile String instanceId;
+
+    /** 커밋 전까지 outbox 디렉터리에 있는 업로드 한 건. url 은 올라간 뒤의 공개 주소. */
+    public record StagedUpload(String objectKey, String spoolFile, long size, String contentType, String url) {
+    }
+
+    // 응답에서 꺼낸 임시 파일은 복사하지 않고 outbox 로 옮김
+    public StagedUpload stage(SpooledBinary binary, String key, String contentType) {
+        String spoolFile = UUID.randomUUID() + SPOOL_SUFFIX;
+        try {
+            Path target = spoolPath(spoolFile);
+            Files.createDirectories(target.getParent());
+            Files.move(binary.getPath(), target);
+            force(target);
+            forceDirectory(target.getParent());
+            return new StagedUpload(key, spoolFile, binary.getSize(), contentType, amazonS3Service.getUrl(key));
+        } catch (IOException e) {
+            throw new StorageException("failed to stage upload: " + key, e);
+        }
+    }
+
+    public StagedUpload stage(byte[] bytes, String key, String contentType) {
+        String spoolFile = UUID.randomUUID() + SPOOL_SUFFIX;
+        try {
+            Path target = spoolPath(spoolFile);
+            Files.createDirectories(target.getParent());
+            Files.write(target, bytes, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            force(target);
+            forceDirectory(target.getParent());
+            return new StagedUpload(key, spoolFile, bytes.length, contentType, amazonS3Service.getUrl(key));
+        } catch (IOException e) {
+            throw new StorageException("failed to stage upload: " + key, e);
+        }
+    }
+
+    /**
+     * work(결과물 엔티티 저장)와 pending_upload 행을 한 트랜잭션으로 저장한다.
+     * 커밋되면 바로 업로드를 시작하고, 롤백되면 스풀 파일을 지운다.
+     */
+    @Transactional
+    public <T> T commit(List<StagedUpload> uploads, Supplier<T> work) {
+        T result;
+        List<Long> ids = new ArrayList<>(uploads.size());
+        try {
+            String owner = instanceId();
+            result = work.get();
+            LocalDateTime now = LocalDateTime.now();
+            for (StagedUpload upload : uploads) {
+                ids.add(pendingUploadRepository.save(PendingUpload.builder()
+                        .objectKey(upload.objectKey())
+                        .owner(owner)
+                        .spoolFile(upload.spoolFile())
+                        .size(upload.size())
+                        .contentType(upload.contentType())
+                        .status(UploadStatus.PENDING)
+                        .attempts(0)
+                        .nextAttemptAt(now)
+                        .build()).getPendingUploadId());
+            }
+        } catch (RuntimeException e) {
+            discard(uploads);
+            throw e;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ids.forEach(UploadOutboxService.this::submit);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) discard(uploads);
+                }
+            });
+        } else {
+            ids.forEach(this::submit);
+        }
+        return result;
+    }
+
+    /** 커밋하지 않을 스풀 파일 삭제 */
+    public void discard(Collection<StagedUpload> uploads) {
+        uploads.forEach(upload -> deleteQuietly(spoolPath(upload.spoolFile())));
+    }
+
+    /** 올릴 차례가 된 행을 워커 풀에 넣음 (UploadOutboxScheduler 가 주기적으로 호출) */
+    public int dispatchDue() {
+        List<Long> ids = pendingUploadRepository.findDueIds(instanceId(), UploadStatus.PENDING, LocalDateTime.now(),
+                PageRequest.of(0, properties.getBatchSize()));
+        ids.forEach(this::submit);
+        return ids.size();
+    }
+
+    /** 보관 기간이 지난 완료 행과, 어느 행도 가리키지 않는 스풀 파일(커밋 전에 죽은 요청) 정리 */
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(properties.getRetentionHours());
+        int rows = pendingUploadRepository.deleteFinishedBefore(UploadStatus.COMPLETED, cutoff);
+
+        int files = 0;
+        if (Files.isDirectory(properties.getDir())) {
+            FileTime fileCutoff = FileTime.from(Instant.now().minus(Duration.ofHours(properties.getRetentionHours())));
+            try (Stream<Path> stream = Files.list(properties.getDir())) {
+                for (Path path : (Iterable<Path>) stream::iterator) {
+                    String name = path.getFileName().toString();
+                    if (!name.endsWith(SPOOL_SUFFIX) || Files.getLastModifiedTime(path).compareTo(fileCutoff) >= 0) continue;
+                    if (pendingUploadRepository.existsBySpoolFileAndStatusNot(name, UploadStatus.COMPLETED)) continue;
+                    deleteQuietly(path);
+                    files++;
+                }
+            } catch (IOException e) {
+                log.warn("outbox 디렉터리 정리 실패: {}", properties.getDir(), e);
+            }
+        }
+        log.info("[INFO] 완료: outbox 정리 - 완료 행 {}건, 스풀 파일 {}건", rows, files);
+    }
+
+    private void submit(Long id) {
+        if (!queued.add(id)) return;
+        try {
+            uploadOutboxExecutor.execute(() -> {
+                try {
+                    process(id);
+                } finally {
+                    queued.remove(id);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // 워커 큐가 가득 참: 행은 PENDING 으로 남아 다음 폴링에서 다시 가져감
+            queued.remove(id);
+        }
+    }
+
+    void process(Long id) {
+        LocalDateTime now = LocalDateTime.now();
+        if (pendingUploadRepository.claim(id, instanceId(), UploadStatus.PENDING, now,
+                now.plusSeconds(properties.getLeaseSeconds())) == 0) {
+            return;
+        }
+        PendingUpload upload = pendingUploadRepository.findById(id).orElse(null);
+        if (upload == null) return;
+
+        Path path = spoolPath(upload.getSpoolFile());
+        if (!Files.exists(path) && upload.getOwner() == null) {
+            // owner 가 없는 예전 행: 다른 인스턴스의 파일일 수 있으므로 lease 만 풀고 나중에 다시 (그 인스턴스가 가져가도록)
+            int attempts = upload.getAttempts() + 1;
+            LocalDateTime releasedAt = LocalDateTime.now();
+            pendingUploadRepository.reschedule(id, attempts, releasedAt.plus(backoff(attempts)),
+                    "spool file not on this instance", releasedAt);
+            return;
+        }
+        if (!Files.exists(path)) {
+            log.error("outbox 스풀 파일 없음 - key: {}, file: {}", upload.getObjectKey(), path);
+            pendingUploadRepository.finish(id, UploadStatus.FAILED, "spool file missing", LocalDateTime.now());
+            return;
+        }
+
+        try {
+            amazonS3Service.uploadBinary(new SpooledBinary(path, upload.getSize(), upload.getContentType()),
+                    upload.getObjectKey(), upload.getContentType());
+        } catch (RuntimeException e) {
+            int attempts = upload.getAttempts() + 1;
+            Duration delay = backoff(attempts);
+            log.warn("outbox 업로드 실패 - key: {}, 시도: {}, {}초 후 재시도", upload.getObjectKey(), attempts,
+                    delay.toSeconds(), e);
+            LocalDateTime failedAt = LocalDateTime.now();
+            pendingUploadRepository.reschedule(id, attempts, failedAt.plus(delay), truncate(e.getMessage()), failedAt);
+            return;
+        }
+
+        pendingUploadRepository.finish(id, UploadStatus.COMPLETED, null, LocalDateTime.now());
+        // 내용 주소 키면 이제부터 같은 내용은 PUT 없이 재사용
+        blobStorageService.onUploaded(upload.getObjectKey());
+        deleteQuietly(path);
+    }
+
+    // initial × 2^(attempts-1), 상한 max
+    Duration backoff(int attempts) {
+        long initial = Math.max(1, properties.getInitialBackoffSeconds());
+        long max = Math.max(initial, properties.getMaxBackoffSeconds());
+        int shift = Math.min(attempts - 1, 30);
+        return Duration.ofSeconds(Math.min(max, initial << shift));
+    }
+
+    /**
+     * outbox 디렉터리에 한 번 만들어 두는 인스턴스 id. 호스트 이름과 달리 스풀 파일과 같은 디스크에 있으므로
+     * 컨테이너가 바뀌어도 같은 디스크를 붙이면 자기 행을 이어서 올린다.
+     */
+    String instanceId() {
+        String id = instanceId;
+        if (id != null) return id;
+        synchronized (this) {
+            if (instanceId == null) instanceId = loadInstanceId();
+            return instanceId;
+        }
+    }
+
+    private String loadInstanceId() {
+        Path file = properties.getDir().resolve(INSTANCE_ID_FILE);
+        try {
+            if (!Files.exists(file)) {
+                Files.createDirectories(file.getParent());
+                Path tmp = file.resolveSibling(INSTANCE_ID_FILE + ".tmp");
+                Files.writeString(tmp, UUID.randomUUID().toString());
+                force(tmp);
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+                forceDirectory(file.getParent());
+            }
+            return Files.readString(file).trim();
+        } catch (IOException e) {
+            throw new StorageException("failed to read outbox instance id: " + file, e);
+        }
+    }
+
+    Path spoolPath(String spoolFile) {
+        return properties.getDir().resolve(spoolFile);
+    }
+
+    private static void force(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    // 옮기거나 새로 만든 파일의 디렉터리 항목까지 디스크에 남도록 (Windows 는 디렉터리를 열 수 없어 생략)
+    private static void forceDirectory(Path dir) throws IOException {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException e) {
+            log.debug("디렉터리 fsync 미지원 - dir: {}", dir);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("outbox 스풀 파일 삭제 실패: {}", path, e);
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) return null;
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
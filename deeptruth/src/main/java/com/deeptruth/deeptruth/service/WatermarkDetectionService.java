@@ -1,5 +1,6 @@
 package com.deeptruth.deeptruth.service;
 
+import com.deeptruth.deeptruth.base.Enum.FlaskJobClass;
 import com.deeptruth.deeptruth.base.dto.watermarkDetection.DetectResultDTO;
 import com.deeptruth.deeptruth.base.dto.watermarkDetection.WatermarkDetectionFlaskResponseDTO;
 import com.deeptruth.deeptruth.base.exception.*;
@@ -7,21 +8,25 @@ import com.deeptruth.deeptruth.entity.User;
 import com.deeptruth.deeptruth.entity.Watermark;
 import com.deeptruth.deeptruth.repository.UserRepository;
 import com.deeptruth.deeptruth.repository.WatermarkRepository;
+import com.deeptruth.deeptruth.service.flask.FlaskClient;
+import com.deeptruth.deeptruth.service.flask.FlaskHedger;
+import com.deeptruth.deeptruth.service.flask.FlaskJob;
+import com.deeptruth.deeptruth.service.flask.FlaskSingleFlight;
 import com.deeptruth.deeptruth.util.ImageHashUtils;
-import com.deeptruth.deeptruth.util.ImageNormalizer;
+import com.deeptruth.deeptruth.util.ImageFingerprint;
+import com.deeptruth.deeptruth.util.SpooledMultipartFile;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.MediaType;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import java.io.IOException;
+
+import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -29,17 +34,29 @@ import java.util.UUID;
 @Transactional(readOnly = true)
 public class WatermarkDetectionService {
     private final WatermarkRepository watermarkRepository;
-    private final WebClient webClient;
     private final UserRepository userRepository;
     private final ActiveTaskService activeTaskService;
-
-    @Value("${flask.watermark-server.url}")
-    private String flaskBaseUrl;
+    private final FlaskClient flaskClient;
+    private final WatermarkPhashIndex watermarkPhashIndex;
+    private final FlaskSingleFlight flaskSingleFlight;
+    private final FlaskHedger watermarkDetectionHedger;
 
     private static final int PHASH_THRESHOLD = 30;
+    private static final int PHASH_MAX_CANDIDATES = 5;
+    // 검출 판정 bit_accuracy 임계 (비율, Flask 가 % 로 보내면 환산)
+    private static final double BIT_ACCURACY_THRESHOLD = 0.9;
+
+    private record Candidate(Watermark watermark, String matchMethod, Integer phashDistance) {}
 
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DetectResultDTO detect(Long userId, MultipartFile file, String taskId) {
+        return detectAsync(userId, file, taskId).block();
+    }
+
+    // 해시 매칭은 요청 스레드에서, Flask 호출은 논블로킹으로 처리
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Mono<DetectResultDTO> detectAsync(Long userId, MultipartFile file, String taskId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
@@ -47,109 +64,106 @@ public class WatermarkDetectionService {
         String originalFilename = (file.getOriginalFilename() == null || file.getOriginalFilename().isBlank())
                 ? "upload.png" : file.getOriginalFilename();
         if (!originalFilename.contains(".")) throw new InvalidFilenameException(originalFilename);
-        if (taskId == null || taskId.isBlank()) taskId = UUID.randomUUID().toString();
+        final String resolvedTaskId = (taskId == null || taskId.isBlank()) ? UUID.randomUUID().toString() : taskId;
+
+        // 업로드를 임시 파일로 한 번만 스풀 → 해시 매칭과 Flask 전송 모두 같은 스풀에서 읽음
+        return Mono.using(
+                        () -> spoolUpload(file),
+                        spool -> detectFromSpool(user, spool, resolvedTaskId),
+                        SpooledMultipartFile::close)
+                .doOnSubscribe(s -> activeTaskService.registerTask(user.getLoginId(), resolvedTaskId))
+                .doFinally(signal -> activeTaskService.deregisterTask(user.getLoginId()));
+    }
 
-        final byte[] uploaded;
+    private static SpooledMultipartFile spoolUpload(MultipartFile file) {
         try {
-            uploaded = file.getBytes();
-        } catch (IOException e) {
+            return SpooledMultipartFile.spool(file);
+        } catch (UncheckedIOException e) {
             throw new DataMappingException("업로드 파일을 읽을 수 없습니다.");
         }
+    }
 
-        // 1) sha256 정확 매칭
-        var sha = ImageHashUtils.sha256(uploaded);
-        var hit = watermarkRepository.findFirstBySha256(sha);
-
-        String matchMethod = null;
-        Integer phashDistance = null;
-        Watermark matched = null;
+    private Mono<DetectResultDTO> detectFromSpool(User user, SpooledMultipartFile spool, String taskId) {
+        List<Candidate> candidates;
 
-        // 2) sha256 정확 매칭
+        // 1) sha256 정확 매칭 (스풀 시 계산된 값)
+        var hit = watermarkRepository.findFirstBySha256(spool.getSha256());
         if (hit.isPresent()) {
-            matched = hit.get();
-            matchMethod = "SHA256";
+            candidates = List.of(new Candidate(hit.get(), "SHA256", null));
         }
         else {
-            // 3) normalized sha256
-            byte[] normalized = ImageNormalizer.normalizeToPng(uploaded);
-            var nsha = ImageHashUtils.sha256(normalized);
-            hit = watermarkRepository.findFirstByNormalizedSha256(nsha);
+            // 2) normalized sha256 (정규화 해시와 pHash 를 디코딩 1회로 함께 계산)
+            ImageFingerprint fingerprint = ImageFingerprint.of(spool);
+            hit = watermarkRepository.findFirstByNormalizedSha256(fingerprint.getNormalizedSha256());
             if (hit.isPresent()) {
-                matched = hit.get();
-                matchMethod = "NORMALIZED_SHA256";
+                candidates = List.of(new Candidate(hit.get(), "NORMALIZED_SHA256", null));
             } else {
-                // 4) pHash 근사 매칭
-                if (hit.isEmpty()) {
-                    long p = ImageHashUtils.pHash(uploaded);
-                    Watermark near = watermarkRepository.findNearestByPhash(p);
-                    if (near == null) {
+                // 3) pHash 근사 매칭: 임계 반경 안의 후보를 거리 순으로 (메모리 인덱스)
+                long p = fingerprint.getPhash();
+                List<Watermark> near = watermarkPhashIndex.findWithin(p, PHASH_THRESHOLD, PHASH_MAX_CANDIDATES);
+                if (near.isEmpty()) {
+                    if (watermarkPhashIndex.isEmpty()) {
                         throw new ArtifactNotFoundException("유사한 워터마크 아티팩트가 없습니다.");
                     }
-                    int dist = ImageHashUtils.hammingDistance(p, near.getPhash());
-                    if (dist > PHASH_THRESHOLD) {
-                        throw new SimilarityThresholdExceededException(dist, PHASH_THRESHOLD);
-                    }
-                    matched = near;
-                    matchMethod = "PHASH";
-                    phashDistance = dist;
+                    throw new SimilarityThresholdExceededException(PHASH_THRESHOLD);
                 }
+                candidates = near.stream()
+                        .map(wm -> new Candidate(wm, "PHASH", ImageHashUtils.hammingDistance(p, wm.getPhash())))
+                        .toList();
             }
         }
 
-
-        // DB에서 message 확보
-        String message = matched.getMessage();
-        if (message == null || message.isBlank()) {
+        // DB에서 message 확보 (메시지 없는 후보는 Flask 로 보낼 수 없음)
+        List<Candidate> detectable = candidates.stream()
+                .filter(c -> c.watermark().getMessage() != null && !c.watermark().getMessage().isBlank())
+                .toList();
+        if (detectable.isEmpty()) {
             throw new DataMappingException("매칭된 워터마크에 저장된 메시지가 없습니다.");
         }
 
-        // 4) Flask /watermark-detection 호출 (image + message)
-        ByteArrayResource imagePart = new ByteArrayResource(uploaded) {
-            @Override public String getFilename() { return file.getOriginalFilename(); }
-        };
+        // 4) 후보 순서대로 Flask 검출, 첫 검출 성공에서 중단 (모두 실패면 가장 가까운 후보의 결과)
+        return Flux.fromIterable(detectable)
+                .concatMap(candidate -> requestDetection(user, spool, candidate, taskId))
+                .takeUntil(WatermarkDetectionService::isDetected)
+                .collectList()
+                .map(results -> {
+                    DetectResultDTO last = results.get(results.size() - 1);
+                    return isDetected(last) ? last : results.get(0);
+                });
+    }
+
+    private Mono<DetectResultDTO> requestDetection(User user, SpooledMultipartFile spool, Candidate candidate, String taskId) {
         MultiValueMap<String, Object> form = new LinkedMultiValueMap<>();
-        form.add("image", imagePart);
-        form.add("message", message);
+        form.add("image", spool.getResource());
+        form.add("message", candidate.watermark().getMessage());
         form.add("taskId", taskId);
         form.add("loginId", user.getLoginId());
 
-        activeTaskService.registerTask(user.getLoginId(), taskId);
-        WatermarkDetectionFlaskResponseDTO flask;
-        try {
-            flask = webClient.post()
-                    .uri(flaskBaseUrl + "/watermark-detection")
-                    .contentType(MediaType.MULTIPART_FORM_DATA)
-                    .body(BodyInserters.fromMultipartData(form))
-                    .exchangeToMono(res -> {
-                        if (res.statusCode().is2xxSuccessful()) {
-                            return res.bodyToMono(WatermarkDetectionFlaskResponseDTO.class);
-                        } else {
-                            return res.bodyToMono(String.class).defaultIfEmpty("")
-                                    .flatMap(body -> Mono.error(new IllegalStateException(
-                                            "Flask 호출 실패: " + res.statusCode().value() + " - " + body
-                                    )));
-                        }
-                    })
-                    .block();
-        } catch (org.springframework.web.reactive.function.client.WebClientResponseException e) {
-            throw new ExternalServiceException("Flask HTTP error: " + e.getRawStatusCode() + " " + e.getResponseBodyAsString());
-        } catch (org.springframework.web.reactive.function.client.WebClientRequestException e) {
-            throw new ExternalServiceException("Flask request failed: " + e.getMessage());
-        } catch (Exception e) {
-            throw new ExternalServiceException("Flask invocation failed");
-        } finally {
-            activeTaskService.deregisterTask(user.getLoginId());
-        }
+        // 같은 업로드 + 같은 후보로 진행 중인 검출이 있으면 그 결과를 함께 받음
+        // 응답이 p95 안에 없으면 다른 복제 서버로 한 번 더 보내 먼저 온 응답을 사용 (헤징)
+        String flightKey = "watermark-detection:" + spool.getSha256() + ":" + candidate.watermark().getArtifactId();
+        FlaskJob job = FlaskJob.of(FlaskJobClass.WATERMARK_DETECTION, user.getLoginId(), taskId);
+        return flaskSingleFlight.execute(flightKey, user.getLoginId(), taskId,
+                        () -> flaskClient.postMultipart(job, "/watermark-detection", form,
+                                WatermarkDetectionFlaskResponseDTO.class, watermarkDetectionHedger))
+                .switchIfEmpty(Mono.error(() -> new ExternalServiceException("Flask 응답이 비어 있습니다.")))
+                .map(flask -> toResult(flask, candidate.watermark(), candidate.matchMethod(), candidate.phashDistance(), taskId));
+    }
 
+    // 검출 여부는 bit_accuracy 로만 판정 (이미지 누락 응답을 검출 성공으로 오인하지 않도록)
+    private static boolean isDetected(DetectResultDTO result) {
+        Double bitAccuracy = result.getBitAccuracy();
+        if (bitAccuracy == null) return false;
+        double ratio = bitAccuracy > 1.0 ? bitAccuracy / 100.0 : bitAccuracy;
+        return ratio >= BIT_ACCURACY_THRESHOLD;
+    }
 
-        if (flask == null) {
-            throw new ExternalServiceException("Flask 응답이 비어 있습니다.");
-        }
+    private DetectResultDTO toResult(WatermarkDetectionFlaskResponseDTO flask, Watermark matched,
+                                     String matchMethod, Integer phashDistance, String taskId) {
         if (flask.getBit_accuracy() == null || flask.getDetected_at() == null) {
             throw new DataMappingException("Flask 응답 필드 누락(bit_accuracy/detected_at)");
         }
 
-
         // 5) 최종 응답 DTO 구성
         return DetectResultDTO.builder()
                 .artifactId(matched.getArtifactId())
@@ -0,0 +1,121 @@
+package com.deeptruth.deeptruth.service;
+
+import com.deeptruth.deeptruth.entity.Watermark;
+import com.deeptruth.deeptruth.repository.WatermarkRepository;
+import com.deeptruth.deeptruth.util.PhashIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 워터마크 pHash 최근접 탐색용 메모리 인덱스.
+ * 기동 시 watermark 테이블에서 적재하고, 삽입/삭제 시 함께 갱신한다.
+ * 적재가 끝나기 전에는 기존 SQL(findNearestByPhash)로 조회한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WatermarkPhashIndex {
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final WatermarkRepository watermarkRepository;
+    private final PhashIndex index = new PhashIndex();
+    private volatile boolean loaded = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long startTime = System.currentTimeMillis();
+        long afterId = 0L;
+        while (true) {
+            List<WatermarkRepository.PhashRow> page =
+                    watermarkRepository.findPhashPage(afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (WatermarkRepository.PhashRow row : page) {
+                index.put(row.getWatermarkId(), row.getPhash());
+            }
+            if (page.size() < LOAD_PAGE_SIZE) break;
+            afterId = page.get(page.size() - 1).getWatermarkId();
+        }
+        loaded = true;
+        log.info("[INFO] 완료: pHash 인덱스 적재 - {}건, 소요시간: {}ms",
+                index.size(), System.currentTimeMillis() - startTime);
+    }
+
+    public void add(Watermark watermark) {
+        if (watermark == null || watermark.getWatermarkId() == null || watermark.getPhash() == null) return;
+        index.put(watermark.getWatermarkId(), watermark.getPhash());
+    }
+
+    // 트랜잭션 안에서 호출되면 커밋 이후에 제거 (롤백 시 인덱스 유지)
+    public void removeAfterCommit(Collection<Long> watermarkIds) {
+        if (watermarkIds.isEmpty()) return;
+        List<Long> ids = List.copyOf(watermarkIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ids.forEach(index::remove);
+                }
+            });
+        } else {
+            ids.forEach(index::remove);
+        }
+    }
+
+    /**
+     * SQL ORDER BY BIT_COUNT(phash ^ :phash) LIMIT 1 과 같은 최근접 워터마크 (동률이면 watermarkId 가 작은 쪽).
+     * 없으면 null.
+     */
+    public Watermark findNearest(long phash) {
+        if (!loaded) return watermarkRepository.findNearestByPhash(phash);
+        while (true) {
+            Optional<PhashIndex.Match> match = index.nearest(phash);
+            if (match.isEmpty()) return null;
+            Optional<Watermark> watermark = watermarkRepository.findById(match.get().id());
+            if (watermark.isPresent()) return watermark.get();
+            // 인덱스 밖에서 삭제된 행은 제거 후 다시 탐색
+            index.remove(match.get().id());
+        }
+    }
+
+    /**
+     * 거리 radius 이내 워터마크를 (거리, watermarkId) 순으로 최대 limit 건.
+     */
+    public List<Watermark> findWithin(long phash, int radius, int limit) {
+        if (!loaded) return watermarkRepository.findWithinPhashRadius(phash, radius, limit);
+        List<PhashIndex.Match> matches = index.search(phash, radius, limit);
+        if (matches.isEmpty()) return List.of();
+
+        Map<Long, Watermark> byId = watermarkRepository.findAllById(
+                        matches.stream().map(PhashIndex.Match::id).toList())
+                .stream()
+                .collect(Collectors.toMap(Watermark::getWatermarkId, Function.identity()));
+        List<Watermark> result = new ArrayList<>(matches.size());
+        for (PhashIndex.Match match : matches) {
+            Watermark watermark = byId.get(match.id());
+            if (watermark != null) result.add(watermark);
+            else index.remove(match.id()); // 인덱스 밖에서 삭제된 행
+        }
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return loaded ? index.size() == 0 : watermarkRepository.count() == 0;
+    }
+
+    public int size() {
+        return index.size();
+    }
+}
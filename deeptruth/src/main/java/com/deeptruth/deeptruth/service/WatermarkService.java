@@ -1,5 +1,6 @@
 package com.deeptruth.deeptruth.service;
 
+import com.deeptruth.deeptruth.base.Enum.FlaskJobClass;
 import com.deeptruth.deeptruth.base.dto.watermark.InsertResultDTO;
 import com.deeptruth.deeptruth.base.dto.watermark.WatermarkFlaskResponseDTO;
 import com.deeptruth.deeptruth.base.exception.*;
@@ -7,27 +8,34 @@ import com.deeptruth.deeptruth.entity.User;
 import com.deeptruth.deeptruth.entity.Watermark;
 import com.deeptruth.deeptruth.repository.UserRepository;
 import com.deeptruth.deeptruth.repository.WatermarkRepository;
-import com.deeptruth.deeptruth.util.ImageHashUtils;
-import com.deeptruth.deeptruth.util.ImageNormalizer;
+import com.deeptruth.deeptruth.service.flask.FlaskBinaryResponse;
+import com.deeptruth.deeptruth.service.flask.FlaskClient;
+import com.deeptruth.deeptruth.service.flask.FlaskJob;
+import com.deeptruth.deeptruth.service.storage.ObjectStorage;
+import com.deeptruth.deeptruth.util.FileChunks;
+import com.deeptruth.deeptruth.util.ImageFingerprint;
+import com.deeptruth.deeptruth.util.SpooledBinary;
+import com.deeptruth.deeptruth.util.SpooledMultipartFile;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -36,14 +44,23 @@ import java.util.UUID;
 public class WatermarkService {
     private final WatermarkRepository watermarkRepository;
     private final UserRepository userRepository;
-    private final AmazonS3Service amazonS3Service;
-    private final WebClient webClient;
+    private final UploadOutboxService uploadOutboxService;
+    private final BlobStorageService blobStorageService;
     private final ActiveTaskService activeTaskService;
+    private final FlaskClient flaskClient;
+    private final Scheduler flaskIoScheduler;
+    private final WatermarkPhashIndex watermarkPhashIndex;
 
-    @Value("${flask.watermarkServer.url}")
-    private String flaskServerUrl;
+    private static final String WATERMARKED_IMAGE_FIELD = "image_base64";
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public InsertResultDTO insert(Long userId, MultipartFile file, String message, String taskId) {
+        return insertAsync(userId, file, message, taskId).block();
+    }
+
+    // Flask 호출은 논블로킹, 이후 outbox 스풀/DB 저장은 flaskIoScheduler 에서 수행
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Mono<InsertResultDTO> insertAsync(Long userId, MultipartFile file, String message, String taskId) {
         // 1) 유효성
         if (message == null | message.isBlank()) {
             throw new IllegalArgumentException("message는 null일 수 없습니다.");
@@ -54,6 +71,7 @@ public class WatermarkService {
         if (taskId == null || taskId.isBlank()) {
             taskId = java.util.UUID.randomUUID().toString();
         }
+        final String resolvedTaskId = taskId;
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
@@ -64,83 +82,76 @@ public class WatermarkService {
             throw new UnsupportedMediaTypeException(contentType);
         }
 
-        // 2) 원본 바이트 & 해시 계산
-        final byte[] original;
-        try {
-            original = file.getBytes();
-        } catch (IOException e) {
-            throw new RuntimeException("업로드 파일을 읽을 수 없습니다.", e);
-        }
-
-        String sha256 = ImageHashUtils.sha256(original);
-        long phash = ImageHashUtils.pHash(original);
+        // 2) 업로드를 임시 파일로 한 번만 스풀 → 해시 계산과 Flask 전송 모두 같은 스풀에서 읽음
+        return Mono.using(
+                        () -> SpooledMultipartFile.spool(file),
+                        spool -> insertFromSpool(user, spool, message, resolvedTaskId),
+                        SpooledMultipartFile::close)
+                .doOnSubscribe(s -> activeTaskService.registerTask(user.getLoginId(), resolvedTaskId))
+                .doFinally(signal -> activeTaskService.deregisterTask(user.getLoginId()));
+    }
 
-        byte[] normalized = ImageNormalizer.normalizeToPng(original); // EXIF/ICC 정규화 → PNG
-        String normalizedSha256 = ImageHashUtils.sha256(normalized);
+    private Mono<InsertResultDTO> insertFromSpool(User user, SpooledMultipartFile spool, String message, String taskId) {
+        // 원본 sha256(스풀 시 계산) + 정규화 PNG sha256 + pHash 를 디코딩 1회로 계산
+        ImageFingerprint fingerprint = ImageFingerprint.of(spool);
+        String sha256 = fingerprint.getSha256();
+        String normalizedSha256 = fingerprint.getNormalizedSha256();
+        long phash = fingerprint.getPhash();
 
-        // 3) Flask 호출 (image+message) → 워터마크 이미지(base64) 수신
-        ByteArrayResource imagePart = new ByteArrayResource(original) {
-            @Override public String getFilename() { return file.getOriginalFilename(); }
-        };
+        // 3) Flask 호출 (image+message) → 워터마크 이미지(base64) 수신, 수신 중에 임시 파일로 디코딩
         MultipartBodyBuilder builder = new MultipartBodyBuilder();
-        builder.part("image", imagePart);
+        builder.part("image", spool.getResource());
         builder.part("message", message);
         builder.part("taskId", taskId);
         builder.part("loginId", user.getLoginId());
 
-        activeTaskService.registerTask(user.getLoginId(), taskId);
-        WatermarkFlaskResponseDTO flask;
-        try {
-            flask = webClient.post()
-                    .uri(flaskServerUrl + "/watermark-insert")
-                    .contentType(MediaType.MULTIPART_FORM_DATA)
-                    .body(BodyInserters.fromMultipartData(builder.build()))
-                    .retrieve()
-                    .bodyToMono(WatermarkFlaskResponseDTO.class)
-                    .block();
-        } catch (org.springframework.web.reactive.function.client.WebClientResponseException e) {
-            // HTTP 4xx/5xx 응답
-            throw new ExternalServiceException(
-                    "Flask HTTP error: " + e.getRawStatusCode() + " " + e.getResponseBodyAsString());
-        } catch (org.springframework.web.reactive.function.client.WebClientRequestException e) {
-            // 연결 실패/타임아웃 등
-            throw new ExternalServiceException("Flask request failed: " + e.getMessage());
-        } catch (Exception e) {
-            throw new ExternalServiceException("Flask invocation failed");
-        } finally {
-            activeTaskService.deregisterTask(user.getLoginId());
-        }
-
-        if (flask == null || flask.getImage_base64() == null || flask.getImage_base64().isBlank()) {
-            throw new ExternalServiceException("Flask 서버 응답이 비어 있습니다.");
-        }
+        return flaskClient.postMultipartWithBinaries(FlaskJob.of(FlaskJobClass.WATERMARK_INSERT, user.getLoginId(), taskId), "/watermark-insert",
+                        builder.build(), WatermarkFlaskResponseDTO.class, Set.of(WATERMARKED_IMAGE_FIELD))
+                .switchIfEmpty(Mono.error(() -> new ExternalServiceException("Flask 서버 응답이 비어 있습니다.")))
+                .publishOn(flaskIoScheduler)
+                .map(response -> {
+                    try (response) {
+                        return saveWatermark(user, response, message, taskId, sha256, normalizedSha256, phash);
+                    }
+                });
+    }
 
-        byte[] watermarkedBytes;
-        try {
-            watermarkedBytes = Base64.getDecoder().decode(flask.getImage_base64());
-        } catch (IllegalArgumentException e) {
-            throw new ImageDecodingException("Flask 응답의 base64 디코딩 실패");
-        }
+    private InsertResultDTO saveWatermark(User user, FlaskBinaryResponse<WatermarkFlaskResponseDTO> response, String message,
+                                          String taskId, String sha256, String normalizedSha256, long phash) {
+        WatermarkFlaskResponseDTO flask = response.getBody();
+        SpooledBinary watermarked = response.binary(WATERMARKED_IMAGE_FIELD)
+                .orElseThrow(() -> new ExternalServiceException("Flask 서버 응답이 비어 있습니다."));
 
-        // 4) S3 업로드 (artifactId 기준 경로)
+        // 4) 결과물을 내용 주소(sha256) 키로 outbox 에 스풀. 같은 내용이 이미 올라가 있으면 스풀/업로드 생략
+        //    메시지는 추측 가능한 내용 주소 키를 피해 artifactId 아래 비공개 키로 스풀. S3 업로드는 커밋 후 워커가 수행
         String artifactId = UUID.randomUUID().toString();
-        String baseKey = "watermarks/%d/%s/".formatted(userId, artifactId);
-        String wmKey   = baseKey + "watermarked.png";
-        String msgKey  = baseKey + "message.txt";
-
-        String imageUrl = null;
-        String msgUrl = null;
-
-        try (InputStream wmIs = new ByteArrayInputStream(watermarkedBytes);
-             InputStream msgIs = new ByteArrayInputStream(message.getBytes(StandardCharsets.UTF_8))) {
-
-            imageUrl = amazonS3Service.uploadStream(wmIs, wmKey, "image/png");
-            msgUrl = amazonS3Service.uploadStream(msgIs, msgKey, "text/plain");
-        } catch (Exception e) {
-            throw new StorageException("S3 업로드 실패", e);
+        byte[] messageBytes = message.getBytes(StandardCharsets.UTF_8);
+        String msgKey = ObjectStorage.PRIVATE_PREFIX + "watermarks/%d/%s/message.txt".formatted(user.getUserId(), artifactId);
+
+        List<UploadOutboxService.StagedUpload> staged = new ArrayList<>(2);
+        String imageSha256 = sha256Of(watermarked);
+        Optional<String> reused = blobStorageService.reuse(imageSha256);
+        String imageUrl;
+        String msgUrl;
+        try {
+            if (reused.isPresent()) {
+                imageUrl = reused.get();
+            } else {
+                blobStorageService.awaitCollected(imageSha256);
+                UploadOutboxService.StagedUpload image =
+                        uploadOutboxService.stage(watermarked, BlobStorageService.key(imageSha256), "image/png");
+                staged.add(image);
+                imageUrl = image.url();
+            }
+            UploadOutboxService.StagedUpload msg = uploadOutboxService.stage(messageBytes, msgKey, "text/plain");
+            staged.add(msg);
+            msgUrl = msg.url();
+        } catch (RuntimeException e) {
+            uploadOutboxService.discard(staged);
+            throw e;
         }
 
-        // 5) DB 저장
+        // 5) DB 저장 (blob 참조, pending_upload 행과 같은 트랜잭션)
         Watermark wm = Watermark.builder()
                 .user(user)
                 .artifactId(artifactId)
@@ -155,7 +166,14 @@ public class WatermarkService {
                 .taskId(taskId)
                 .build();
 
-        watermarkRepository.save(wm);
+        // 새 내용이면 blob 행도 같은 트랜잭션에서 만들어, 저장이 실패하면 참조 없는 행이 남지 않음
+        watermarkPhashIndex.add(uploadOutboxService.commit(staged, () -> {
+            if (reused.isEmpty()) {
+                blobStorageService.registerStaged(imageSha256, watermarked.getSize(), "image/png");
+            }
+            blobStorageService.retain(List.of(imageUrl));
+            return watermarkRepository.save(wm);
+        }));
 
         // 6) 응답
         return InsertResultDTO.builder()
@@ -169,8 +187,16 @@ public class WatermarkService {
                 .createdAt(LocalDateTime.now())
                 .taskId(taskId)
                 .build();
+    }
+
+    private static String sha256Of(SpooledBinary binary) {
+        try {
+            return FileChunks.sha256(binary.getPath());
+        } catch (IOException e) {
+            throw new StorageException("failed to hash watermarked image", e);
         }
-  
+    }
+
     public Page<InsertResultDTO> getAllResult(Long userId, Pageable pageable){
         userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
         if (pageable == null) throw new IllegalArgumentException("pageable은 null일 수 없습니다.");
@@ -191,7 +217,11 @@ public class WatermarkService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
+        // 행을 지운 뒤 같은 트랜잭션에서 결과물 참조 해제 (마지막 참조면 BlobCollectScheduler 가 객체 삭제)
+        Optional<Watermark> mark = watermarkRepository.findByWatermarkIdAndUser(id, user);
         int deleted = watermarkRepository.deleteByWatermarkIdAndUser(id, user);
         if (deleted == 0) throw new WatermarkNotFoundException(id, userId);
+        mark.ifPresent(m -> blobStorageService.release(Arrays.asList(m.getS3WatermarkedKey(), m.getS3MessageKey())));
+        watermarkPhashIndex.removeAfterCommit(List.of(id));
     }
 }
@@ -0,0 +1,124 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskJobClass;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * 작업 종류별 대기열 + 가중치 공정 분배 (smooth weighted round-robin, nginx 방식).
+ * 가중치 8:1 이면 두 큐가 모두 차 있을 때 9번 중 8번은 앞 큐에서 꺼내되, 뒤 큐도 굶지 않는다.
+ * 같은 큐 안에서는 사용자별로 돌아가며 꺼내서, 한 사용자가 몰아넣은 작업이 다른 사용자를 밀어내지 않는다.
+ * 동기화는 호출자(FlaskBulkhead 의 lock)가 맡는다.
+ */
+final class FairWaitQueue<E> {
+
+    private static final String ANONYMOUS = "";
+
+    private static final class ClassQueue<E> {
+        private final int weight;
+        private int currentWeight;
+        private int size;
+        // 사용자 순번: 맨 앞 사용자의 작업을 하나 꺼내면 그 사용자는 맨 뒤로
+        private final LinkedHashMap<String, ArrayDeque<E>> byUser = new LinkedHashMap<>();
+
+        private ClassQueue(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private final Map<FlaskJobClass, ClassQueue<E>> queues = new EnumMap<>(FlaskJobClass.class);
+    private int size;
+
+    FairWaitQueue(Map<FlaskJobClass, Integer> weights) {
+        for (FlaskJobClass jobClass : FlaskJobClass.values()) {
+            queues.put(jobClass, new ClassQueue<>(Math.max(1, weights.getOrDefault(jobClass, 1))));
+        }
+    }
+
+    // 예상 순번 계산용 복사본
+    private FairWaitQueue(FairWaitQueue<E> source) {
+        source.queues.forEach((jobClass, q) -> {
+            ClassQueue<E> copy = new ClassQueue<>(q.weight);
+            copy.currentWeight = q.currentWeight;
+            copy.size = q.size;
+            q.byUser.forEach((user, items) -> copy.byUser.put(user, new ArrayDeque<>(items)));
+            queues.put(jobClass, copy);
+        });
+        this.size = source.size;
+    }
+
+    void add(FlaskJob job, E element) {
+        ClassQueue<E> q = queues.get(job.jobClass());
+        q.byUser.computeIfAbsent(userOf(job), u -> new ArrayDeque<>()).addLast(element);
+        q.size++;
+        size++;
+    }
+
+    boolean remove(FlaskJob job, E element) {
+        ClassQueue<E> q = queues.get(job.jobClass());
+        String user = userOf(job);
+        ArrayDeque<E> items = q.byUser.get(user);
+        if (items == null || !items.remove(element)) return false;
+        if (items.isEmpty()) q.byUser.remove(user);
+        q.size--;
+        size--;
+        if (q.size == 0) q.currentWeight = 0;
+        return true;
+    }
+
+    /** eligible 을 만족하는 큐 중 가중치 순번이 된 큐에서, 그 큐의 다음 사용자 작업을 꺼낸다. */
+    E poll(Predicate<FlaskJobClass> eligible) {
+        ClassQueue<E> selected = null;
+        int totalWeight = 0;
+        for (Map.Entry<FlaskJobClass, ClassQueue<E>> entry : queues.entrySet()) {
+            ClassQueue<E> q = entry.getValue();
+            if (q.size == 0 || !eligible.test(entry.getKey())) continue;
+            q.currentWeight += q.weight;
+            totalWeight += q.weight;
+            if (selected == null || q.currentWeight > selected.currentWeight) selected = q;
+        }
+        if (selected == null) return null;
+        selected.currentWeight -= totalWeight;
+
+        Iterator<Map.Entry<String, ArrayDeque<E>>> users = selected.byUser.entrySet().iterator();
+        Map.Entry<String, ArrayDeque<E>> next = users.next();
+        users.remove();
+        E element = next.getValue().pollFirst();
+        if (!next.getValue().isEmpty()) selected.byUser.put(next.getKey(), next.getValue());
+
+        selected.size--;
+        size--;
+        if (selected.size == 0) selected.currentWeight = 0;
+        return element;
+    }
+
+    /** 지금 상태 그대로 꺼낼 때의 순서 (큐는 바뀌지 않음). */
+    List<E> order() {
+        FairWaitQueue<E> copy = new FairWaitQueue<>(this);
+        List<E> order = new ArrayList<>(size);
+        E next;
+        while ((next = copy.poll(jobClass -> true)) != null) {
+            order.add(next);
+        }
+        return order;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private static String userOf(FlaskJob job) {
+        return job.loginId() == null ? ANONYMOUS : job.loginId();
+    }
+}
@@ -0,0 +1,35 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.util.SpooledBinary;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * base64 필드를 임시 파일로 빼낸 Flask 응답.
+ * body 의 해당 필드는 null 이고, 디코딩된 내용은 binary(JSON 필드명)로 꺼낸다.
+ * 다 쓰면 close()로 임시 파일을 지운다.
+ */
+public class FlaskBinaryResponse<T> implements AutoCloseable {
+
+    private final T body;
+    private final Map<String, SpooledBinary> binaries;
+
+    public FlaskBinaryResponse(T body, Map<String, SpooledBinary> binaries) {
+        this.body = body;
+        this.binaries = Map.copyOf(binaries);
+    }
+
+    public T getBody() {
+        return body;
+    }
+
+    public Optional<SpooledBinary> binary(String field) {
+        return Optional.ofNullable(binaries.get(field));
+    }
+
+    @Override
+    public void close() {
+        binaries.values().forEach(SpooledBinary::close);
+    }
+}
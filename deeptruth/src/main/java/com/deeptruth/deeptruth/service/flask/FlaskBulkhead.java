@@ -0,0 +1,363 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskBackend;
+import com.deeptruth.deeptruth.base.Enum.FlaskJobClass;
+import com.deeptruth.deeptruth.base.exception.FlaskBackendBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 한 Flask 백엔드의 동시 호출 제한 (bulkhead).
+ * 허용치를 넘는 호출은 대기열에서 기다리고, 대기열이 가득 차거나 대기 시간이 지나면
+ * FlaskBackendBusyException(→ 503 + Retry-After)으로 바로 거절한다.
+ * GradientLimit 이 주어지면 동시 호출 한도를 관측된 Flask 지연시간(작업 종류별 기준선 대비)에 따라 조정한다.
+ * 한도는 복제 서버 1대당 값이고, 실제 동시 호출 수는 지금 쓸 수 있는 복제 서버 수를 곱한 만큼이다
+ * (서버가 늘거나 제외되면 다음 허가/반납부터 반영).
+ *
+ * 대기열은 작업 종류(FlaskJobClass)별로 나뉘어 가중치 비율로 꺼내고(FairWaitQueue), 종류별로
+ * 동시 호출 비율 상한(max-share)을 둘 수 있다. 예: 영상 분석이 슬롯을 모두 차지하지 못하게 해서
+ * 짧은 이미지 분석이 몇 분짜리 영상 뒤에 밀리지 않도록 한다.
+ */
+public class FlaskBulkhead {
+
+    private static final double LATENCY_EWMA_WEIGHT = 0.2;
+
+    private final FlaskBackend backend;
+    private final int maxQueue;
+    private final Duration maxWait;
+
+    private final Object lock = new Object();
+    private final FairWaitQueue<Waiter> waiters;
+    private final Map<FlaskJobClass, Double> maxShares;
+    private final FlaskQueueListener queueListener;
+    private int inFlight;
+    private final int[] inFlightByClass = new int[FlaskJobClass.values().length];
+    private volatile int limit;
+    private final GradientLimit adaptiveLimit;
+    private final IntSupplier replicas;
+
+    // 최근 호출 소요시간(ms) 지수 평균, Retry-After 추정용
+    private volatile double latencyMillis = 1000;
+    private final double[] classLatencyMillis = new double[FlaskJobClass.values().length];
+
+    private final Timer waitTimer;
+    private final Counter queueFullRejections;
+    private final Counter waitTimeoutRejections;
+
+    /**
+     * 작업 종류별 대기열 설정.
+     * @param weights   종류별 꺼내는 비율 (없으면 1)
+     * @param maxShares 종류별 동시 호출 비율 상한 0~1 (없으면 1 = 제한 없음)
+     */
+    public record Scheduling(Map<FlaskJobClass, Integer> weights, Map<FlaskJobClass, Double> maxShares,
+                             FlaskQueueListener listener) {
+        public static final Scheduling FIFO = new Scheduling(Map.of(), Map.of(), FlaskQueueListener.NONE);
+    }
+
+    private record WaitingUpdate(FlaskJob job, int position, long estimatedWaitSeconds) {}
+
+    private final class Waiter {
+        private final MonoSink<Permit> sink;
+        private final FlaskJob job;
+        private final long enqueuedAt = System.nanoTime();
+        private Permit permit;
+        private int notifiedPosition = -1;
+
+        private Waiter(MonoSink<Permit> sink, FlaskJob job) {
+            this.sink = sink;
+            this.job = job;
+        }
+    }
+
+    private final class Permit {
+        private final FlaskJobClass jobClass;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(FlaskJobClass jobClass) {
+            this.jobClass = jobClass;
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) releasePermit(jobClass);
+        }
+    }
+
+    public FlaskBulkhead(FlaskBackend backend, int maxConcurrent, int maxQueue, Duration maxWait,
+                         MeterRegistry meterRegistry) {
+        this(backend, maxConcurrent, maxQueue, maxWait, null, meterRegistry);
+    }
+
+    public FlaskBulkhead(FlaskBackend backend, int maxConcurrent, int maxQueue, Duration maxWait,
+                         GradientLimit adaptiveLimit, MeterRegistry meterRegistry) {
+        this(backend, maxConcurrent, maxQueue, maxWait, adaptiveLimit, Scheduling.FIFO, meterRegistry);
+    }
+
+    public FlaskBulkhead(FlaskBackend backend, int maxConcurrent, int maxQueue, Duration maxWait,
+                         GradientLimit adaptiveLimit, Scheduling scheduling, MeterRegistry meterRegistry) {
+        this(backend, maxConcurrent, maxQueue, maxWait, adaptiveLimit, scheduling, () -> 1, meterRegistry);
+    }
+
+    /**
+     * @param maxConcurrent 복제 서버 1대당 동시 호출 수 (적응형이면 adaptiveLimit 이 대당 한도)
+     * @param replicas      지금 쓸 수 있는 복제 서버 수
+     */
+    public FlaskBulkhead(FlaskBackend backend, int maxConcurrent, int maxQueue, Duration maxWait,
+                         GradientLimit adaptiveLimit, Scheduling scheduling, IntSupplier replicas,
+                         MeterRegistry meterRegistry) {
+        this.backend = backend;
+        this.replicas = replicas;
+        this.waiters = new FairWaitQueue<>(scheduling.weights());
+        this.maxShares = new EnumMap<>(FlaskJobClass.class);
+        this.maxShares.putAll(scheduling.maxShares());
+        this.queueListener = scheduling.listener();
+        Arrays.fill(classLatencyMillis, latencyMillis);
+        this.limit = (adaptiveLimit != null) ? adaptiveLimit.getLimit() : maxConcurrent;
+        this.adaptiveLimit = adaptiveLimit;
+        this.maxQueue = maxQueue;
+        this.maxWait = maxWait;
+
+        String tag = backend.name().toLowerCase();
+        Gauge.builder("flask.bulkhead.queue.depth", this, FlaskBulkhead::queueDepth)
+                .tag("backend", tag).register(meterRegistry);
+        Gauge.builder("flask.bulkhead.in.flight", this, FlaskBulkhead::inFlight)
+                .tag("backend", tag).register(meterRegistry);
+        Gauge.builder("flask.bulkhead.limit", this, FlaskBulkhead::getLimit)
+                .tag("backend", tag).register(meterRegistry);
+        if (adaptiveLimit != null) {
+            Gauge.builder("flask.bulkhead.latency.gradient", adaptiveLimit, GradientLimit::getGradient)
+                    .tag("backend", tag).register(meterRegistry);
+        }
+        this.waitTimer = Timer.builder("flask.bulkhead.wait")
+                .tag("backend", tag).register(meterRegistry);
+        this.queueFullRejections = Counter.builder("flask.bulkhead.rejected")
+                .tag("backend", tag).tag("reason", "queue_full").register(meterRegistry);
+        this.waitTimeoutRejections = Counter.builder("flask.bulkhead.rejected")
+                .tag("backend", tag).tag("reason", "wait_timeout").register(meterRegistry);
+    }
+
+    public <T> Mono<T> run(Supplier<Mono<T>> call) {
+        return run(FlaskJob.anonymous(backend), call);
+    }
+
+    public <T> Mono<T> run(FlaskJob job, Supplier<Mono<T>> call) {
+        return acquire(job).flatMap(permit -> {
+            long startedAt = System.nanoTime();
+            // 적응형 한도는 대당 값이므로 대당 동시 호출 수로 표본을 넣음 (정수 나눗셈으로 내림하지 않음)
+            double inFlightAtStart = (double) inFlight() / replicas();
+            AtomicBoolean dropped = new AtomicBoolean();
+            return Mono.defer(call)
+                    .doOnError(e -> dropped.set(isOverloadSignal(e)))
+                    .doFinally(signal -> {
+                        long rtt = System.nanoTime() - startedAt;
+                        recordLatency(job.jobClass(), rtt);
+                        if (adaptiveLimit != null && signal != SignalType.CANCEL) {
+                            setLimit(adaptiveLimit.onSample(job.jobClass(), rtt, inFlightAtStart, dropped.get()));
+                        }
+                        permit.release();
+                    });
+        });
+    }
+
+    // 지금 복제 서버 수 기준 전체 동시 호출 한도
+    public int getLimit() {
+        return limit * replicas();
+    }
+
+    public int getLimitPerReplica() {
+        return limit;
+    }
+
+    public int replicas() {
+        return Math.max(1, replicas.getAsInt());
+    }
+
+    public GradientLimit getAdaptiveLimit() {
+        return adaptiveLimit;
+    }
+
+    public double getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    // 대당 한도 변경, 늘어나면 대기 중인 호출을 바로 실행
+    public void setLimit(int newLimit) {
+        List<Waiter> granted;
+        synchronized (lock) {
+            if (newLimit == limit) return;
+            limit = newLimit;
+            granted = grantWaiters();
+        }
+        deliver(granted);
+        notifyWaiting();
+    }
+
+    public int queueDepth() {
+        synchronized (lock) {
+            return waiters.size();
+        }
+    }
+
+    public int inFlight() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+    // 지금 대기열 끝에 들어가면 기다릴 것으로 보이는 시간(초)
+    public long estimatedWaitSeconds() {
+        double millis = latencyMillis * (queueDepth() + 1) / getLimit();
+        return Math.max(1, (long) Math.ceil(millis / 1000.0));
+    }
+
+    public int inFlightOf(FlaskJobClass jobClass) {
+        synchronized (lock) {
+            return inFlightByClass[jobClass.ordinal()];
+        }
+    }
+
+    private Mono<Permit> acquire(FlaskJob job) {
+        return Mono.<Permit>create(sink -> {
+                    Waiter waiter = null;
+                    List<Waiter> granted = List.of();
+                    synchronized (lock) {
+                        boolean runnable = inFlight < getLimit() && hasRoomFor(job.jobClass());
+                        if (runnable || waiters.size() < maxQueue) {
+                            // 일단 대기열에 넣고 순번대로 허가 → 자리가 있으면 바로 자기 차례가 된다
+                            waiter = new Waiter(sink, job);
+                            waiters.add(job, waiter);
+                            granted = grantWaiters();
+                        }
+                    }
+                    if (waiter == null) {
+                        queueFullRejections.increment();
+                        sink.error(new FlaskBackendBusyException(backend, "queue_full", estimatedWaitSeconds()));
+                        return;
+                    }
+                    Waiter queued = waiter;
+                    sink.onCancel(() -> cancel(queued));
+                    deliver(granted);
+                    notifyWaiting();
+                })
+                .timeout(maxWait, Mono.error(() -> {
+                    waitTimeoutRejections.increment();
+                    return new FlaskBackendBusyException(backend, "wait_timeout", estimatedWaitSeconds());
+                }));
+    }
+
+    private void cancel(Waiter waiter) {
+        Permit granted;
+        synchronized (lock) {
+            if (waiters.remove(waiter.job, waiter)) {
+                granted = null;
+            } else {
+                granted = waiter.permit;
+            }
+        }
+        // 허가를 받은 직후 취소됨 → 허가 반납
+        if (granted != null) {
+            granted.release();
+        } else {
+            notifyWaiting();
+        }
+    }
+
+    private void releasePermit(FlaskJobClass jobClass) {
+        List<Waiter> granted;
+        synchronized (lock) {
+            inFlight--;
+            inFlightByClass[jobClass.ordinal()]--;
+            granted = grantWaiters();
+        }
+        deliver(granted);
+        notifyWaiting();
+    }
+
+    // lock 안에서 호출
+    private List<Waiter> grantWaiters() {
+        List<Waiter> granted = new ArrayList<>();
+        int total = getLimit();
+        while (inFlight < total) {
+            Waiter next = waiters.poll(this::hasRoomFor);
+            if (next == null) break;
+            FlaskJobClass jobClass = next.job.jobClass();
+            next.permit = new Permit(jobClass);
+            inFlight++;
+            inFlightByClass[jobClass.ordinal()]++;
+            granted.add(next);
+        }
+        return granted;
+    }
+
+    // lock 안에서 호출: 종류별 비율 상한 (최소 1건은 항상 허용)
+    private boolean hasRoomFor(FlaskJobClass jobClass) {
+        double share = maxShares.getOrDefault(jobClass, 1.0);
+        if (share >= 1.0) return true;
+        int cap = Math.max(1, (int) Math.floor(getLimit() * share));
+        return inFlightByClass[jobClass.ordinal()] < cap;
+    }
+
+    // 순번이 바뀐 대기 작업에 예상 대기시간을 알림 (lock 밖에서 리스너 호출)
+    private void notifyWaiting() {
+        if (queueListener == FlaskQueueListener.NONE) return;
+        List<WaitingUpdate> updates = new ArrayList<>();
+        synchronized (lock) {
+            double aheadMillis = latencyMillis;
+            int total = getLimit();
+            int position = 0;
+            for (Waiter waiter : waiters.order()) {
+                if (waiter.job.taskId() != null && waiter.notifiedPosition != position) {
+                    waiter.notifiedPosition = position;
+                    long seconds = Math.max(1, (long) Math.ceil(aheadMillis / total / 1000.0));
+                    updates.add(new WaitingUpdate(waiter.job, position, seconds));
+                }
+                aheadMillis += classLatencyMillis[waiter.job.jobClass().ordinal()];
+                position++;
+            }
+        }
+        for (WaitingUpdate update : updates) {
+            queueListener.onWaiting(update.job(), update.position(), update.estimatedWaitSeconds());
+        }
+    }
+
+    private void deliver(List<Waiter> granted) {
+        long now = System.nanoTime();
+        for (Waiter waiter : granted) {
+            waitTimer.record(now - waiter.enqueuedAt, TimeUnit.NANOSECONDS);
+            waiter.sink.success(waiter.permit);
+        }
+    }
+
+    // 타임아웃/연결 실패/5xx 만 과부하로 본다 (4xx 는 요청 문제)
+    static boolean isOverloadSignal(Throwable e) {
+        if (e instanceof WebClientResponseException re) return re.getStatusCode().is5xxServerError();
+        return e instanceof WebClientRequestException || e instanceof TimeoutException;
+    }
+
+    private void recordLatency(FlaskJobClass jobClass, long nanos) {
+        double millis = nanos / 1_000_000.0;
+        latencyMillis = latencyMillis + LATENCY_EWMA_WEIGHT * (millis - latencyMillis);
+        synchronized (lock) {
+            int i = jobClass.ordinal();
+            classLatencyMillis[i] = classLatencyMillis[i] + LATENCY_EWMA_WEIGHT * (millis - classLatencyMillis[i]);
+        }
+    }
+}
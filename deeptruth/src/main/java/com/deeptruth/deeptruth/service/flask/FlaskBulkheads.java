@@ -0,0 +1,73 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskBackend;
+import com.deeptruth.deeptruth.base.Enum.FlaskJobClass;
+import com.deeptruth.deeptruth.config.FlaskBulkheadProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+/**
+ * 백엔드별 FlaskBulkhead. 한 백엔드(예: 딥페이크 GPU 서버)가 밀려도 다른 백엔드 호출은 영향받지 않는다.
+ * 설정한 한도는 복제 서버 1대당 값이고, 전체 한도는 FlaskEndpoints 의 사용 가능한 서버 수만큼 곱해진다.
+ */
+@Component
+public class FlaskBulkheads {
+
+    private final Map<FlaskBackend, FlaskBulkhead> bulkheads = new EnumMap<>(FlaskBackend.class);
+
+    public FlaskBulkheads(FlaskBulkheadProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, FlaskQueueListener.NONE);
+    }
+
+    public FlaskBulkheads(FlaskBulkheadProperties properties, MeterRegistry meterRegistry,
+                          FlaskQueueListener queueListener) {
+        this(properties, meterRegistry, queueListener, null);
+    }
+
+    @Autowired
+    public FlaskBulkheads(FlaskBulkheadProperties properties, MeterRegistry meterRegistry,
+                          FlaskQueueListener queueListener, FlaskEndpoints flaskEndpoints) {
+        for (FlaskBackend backend : FlaskBackend.values()) {
+            FlaskBulkheadProperties.Backend config = properties.of(backend);
+            GradientLimit adaptiveLimit = config.isAdaptive()
+                    ? new GradientLimit(config.getMaxConcurrent(), config.getMinLimit(), config.effectiveMaxLimit())
+                    : null;
+            bulkheads.put(backend, new FlaskBulkhead(backend, config.getMaxConcurrent(), config.getMaxQueue(),
+                    Duration.ofSeconds(config.getMaxWaitSeconds()), adaptiveLimit,
+                    scheduling(properties, backend, queueListener), replicas(flaskEndpoints, backend), meterRegistry));
+        }
+    }
+
+    private static IntSupplier replicas(FlaskEndpoints flaskEndpoints, FlaskBackend backend) {
+        if (flaskEndpoints == null) return () -> 1;
+        FlaskEndpointPool pool = flaskEndpoints.get(backend);
+        return pool::availableCount;
+    }
+
+    private static FlaskBulkhead.Scheduling scheduling(FlaskBulkheadProperties properties, FlaskBackend backend,
+                                                       FlaskQueueListener queueListener) {
+        Map<FlaskJobClass, Integer> weights = new EnumMap<>(FlaskJobClass.class);
+        Map<FlaskJobClass, Double> maxShares = new EnumMap<>(FlaskJobClass.class);
+        for (FlaskJobClass jobClass : FlaskJobClass.values()) {
+            if (jobClass.getBackend() != backend) continue;
+            weights.put(jobClass, properties.of(jobClass).getWeight());
+            maxShares.put(jobClass, properties.of(jobClass).getMaxShare());
+        }
+        return new FlaskBulkhead.Scheduling(weights, maxShares, queueListener);
+    }
+
+    public FlaskBulkhead get(FlaskBackend backend) {
+        return bulkheads.get(backend);
+    }
+
+    public Map<FlaskBackend, FlaskBulkhead> all() {
+        return Collections.unmodifiableMap(bulkheads);
+    }
+}
@@ -0,0 +1,255 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskBackend;
+import com.deeptruth.deeptruth.base.exception.FlaskBackendBusyException;
+import com.deeptruth.deeptruth.config.FlaskCircuitBreakerProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 한 Flask 백엔드의 circuit breaker (CLOSED → OPEN → HALF_OPEN).
+ * CLOSED: 최근 N건의 실패율/느린 호출 비율을 보고 임계를 넘으면 OPEN.
+ * OPEN: 정해진 시간 동안 새 호출을 FlaskBackendBusyException(→ 503 + Retry-After)으로 바로 거절.
+ * HALF_OPEN: 몇 건만 통과시켜 모두 정상이면 CLOSED, 하나라도 실패/느리면 다시 OPEN.
+ * 응답이 없는 호출은 느린 호출 기준 시간이 되는 순간 결과를 기록해서, 5분 타임아웃을 기다리지 않고 열린다.
+ * 느린 호출 기준은 호출마다 줄 수 있다 (같은 백엔드라도 이미지/영상 작업의 정상 소요시간이 다름).
+ */
+@Slf4j
+public class FlaskCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final FlaskBackend backend;
+    private final FlaskCircuitBreakerProperties.Backend config;
+    private final LongSupplier nanoClock;
+    private final Scheduler timer;
+
+    private final Object lock = new Object();
+    private State state = State.CLOSED;
+    // 상태가 바뀔 때마다 증가: 이전 상태에서 시작한 호출의 결과는 새 상태에 반영하지 않음
+    private long generation;
+    private long openUntil;
+
+    // CLOSED 구간의 최근 결과 (링 버퍼)
+    private final boolean[] failedWindow;
+    private final boolean[] slowWindow;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slows;
+
+    private int halfOpenPermits;
+    private int halfOpenCompleted;
+
+    private final Counter successCalls;
+    private final Counter failedCalls;
+    private final Counter slowCalls;
+    private final Counter rejectedCalls;
+
+    private final class Call {
+        private final long generation;
+        private final long startedAt;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        private Call(long generation, long startedAt) {
+            this.generation = generation;
+            this.startedAt = startedAt;
+        }
+    }
+
+    public FlaskCircuitBreaker(FlaskBackend backend, FlaskCircuitBreakerProperties.Backend config,
+                               MeterRegistry meterRegistry, LongSupplier nanoClock, Scheduler timer) {
+        this.backend = backend;
+        this.config = config;
+        this.nanoClock = nanoClock;
+        this.timer = timer;
+        int window = Math.max(1, config.getSlidingWindowSize());
+        this.failedWindow = new boolean[window];
+        this.slowWindow = new boolean[window];
+
+        String tag = backend.name().toLowerCase();
+        Gauge.builder("flask.circuit.state", this, cb -> cb.getState().ordinal())
+                .description("0=closed, 1=open, 2=half_open")
+                .tag("backend", tag).register(meterRegistry);
+        Gauge.builder("flask.circuit.failure.rate", this, FlaskCircuitBreaker::getFailureRate)
+                .tag("backend", tag).register(meterRegistry);
+        Gauge.builder("flask.circuit.slow.rate", this, FlaskCircuitBreaker::getSlowCallRate)
+                .tag("backend", tag).register(meterRegistry);
+        this.successCalls = callCounter(meterRegistry, tag, "success");
+        this.failedCalls = callCounter(meterRegistry, tag, "failure");
+        this.slowCalls = callCounter(meterRegistry, tag, "slow");
+        this.rejectedCalls = callCounter(meterRegistry, tag, "rejected");
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String tag, String outcome) {
+        return Counter.builder("flask.circuit.calls")
+                .tag("backend", tag).tag("outcome", outcome).register(meterRegistry);
+    }
+
+    public <T> Mono<T> run(Supplier<Mono<T>> call) {
+        return run(config.getSlowCallMillis(), call);
+    }
+
+    public <T> Mono<T> run(long slowCallMillis, Supplier<Mono<T>> call) {
+        if (!config.isEnabled()) return Mono.defer(call);
+        return Mono.defer(() -> {
+            Call c = acquire();
+            if (c == null) {
+                rejectedCalls.increment();
+                return Mono.error(openException());
+            }
+            long slowNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+            // 응답이 오지 않아도 기준 시간이 지나면 느린 호출로 기록
+            Disposable slowTimer = timer.schedule(() -> record(c, false, true), slowNanos, TimeUnit.NANOSECONDS);
+            AtomicBoolean failed = new AtomicBoolean();
+            return Mono.defer(call)
+                    .doOnError(e -> failed.set(FlaskBulkhead.isOverloadSignal(e)))
+                    .doFinally(signal -> {
+                        slowTimer.dispose();
+                        if (signal == SignalType.CANCEL) {
+                            release(c);
+                        } else {
+                            record(c, failed.get(), nanoClock.getAsLong() - c.startedAt >= slowNanos);
+                        }
+                    });
+        });
+    }
+
+    /** 지금 호출하면 거절되는지 (상태를 바꾸지 않음). 대기열에 들어가기 전에 확인하는 용도. */
+    public boolean isCallPermitted() {
+        if (!config.isEnabled()) return true;
+        synchronized (lock) {
+            return state != State.OPEN || nanoClock.getAsLong() >= openUntil;
+        }
+    }
+
+    public FlaskBackendBusyException openException() {
+        long remainingNanos;
+        synchronized (lock) {
+            remainingNanos = openUntil - nanoClock.getAsLong();
+        }
+        long seconds = Math.max(1, (long) Math.ceil(remainingNanos / 1_000_000_000.0));
+        return new FlaskBackendBusyException(backend, "circuit_open", seconds);
+    }
+
+    public State getState() {
+        synchronized (lock) {
+            return state;
+        }
+    }
+
+    public double getFailureRate() {
+        synchronized (lock) {
+            return recorded == 0 ? 0 : failures * 100.0 / recorded;
+        }
+    }
+
+    public double getSlowCallRate() {
+        synchronized (lock) {
+            return recorded == 0 ? 0 : slows * 100.0 / recorded;
+        }
+    }
+
+    public int getBufferedCalls() {
+        synchronized (lock) {
+            return recorded;
+        }
+    }
+
+    private Call acquire() {
+        synchronized (lock) {
+            long now = nanoClock.getAsLong();
+            if (state == State.OPEN) {
+                if (now < openUntil) return null;
+                transition(State.HALF_OPEN, now);
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenPermits >= config.getPermittedCallsInHalfOpen()) return null;
+                halfOpenPermits++;
+            }
+            return new Call(generation, now);
+        }
+    }
+
+    private void release(Call c) {
+        if (!c.recorded.compareAndSet(false, true)) return;
+        synchronized (lock) {
+            if (c.generation == generation && state == State.HALF_OPEN) halfOpenPermits--;
+        }
+    }
+
+    private void record(Call c, boolean failed, boolean slow) {
+        if (!c.recorded.compareAndSet(false, true)) return;
+        if (failed) failedCalls.increment();
+        else if (slow) slowCalls.increment();
+        else successCalls.increment();
+
+        synchronized (lock) {
+            if (c.generation != generation) return;
+            long now = nanoClock.getAsLong();
+            if (state == State.HALF_OPEN) {
+                halfOpenCompleted++;
+                if (failed || slow) {
+                    transition(State.OPEN, now);
+                } else if (halfOpenCompleted >= config.getPermittedCallsInHalfOpen()) {
+                    transition(State.CLOSED, now);
+                }
+                return;
+            }
+            if (state != State.CLOSED) return;
+
+            if (recorded == failedWindow.length) {
+                if (failedWindow[next]) failures--;
+                if (slowWindow[next]) slows--;
+            } else {
+                recorded++;
+            }
+            failedWindow[next] = failed;
+            slowWindow[next] = slow;
+            if (failed) failures++;
+            if (slow) slows++;
+            next = (next + 1) % failedWindow.length;
+
+            if (recorded >= Math.min(config.getMinimumCalls(), failedWindow.length)
+                    && (failures * 100.0 / recorded >= config.getFailureRateThreshold()
+                    || slows * 100.0 / recorded >= config.getSlowCallRateThreshold())) {
+                transition(State.OPEN, now);
+            }
+        }
+    }
+
+    // lock 안에서 호출
+    private void transition(State to, long now) {
+        State from = state;
+        state = to;
+        generation++;
+        switch (to) {
+            case OPEN -> openUntil = now + TimeUnit.SECONDS.toNanos(config.getWaitInOpenSeconds());
+            case HALF_OPEN -> {
+                halfOpenPermits = 0;
+                halfOpenCompleted = 0;
+            }
+            case CLOSED -> {
+                next = 0;
+                recorded = 0;
+                failures = 0;
+                slows = 0;
+                Arrays.fill(failedWindow, false);
+                Arrays.fill(slowWindow, false);
+            }
+        }
+        log.warn("Flask circuit breaker 상태 변경 - backend: {}, {} -> {}", backend, from, to);
+    }
+}
@@ -0,0 +1,42 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskBackend;
+import com.deeptruth.deeptruth.base.Enum.FlaskJobClass;
+import com.deeptruth.deeptruth.config.FlaskCircuitBreakerProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 백엔드별 FlaskCircuitBreaker.
+ */
+@Component
+public class FlaskCircuitBreakers {
+
+    private final Map<FlaskBackend, FlaskCircuitBreaker> breakers = new EnumMap<>(FlaskBackend.class);
+    private final FlaskCircuitBreakerProperties properties;
+
+    public FlaskCircuitBreakers(FlaskCircuitBreakerProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (FlaskBackend backend : FlaskBackend.values()) {
+            breakers.put(backend, new FlaskCircuitBreaker(backend, properties.of(backend), meterRegistry,
+                    System::nanoTime, Schedulers.parallel()));
+        }
+    }
+
+    public FlaskCircuitBreaker get(FlaskBackend backend) {
+        return breakers.get(backend);
+    }
+
+    public long slowCallMillis(FlaskJobClass jobClass) {
+        return properties.slowCallMillis(jobClass);
+    }
+
+    public Map<FlaskBackend, FlaskCircuitBreaker> all() {
+        return Collections.unmodifiableMap(breakers);
+    }
+}
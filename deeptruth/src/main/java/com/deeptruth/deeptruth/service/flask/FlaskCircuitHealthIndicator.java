@@ -0,0 +1,39 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskBackend;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * /actuator/health 의 flaskCircuits 항목: 백엔드별 circuit breaker 상태와 최근 실패율/느린 호출 비율.
+ * Flask 장애로 이 서버까지 재시작되지 않도록 상태는 항상 UP 으로 두고, 열린 백엔드는 details 로만 알린다.
+ * (세부 내용은 management.endpoint.health.show-details 설정 필요)
+ */
+@Component("flaskCircuits")
+@RequiredArgsConstructor
+public class FlaskCircuitHealthIndicator implements HealthIndicator {
+
+    private final FlaskCircuitBreakers flaskCircuitBreakers;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = Health.up();
+        boolean degraded = false;
+        for (Map.Entry<FlaskBackend, FlaskCircuitBreaker> entry : flaskCircuitBreakers.all().entrySet()) {
+            FlaskCircuitBreaker breaker = entry.getValue();
+            Map<String, Object> detail = new LinkedHashMap<>();
+            detail.put("state", breaker.getState().name());
+            detail.put("failureRate", breaker.getFailureRate());
+            detail.put("slowCallRate", breaker.getSlowCallRate());
+            detail.put("bufferedCalls", breaker.getBufferedCalls());
+            builder.withDetail(entry.getKey().name().toLowerCase(), detail);
+            degraded |= breaker.getState() != FlaskCircuitBreaker.State.CLOSED;
+        }
+        return builder.withDetail("degraded", degraded).build();
+    }
+}
@@ -0,0 +1,161 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskBackend;
+import com.deeptruth.deeptruth.base.exception.ExternalServiceException;
+import com.deeptruth.deeptruth.base.exception.FlaskBackendBusyException;
+import com.deeptruth.deeptruth.base.exception.ImageDecodingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Flask 백엔드 공통 호출부.
+ * 호출은 백엔드별 circuit breaker → bulkhead(FlaskJob 기준 대기열) → hedger → 복제 서버 풀(FlaskEndpoints) 순서로 나간다.
+ * 결과는 block() 없이 Mono 로 돌려주고, 포화/차단은 FlaskBackendBusyException, 나머지 실패는 ExternalServiceException 이다.
+ */
+@Component
+@RequiredArgsConstructor
+public class FlaskClient {
+
+    // base64 필드를 뺀 나머지 JSON 한도 (수치/메타데이터만 남음)
+    private static final int MAX_JSON_BYTES = 1024 * 1024;
+    private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+    // 이미지를 원본 바이트로 받는 multipart/mixed 우선, 구버전 Flask 는 JSON(base64)
+    private static final List<MediaType> ACCEPT_BINARY = List.of(
+            MediaType.MULTIPART_MIXED, new MediaType(MediaType.APPLICATION_JSON, Map.of("q", "0.9")));
+
+    private final FlaskWebClients flaskWebClients;
+    private final FlaskBulkheads flaskBulkheads;
+    private final FlaskEndpoints flaskEndpoints;
+    private final FlaskCircuitBreakers flaskCircuitBreakers;
+    private final Scheduler flaskIoScheduler;
+
+    public <T> Mono<T> postMultipart(FlaskBackend backend, String path,
+                                     MultiValueMap<String, ?> parts, Class<T> responseType) {
+        return postMultipart(FlaskJob.anonymous(backend), path, parts, responseType);
+    }
+
+    public <T> Mono<T> postMultipart(FlaskJob job, String path,
+                                     MultiValueMap<String, ?> parts, Class<T> responseType) {
+        return exchange(job, path, parts, response -> response.bodyToMono(responseType));
+    }
+
+    /**
+     * 응답이 늦으면 hedger 가 같은 요청을 다른 복제 서버로 한 번 더 보낸다.
+     * 헤지 요청은 첫 요청이 잡은 bulkhead 자리와 circuit breaker 호출 안에서 나가므로 대기열에 다시 서지 않고,
+     * hedger 가 재는 지연도 대기 시간을 뺀 서버 응답시간이다. 복제 서버가 하나면 헤징하지 않는다.
+     */
+    public <T> Mono<T> postMultipart(FlaskJob job, String path, MultiValueMap<String, ?> parts,
+                                     Class<T> responseType, FlaskHedger hedger) {
+        return exchange(job, path, parts, List.of(), hedger, response -> response.bodyToMono(responseType));
+    }
+
+    /**
+     * 이미지 필드(binaryFields, 최상위 JSON 필드명)를 힙에 올리지 않고 받는 대로 임시 파일로 빼낸다.
+     * multipart/mixed(JSON metadata 파트 + 원본 이미지 파트)를 우선 요청하고,
+     * 지원하지 않는 서버가 JSON(base64)으로 답하면 스트리밍 base64 디코딩으로 처리한다.
+     * 받은 쪽에서 FlaskBinaryResponse 를 close() 해야 한다.
+     */
+    public <T> Mono<FlaskBinaryResponse<T>> postMultipartWithBinaries(FlaskJob job, String path,
+                                                                      MultiValueMap<String, ?> parts, Class<T> responseType,
+                                                                      Set<String> binaryFields) {
+        return exchange(job, path, parts, ACCEPT_BINARY,
+                response -> response.toEntityFlux(DataBuffer.class)
+                        .flatMap(entity -> FlaskMultipartResponseReader.isMultipart(entity.getHeaders().getContentType())
+                                ? FlaskMultipartResponseReader.read(entity.getHeaders(), entity.getBody(), responseType,
+                                        binaryFields, MAX_JSON_BYTES, OBJECT_MAPPER, flaskIoScheduler)
+                                : extractBinaries(entity.getBody(), responseType, binaryFields, flaskIoScheduler)))
+                .doOnDiscard(FlaskBinaryResponse.class, FlaskBinaryResponse::close);
+    }
+
+    private <R> Mono<R> exchange(FlaskJob job, String path, MultiValueMap<String, ?> parts,
+                                 Function<WebClient.ResponseSpec, Mono<R>> body) {
+        return exchange(job, path, parts, List.of(), body);
+    }
+
+    private <R> Mono<R> exchange(FlaskJob job, String path, MultiValueMap<String, ?> parts, List<MediaType> accept,
+                                 Function<WebClient.ResponseSpec, Mono<R>> body) {
+        return exchange(job, path, parts, accept, null, body);
+    }
+
+    private <R> Mono<R> exchange(FlaskJob job, String path, MultiValueMap<String, ?> parts, List<MediaType> accept,
+                                 FlaskHedger hedger, Function<WebClient.ResponseSpec, Mono<R>> body) {
+        FlaskBackend backend = job.backend();
+        FlaskCircuitBreaker circuitBreaker = flaskCircuitBreakers.get(backend);
+        return Mono.defer(() -> circuitBreaker.isCallPermitted()
+                        ? flaskBulkheads.get(backend).run(job, () -> circuitBreaker.run(
+                                flaskCircuitBreakers.slowCallMillis(job.jobClass()),
+                                () -> send(flaskEndpoints.get(backend), hedger, baseUrl -> {
+                                    WebClient.RequestBodySpec request = flaskWebClients.get(backend).post()
+                                            .uri(baseUrl + path)
+                                            .contentType(MediaType.MULTIPART_FORM_DATA);
+                                    if (!accept.isEmpty()) request = request.accept(accept.toArray(MediaType[]::new));
+                                    return body.apply(request
+                                            .body(BodyInserters.fromMultipartData(parts))
+                                            .retrieve());
+                                })))
+                        : Mono.<R>error(circuitBreaker.openException()))
+                .onErrorMap(e -> !(e instanceof ExternalServiceException || e instanceof FlaskBackendBusyException
+                                || e instanceof ImageDecodingException),
+                        FlaskClient::toExternalServiceException);
+    }
+
+    private static <R> Mono<R> send(FlaskEndpointPool pool, FlaskHedger hedger, Function<String, Mono<R>> request) {
+        if (hedger == null || pool.getEndpoints().size() < 2) return pool.call(request);
+        return Mono.defer(() -> {
+            Set<FlaskEndpoint> tried = ConcurrentHashMap.newKeySet();
+            return hedger.hedge(() -> pool.call(request, tried));
+        });
+    }
+
+    // 파일 쓰기가 이벤트 루프를 막지 않도록 ioScheduler(flaskIoScheduler) 에서 청크를 처리
+    static <T> Mono<FlaskBinaryResponse<T>> extractBinaries(Flux<DataBuffer> body, Class<T> responseType,
+                                                            Set<String> binaryFields, Scheduler ioScheduler) {
+        return Mono.using(
+                () -> new FlaskJsonBinaryExtractor(binaryFields, MAX_JSON_BYTES),
+                extractor -> body
+                        .publishOn(ioScheduler)
+                        .doOnNext(buffer -> {
+                            try {
+                                byte[] chunk = new byte[buffer.readableByteCount()];
+                                buffer.read(chunk);
+                                extractor.feed(chunk, 0, chunk.length);
+                            } finally {
+                                DataBufferUtils.release(buffer);
+                            }
+                        })
+                        .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                        .then(Mono.fromCallable(() -> extractor.finish(json -> OBJECT_MAPPER.readValue(json, responseType)))),
+                FlaskJsonBinaryExtractor::close);
+    }
+
+    static ExternalServiceException toExternalServiceException(Throwable e) {
+        if (e instanceof WebClientResponseException re) {
+            // HTTP 응답은 왔지만 4xx/5xx
+            return new ExternalServiceException("Flask HTTP error: " + re.getStatusCode().value() + " " + re.getResponseBodyAsString());
+        }
+        if (e instanceof WebClientRequestException) {
+            // 연결 실패/타임아웃 등
+            return new ExternalServiceException("Flask request failed: " + e.getMessage());
+        }
+        return new ExternalServiceException("Flask invocation failed");
+    }
+}
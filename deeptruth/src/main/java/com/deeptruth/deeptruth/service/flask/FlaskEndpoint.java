@@ -0,0 +1,101 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Flask 복제 서버 하나의 상태.
+ * 진행 중 요청 수(least-outstanding 비교용), 연속 실패에 따른 ejection, 헬스체크 결과, 복귀 후 slow-start 를 관리한다.
+ * 시간은 모두 nanoTime 기준으로 호출자가 넘긴다.
+ */
+public class FlaskEndpoint {
+
+    private static final double MIN_SLOW_START_WEIGHT = 0.1;
+
+    private final String url;
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private int consecutiveFailures;
+    private int ejections;
+    private long ejectedUntil;
+    private boolean healthy = true;
+    private int consecutiveHealthFailures;
+    // 마지막으로 다시 받아들이기 시작한 시각 (slow-start 기준), 처음부터 있던 서버는 slow-start 없음
+    private long admittedAt = Long.MIN_VALUE;
+
+    public FlaskEndpoint(String url) {
+        this.url = url;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    void begin() {
+        outstanding.incrementAndGet();
+    }
+
+    void end() {
+        outstanding.decrementAndGet();
+    }
+
+    public synchronized boolean isAvailable(long now) {
+        return healthy && now >= ejectedUntil;
+    }
+
+    public synchronized boolean isEjected(long now) {
+        return now < ejectedUntil;
+    }
+
+    public synchronized boolean isHealthy() {
+        return healthy;
+    }
+
+    public synchronized int getEjections() {
+        return ejections;
+    }
+
+    /** slow-start 중이면 0.1~1 사이, 아니면 1. */
+    synchronized double weight(long now, long slowStartNanos) {
+        if (slowStartNanos <= 0 || admittedAt == Long.MIN_VALUE || now - admittedAt >= slowStartNanos) return 1.0;
+        return Math.max(MIN_SLOW_START_WEIGHT, (double) (now - admittedAt) / slowStartNanos);
+    }
+
+    // slow-start 를 다 마치고 성공하면 ejection 배수도 초기화
+    synchronized void onSuccess(long now, long slowStartNanos) {
+        consecutiveFailures = 0;
+        if (ejections > 0 && now >= ejectedUntil && weight(now, slowStartNanos) >= 1.0) {
+            ejections = 0;
+        }
+    }
+
+    /** 과부하성 실패(5xx/타임아웃/연결 실패) 기록. ejection 이 일어나면 true. */
+    synchronized boolean onFailure(long now, int ejectAfter, long ejectionNanos, long maxEjectionNanos) {
+        if (now < ejectedUntil) return false;
+        if (++consecutiveFailures < ejectAfter) return false;
+
+        ejections++;
+        long duration = Math.min(maxEjectionNanos, ejectionNanos * ejections);
+        ejectedUntil = now + duration;
+        admittedAt = ejectedUntil;
+        consecutiveFailures = 0;
+        return true;
+    }
+
+    synchronized void onHealthCheck(boolean ok, long now, int failuresToMarkDown) {
+        if (ok) {
+            consecutiveHealthFailures = 0;
+            if (!healthy) {
+                healthy = true;
+                admittedAt = Math.max(now, ejectedUntil);
+            }
+            return;
+        }
+        if (++consecutiveHealthFailures >= failuresToMarkDown) {
+            healthy = false;
+        }
+    }
+}
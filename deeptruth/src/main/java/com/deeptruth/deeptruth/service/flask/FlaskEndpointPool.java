@@ -0,0 +1,137 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskBackend;
+import com.deeptruth.deeptruth.config.FlaskLoadBalancerProperties;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 한 백엔드의 Flask 복제 서버 목록과 요청 분배 (power-of-two-choices).
+ * 사용 가능한 서버 중 무작위 둘을 골라 (진행 중 요청 + 1) / slow-start 가중치가 작은 쪽으로 보낸다.
+ * 모두 제외된 상태면 전체 목록에서 고른다 (아무 데도 못 보내는 것보다는 낫다).
+ */
+@Slf4j
+public class FlaskEndpointPool {
+
+    private final FlaskBackend backend;
+    private final List<FlaskEndpoint> endpoints;
+    private final FlaskLoadBalancerProperties properties;
+    private final LongSupplier nanoClock;
+
+    public FlaskEndpointPool(FlaskBackend backend, List<String> urls, FlaskLoadBalancerProperties properties,
+                             LongSupplier nanoClock) {
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("Flask 서버 주소가 없습니다: " + backend);
+        }
+        this.backend = backend;
+        this.endpoints = urls.stream().map(FlaskEndpoint::new).toList();
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+    }
+
+    public List<FlaskEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /** 고른 서버의 base URL 로 요청을 만들고, 결과에 따라 서버 상태를 갱신한다. */
+    public <T> Mono<T> call(Function<String, Mono<T>> request) {
+        return Mono.defer(() -> send(choose(), request));
+    }
+
+    /**
+     * tried 에 없는 서버로 보내고, 고른 서버를 tried 에 더한다 (헤지 요청이 첫 요청과 같은 서버로 가지 않도록).
+     * 모든 서버를 이미 썼으면 전체에서 고른다.
+     */
+    public <T> Mono<T> call(Function<String, Mono<T>> request, Set<FlaskEndpoint> tried) {
+        return Mono.defer(() -> {
+            FlaskEndpoint endpoint = choose(tried);
+            tried.add(endpoint);
+            return send(endpoint, request);
+        });
+    }
+
+    private <T> Mono<T> send(FlaskEndpoint endpoint, Function<String, Mono<T>> request) {
+        endpoint.begin();
+        return request.apply(endpoint.getUrl())
+                .doOnSuccess(v -> endpoint.onSuccess(nanoClock.getAsLong(), slowStartNanos()))
+                .doOnError(e -> onError(endpoint, e))
+                .doFinally(signal -> endpoint.end());
+    }
+
+    // 지금 요청을 보낼 수 있는 서버 수 (bulkhead 한도 계산용, 모두 제외돼도 1)
+    public int availableCount() {
+        long now = nanoClock.getAsLong();
+        int count = 0;
+        for (FlaskEndpoint endpoint : endpoints) {
+            if (endpoint.isAvailable(now)) count++;
+        }
+        return Math.max(1, count);
+    }
+
+    FlaskEndpoint choose() {
+        return choose(Set.of());
+    }
+
+    FlaskEndpoint choose(Set<FlaskEndpoint> excluded) {
+        if (endpoints.size() == 1) return endpoints.get(0);
+
+        long now = nanoClock.getAsLong();
+        List<FlaskEndpoint> untried = new ArrayList<>(endpoints.size());
+        List<FlaskEndpoint> candidates = new ArrayList<>(endpoints.size());
+        for (FlaskEndpoint endpoint : endpoints) {
+            if (excluded.contains(endpoint)) continue;
+            untried.add(endpoint);
+            if (endpoint.isAvailable(now)) candidates.add(endpoint);
+        }
+        if (candidates.isEmpty()) candidates = untried.isEmpty() ? endpoints : untried;
+        if (candidates.size() == 1) return candidates.get(0);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(candidates.size());
+        int j = random.nextInt(candidates.size() - 1);
+        if (j >= i) j++;
+        FlaskEndpoint a = candidates.get(i);
+        FlaskEndpoint b = candidates.get(j);
+        return score(a, now) <= score(b, now) ? a : b;
+    }
+
+    void onHealthCheck(FlaskEndpoint endpoint, boolean ok) {
+        boolean wasHealthy = endpoint.isHealthy();
+        endpoint.onHealthCheck(ok, nanoClock.getAsLong(), properties.getHealthCheckFailures());
+        if (wasHealthy != endpoint.isHealthy()) {
+            log.warn("Flask 서버 헬스체크 상태 변경 - backend: {}, url: {}, healthy: {}",
+                    backend, endpoint.getUrl(), endpoint.isHealthy());
+        }
+    }
+
+    private void onError(FlaskEndpoint endpoint, Throwable e) {
+        long now = nanoClock.getAsLong();
+        // 4xx 는 요청 문제라 서버 상태와 무관
+        if (!FlaskBulkhead.isOverloadSignal(e)) {
+            endpoint.onSuccess(now, slowStartNanos());
+            return;
+        }
+        boolean ejected = endpoint.onFailure(now, properties.getEjectAfterFailures(),
+                Duration.ofSeconds(properties.getEjectionSeconds()).toNanos(),
+                Duration.ofSeconds(properties.getMaxEjectionSeconds()).toNanos());
+        if (ejected) {
+            log.warn("Flask 서버 일시 제외 - backend: {}, url: {}, 누적 {}회", backend, endpoint.getUrl(), endpoint.getEjections());
+        }
+    }
+
+    private double score(FlaskEndpoint endpoint, long now) {
+        return (endpoint.getOutstanding() + 1) / endpoint.weight(now, slowStartNanos());
+    }
+
+    private long slowStartNanos() {
+        return Duration.ofSeconds(properties.getSlowStartSeconds()).toNanos();
+    }
+}
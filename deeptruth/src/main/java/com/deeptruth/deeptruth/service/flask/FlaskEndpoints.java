@@ -0,0 +1,71 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskBackend;
+import com.deeptruth.deeptruth.config.FlaskLoadBalancerProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * 백엔드별 Flask 복제 서버 목록. flask.{deepfake|watermark|noise}Server.url 에 쉼표로 구분해 여러 주소를 줄 수 있다.
+ */
+@Component
+public class FlaskEndpoints {
+
+    private final Map<FlaskBackend, FlaskEndpointPool> pools = new EnumMap<>(FlaskBackend.class);
+
+    @Autowired
+    public FlaskEndpoints(@Value("${flask.deepfakeServer.url}") String deepfakeUrls,
+                          @Value("${flask.watermarkServer.url}") String watermarkUrls,
+                          @Value("${flask.noiseServer.url}") String noiseUrls,
+                          FlaskLoadBalancerProperties properties,
+                          MeterRegistry meterRegistry) {
+        this(Map.of(FlaskBackend.DEEPFAKE, parse(deepfakeUrls),
+                        FlaskBackend.WATERMARK, parse(watermarkUrls),
+                        FlaskBackend.NOISE, parse(noiseUrls)),
+                properties, meterRegistry, System::nanoTime);
+    }
+
+    FlaskEndpoints(Map<FlaskBackend, List<String>> urls, FlaskLoadBalancerProperties properties,
+                   MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        for (FlaskBackend backend : FlaskBackend.values()) {
+            FlaskEndpointPool pool = new FlaskEndpointPool(backend, urls.getOrDefault(backend, List.of()),
+                    properties, nanoClock);
+            pools.put(backend, pool);
+
+            String tag = backend.name().toLowerCase();
+            for (FlaskEndpoint endpoint : pool.getEndpoints()) {
+                Gauge.builder("flask.endpoint.outstanding", endpoint, FlaskEndpoint::getOutstanding)
+                        .tag("backend", tag).tag("endpoint", endpoint.getUrl()).register(meterRegistry);
+                Gauge.builder("flask.endpoint.available", endpoint, e -> e.isAvailable(nanoClock.getAsLong()) ? 1 : 0)
+                        .tag("backend", tag).tag("endpoint", endpoint.getUrl()).register(meterRegistry);
+            }
+        }
+    }
+
+    static List<String> parse(String urls) {
+        if (urls == null) return List.of();
+        return Arrays.stream(urls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(url -> url.endsWith("/") ? url.substring(0, url.length() - 1) : url)
+                .toList();
+    }
+
+    public FlaskEndpointPool get(FlaskBackend backend) {
+        return pools.get(backend);
+    }
+
+    public Map<FlaskBackend, FlaskEndpointPool> all() {
+        return Collections.unmodifiableMap(pools);
+    }
+}
@@ -0,0 +1,45 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.config.FlaskLoadBalancerProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Flask 복제 서버 능동 헬스체크.
+ * 주기적으로 health-path 에 GET 을 보내 5xx/연결 실패/타임아웃이 이어지는 서버를 분배 대상에서 빼고,
+ * 다시 응답하면 slow-start 로 복귀시킨다. 4xx(헬스 경로가 없는 서버 포함)는 살아 있는 것으로 본다.
+ */
+@Component
+@RequiredArgsConstructor
+public class FlaskHealthChecker {
+
+    private final WebClient webClient;
+    private final FlaskEndpoints flaskEndpoints;
+    private final FlaskLoadBalancerProperties properties;
+
+    @Scheduled(fixedDelayString = "${flask.lb.health-check-interval-millis:5000}",
+            initialDelayString = "${flask.lb.health-check-interval-millis:5000}")
+    public void checkAll() {
+        if (!properties.isHealthCheckEnabled()) return;
+        for (FlaskEndpointPool pool : flaskEndpoints.all().values()) {
+            for (FlaskEndpoint endpoint : pool.getEndpoints()) {
+                check(pool, endpoint).subscribe();
+            }
+        }
+    }
+
+    Mono<Boolean> check(FlaskEndpointPool pool, FlaskEndpoint endpoint) {
+        return webClient.get()
+                .uri(endpoint.getUrl() + properties.getHealthPath())
+                .exchangeToMono(response -> response.releaseBody()
+                        .thenReturn(!response.statusCode().is5xxServerError()))
+                .timeout(Duration.ofMillis(properties.getHealthCheckTimeoutMillis()))
+                .onErrorReturn(false)
+                .doOnNext(ok -> pool.onHealthCheck(endpoint, ok));
+    }
+}
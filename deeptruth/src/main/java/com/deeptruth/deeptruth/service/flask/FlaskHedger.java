@@ -0,0 +1,190 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.config.FlaskHedgeProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 짧은 Flask 호출의 꼬리 지연을 줄이는 요청 헤징.
+ * 첫 요청이 최근 응답시간 p95 안에 끝나지 않으면 같은 요청을 한 번 더 보내고 먼저 성공한 응답을 쓴다 (진 쪽은 취소).
+ * FlaskClient 가 bulkhead 자리를 잡은 뒤 복제 서버 호출만 감싸므로, 두 번째 요청은 대기열에 다시 서지 않고
+ * 첫 요청과 다른 복제 서버로 가며, 지연 표본도 대기 시간을 뺀 서버 응답시간이다.
+ * 추가 요청 수는 토큰 버킷으로 전체 요청의 budget-percent % 이내로 묶는다.
+ * 첫 요청이 헤지 전에 실패하면 그대로 실패를 전달한다 (지연이 아니라 오류는 헤징 대상이 아님).
+ */
+public class FlaskHedger {
+
+    private static final double MAX_BUDGET_TOKENS = 10;
+
+    private final FlaskHedgeProperties properties;
+    private final Scheduler timer;
+
+    private final Object lock = new Object();
+    private final long[] latencies;
+    private int next;
+    private int samples;
+    private long cachedDelayNanos = -1;
+    private double budgetTokens;
+
+    private final Counter requests;
+    private final Counter hedges;
+    private final Counter hedgeWins;
+
+    public FlaskHedger(String name, FlaskHedgeProperties properties, MeterRegistry meterRegistry, Scheduler timer) {
+        this.properties = properties;
+        this.timer = timer;
+        this.latencies = new long[Math.max(1, properties.getWindowSize())];
+
+        this.requests = Counter.builder("flask.hedge.requests").tag("call", name).register(meterRegistry);
+        this.hedges = Counter.builder("flask.hedge.sent").tag("call", name).register(meterRegistry);
+        this.hedgeWins = Counter.builder("flask.hedge.wins").tag("call", name).register(meterRegistry);
+        Gauge.builder("flask.hedge.rate", this, h -> ratio(h.hedges.count(), h.requests.count()))
+                .tag("call", name).register(meterRegistry);
+        Gauge.builder("flask.hedge.win.rate", this, h -> ratio(h.hedgeWins.count(), h.hedges.count()))
+                .tag("call", name).register(meterRegistry);
+        Gauge.builder("flask.hedge.delay", this, h -> h.hedgeDelayNanos() / 1_000_000.0)
+                .baseUnit("milliseconds").tag("call", name).register(meterRegistry);
+    }
+
+    public <T> Mono<T> hedge(Supplier<Mono<T>> attempt) {
+        if (!properties.isEnabled()) return Mono.defer(attempt);
+        return Mono.create(sink -> {
+            requests.increment();
+            addBudget();
+            Race<T> race = new Race<>(sink::success, sink::error, sink::success);
+            sink.onDispose(race.subscriptions);
+
+            race.launch(attempt, false);
+            long delay = hedgeDelayNanos();
+            if (delay < 0) return;
+            race.subscriptions.add(timer.schedule(() -> {
+                if (!race.tryStartHedge() || !tryConsumeBudget()) return;
+                hedges.increment();
+                race.launch(attempt, true);
+            }, delay, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    /** 첫 요청과 헤지 요청 중 먼저 성공한 쪽만 전달한다. */
+    private final class Race<T> {
+        private final Consumer<T> onValue;
+        private final Consumer<Throwable> onError;
+        private final Runnable onEmpty;
+        private final Disposable.Composite subscriptions = Disposables.composite();
+        private final long startedAt = System.nanoTime();
+
+        private boolean done;
+        private int running;
+        private Throwable lastError;
+
+        private Race(Consumer<T> onValue, Consumer<Throwable> onError, Runnable onEmpty) {
+            this.onValue = onValue;
+            this.onError = onError;
+            this.onEmpty = onEmpty;
+        }
+
+        // 첫 요청이 아직 진행 중일 때만 헤지
+        private synchronized boolean tryStartHedge() {
+            return !done && running > 0;
+        }
+
+        private void launch(Supplier<Mono<T>> attempt, boolean hedge) {
+            synchronized (this) {
+                if (done) return;
+                running++;
+            }
+            subscriptions.add(Mono.defer(attempt).subscribe(
+                    value -> win(value, hedge),
+                    this::fail,
+                    this::finishEmpty));
+        }
+
+        private void win(T value, boolean hedge) {
+            synchronized (this) {
+                if (done) return;
+                done = true;
+            }
+            recordLatency(System.nanoTime() - startedAt);
+            if (hedge) hedgeWins.increment();
+            // 진 쪽을 먼저 취소한 뒤 결과 전달
+            subscriptions.dispose();
+            onValue.accept(value);
+        }
+
+        private void fail(Throwable e) {
+            synchronized (this) {
+                if (done) return;
+                lastError = e;
+                // 다른 요청이 아직 진행 중이면 그쪽 결과를 기다림
+                if (--running > 0) return;
+                done = true;
+            }
+            subscriptions.dispose();
+            onError.accept(e);
+        }
+
+        private void finishEmpty() {
+            synchronized (this) {
+                if (done) return;
+                if (--running > 0) return;
+                done = true;
+            }
+            subscriptions.dispose();
+            if (lastError != null) onError.accept(lastError);
+            else onEmpty.run();
+        }
+    }
+
+    // 최근 응답시간 percentile (표본 부족이면 -1 = 헤징 안 함)
+    long hedgeDelayNanos() {
+        synchronized (lock) {
+            if (samples < properties.getMinSamples()) return -1;
+            if (cachedDelayNanos < 0) {
+                long[] sorted = Arrays.copyOf(latencies, samples);
+                Arrays.sort(sorted);
+                int index = (int) Math.ceil(properties.getPercentile() * samples) - 1;
+                long p = sorted[Math.max(0, Math.min(samples - 1, index))];
+                cachedDelayNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(properties.getMinDelayMillis()),
+                        Math.min(TimeUnit.MILLISECONDS.toNanos(properties.getMaxDelayMillis()), p));
+            }
+            return cachedDelayNanos;
+        }
+    }
+
+    private void recordLatency(long nanos) {
+        synchronized (lock) {
+            latencies[next] = nanos;
+            next = (next + 1) % latencies.length;
+            if (samples < latencies.length) samples++;
+            cachedDelayNanos = -1;
+        }
+    }
+
+    private void addBudget() {
+        synchronized (lock) {
+            budgetTokens = Math.min(MAX_BUDGET_TOKENS, budgetTokens + properties.getBudgetPercent() / 100.0);
+        }
+    }
+
+    private boolean tryConsumeBudget() {
+        synchronized (lock) {
+            if (budgetTokens < 1) return false;
+            budgetTokens -= 1;
+            return true;
+        }
+    }
+
+    private static double ratio(double a, double b) {
+        return b == 0 ? 0 : a / b;
+    }
+}
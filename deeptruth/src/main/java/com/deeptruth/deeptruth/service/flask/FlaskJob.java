@@ -0,0 +1,24 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskBackend;
+import com.deeptruth.deeptruth.base.Enum.FlaskJobClass;
+
+/**
+ * bulkhead 대기열에서 쓰는 Flask 호출 단위.
+ * jobClass 로 큐를, loginId 로 사용자별 순번을 정하고, taskId 가 있으면 예상 대기시간을 그 진행률 채널로 알린다.
+ */
+public record FlaskJob(FlaskJobClass jobClass, String loginId, String taskId) {
+
+    public static FlaskJob of(FlaskJobClass jobClass, String loginId, String taskId) {
+        return new FlaskJob(jobClass, loginId, taskId);
+    }
+
+    // 사용자/작업 정보 없이 백엔드만 아는 호출
+    public static FlaskJob anonymous(FlaskBackend backend) {
+        return new FlaskJob(FlaskJobClass.defaultFor(backend), null, null);
+    }
+
+    public FlaskBackend backend() {
+        return jobClass.getBackend();
+    }
+}
@@ -0,0 +1,278 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.exception.ExternalServiceException;
+import com.deeptruth.deeptruth.base.exception.ImageDecodingException;
+import com.deeptruth.deeptruth.util.Base64DecodingOutputStream;
+import com.deeptruth.deeptruth.util.SpooledBinary;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Flask JSON 응답을 도착하는 대로 바이트 단위로 훑으며, 최상위 객체의 지정된 문자열 필드(base64 이미지)를
+ * 스트리밍 base64 디코더를 거쳐 임시 파일로 바로 쓴다. 그 자리는 null 로 바꾸고 나머지 JSON 만 모아 둔다.
+ * "data:image/png;base64," 같은 data URL 접두어는 content type 으로 떼어 낸다 (없으면 application/octet-stream).
+ * 구조 문자({ } [ ] : , ")는 모두 ASCII 라 UTF-8 바이트를 그대로 보면 된다.
+ */
+class FlaskJsonBinaryExtractor implements AutoCloseable {
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    private static final int MAX_DATA_URL_PREFIX = 128;
+    // 값이 base64 인지 판단하기 위해 먼저 보는 글자 수
+    private static final int SNIFF_LENGTH = 16;
+
+    private final Set<String> binaryFields;
+    private final int maxJsonBytes;
+    private final ByteArrayOutputStream json = new ByteArrayOutputStream();
+    private final Map<String, SpooledBinary> binaries = new HashMap<>();
+
+    private int depth;
+    private boolean inString;
+    private boolean escape;
+    private boolean expectKey;
+    private ByteArrayOutputStream key;
+    private String lastKey;
+
+    // 빼내는 중인 필드
+    private Capture capture;
+
+    /**
+     * 값 문자열 하나를 빼내는 중인 상태.
+     * 앞부분(data URL 헤더 또는 처음 몇 글자)을 보고 base64 인지 정한 뒤부터 디코더로 흘려보낸다.
+     * base64 가 아닌 값(URL, 경로 등)이면 원래 바이트 그대로 JSON 에 되돌린다.
+     */
+    private final class Capture {
+        private final String field;
+        private final ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream prefix = new ByteArrayOutputStream();
+        private boolean committed;
+        private String contentType = DEFAULT_CONTENT_TYPE;
+        private int unicodeDigits;
+        private Path path;
+        private Base64DecodingOutputStream out;
+
+        private Capture(String field) {
+            this.field = field;
+        }
+
+        // false = base64 가 아니므로 일반 문자열로 되돌려야 함
+        private boolean accept(int c) throws IOException {
+            if (committed) {
+                out.write(c);
+                return true;
+            }
+            prefix.write(c);
+            byte[] p = prefix.toByteArray();
+            if (startsLikeDataUrl(p)) {
+                if (c == ',') {
+                    contentType = parseDataUrlType(new String(p, StandardCharsets.US_ASCII));
+                    commit(new byte[0]);
+                } else if (p.length > MAX_DATA_URL_PREFIX) {
+                    throw new ImageDecodingException("data URL header too long");
+                }
+                return true;
+            }
+            if (!isBase64(p)) return false;
+            if (p.length >= SNIFF_LENGTH) commit(p);
+            return true;
+        }
+
+        // 문자열이 끝남. false = 일반 문자열로 되돌려야 함
+        private boolean end() throws IOException {
+            if (!committed) {
+                byte[] p = prefix.toByteArray();
+                if (startsLikeDataUrl(p) || !isBase64(p)) return false;
+                commit(p);
+            }
+            out.close();
+            return true;
+        }
+
+        private void commit(byte[] head) throws IOException {
+            committed = true;
+            path = Files.createTempFile("deeptruth-", ".flask");
+            out = new Base64DecodingOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+            out.write(head);
+            json.writeBytes("null".getBytes(StandardCharsets.US_ASCII));
+        }
+
+        private void discard() {
+            if (path == null) return;
+            try {
+                out.close();
+            } catch (IOException ignored) {
+            }
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    FlaskJsonBinaryExtractor(Set<String> binaryFields, int maxJsonBytes) {
+        this.binaryFields = binaryFields;
+        this.maxJsonBytes = maxJsonBytes;
+    }
+
+    void feed(byte[] bytes, int offset, int length) {
+        try {
+            for (int i = offset; i < offset + length; i++) {
+                accept(bytes[i] & 0xff);
+            }
+        } catch (IOException e) {
+            throw new ImageDecodingException(e.getMessage());
+        }
+        if (json.size() > maxJsonBytes) {
+            throw new ExternalServiceException("Flask response JSON exceeds " + maxJsonBytes + " bytes");
+        }
+    }
+
+    private void accept(int c) throws IOException {
+        if (capture != null) {
+            acceptCaptured(c);
+            return;
+        }
+        if (inString) {
+            if (key != null) key.write(c);
+            json.write(c);
+            if (escape) {
+                escape = false;
+            } else if (c == '\\') {
+                escape = true;
+            } else if (c == '"') {
+                inString = false;
+                if (key != null) {
+                    byte[] k = key.toByteArray();
+                    lastKey = new String(k, 0, k.length - 1, StandardCharsets.UTF_8);
+                    key = null;
+                }
+            }
+            return;
+        }
+        switch (c) {
+            case '{', '[' -> {
+                depth++;
+                expectKey = c == '{' && depth == 1;
+            }
+            case '}', ']' -> depth--;
+            case ',' -> expectKey = depth == 1;
+            case ':' -> {
+                if (depth == 1) expectKey = false;
+            }
+            case '"' -> {
+                if (depth == 1 && expectKey) {
+                    key = new ByteArrayOutputStream();
+                } else if (depth == 1 && lastKey != null && binaryFields.contains(lastKey)) {
+                    // 값 문자열은 JSON 에 남기지 않고 파일로 (자리에는 null)
+                    capture = new Capture(lastKey);
+                    return;
+                }
+                inString = true;
+            }
+            default -> { }
+        }
+        json.write(c);
+    }
+
+    private void acceptCaptured(int c) throws IOException {
+        if (!capture.committed) capture.raw.write(c);
+        if (capture.unicodeDigits > 0) {
+            capture.unicodeDigits--;
+            return;
+        }
+        boolean base64 = true;
+        if (escape) {
+            escape = false;
+            switch (c) {
+                case '/' -> base64 = capture.accept('/');
+                case 'u' -> capture.unicodeDigits = 4;
+                default -> { } // \n, \r 등 줄바꿈은 base64 에서 무시
+            }
+        } else if (c == '\\') {
+            escape = true;
+        } else if (c == '"') {
+            if (capture.end()) {
+                SpooledBinary binary = new SpooledBinary(capture.path, capture.out.getDecodedSize(), capture.contentType);
+                if (binary.getSize() > 0) binaries.put(capture.field, binary);
+                else binary.close();
+                capture = null;
+                return;
+            }
+            passThrough(false);
+            return;
+        } else {
+            base64 = capture.accept(c);
+        }
+        if (!base64) passThrough(true);
+    }
+
+    // 지금까지 읽은 원래 바이트를 그대로 JSON 에 쓰고, 필요하면 일반 문자열 읽기를 이어 감
+    private void passThrough(boolean stillInString) {
+        json.write('"');
+        json.writeBytes(capture.raw.toByteArray());
+        capture = null;
+        inString = stillInString;
+    }
+
+    <T> FlaskBinaryResponse<T> finish(BodyParser<T> parser) {
+        if (capture != null || depth != 0 || inString) {
+            throw new ExternalServiceException("Flask response JSON is truncated");
+        }
+        T body;
+        try {
+            body = parser.parse(json.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // 임시 파일은 이제 응답이 책임짐
+        FlaskBinaryResponse<T> response = new FlaskBinaryResponse<>(body, binaries);
+        binaries.clear();
+        return response;
+    }
+
+    interface BodyParser<T> {
+        T parse(byte[] json) throws IOException;
+    }
+
+    @Override
+    public void close() {
+        if (capture != null) {
+            capture.discard();
+            capture = null;
+        }
+        binaries.values().forEach(SpooledBinary::close);
+    }
+
+    private static boolean isBase64(byte[] p) {
+        for (byte b : p) {
+            boolean ok = (b >= 'A' && b <= 'Z') || (b >= 'a' && b <= 'z') || (b >= '0' && b <= '9')
+                    || b == '+' || b == '/' || b == '=' || b == '\n' || b == '\r';
+            if (!ok) return false;
+        }
+        return true;
+    }
+
+    private static boolean startsLikeDataUrl(byte[] p) {
+        byte[] scheme = "data:".getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < Math.min(p.length, scheme.length); i++) {
+            if (p[i] != scheme[i]) return false;
+        }
+        return true;
+    }
+
+    // data:image/png;base64, → image/png
+    private static String parseDataUrlType(String header) {
+        String type = header.substring("data:".length(), header.length() - 1);
+        int semicolon = type.indexOf(';');
+        if (semicolon >= 0) type = type.substring(0, semicolon);
+        return type.isBlank() ? DEFAULT_CONTENT_TYPE : type;
+    }
+}
@@ -0,0 +1,46 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskBackend;
+import com.deeptruth.deeptruth.base.Enum.FlaskJobClass;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GET /actuator/flasklimits : 백엔드별 현재 동시성 한도(전체/대당, 사용 가능한 복제 서버 수), 진행/대기 수, 작업 종류별 RTT 기준선과 지연시간 기울기.
+ * (management.endpoints.web.exposure.include 에 flasklimits 추가 필요)
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "flasklimits")
+public class FlaskLimitsEndpoint {
+
+    private final FlaskBulkheads flaskBulkheads;
+
+    public record BackendLimit(int limit, int limitPerReplica, int replicas, int inFlight, int queueDepth, boolean adaptive,
+                               double latencyMs, Map<FlaskJobClass, GradientLimit.RttBaseline> rtt, Double gradient) {}
+
+    @ReadOperation
+    public Map<String, BackendLimit> limits() {
+        Map<String, BackendLimit> result = new LinkedHashMap<>();
+        for (Map.Entry<FlaskBackend, FlaskBulkhead> entry : flaskBulkheads.all().entrySet()) {
+            FlaskBulkhead bulkhead = entry.getValue();
+            GradientLimit adaptive = bulkhead.getAdaptiveLimit();
+            result.put(entry.getKey().name().toLowerCase(), new BackendLimit(
+                    bulkhead.getLimit(),
+                    bulkhead.getLimitPerReplica(),
+                    bulkhead.replicas(),
+                    bulkhead.inFlight(),
+                    bulkhead.queueDepth(),
+                    adaptive != null,
+                    bulkhead.getLatencyMillis(),
+                    adaptive != null ? adaptive.getRttBaselines() : null,
+                    adaptive != null ? adaptive.getGradient() : null));
+        }
+        return result;
+    }
+}
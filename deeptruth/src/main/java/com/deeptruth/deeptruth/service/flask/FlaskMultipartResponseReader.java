@@ -0,0 +1,167 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.exception.ExternalServiceException;
+import com.deeptruth.deeptruth.util.SpooledBinary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpInputMessage;
+import org.springframework.http.codec.multipart.PartEvent;
+import org.springframework.http.codec.multipart.PartEventHttpMessageReader;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Flask 의 multipart/mixed 응답 읽기.
+ * 약속된 형식: name="metadata" 파트(application/json, filename 없음)에 base64 필드를 뺀 JSON,
+ * 이미지마다 name=JSON 필드명, filename 이 있는 바이너리 파트 하나씩.
+ * 이미지 파트는 base64 없이 원본 바이트 그대로 오므로 받는 대로 임시 파일에 쓰고,
+ * 결과는 JSON 응답(FlaskJsonBinaryExtractor)과 같은 FlaskBinaryResponse 로 돌려준다.
+ */
+final class FlaskMultipartResponseReader {
+
+    static final String METADATA_PART = "metadata";
+
+    private FlaskMultipartResponseReader() {
+    }
+
+    static boolean isMultipart(MediaType contentType) {
+        return contentType != null && MediaType.MULTIPART_MIXED.isCompatibleWith(contentType);
+    }
+
+    static <T> Mono<FlaskBinaryResponse<T>> read(HttpHeaders headers, Flux<DataBuffer> body, Class<T> responseType,
+                                                 Set<String> binaryFields, int maxJsonBytes, ObjectMapper objectMapper,
+                                                 Scheduler ioScheduler) {
+        PartEventHttpMessageReader reader = new PartEventHttpMessageReader();
+        reader.setMaxInMemorySize(maxJsonBytes);
+        ReactiveHttpInputMessage message = new ReactiveHttpInputMessage() {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+
+        return Mono.using(
+                () -> new Parts(binaryFields, maxJsonBytes),
+                parts -> reader.read(ResolvableType.forClass(PartEvent.class), message, Map.of())
+                        .publishOn(ioScheduler)
+                        .doOnNext(parts::accept)
+                        .doOnDiscard(PartEvent.class, event -> DataBufferUtils.release(event.content()))
+                        .then(Mono.fromCallable(() -> parts.finish(json -> objectMapper.readValue(json, responseType)))),
+                Parts::close);
+    }
+
+    /** 파트 이벤트를 순서대로 받아 metadata 는 메모리에, 이미지 파트는 임시 파일에 쌓는다. */
+    private static final class Parts implements AutoCloseable {
+
+        private final Set<String> binaryFields;
+        private final int maxJsonBytes;
+        private final Map<String, SpooledBinary> binaries = new HashMap<>();
+        private ByteArrayOutputStream metadata;
+
+        // 쓰는 중인 이미지 파트
+        private Path path;
+        private OutputStream out;
+        private long size;
+
+        private Parts(Set<String> binaryFields, int maxJsonBytes) {
+            this.binaryFields = binaryFields;
+            this.maxJsonBytes = maxJsonBytes;
+        }
+
+        private void accept(PartEvent event) {
+            DataBuffer content = event.content();
+            try {
+                byte[] chunk = new byte[content.readableByteCount()];
+                content.read(chunk);
+                String name = event.name();
+                if (METADATA_PART.equals(name)) {
+                    if (metadata == null) metadata = new ByteArrayOutputStream();
+                    metadata.writeBytes(chunk);
+                    if (metadata.size() > maxJsonBytes) {
+                        throw new ExternalServiceException("Flask response JSON exceeds " + maxJsonBytes + " bytes");
+                    }
+                } else if (binaryFields.contains(name)) {
+                    writeBinary(name, event, chunk);
+                }
+                // 모르는 파트는 버림
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                DataBufferUtils.release(content);
+            }
+        }
+
+        private void writeBinary(String name, PartEvent event, byte[] chunk) throws IOException {
+            if (out == null) {
+                path = Files.createTempFile("deeptruth-", ".flask");
+                out = new BufferedOutputStream(Files.newOutputStream(path));
+                size = 0;
+            }
+            out.write(chunk);
+            size += chunk.length;
+            if (event.isLast()) {
+                out.close();
+                MediaType type = event.headers().getContentType();
+                SpooledBinary binary = new SpooledBinary(path, size,
+                        type != null ? type.toString() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+                out = null;
+                path = null;
+                if (binary.getSize() == 0) {
+                    binary.close();
+                } else {
+                    SpooledBinary previous = binaries.put(name, binary);
+                    if (previous != null) previous.close();
+                }
+            }
+        }
+
+        private <T> FlaskBinaryResponse<T> finish(FlaskJsonBinaryExtractor.BodyParser<T> parser) throws IOException {
+            if (metadata == null) {
+                throw new ExternalServiceException("Flask multipart response has no metadata part");
+            }
+            if (out != null) {
+                throw new ExternalServiceException("Flask multipart response is truncated");
+            }
+            FlaskBinaryResponse<T> response = new FlaskBinaryResponse<>(parser.parse(metadata.toByteArray()), binaries);
+            binaries.clear();
+            return response;
+        }
+
+        @Override
+        public void close() {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException ignored) {
+                }
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException ignored) {
+                }
+                out = null;
+            }
+            binaries.values().forEach(SpooledBinary::close);
+        }
+    }
+}
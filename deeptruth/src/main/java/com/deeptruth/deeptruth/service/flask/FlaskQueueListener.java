@@ -0,0 +1,16 @@
+package com.deeptruth.deeptruth.service.flask;
+
+/**
+ * bulkhead 대기열에서 기다리는 작업의 순번이 바뀔 때 호출된다 (bulkhead lock 밖에서).
+ */
+@FunctionalInterface
+public interface FlaskQueueListener {
+
+    FlaskQueueListener NONE = (job, position, estimatedWaitSeconds) -> {};
+
+    /**
+     * @param position             앞에 남은 대기 작업 수 (0 이면 다음 차례)
+     * @param estimatedWaitSeconds 실행 시작까지 예상 대기시간(초)
+     */
+    void onWaiting(FlaskJob job, int position, long estimatedWaitSeconds);
+}
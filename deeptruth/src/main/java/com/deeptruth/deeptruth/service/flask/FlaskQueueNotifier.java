@@ -0,0 +1,49 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.JobStatus;
+import com.deeptruth.deeptruth.base.dto.websocket.QueueStatusDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 대기 순번/예상 대기시간을 진행률과 같은 채널(/user/queue/progress/{taskId})로 보낸다.
+ * single-flight 로 합쳐진 요청들도 leader 와 같은 대기 상태를 각자의 taskId 로 받는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FlaskQueueNotifier implements FlaskQueueListener {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final FlaskSingleFlight flaskSingleFlight;
+
+    @Override
+    public void onWaiting(FlaskJob job, int position, long estimatedWaitSeconds) {
+        if (job.loginId() == null || job.taskId() == null) return;
+        send(job, job.loginId(), job.taskId(), position, estimatedWaitSeconds);
+        for (FlaskSingleFlight.ProgressTarget follower : flaskSingleFlight.followersOf(job.taskId())) {
+            send(job, follower.loginId(), follower.taskId(), position, estimatedWaitSeconds);
+        }
+    }
+
+    private void send(FlaskJob job, String loginId, String taskId, int position, long estimatedWaitSeconds) {
+        try {
+            messagingTemplate.convertAndSendToUser(
+                    loginId,
+                    "/queue/progress/" + taskId,
+                    QueueStatusDTO.builder()
+                            .taskId(taskId)
+                            .loginId(loginId)
+                            .status(JobStatus.QUEUED)
+                            .jobClass(job.jobClass())
+                            .position(position)
+                            .estimatedWaitSeconds(estimatedWaitSeconds)
+                            .build()
+            );
+        } catch (Exception e) {
+            log.warn("대기 상태 전송 실패 - taskId: {}, 원인: {}", taskId, e.getMessage());
+        }
+    }
+}
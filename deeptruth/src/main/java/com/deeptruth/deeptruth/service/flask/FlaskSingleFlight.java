@@ -0,0 +1,77 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * 같은 내용 + 같은 파라미터의 Flask 호출을 진행 중인 것 하나로 합친다 (single-flight).
+ * 먼저 온 요청(leader)만 Flask 를 호출하고, 그동안 들어온 중복 요청(follower)은 같은 결과를 받는다.
+ * Flask 진행률은 leader 의 taskId 로만 오므로, follower 들의 (loginId, taskId) 를 기록해 두고
+ * ProgressController 가 함께 전달한다. 결과 저장/응답 조립은 호출자마다 따로 한다.
+ * 키는 call 이 끝나야(종료 신호) 풀리므로, 다음 요청이 캐시에서 찾아야 할 결과는 call 안에서 저장해야 한다.
+ * call 이 쓰는 자원(업로드 스풀 등)은 요청이 아니라 call 이 잡고 종료 신호에서 놓아야 한다.
+ */
+@Component
+public class FlaskSingleFlight {
+
+    public record ProgressTarget(String loginId, String taskId) {}
+
+    private static final class Flight {
+        private final String leaderTaskId;
+        private final List<ProgressTarget> followers = new CopyOnWriteArrayList<>();
+        private Mono<Object> shared;
+
+        private Flight(String leaderTaskId) {
+            this.leaderTaskId = leaderTaskId;
+        }
+    }
+
+    private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Flight> byLeaderTask = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(String key, String loginId, String taskId, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            Flight[] created = new Flight[1];
+            Flight flight = inFlight.computeIfAbsent(key, k -> created[0] = newFlight(k, taskId, call));
+            if (flight == created[0]) {
+                return (Mono<T>) flight.shared;
+            }
+
+            ProgressTarget target = new ProgressTarget(loginId, taskId);
+            flight.followers.add(target);
+            return ((Mono<T>) flight.shared)
+                    .doFinally(signal -> flight.followers.remove(target));
+        });
+    }
+
+    // leader taskId 로 들어온 진행률을 함께 받아야 하는 follower 목록
+    public List<ProgressTarget> followersOf(String leaderTaskId) {
+        Flight flight = (leaderTaskId == null) ? null : byLeaderTask.get(leaderTaskId);
+        return (flight == null) ? List.of() : List.copyOf(flight.followers);
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private <T> Flight newFlight(String key, String taskId, Supplier<Mono<T>> call) {
+        Flight flight = new Flight(taskId);
+        // share(): 구독자가 하나라도 남아 있으면 Flask 호출은 계속되고 결과는 남은 구독자 모두에게 전달.
+        // 모든 구독자가 취소하면 upstream 도 취소되고 그때 doFinally 로 키가 풀린다.
+        flight.shared = Mono.<Object>defer(call)
+                .doFinally(signal -> {
+                    inFlight.remove(key, flight);
+                    byLeaderTask.remove(flight.leaderTaskId, flight);
+                })
+                .share();
+        byLeaderTask.put(taskId, flight);
+        return flight;
+    }
+}
@@ -0,0 +1,146 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskBackend;
+import com.deeptruth.deeptruth.config.FlaskConnectionPoolProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 백엔드별 WebClient.
+ * 딥페이크 영상 분석이 연결을 오래 잡고 있어도 워터마크/노이즈 호출이 연결을 기다리지 않도록
+ * 백엔드마다 이름 있는 연결 풀(flask-deepfake, flask-watermark, flask-noise)을 따로 둔다.
+ * 풀 상태는 flask.pool.active/idle/pending/max 게이지로, 요청 시작부터 연결을 얻어 전송을 시작하기까지의
+ * 시간은 flask.pool.acquire 타이머로 남겨 연결 대기와 Flask 처리 시간을 구분할 수 있게 한다.
+ */
+@Component
+public class FlaskWebClients implements DisposableBean {
+
+    private static final String REQUEST_STARTED = FlaskWebClients.class.getName() + ".started";
+
+    private final Map<FlaskBackend, WebClient> webClients = new EnumMap<>(FlaskBackend.class);
+    private final Map<FlaskBackend, ConnectionProvider> providers = new EnumMap<>(FlaskBackend.class);
+
+    public FlaskWebClients(FlaskConnectionPoolProperties properties, MeterRegistry meterRegistry) {
+        ExchangeStrategies strategies = ExchangeStrategies.builder()
+                .codecs(c -> c.defaultCodecs().maxInMemorySize(10 * 1024 * 1024)) // 10MB
+                .build();
+
+        for (FlaskBackend backend : FlaskBackend.values()) {
+            FlaskConnectionPoolProperties.Backend config = properties.of(backend);
+            String tag = backend.name().toLowerCase();
+
+            ConnectionProvider provider = ConnectionProvider.builder("flask-" + tag)
+                    .maxConnections(config.getMaxConnections())
+                    .pendingAcquireMaxCount(config.getPendingAcquireMaxCount())
+                    .pendingAcquireTimeout(Duration.ofMillis(config.getPendingAcquireTimeoutMillis()))
+                    .maxIdleTime(Duration.ofSeconds(config.getMaxIdleSeconds()))
+                    .maxLifeTime(Duration.ofSeconds(config.getMaxLifeSeconds()))
+                    .evictInBackground(Duration.ofSeconds(config.getEvictIntervalSeconds()))
+                    .metrics(true, () -> new PoolMeters(tag, meterRegistry))
+                    .build();
+
+            Timer acquireTimer = Timer.builder("flask.pool.acquire")
+                    .description("요청 시작부터 연결을 얻어 전송을 시작하기까지")
+                    .tag("backend", tag)
+                    .register(meterRegistry);
+
+            HttpClient httpClient = HttpClient.create(provider)
+                    .protocol(config.isH2c() ? HttpProtocol.H2C : HttpProtocol.HTTP11)
+                    .keepAlive(config.isKeepAlive())
+                    .option(ChannelOption.SO_KEEPALIVE, config.isKeepAlive())
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, config.getConnectTimeoutMillis())
+                    .responseTimeout(Duration.ofSeconds(config.getResponseTimeoutSeconds()))
+                    .doOnConnected(conn -> conn
+                            .addHandlerLast(new ReadTimeoutHandler(config.getResponseTimeoutSeconds(), TimeUnit.SECONDS))
+                            .addHandlerLast(new WriteTimeoutHandler(config.getResponseTimeoutSeconds(), TimeUnit.SECONDS)))
+                    .doOnRequest((request, conn) -> request.currentContextView()
+                            .<Long>getOrEmpty(REQUEST_STARTED)
+                            .ifPresent(started -> acquireTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS)));
+
+            WebClient webClient = WebClient.builder()
+                    .clientConnector(new ReactorClientHttpConnector(httpClient))
+                    .exchangeStrategies(strategies)
+                    // 구독 시점을 기록해 두고 실제 전송 직전(doOnRequest)에 대기 시간을 잰다
+                    .filter((request, next) -> next.exchange(request)
+                            .contextWrite(ctx -> ctx.put(REQUEST_STARTED, System.nanoTime())))
+                    .build();
+
+            providers.put(backend, provider);
+            webClients.put(backend, webClient);
+        }
+    }
+
+    public WebClient get(FlaskBackend backend) {
+        return webClients.get(backend);
+    }
+
+    ConnectionProvider provider(FlaskBackend backend) {
+        return providers.get(backend);
+    }
+
+    @Override
+    public void destroy() {
+        providers.values().forEach(ConnectionProvider::dispose);
+    }
+
+    /** 복제 서버 주소별 풀이 생길 때 게이지를 등록하고, 풀이 정리되면 제거한다. */
+    private static final class PoolMeters implements ConnectionProvider.MeterRegistrar {
+
+        private final String backend;
+        private final MeterRegistry meterRegistry;
+        private final Map<String, List<Meter>> meters = new ConcurrentHashMap<>();
+
+        private PoolMeters(String backend, MeterRegistry meterRegistry) {
+            this.backend = backend;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+            String remote = remoteAddress.toString();
+            meters.put(id, List.of(
+                    gauge("flask.pool.active", remote, metrics, ConnectionPoolMetrics::acquiredSize),
+                    gauge("flask.pool.idle", remote, metrics, ConnectionPoolMetrics::idleSize),
+                    gauge("flask.pool.pending", remote, metrics, ConnectionPoolMetrics::pendingAcquireSize),
+                    gauge("flask.pool.max", remote, metrics, ConnectionPoolMetrics::maxAllocatedSize)));
+        }
+
+        @Override
+        public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+            List<Meter> removed = meters.remove(id);
+            if (removed != null) removed.forEach(meterRegistry::remove);
+        }
+
+        private Meter gauge(String name, String remote, ConnectionPoolMetrics metrics,
+                            ToDoubleFunction<ConnectionPoolMetrics> value) {
+            return Gauge.builder(name, metrics, value)
+                    .tag("backend", backend)
+                    .tag("remote", remote)
+                    .strongReference(true)
+                    .register(meterRegistry);
+        }
+    }
+}
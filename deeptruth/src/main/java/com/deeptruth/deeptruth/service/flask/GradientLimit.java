@@ -0,0 +1,105 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskJobClass;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 지연시간 기울기 기반 적응형 동시성 한도 (Netflix concurrency-limits 의 Gradient2 방식).
+ *
+ * 단기 RTT(최근 평균)와 장기 RTT(기준선)를 비교해 gradient = 장기/단기 (0.5~1.0) 를 구하고,
+ * limit = limit * gradient + sqrt(limit) 로 갱신한다. 지연이 안정적이면 sqrt(limit) 만큼 늘고,
+ * Flask 쪽 대기열이 쌓여 지연이 늘어나면 gradient 가 1 아래로 떨어져 한도가 줄어든다.
+ * 타임아웃/5xx 는 즉시 곱셈 감소(backoff)한다.
+ * 한 백엔드에 지연이 크게 다른 작업(이미지/영상)이 섞이므로, RTT 기준선은 작업 종류(FlaskJobClass)별로 따로 두고
+ * 표본마다 같은 종류의 기준선과 비교한다 (영상 표본이 이미지 기준선을 부풀리거나 한도를 깎지 않도록).
+ */
+public class GradientLimit {
+
+    private static final double SHORT_WEIGHT = 2.0 / (10 + 1);
+    private static final double LONG_WEIGHT = 2.0 / (600 + 1);
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private double estimatedLimit;
+    private final Map<FlaskJobClass, Rtt> rtts = new EnumMap<>(FlaskJobClass.class);
+    private double gradient = 1.0;
+
+    /** 작업 종류별 단기/장기 RTT (ms) */
+    public record RttBaseline(double shortRttMillis, double longRttMillis) {}
+
+    private static final class Rtt {
+        private double shortNanos;
+        private double longNanos;
+    }
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.estimatedLimit = clamp(initialLimit);
+    }
+
+    /**
+     * 호출 1건 완료 시 갱신.
+     * @param jobClass 표본을 비교할 RTT 기준선의 작업 종류
+     * @param rttNanos 호출 소요시간
+     * @param inFlight 호출 시작 시점의 동시 호출 수 (복제 서버 대당 평균이면 소수)
+     * @param dropped  과부하 신호(타임아웃/5xx) 여부
+     * @return 새 한도
+     */
+    public synchronized int onSample(FlaskJobClass jobClass, long rttNanos, double inFlight, boolean dropped) {
+        if (dropped) {
+            estimatedLimit = clamp(estimatedLimit * BACKOFF);
+            return getLimit();
+        }
+
+        Rtt rtt = rtts.computeIfAbsent(jobClass, c -> new Rtt());
+        if (rtt.longNanos == 0) {
+            rtt.shortNanos = rttNanos;
+            rtt.longNanos = rttNanos;
+        } else {
+            rtt.shortNanos += SHORT_WEIGHT * (rttNanos - rtt.shortNanos);
+            rtt.longNanos += LONG_WEIGHT * (rttNanos - rtt.longNanos);
+        }
+
+        // 최근 지연이 기준선의 절반 아래로 떨어진 채면(부하 감소, 더 빠른 백엔드로 교체) 기준선을 빠르게 끌어내림
+        // (장기 평균만으로는 수백 건이 지나야 내려와 gradient 가 1 에 붙은 채 한도가 계속 늘어남)
+        if (rtt.longNanos / rtt.shortNanos > 2) {
+            rtt.longNanos *= 0.95;
+        }
+
+        // 한도의 절반도 쓰지 않는 중이면 늘릴 근거가 없음
+        if (inFlight < estimatedLimit / 2) {
+            return getLimit();
+        }
+
+        gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * rtt.longNanos / rtt.shortNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = clamp(estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING);
+        return getLimit();
+    }
+
+    public synchronized int getLimit() {
+        return (int) Math.max(minLimit, Math.floor(estimatedLimit));
+    }
+
+    public synchronized double getGradient() {
+        return gradient;
+    }
+
+    public synchronized Map<FlaskJobClass, RttBaseline> getRttBaselines() {
+        Map<FlaskJobClass, RttBaseline> result = new EnumMap<>(FlaskJobClass.class);
+        rtts.forEach((jobClass, rtt) ->
+                result.put(jobClass, new RttBaseline(rtt.shortNanos / 1_000_000.0, rtt.longNanos / 1_000_000.0)));
+        return result;
+    }
+
+    private double clamp(double limit) {
+        return Math.max(minLimit, Math.min(maxLimit, limit));
+    }
+}
@@ -0,0 +1,325 @@
+package com.deeptruth.deeptruth.service.storage;
+
+import com.deeptruth.deeptruth.util.ImageHashUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+/**
+ * 로컬 파일시스템 저장소 (local-storage 프로필). AWS 자격 증명 없이 전체 파이프라인을 돌리기 위한 용도.
+ * 쓰기는 같은 디렉터리의 임시 파일에 쓴 뒤 atomic rename 하므로 읽는 쪽은 완성된 파일만 본다.
+ * 읽기는 요청 구간을 메모리 매핑해 커널 페이지 캐시에서 바로 복사한다.
+ * Content-Type/ETag 는 root/.meta 아래 같은 경로의 properties 에 둔다.
+ * presigned PUT 은 HMAC 서명 URL 이며 LocalStorageController 가 확인한다.
+ * private-prefixes 아래 객체(클라이언트가 직접 올린 원본 등)는 S3 의 비공개 객체처럼 presignGet 서명 URL 로만 읽는다.
+ */
+public class LocalObjectStorage implements ObjectStorage {
+
+    private static final String META_DIR = ".meta";
+
+    private final Path root;
+    private final String publicBaseUrl;
+    private final SecretKeySpec signingKey;
+    private final Clock clock;
+    private final List<String> privatePrefixes;
+
+    public LocalObjectStorage(Path root, String publicBaseUrl, byte[] signingSecret, Clock clock) {
+        this(root, publicBaseUrl, signingSecret, clock, List.of());
+    }
+
+    public LocalObjectStorage(Path root, String publicBaseUrl, byte[] signingSecret, Clock clock,
+                              List<String> privatePrefixes) {
+        this.root = root.toAbsolutePath().normalize();
+        this.publicBaseUrl = publicBaseUrl.endsWith("/") ? publicBaseUrl.substring(0, publicBaseUrl.length() - 1) : publicBaseUrl;
+        this.signingKey = new SecretKeySpec(signingSecret, "HmacSHA256");
+        this.clock = clock;
+        this.privatePrefixes = List.copyOf(privatePrefixes);
+    }
+
+    @Override
+    public String put(String key, InputStream in, long length, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), ".put-", ".tmp");
+        try {
+            MessageDigest md5 = md5();
+            long written;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(tmp), md5)) {
+                written = in.transferTo(out);
+            }
+            if (length >= 0 && written != length) {
+                throw new IOException("length mismatch: expected " + length + " but got " + written);
+            }
+            Properties meta = new Properties();
+            if (contentType != null) meta.setProperty("contentType", contentType);
+            meta.setProperty("eTag", ImageHashUtils.toHex(md5.digest()));
+            // 메타데이터를 먼저 옮겨 두면 데이터 파일이 보이는 순간 메타데이터도 있음
+            writeAtomically(metaPath(key), meta);
+            move(tmp, target);
+            return getUrl(key);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public InputStream get(String key, long offset, long length) throws IOException {
+        Path file = resolve(key);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = Math.min(Math.max(offset, 0), size);
+            long count = length < 0 ? size - start : Math.min(length, size - start);
+            if (count <= Integer.MAX_VALUE) {
+                // 매핑은 채널을 닫아도 유지됨
+                return new MappedInputStream(channel.map(FileChannel.MapMode.READ_ONLY, start, count));
+            }
+        }
+        // 2GB 넘는 구간은 한 번에 매핑할 수 없어 채널 스트림으로
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        channel.position(offset);
+        InputStream stream = Channels.newInputStream(channel);
+        return length < 0 ? stream : new BoundedInputStream(stream, length);
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) throws IOException {
+        Path file = resolve(key);
+        if (!Files.isRegularFile(file)) return Optional.empty();
+        Properties meta = new Properties();
+        try (InputStream in = Files.newInputStream(metaPath(key))) {
+            meta.load(in);
+        } catch (NoSuchFileException ignored) {
+        }
+        return Optional.of(new StoredObject(key, Files.size(file), meta.getProperty("contentType"),
+                meta.getProperty("eTag")));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+        Files.deleteIfExists(metaPath(key));
+    }
+
+    @Override
+    public List<String> list(String prefix) throws IOException {
+        // 키 경계가 아닌 prefix("a/b" → "a/bc") 도 맞추도록 상위 디렉터리를 훑고 문자열로 거름
+        int slash = prefix.lastIndexOf('/');
+        Path dir = (slash < 0) ? root : resolve(prefix.substring(0, slash));
+        if (!Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> !file.getFileName().toString().startsWith(".put-"))
+                    .map(file -> root.relativize(file).toString().replace('\\', '/'))
+                    .filter(key -> key.startsWith(prefix) && !key.startsWith(META_DIR + "/"))
+                    .toList();
+        }
+    }
+
+    @Override
+    public URL presignPut(String key, String contentType, long length, Instant expiresAt) {
+        resolve(key);
+        long expires = expiresAt.getEpochSecond();
+        return toUrl(getUrl(key) + "?expires=" + expires + "&length=" + length
+                + "&signature=" + sign(putPayload(key, contentType, length, expires)));
+    }
+
+    /** presignPut 으로 만든 URL 의 PUT 요청인지 확인 */
+    public boolean verifyPut(String key, String contentType, long length, long expires, String signature) {
+        return verify(putPayload(key, contentType, length, expires), expires, signature);
+    }
+
+    /** 비공개 객체를 기한까지 읽을 수 있는 URL */
+    public URL presignGet(String key, Instant expiresAt) {
+        resolve(key);
+        long expires = expiresAt.getEpochSecond();
+        return toUrl(getUrl(key) + "?expires=" + expires + "&signature=" + sign(getPayload(key, expires)));
+    }
+
+    /** presignGet 으로 만든 URL 의 GET 요청인지 확인 */
+    public boolean verifyGet(String key, long expires, String signature) {
+        return verify(getPayload(key, expires), expires, signature);
+    }
+
+    /** 서명 없이 읽을 수 있는 키인지 (S3 PublicRead 로 올린 결과물과 같음) */
+    public boolean isPublicRead(String key) {
+        return !key.startsWith(PRIVATE_PREFIX) && privatePrefixes.stream().noneMatch(key::startsWith);
+    }
+
+    @Override
+    public String getUrl(String key) {
+        return publicBaseUrl + "/" + key;
+    }
+
+    @Override
+    public String location() {
+        return root.toString();
+    }
+
+    // ../ 등으로 root 밖이나 메타데이터 디렉터리를 가리키는 키는 거절 (정규화한 뒤의 경로로 판단)
+    Path resolve(String key) {
+        if (key == null || key.isBlank() || key.startsWith("/")) {
+            throw new IllegalArgumentException("invalid object key: " + key);
+        }
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)
+                || root.relativize(path).getName(0).toString().equals(META_DIR)) {
+            throw new IllegalArgumentException("invalid object key: " + key);
+        }
+        return path;
+    }
+
+    private Path metaPath(String key) {
+        return root.resolve(META_DIR).resolve(key + ".properties").normalize();
+    }
+
+    private static void writeAtomically(Path target, Properties meta) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), ".meta-", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                meta.store(out, null);
+            }
+            move(tmp, target);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String putPayload(String key, String contentType, long length, long expires) {
+        return "PUT\n" + key + "\n" + (contentType == null ? "" : contentType) + "\n" + length + "\n" + expires;
+    }
+
+    private static String getPayload(String key, long expires) {
+        return "GET\n" + key + "\n" + expires;
+    }
+
+    private boolean verify(String payload, long expires, String signature) {
+        if (signature == null || clock.instant().getEpochSecond() > expires) return false;
+        byte[] expected = sign(payload).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private String sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(signingKey);
+            return ImageHashUtils.toHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static URL toUrl(String url) {
+        try {
+            return URI.create(url).toURL();
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class MappedInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private MappedInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) return 0;
+            if (!buffer.hasRemaining()) return -1;
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.min(Math.max(n, 0), buffer.remaining());
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    private static final class BoundedInputStream extends InputStream {
+        private final InputStream in;
+        private long remaining;
+
+        private BoundedInputStream(InputStream in, long remaining) {
+            this.in = in;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) return -1;
+            int b = in.read();
+            if (b >= 0) remaining--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) return -1;
+            int n = in.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) remaining -= n;
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
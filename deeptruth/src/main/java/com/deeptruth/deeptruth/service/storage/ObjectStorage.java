@@ -0,0 +1,47 @@
+package com.deeptruth.deeptruth.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 결과 이미지/원본 영상 저장소. 운영은 S3, 오프라인 부하 테스트·벤치마크는 로컬 파일시스템 (local-storage 프로필).
+ * 키는 "deepfake/{userId}/..." 처럼 '/' 로 구분한 경로이며, put 이 돌려주는 URL 은 공개 읽기 URL 이다.
+ * 단 PRIVATE_PREFIX 아래 키는 비공개로 올라가, 돌려준 URL 로는 읽을 수 없다.
+ */
+public interface ObjectStorage {
+
+    /** 이 prefix 아래 객체는 put 해도 공개 읽기가 아님 (워터마크 메시지 등) */
+    String PRIVATE_PREFIX = "private/";
+
+    /** length 를 모르면 -1 */
+    String put(String key, InputStream in, long length, String contentType) throws IOException;
+
+    /** offset 부터 length 바이트 (length < 0 이면 끝까지). 받은 쪽에서 닫아야 한다. */
+    InputStream get(String key, long offset, long length) throws IOException;
+
+    Optional<StoredObject> stat(String key) throws IOException;
+
+    default boolean exists(String key) throws IOException {
+        return stat(key).isPresent();
+    }
+
+    void delete(String key) throws IOException;
+
+    /** prefix 로 시작하는 키 전부 (회원 삭제 시 정리용) */
+    List<String> list(String prefix) throws IOException;
+
+    /** Content-Type, Content-Length 가 고정된 업로드 URL */
+    URL presignPut(String key, String contentType, long length, Instant expiresAt);
+
+    String getUrl(String key);
+
+    /** 버킷 이름 또는 로컬 루트 (Flask 가 직접 읽을 위치) */
+    String location();
+
+    record StoredObject(String key, long size, String contentType, String eTag) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.deeptruth.deeptruth.service.storage;
+
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 크기를 모르거나 큰 스트림을 S3 multipart 로 올린다.
+ * 업로드 하나가 쓰는 메모리는 partSize × parallelism 버퍼로 고정: 버퍼가 모두 전송 중이면 스트림 읽기가 기다린다.
+ * 파트는 executor 에서 병렬 전송하고, 하나라도 실패하면 남은 파트를 기다리지 않고 multipart 업로드를 abort 한다.
+ * 첫 파트를 채우기 전에 스트림이 끝나면 multipart 없이 단일 PUT.
+ * 첫 파트 버퍼는 작게 시작해 partSize 까지 두 배씩 늘리므로, 작은 객체는 읽은 만큼만 메모리를 쓴다.
+ */
+@Slf4j
+public class S3MultipartUploader {
+
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+    private final AmazonS3Client amazonS3Client;
+    private final Executor executor;
+    private final int partSize;
+    private final int parallelism;
+
+    public S3MultipartUploader(AmazonS3Client amazonS3Client, Executor executor, int partSize, int parallelism) {
+        this.amazonS3Client = amazonS3Client;
+        this.executor = executor;
+        this.partSize = partSize;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public void upload(String bucket, String key, InputStream in, String contentType,
+                       CannedAccessControlList acl) throws IOException {
+        BlockingQueue<byte[]> pool = new ArrayBlockingQueue<>(parallelism);
+        byte[] first = new byte[Math.min(partSize, INITIAL_BUFFER_SIZE)];
+        int firstLength = 0;
+        while (true) {
+            firstLength += in.readNBytes(first, firstLength, first.length - firstLength);
+            if (firstLength < first.length || first.length == partSize) break;
+            first = Arrays.copyOf(first, (int) Math.min(partSize, 2L * first.length));
+        }
+        if (firstLength < partSize) {
+            putSingle(bucket, key, first, firstLength, contentType, acl);
+            return;
+        }
+        for (int i = 1; i < parallelism; i++) pool.add(new byte[partSize]);
+
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        String uploadId = amazonS3Client.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucket, key, metadata)
+                .withCannedACL(acl)).getUploadId();
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<CompletableFuture<PartETag>> parts = new ArrayList<>();
+        try {
+            byte[] buffer = first;
+            int length = firstLength;
+            int partNumber = 1;
+            while (length > 0) {
+                parts.add(uploadPart(bucket, key, uploadId, partNumber++, buffer, length, pool, failure));
+                if (length < partSize) break;
+                buffer = takeBuffer(pool, failure);
+                length = in.readNBytes(buffer, 0, partSize);
+                if (length == 0) pool.add(buffer);
+            }
+
+            List<PartETag> eTags = new ArrayList<>(parts.size());
+            for (CompletableFuture<PartETag> part : parts) eTags.add(part.get());
+            eTags.sort(Comparator.comparingInt(PartETag::getPartNumber));
+            amazonS3Client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, key, uploadId, eTags));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort(bucket, key, uploadId, parts);
+            throw new InterruptedIOException("multipart upload interrupted: " + key);
+        } catch (ExecutionException e) {
+            abort(bucket, key, uploadId, parts);
+            throw new IOException("multipart upload failed: " + key, e.getCause());
+        } catch (IOException | RuntimeException e) {
+            abort(bucket, key, uploadId, parts);
+            throw e;
+        }
+    }
+
+    private CompletableFuture<PartETag> uploadPart(String bucket, String key, String uploadId, int partNumber,
+                                                   byte[] buffer, int length, BlockingQueue<byte[]> pool,
+                                                   AtomicReference<Throwable> failure) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                if (failure.get() != null) throw new IllegalStateException("multipart upload already failed");
+                return amazonS3Client.uploadPart(new UploadPartRequest()
+                        .withBucketName(bucket)
+                        .withKey(key)
+                        .withUploadId(uploadId)
+                        .withPartNumber(partNumber)
+                        .withPartSize(length)
+                        .withInputStream(new ByteArrayInputStream(buffer, 0, length))).getPartETag();
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+                throw e;
+            } finally {
+                pool.offer(buffer);
+            }
+        }, executor);
+    }
+
+    // 버퍼가 모두 전송 중이면 하나가 돌아올 때까지 대기 (그 사이 실패하면 바로 중단)
+    private static byte[] takeBuffer(BlockingQueue<byte[]> pool, AtomicReference<Throwable> failure)
+            throws InterruptedException, ExecutionException {
+        while (true) {
+            Throwable cause = failure.get();
+            if (cause != null) throw new ExecutionException(cause);
+            byte[] buffer = pool.poll(100, TimeUnit.MILLISECONDS);
+            if (buffer != null) return buffer;
+        }
+    }
+
+    private void abort(String bucket, String key, String uploadId, List<CompletableFuture<PartETag>> parts) {
+        parts.forEach(part -> part.cancel(false));
+        try {
+            amazonS3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId));
+        } catch (RuntimeException e) {
+            // 남은 파트는 버킷 lifecycle(미완료 multipart 정리) 규칙이 지움
+            log.warn("S3 multipart abort 실패 (key: {}, uploadId: {})", key, uploadId, e);
+        }
+    }
+
+    private void putSingle(String bucket, String key, byte[] buffer, int length, String contentType,
+                           CannedAccessControlList acl) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        metadata.setContentLength(length);
+        amazonS3Client.putObject(new PutObjectRequest(bucket, key, new ByteArrayInputStream(buffer, 0, length), metadata)
+                .withCannedAcl(acl));
+    }
+}
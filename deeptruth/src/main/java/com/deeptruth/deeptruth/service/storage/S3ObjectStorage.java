@@ -0,0 +1,135 @@
+package com.deeptruth.deeptruth.service.storage;
+
+import com.amazonaws.HttpMethod;
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * AWS S3 (또는 S3 호환 서버) 저장소. 올린 객체는 PRIVATE_PREFIX 아래가 아니면 공개 읽기.
+ * multipartThreshold 이상이거나 길이를 모르는 스트림은 S3MultipartUploader 로 나눠 올려, 전체를 메모리에 올리지 않는다.
+ */
+public class S3ObjectStorage implements ObjectStorage {
+
+    private final AmazonS3Client amazonS3Client;
+    private final String bucketName;
+    private final S3MultipartUploader multipartUploader;
+    private final long multipartThreshold;
+
+    public S3ObjectStorage(AmazonS3Client amazonS3Client, String bucketName) {
+        this(amazonS3Client, bucketName, null, Long.MAX_VALUE);
+    }
+
+    public S3ObjectStorage(AmazonS3Client amazonS3Client, String bucketName,
+                           S3MultipartUploader multipartUploader, long multipartThreshold) {
+        this.amazonS3Client = amazonS3Client;
+        this.bucketName = bucketName;
+        this.multipartUploader = multipartUploader;
+        this.multipartThreshold = multipartThreshold;
+    }
+
+    @Override
+    public String put(String key, InputStream in, long length, String contentType) throws IOException {
+        if (multipartUploader != null && (length < 0 || length >= multipartThreshold)) {
+            multipartUploader.upload(bucketName, key, in, contentType, acl(key));
+            return getUrl(key);
+        }
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        InputStream body = in;
+        if (length >= 0) {
+            metadata.setContentLength(length);
+        } else {
+            // SDK 가 길이 없이 받으면 내부에서 전부 버퍼링하므로, 직접 한 번 읽어 길이를 정함
+            byte[] bytes = in.readAllBytes();
+            metadata.setContentLength(bytes.length);
+            body = new ByteArrayInputStream(bytes);
+        }
+        amazonS3Client.putObject(new PutObjectRequest(bucketName, key, body, metadata)
+                .withCannedAcl(acl(key)));
+        return getUrl(key);
+    }
+
+    static CannedAccessControlList acl(String key) {
+        return key.startsWith(PRIVATE_PREFIX) ? CannedAccessControlList.Private : CannedAccessControlList.PublicRead;
+    }
+
+    @Override
+    public InputStream get(String key, long offset, long length) {
+        GetObjectRequest request = new GetObjectRequest(bucketName, key);
+        if (length >= 0) {
+            request.setRange(offset, offset + length - 1);
+        } else if (offset > 0) {
+            request.setRange(offset);
+        }
+        return amazonS3Client.getObject(request).getObjectContent();
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) {
+        try {
+            ObjectMetadata metadata = amazonS3Client.getObjectMetadata(bucketName, key);
+            return Optional.of(new StoredObject(key, metadata.getContentLength(), metadata.getContentType(),
+                    metadata.getETag()));
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) return Optional.empty();
+            throw e;
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        amazonS3Client.deleteObject(bucketName, key);
+    }
+
+    @Override
+    public List<String> list(String prefix) {
+        List<String> keys = new ArrayList<>();
+        ListObjectsV2Request request = new ListObjectsV2Request().withBucketName(bucketName).withPrefix(prefix);
+        ListObjectsV2Result result;
+        do {
+            result = amazonS3Client.listObjectsV2(request);
+            result.getObjectSummaries().stream().map(S3ObjectSummary::getKey).forEach(keys::add);
+            request.setContinuationToken(result.getNextContinuationToken());
+        } while (result.isTruncated());
+        return keys;
+    }
+
+    // Content-Type, Content-Length 를 서명에 넣어 다른 값으로는 업로드 불가
+    @Override
+    public URL presignPut(String key, String contentType, long length, Instant expiresAt) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucketName, key, HttpMethod.PUT)
+                .withContentType(contentType)
+                .withExpiration(Date.from(expiresAt));
+        request.putCustomRequestHeader(Headers.CONTENT_LENGTH, String.valueOf(length));
+        return amazonS3Client.generatePresignedUrl(request);
+    }
+
+    @Override
+    public String getUrl(String key) {
+        return amazonS3Client.getUrl(bucketName, key).toString();
+    }
+
+    @Override
+    public String location() {
+        return bucketName;
+    }
+}
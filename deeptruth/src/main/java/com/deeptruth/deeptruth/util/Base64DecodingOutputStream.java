@@ -0,0 +1,97 @@
+package com.deeptruth.deeptruth.util;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * 써 넣는 base64 문자를 그대로 디코딩해 하위 스트림으로 흘려보내는 OutputStream.
+ * 전체 문자열/바이트 배열을 만들지 않고 4글자마다 3바이트씩 내보낸다.
+ * Base64.getDecoder() 와 같이 표준 알파벳만 받고 끝의 '=' 는 생략 가능하며, 공백/개행은 건너뛴다.
+ */
+public class Base64DecodingOutputStream extends FilterOutputStream {
+
+    private static final int[] DECODE = new int[128];
+
+    static {
+        Arrays.fill(DECODE, -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            DECODE[alphabet.charAt(i)] = i;
+        }
+    }
+
+    private int bits;
+    private int count;
+    private boolean padded;
+    private long decodedSize;
+
+    public Base64DecodingOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        int c = b & 0xff;
+        if (c == ' ' || c == '\n' || c == '\r' || c == '\t') return;
+        if (c == '=') {
+            // 패딩은 마지막 4글자 단위의 3, 4번째 자리에만 올 수 있음
+            if (count < 2) throw new IOException("invalid base64 padding");
+            padded = true;
+            return;
+        }
+        int v = c < 128 ? DECODE[c] : -1;
+        if (v < 0 || padded) throw new IOException("invalid base64 character");
+
+        bits = (bits << 6) | v;
+        if (++count == 4) {
+            out.write(bits >> 16);
+            out.write(bits >> 8);
+            out.write(bits);
+            decodedSize += 3;
+            bits = 0;
+            count = 0;
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            write(b[i]);
+        }
+    }
+
+    /** 남은 글자(2~3개)를 마무리해 내보낸다. 이후에는 더 쓸 수 없다. */
+    public void finish() throws IOException {
+        switch (count) {
+            case 0 -> { }
+            case 2 -> {
+                out.write(bits >> 4);
+                decodedSize += 1;
+            }
+            case 3 -> {
+                out.write(bits >> 10);
+                out.write(bits >> 2);
+                decodedSize += 2;
+            }
+            default -> throw new IOException("truncated base64 input");
+        }
+        count = 0;
+        bits = 0;
+        padded = true;
+    }
+
+    public long getDecodedSize() {
+        return decodedSize;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            super.close();
+        }
+    }
+}
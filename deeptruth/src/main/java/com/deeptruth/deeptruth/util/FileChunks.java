@@ -0,0 +1,63 @@
+package com.deeptruth.deeptruth.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 이어 올리기 청크를 파일의 지정 위치에 쓰는 NIO 헬퍼.
+ * 스트림을 작은 버퍼 단위로 읽어 FileChannel 위치 지정 쓰기로 옮기므로 청크 전체를 메모리에 올리지 않는다.
+ */
+public final class FileChunks {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private FileChunks() {
+    }
+
+    /**
+     * in 을 position 부터 최대 limit 바이트까지 쓰고 쓴 바이트 수를 돌려준다.
+     * digest 가 있으면 쓴 바이트를 함께 넣는다. 반환 전에 디스크에 반영(force)한다.
+     */
+    public static long write(Path file, long position, InputStream in, long limit, MessageDigest digest) throws IOException {
+        byte[] array = new byte[BUFFER_SIZE];
+        ByteBuffer buffer = ByteBuffer.wrap(array);
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            while (written < limit) {
+                int n = in.read(array, 0, (int) Math.min(array.length, limit - written));
+                if (n < 0) break;
+                if (digest != null) digest.update(array, 0, n);
+                buffer.clear().limit(n);
+                while (buffer.hasRemaining()) {
+                    written += channel.write(buffer, position + written);
+                }
+            }
+            channel.force(false);
+        }
+        return written;
+    }
+
+    public static String sha256(Path file) throws IOException {
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024 * 1024);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                md.update(buffer);
+                buffer.clear();
+            }
+        }
+        return ImageHashUtils.toHex(md.digest());
+    }
+}
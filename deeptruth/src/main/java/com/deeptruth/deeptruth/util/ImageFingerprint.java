@@ -0,0 +1,84 @@
+package com.deeptruth.deeptruth.util;
+
+import lombok.Getter;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 워터마크 매칭에 쓰는 세 가지 지문(sha256, 정규화 PNG sha256, pHash)을 디코딩 1회로 계산한다.
+ * 결과는 ImageHashUtils.sha256 / ImageHashUtils.pHash / ImageNormalizer.normalizeToPng 를
+ * 각각 호출했을 때와 동일하다.
+ */
+@Getter
+public final class ImageFingerprint {
+
+    private final String sha256;
+    private final String normalizedSha256;
+    private final long phash;
+
+    private ImageFingerprint(String sha256, String normalizedSha256, long phash) {
+        this.sha256 = sha256;
+        this.normalizedSha256 = normalizedSha256;
+        this.phash = phash;
+    }
+
+    public static ImageFingerprint of(byte[] data) {
+        return of(new ByteArrayInputStream(data));
+    }
+
+    // 스트림을 한 번만 읽으면서 원본 sha256 을 누적 계산하고 같은 바이트로 디코딩
+    public static ImageFingerprint of(InputStream in) {
+        MessageDigest md = sha256Digest();
+        try (DigestInputStream din = new DigestInputStream(in, md)) {
+            BufferedImage img = ImageIO.read(din);
+            // 디코더가 끝까지 읽지 않은 꼬리 바이트(메타데이터 등)도 원본 해시에 포함
+            din.transferTo(OutputStream.nullOutputStream());
+            return fromImage(ImageHashUtils.toHex(md.digest()), img);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 스풀 단계에서 이미 계산된 sha256 을 재사용하고, 파일에서 바로 디코딩
+    public static ImageFingerprint of(SpooledMultipartFile spool) {
+        return of(spool.getSha256(), spool.getPath());
+    }
+
+    public static ImageFingerprint of(String sha256, Path path) {
+        try {
+            return fromImage(sha256, ImageIO.read(path.toFile()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ImageFingerprint fromImage(String sha256, BufferedImage img) throws IOException {
+        if (img == null) throw new IllegalArgumentException("invalid image");
+
+        // 정규화 PNG 는 바이트 배열로 모으지 않고 digest 로만 흘려보냄
+        MessageDigest md = sha256Digest();
+        try (DigestOutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), md)) {
+            ImageNormalizer.writeNormalizedPng(img, out);
+        }
+        return new ImageFingerprint(sha256, ImageHashUtils.toHex(md.digest()), ImageHashUtils.pHash(img));
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
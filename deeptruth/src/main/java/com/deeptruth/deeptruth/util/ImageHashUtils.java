@@ -10,64 +10,89 @@ import java.util.Arrays;
 
 public class ImageHashUtils {
 
+    private static final int DCT_SIZE = 32;
+    private static final int HASH_BLOCK = 8;
+
+    // COS[u][x] = cos((2x+1)uπ / 2N) — 기존 dct2D 와 같은 식으로 한 번만 계산 (u < 8 만 사용)
+    private static final double[][] COS = new double[HASH_BLOCK][DCT_SIZE];
+
+    static {
+        int N = DCT_SIZE;
+        for (int u = 0; u < HASH_BLOCK; u++)
+            for (int x = 0; x < N; x++)
+                COS[u][x] = Math.cos(((2 * x + 1) * u * Math.PI) / (2 * N));
+    }
+
     public static String sha256(byte[] data) {
         try {
             MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] dig = md.digest(data);
-            StringBuilder sb = new StringBuilder(64);
-            for (byte b : dig) sb.append(String.format("%02x", b));
-            return sb.toString();
+            return toHex(md.digest(data));
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
 
+    public static String toHex(byte[] digest) {
+        StringBuilder sb = new StringBuilder(digest.length * 2);
+        for (byte b : digest) sb.append(String.format("%02x", b));
+        return sb.toString();
+    }
+
     // 간단 pHash (32x32 grayscale → DCT → 8x8 상위계수 median)
     public static long pHash(byte[] data) {
         try (InputStream is = new ByteArrayInputStream(data)) {
             BufferedImage img = ImageIO.read(is);
             if (img == null) throw new IllegalArgumentException("invalid image");
+            return pHash(img);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-            BufferedImage gray = new BufferedImage(32, 32, BufferedImage.TYPE_BYTE_GRAY);
-            Graphics2D g = gray.createGraphics();
-            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-            g.drawImage(img, 0, 0, 32, 32, null);
-            g.dispose();
+    // 이미 디코딩된 이미지의 pHash (ImageFingerprint 가 디코딩 1회로 재사용)
+    public static long pHash(BufferedImage img) {
+        BufferedImage gray = new BufferedImage(32, 32, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = gray.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(img, 0, 0, 32, 32, null);
+        g.dispose();
 
-            double[][] px = new double[32][32];
-            for (int y = 0; y < 32; y++)
-                for (int x = 0; x < 32; x++)
-                    px[y][x] = gray.getRaster().getSample(x, y, 0);
+        double[][] px = new double[32][32];
+        for (int y = 0; y < 32; y++)
+            for (int x = 0; x < 32; x++)
+                px[y][x] = gray.getRaster().getSample(x, y, 0);
 
-            double[][] dct = dct2D(px);
-            double[] coeff = new double[64];
-            int k = 0;
-            for (int y = 0; y < 8; y++) {
-                for (int x = 0; x < 8; x++) {
-                    if (x == 0 && y == 0) continue; // DC 제외
-                    coeff[k++] = dct[y][x];
-                }
+        double[][] dct = dct2D(px);
+        double[] coeff = new double[64];
+        int k = 0;
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                if (x == 0 && y == 0) continue; // DC 제외
+                coeff[k++] = dct[y][x];
             }
-            double median = median(coeff);
-            long hash = 0L;
-            for (int i = 0; i < 64; i++) if (coeff[i] >= median) hash |= (1L << (63 - i));
-            return hash;
-
-        } catch (Exception e) {
-            throw new RuntimeException(e);
         }
+        double median = median(coeff);
+        long hash = 0L;
+        for (int i = 0; i < 64; i++) if (coeff[i] >= median) hash |= (1L << (63 - i));
+        return hash;
     }
 
+    // 해시에 쓰는 좌상단 8x8 계수만 계산.
+    // 합산 순서와 곱셈 순서를 기존 O(N⁴) 구현과 같게 유지해야 해시가 비트 단위로 동일하다
+    // (행/열 분리 변환은 부동소수 합산 순서가 바뀌어 중앙값 근처 계수의 비트가 뒤집힐 수 있음).
     private static double[][] dct2D(double[][] f) {
-        int N = 32;
-        double[][] F = new double[N][N];
+        int N = DCT_SIZE;
+        double[][] F = new double[HASH_BLOCK][HASH_BLOCK];
         double c0 = Math.sqrt(1.0 / N), c = Math.sqrt(2.0 / N);
-        for (int u = 0; u < N; u++) for (int v = 0; v < N; v++) {
+        for (int u = 0; u < HASH_BLOCK; u++) for (int v = 0; v < HASH_BLOCK; v++) {
+            double[] cu = COS[u], cv = COS[v];
             double sum = 0.0;
-            for (int x = 0; x < N; x++) for (int y = 0; y < N; y++) {
-                sum += f[x][y] *
-                        Math.cos(((2 * x + 1) * u * Math.PI) / (2 * N)) *
-                        Math.cos(((2 * y + 1) * v * Math.PI) / (2 * N));
+            for (int x = 0; x < N; x++) {
+                double[] row = f[x];
+                double cux = cu[x];
+                for (int y = 0; y < N; y++) {
+                    sum += row[y] * cux * cv[y];
+                }
             }
             double au = (u == 0) ? c0 : c, av = (v == 0) ? c0 : c;
             F[u][v] = au * av * sum;
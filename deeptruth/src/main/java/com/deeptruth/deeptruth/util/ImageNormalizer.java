@@ -5,7 +5,9 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 
 public class ImageNormalizer {
     public static byte[] normalizeToPng(byte[] input) {
@@ -13,19 +15,23 @@ public class ImageNormalizer {
             BufferedImage src = ImageIO.read(is);
             if (src == null) throw new IllegalArgumentException("invalid image");
 
-            // (간단 버전) sRGB PNG로 덤프 + 메타 제거
-            BufferedImage rgb = new BufferedImage(
-                    src.getWidth(), src.getHeight(), BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g = rgb.createGraphics();
-            g.drawImage(src, 0, 0, null);
-            g.dispose();
-
             ByteArrayOutputStream out = new ByteArrayOutputStream();
-            ImageIO.write(rgb, "png", out);
+            writeNormalizedPng(src, out);
             return out.toByteArray();
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
-}
 
+    // 이미 디코딩된 이미지를 정규화 PNG 로 out 에 기록 (ImageFingerprint 는 digest 스트림으로 바로 받음)
+    public static void writeNormalizedPng(BufferedImage src, OutputStream out) throws IOException {
+        // (간단 버전) sRGB PNG로 덤프 + 메타 제거
+        BufferedImage rgb = new BufferedImage(
+                src.getWidth(), src.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = rgb.createGraphics();
+        g.drawImage(src, 0, 0, null);
+        g.dispose();
+
+        ImageIO.write(rgb, "png", out);
+    }
+}
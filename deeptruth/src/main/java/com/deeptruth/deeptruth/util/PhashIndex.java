@@ -0,0 +1,305 @@
+package com.deeptruth.deeptruth.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 64비트 pHash 용 메모리 해밍 거리 인덱스 (multi-index hashing, 16비트 × 4 조각).
+ *
+ * 두 해시의 거리가 d 이면 4개 조각 중 적어도 하나는 거리 floor(d / 4) 이하이다.
+ * 조각 반경 s 를 0 부터 늘려가며 후보를 모으고, 지금까지의 최솟값이 4s + 3 이하가 되면
+ * 더 가까운 항목이 남아 있을 수 없으므로 그 값을 확정한다.
+ * 반경 MAX_CHUNK_RADIUS 까지 확정되지 않으면(거리 16 이상) 전체 선형 스캔으로 정확한 최근접을 구한다.
+ * search 는 반경 r 이내 항목을 조각 반경 floor(r / 4) 까지 프로브해 찾는다. 조각 반경이 MAX_SEARCH_CHUNK_RADIUS 를
+ * 넘는 큰 반경(탐지 임계 30 → 7)은 프로브 수(조각 반경 7 이면 약 2.6만 마스크 × 4)가 전체 스캔보다 비싸므로
+ * 처음부터 long[] 전체 스캔으로 top-K 를 구한다 (100만 건 기준 약 1ms).
+ *
+ * 동률이면 id 가 작은 쪽을 돌려준다.
+ */
+public final class PhashIndex {
+
+    public record Match(long id, int distance) {}
+
+    private static final int CHUNKS = 4;
+    private static final int CHUNK_BITS = 16;
+    private static final int BUCKETS = 1 << CHUNK_BITS;
+    private static final int MAX_CHUNK_RADIUS = 3;
+    // search 프로브 상한: 조각 반경 2 = 137 마스크 × 4 조각. 그 이상은 스캔이 더 빠름
+    private static final int MAX_SEARCH_CHUNK_RADIUS = 2;
+    private static final long FREE = Long.MIN_VALUE;
+
+    private static final Comparator<Match> BY_DISTANCE_THEN_ID =
+            Comparator.comparingInt(Match::distance).thenComparingLong(Match::id);
+
+    // MASKS[w] = 비트가 정확히 w 개인 16비트 마스크 목록
+    private static final int[][] MASKS = new int[CHUNK_BITS + 1][];
+
+    static {
+        int[] counts = new int[CHUNK_BITS + 1];
+        for (int m = 0; m < BUCKETS; m++) counts[Integer.bitCount(m)]++;
+        for (int w = 0; w <= CHUNK_BITS; w++) MASKS[w] = new int[counts[w]];
+        int[] fill = new int[CHUNK_BITS + 1];
+        for (int m = 0; m < BUCKETS; m++) {
+            int w = Integer.bitCount(m);
+            MASKS[w][fill[w]++] = m;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 슬롯별 원본 해시/식별자 (빈 슬롯은 ids == FREE)
+    private long[] hashes = new long[1024];
+    private long[] ids = new long[1024];
+    private int highWater = 0;
+    private int[] freeSlots = new int[64];
+    private int freeCount = 0;
+    private final Map<Long, Integer> slotById = new HashMap<>();
+
+    // buckets[chunk][value] = 해당 조각 값을 가진 슬롯 목록 (앞 bucketSizes 개만 유효)
+    private final int[][][] buckets = new int[CHUNKS][BUCKETS][];
+    private final int[][] bucketSizes = new int[CHUNKS][BUCKETS];
+
+    public void put(long id, long hash) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            int slot = allocateSlot();
+            hashes[slot] = hash;
+            ids[slot] = id;
+            slotById.put(id, slot);
+            for (int c = 0; c < CHUNKS; c++) addToBucket(c, chunk(hash, c), slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<Match> nearest(long hash) {
+        lock.readLock().lock();
+        try {
+            if (slotById.isEmpty()) return Optional.empty();
+
+            int bestDist = Integer.MAX_VALUE;
+            long bestId = Long.MAX_VALUE;
+            for (int s = 0; s <= MAX_CHUNK_RADIUS; s++) {
+                for (int c = 0; c < CHUNKS; c++) {
+                    int value = chunk(hash, c);
+                    int[][] chunkBuckets = buckets[c];
+                    int[] sizes = bucketSizes[c];
+                    for (int mask : MASKS[s]) {
+                        int probe = value ^ mask;
+                        int[] bucket = chunkBuckets[probe];
+                        for (int i = 0, n = sizes[probe]; i < n; i++) {
+                            int slot = bucket[i];
+                            int d = Long.bitCount(hashes[slot] ^ hash);
+                            long id = ids[slot];
+                            if (d < bestDist || (d == bestDist && id < bestId)) {
+                                bestDist = d;
+                                bestId = id;
+                            }
+                        }
+                    }
+                }
+                // 거리 4s+3 이하인 항목은 모두 후보로 확인됨 (동률 후보도 포함)
+                if (bestDist <= 4 * s + 3) return Optional.of(new Match(bestId, bestDist));
+            }
+            return Optional.of(linearScanLocked(hash));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 거리 radius 이내 항목을 (거리, id) 순으로 최대 limit 개 반환.
+     * 조각 반경을 늘려가며 확정된 항목이 limit 개가 되면 바로 멈추므로 가까운 중복이 있으면 탐색이 짧다.
+     * 반경이 커서 프로브가 스캔보다 비싸면 전체 스캔.
+     */
+    public List<Match> search(long hash, int radius, int limit) {
+        if (radius < 0 || limit <= 0) return List.of();
+        int r = Math.min(radius, Long.SIZE);
+        int maxS = r / CHUNKS;
+
+        lock.readLock().lock();
+        try {
+            if (slotById.isEmpty()) return List.of();
+            if (maxS > MAX_SEARCH_CHUNK_RADIUS) return searchByScanLocked(hash, r, limit);
+            List<Match> found = new ArrayList<>();
+            // 여러 조각에서 같은 슬롯이 나오므로 슬롯 비트셋으로 중복 제거
+            long[] seen = new long[(highWater + 63) >>> 6];
+            for (int s = 0; s <= maxS; s++) {
+                for (int c = 0; c < CHUNKS; c++) {
+                    int value = chunk(hash, c);
+                    int[][] chunkBuckets = buckets[c];
+                    int[] sizes = bucketSizes[c];
+                    for (int mask : MASKS[s]) {
+                        int probe = value ^ mask;
+                        int[] bucket = chunkBuckets[probe];
+                        for (int i = 0, n = sizes[probe]; i < n; i++) {
+                            int slot = bucket[i];
+                            long bit = 1L << slot;
+                            if ((seen[slot >>> 6] & bit) != 0) continue;
+                            seen[slot >>> 6] |= bit;
+                            int d = Long.bitCount(hashes[slot] ^ hash);
+                            if (d <= r) found.add(new Match(ids[slot], d));
+                        }
+                    }
+                }
+                // 이 시점에 거리 certain 이하 항목은 빠짐없이 수집됨
+                int certain = (s == maxS) ? r : Math.min(4 * s + 3, r);
+                long confirmed = found.stream().filter(m -> m.distance() <= certain).count();
+                if (confirmed >= limit || s == maxS) {
+                    return found.stream()
+                            .filter(m -> m.distance() <= certain)
+                            .sorted(BY_DISTANCE_THEN_ID)
+                            .limit(limit)
+                            .toList();
+                }
+            }
+            return List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 반경 검색 전체 스캔 (비교/폴백용)
+    public List<Match> searchByScan(long hash, int radius, int limit) {
+        if (radius < 0 || limit <= 0) return List.of();
+        lock.readLock().lock();
+        try {
+            return searchByScanLocked(hash, Math.min(radius, Long.SIZE), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // (거리, id) 순 top-K 를 고정 크기 배열에 삽입 정렬로 유지. bound 는 지금 top-K 에 들어갈 수 있는 최대 거리
+    private List<Match> searchByScanLocked(long hash, int r, int limit) {
+        int k = Math.min(limit, slotById.size());
+        if (k == 0) return List.of();
+        int[] topDist = new int[k];
+        long[] topIds = new long[k];
+        int count = 0;
+        int bound = r;
+        for (int slot = 0; slot < highWater; slot++) {
+            int d = Long.bitCount(hashes[slot] ^ hash);
+            if (d > bound) continue;
+            long id = ids[slot];
+            if (id == FREE) continue;
+            if (count == k) {
+                if (d == bound && id > topIds[k - 1]) continue;
+                count--;
+            }
+            int i = count++;
+            while (i > 0 && (topDist[i - 1] > d || (topDist[i - 1] == d && topIds[i - 1] > id))) {
+                topDist[i] = topDist[i - 1];
+                topIds[i] = topIds[i - 1];
+                i--;
+            }
+            topDist[i] = d;
+            topIds[i] = id;
+            if (count == k) bound = topDist[k - 1];
+        }
+        List<Match> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) result.add(new Match(topIds[i], topDist[i]));
+        return result;
+    }
+
+    // 전체 스캔 (인덱스 없이 SQL 과 같은 방식, 비교/폴백용)
+    public Optional<Match> nearestByScan(long hash) {
+        lock.readLock().lock();
+        try {
+            return slotById.isEmpty() ? Optional.empty() : Optional.of(linearScanLocked(hash));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Match linearScanLocked(long hash) {
+        int bestDist = Integer.MAX_VALUE;
+        long bestId = Long.MAX_VALUE;
+        for (int slot = 0; slot < highWater; slot++) {
+            long id = ids[slot];
+            if (id == FREE) continue;
+            int d = Long.bitCount(hashes[slot] ^ hash);
+            if (d < bestDist || (d == bestDist && id < bestId)) {
+                bestDist = d;
+                bestId = id;
+            }
+        }
+        return new Match(bestId, bestDist);
+    }
+
+    private boolean removeLocked(long id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) return false;
+        long hash = hashes[slot];
+        for (int c = 0; c < CHUNKS; c++) removeFromBucket(c, chunk(hash, c), slot);
+        ids[slot] = FREE;
+        if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        freeSlots[freeCount++] = slot;
+        return true;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) return freeSlots[--freeCount];
+        if (highWater == hashes.length) {
+            hashes = Arrays.copyOf(hashes, highWater * 2);
+            ids = Arrays.copyOf(ids, highWater * 2);
+        }
+        return highWater++;
+    }
+
+    private void addToBucket(int c, int value, int slot) {
+        int[] bucket = buckets[c][value];
+        int size = bucketSizes[c][value];
+        if (bucket == null) {
+            bucket = new int[4];
+            buckets[c][value] = bucket;
+        } else if (size == bucket.length) {
+            bucket = Arrays.copyOf(bucket, size * 2);
+            buckets[c][value] = bucket;
+        }
+        bucket[size] = slot;
+        bucketSizes[c][value] = size + 1;
+    }
+
+    private void removeFromBucket(int c, int value, int slot) {
+        int[] bucket = buckets[c][value];
+        int size = bucketSizes[c][value];
+        for (int i = 0; i < size; i++) {
+            if (bucket[i] == slot) {
+                bucket[i] = bucket[size - 1];
+                bucketSizes[c][value] = size - 1;
+                return;
+            }
+        }
+    }
+
+    private static int chunk(long hash, int c) {
+        return (int) (hash >>> (c * CHUNK_BITS)) & (BUCKETS - 1);
+    }
+}
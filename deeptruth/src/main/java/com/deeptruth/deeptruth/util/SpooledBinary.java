@@ -0,0 +1,47 @@
+package com.deeptruth.deeptruth.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 응답에서 꺼낸 바이너리(이미지 등)를 담아 둔 임시 파일.
+ * 힙에 올리지 않고 S3 업로드 등에서 파일로 바로 읽으며, 다 쓰면 close()로 지운다.
+ */
+public class SpooledBinary implements AutoCloseable {
+
+    private final Path path;
+    private final long size;
+    private final String contentType;
+
+    public SpooledBinary(Path path, long size, String contentType) {
+        this.path = path;
+        this.size = size;
+        this.contentType = contentType;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void close() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+        }
+    }
+}
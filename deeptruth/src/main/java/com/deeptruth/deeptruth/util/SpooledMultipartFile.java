@@ -0,0 +1,153 @@
+package com.deeptruth.deeptruth.util;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 요청 스레드 밖(비동기 작업 등)에서도 업로드를 읽을 수 있도록 임시 파일로 옮겨 둔 MultipartFile.
+ * 서블릿 multipart 임시 파일은 요청 종료와 함께 지워지므로, 작업이 끝나면 close()로 직접 정리한다.
+ * 스풀 복사와 동시에 sha256 을 계산하고, getResource()는 파일 기반 리소스를 돌려주어
+ * Flask 로 보낼 때 힙에 전체 바이트를 올리지 않는다.
+ * 요청보다 오래 사는 작업(합쳐진 Flask 호출 등)은 retain() 으로 참조를 더 잡고, 마지막 close() 에서 지워진다.
+ */
+public class SpooledMultipartFile implements MultipartFile, AutoCloseable {
+
+    private final Path path;
+    private final String name;
+    private final String originalFilename;
+    private final String contentType;
+    private final long size;
+    private final String sha256;
+    private final AtomicInteger refs = new AtomicInteger(1);
+
+    private SpooledMultipartFile(Path path, String name, String originalFilename, String contentType,
+                                 long size, String sha256) {
+        this.path = path;
+        this.name = name;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.size = size;
+        this.sha256 = sha256;
+    }
+
+    public static SpooledMultipartFile spool(MultipartFile file) {
+        Path tmp = null;
+        try {
+            tmp = Files.createTempFile("deeptruth-", ".upload");
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(file.getInputStream(), md)) {
+                Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return new SpooledMultipartFile(tmp, file.getName(), file.getOriginalFilename(),
+                    file.getContentType(), Files.size(tmp), ImageHashUtils.toHex(md.digest()));
+        } catch (NoSuchAlgorithmException e) {
+            deleteQuietly(tmp);
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            deleteQuietly(tmp);
+            throw new UncheckedIOException("업로드 파일을 임시 저장할 수 없습니다.", e);
+        }
+    }
+
+    /** 이미 디스크에 다 받아 둔 파일(이어 올리기 등)을 복사 없이 넘겨받는다. close() 하면 지워진다. */
+    public static SpooledMultipartFile adopt(Path path, String name, String originalFilename, String contentType,
+                                             long size, String sha256) {
+        return new SpooledMultipartFile(path, name, originalFilename, contentType, size, sha256);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    // 스풀 시 함께 계산한 원본 sha256 (hex)
+    public String getSha256() {
+        return sha256;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public Resource getResource() {
+        // 파일 리소스는 WebClient 가 파일 채널에서 청크 단위로 읽어 전송한다
+        return new FileSystemResource(path) {
+            @Override
+            public String getFilename() {
+                return (originalFilename != null) ? originalFilename : super.getFilename();
+            }
+        };
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public void transferTo(Path dest) throws IOException {
+        Files.copy(path, dest, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public SpooledMultipartFile retain() {
+        refs.incrementAndGet();
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (refs.decrementAndGet() <= 0) deleteQuietly(path);
+    }
+
+    private static void deleteQuietly(Path p) {
+        if (p == null) return;
+        try {
+            Files.deleteIfExists(p);
+        } catch (IOException ignored) {
+        }
+    }
+}
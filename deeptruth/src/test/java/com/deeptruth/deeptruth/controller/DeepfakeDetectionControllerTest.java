@@ -1,10 +1,15 @@
 package com.deeptruth.deeptruth.controller;
 
 import com.deeptruth.deeptruth.base.Enum.DeepfakeResult;
+import com.deeptruth.deeptruth.base.Enum.JobStatus;
 import com.deeptruth.deeptruth.base.dto.deepfake.DeepfakeDetectionDTO;
+import com.deeptruth.deeptruth.base.dto.deepfake.DeepfakeJobDTO;
+import com.deeptruth.deeptruth.base.exception.JobQueueFullException;
 import com.deeptruth.deeptruth.config.JwtAuthenticationFilter;
 import com.deeptruth.deeptruth.config.SecurityConfig;
 import com.deeptruth.deeptruth.service.DeepfakeDetectionService;
+import com.deeptruth.deeptruth.service.DeepfakeJobService;
+import com.deeptruth.deeptruth.service.DirectUploadService;
 import com.deeptruth.deeptruth.testsecurity.WithMockCustomUser;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,8 +23,11 @@ import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,6 +46,8 @@ public class DeepfakeDetectionControllerTest {
     private MockMvc mockMvc;
 
     @MockitoBean private DeepfakeDetectionService deepfakeDetectionService;
+    @MockitoBean private DeepfakeJobService deepfakeJobService;
+    @MockitoBean private DirectUploadService directUploadService;
 
     @Test
     @DisplayName("POST /api/deepfake - 딥페이크 탐지 성공")
@@ -54,15 +64,19 @@ public class DeepfakeDetectionControllerTest {
                 .filePath("s3://fake/video.mp4")
                 .result(DeepfakeResult.FAKE)
                 .build();
-        when(deepfakeDetectionService.createDetection(eq(7L), any(), anyMap()))
-                .thenReturn(dto);
+        when(deepfakeDetectionService.createDetectionAsync(eq(7L), any(), anyMap()))
+                .thenReturn(Mono.just(dto));
 
         // when & then
-        mockMvc.perform(multipart("/api/deepfake")
+        MvcResult pending = mockMvc.perform(multipart("/api/deepfake")
                         .file(file)
                         .param("taskId", "task-123")
                         .param("mode", "video")
                         .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.status").value(200))
@@ -71,6 +85,76 @@ public class DeepfakeDetectionControllerTest {
                 .andExpect(jsonPath("$.data").exists());
     }
 
+    @Test
+    @DisplayName("POST /api/deepfake?async=true - 작업 접수 202")
+    @WithMockCustomUser(userId = 7L, role = "USER")
+    void uploadVideoAsync_ShouldReturn202AndLocation() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "video.mp4", "video/mp4", "bytes".getBytes()
+        );
+
+        DeepfakeJobDTO job = DeepfakeJobDTO.builder()
+                .taskId("task-123")
+                .status(JobStatus.QUEUED)
+                .build();
+        when(deepfakeJobService.submit(eq(7L), any(), argThat(m -> !m.containsKey("async"))))
+                .thenReturn(job);
+
+        MvcResult pending = mockMvc.perform(multipart("/api/deepfake")
+                        .file(file)
+                        .param("async", "true")
+                        .param("taskId", "task-123")
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/deepfake/jobs/task-123"))
+                .andExpect(jsonPath("$.status").value(202))
+                .andExpect(jsonPath("$.data.taskId").value("task-123"))
+                .andExpect(jsonPath("$.data.status").value("QUEUED"));
+
+        verifyNoInteractions(deepfakeDetectionService);
+    }
+
+    @Test
+    @DisplayName("POST /api/deepfake?async=true - 대기열 포화 시 503 + Retry-After")
+    @WithMockCustomUser(userId = 7L, role = "USER")
+    void uploadVideoAsync_queueFull_ShouldReturn503() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "video.mp4", "video/mp4", "bytes".getBytes()
+        );
+        when(deepfakeJobService.submit(eq(7L), any(), anyMap()))
+                .thenThrow(new JobQueueFullException("deepfake"));
+
+        mockMvc.perform(multipart("/api/deepfake")
+                        .file(file)
+                        .param("async", "true")
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /api/deepfake/jobs/{taskId} - 작업 상태 조회 성공")
+    @WithMockCustomUser(userId = 7L, role = "USER")
+    void getJob_success() throws Exception {
+        DeepfakeJobDTO job = DeepfakeJobDTO.builder()
+                .taskId("task-123")
+                .status(JobStatus.SUCCEEDED)
+                .detectionId(55L)
+                .build();
+        when(deepfakeJobService.getJob(7L, "task-123")).thenReturn(job);
+
+        mockMvc.perform(get("/api/deepfake/jobs/{taskId}", "task-123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("딥페이크 탐지 작업 조회 성공"))
+                .andExpect(jsonPath("$.data.status").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.data.detectionId").value(55));
+    }
+
     @Test
     @DisplayName("GET /api/deepfake - 리스트 조회 성공")
     @WithMockCustomUser(userId = 7L, role = "USER")
@@ -4,6 +4,7 @@ package com.deeptruth.deeptruth.controller;
 import com.deeptruth.deeptruth.base.dto.websocket.ProgressDTO;
 import com.deeptruth.deeptruth.config.JwtAuthenticationFilter;
 import com.deeptruth.deeptruth.config.SecurityConfig;
+import com.deeptruth.deeptruth.service.flask.FlaskSingleFlight;
 import com.deeptruth.deeptruth.testsecurity.WithMockCustomUser;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,8 +19,11 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -44,6 +48,9 @@ class ProgressControllerTest {
     @MockitoBean
     private SimpMessagingTemplate messagingTemplate;
 
+    @MockitoBean
+    private FlaskSingleFlight flaskSingleFlight;
+
     @Test
     @DisplayName("POST /progress → WebSocket topic으로 ProgressDTO 전달 성공")
     @WithMockCustomUser(userId = 7L, loginId = "user123", role = "USER")
@@ -69,4 +76,30 @@ class ProgressControllerTest {
                 Mockito.refEq(expectedDto)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("POST /progress → 합쳐진 중복 요청(follower)에도 각자의 taskId 로 진행률 전달")
+    void receiveProgress_fansOutToFollowers() throws Exception {
+        when(flaskSingleFlight.followersOf("task-123"))
+                .thenReturn(List.of(new FlaskSingleFlight.ProgressTarget("other", "task-456")));
+
+        String json = """
+            {
+              "loginId" : "user123",
+              "taskId": "task-123",
+              "progress": 70
+            }
+            """;
+
+        mockMvc.perform(post("/progress")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk());
+
+        verify(messagingTemplate).convertAndSendToUser(
+                eq("other"),
+                eq("/queue/progress/task-456"),
+                Mockito.refEq(new ProgressDTO("task-456", 70, "other"))
+        );
+    }
+}
@@ -18,8 +18,10 @@ import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 
 import java.nio.charset.StandardCharsets;
@@ -68,8 +70,8 @@ public class WatermarkControllerTest {
                 .taskId("task-1")
                 .build();
 
-        when(watermarkService.insert(eq(userId), any(), eq("abcd"), eq("task-1")))
-                .thenReturn(dto);
+        when(watermarkService.insertAsync(eq(userId), any(), eq("abcd"), eq("task-1")))
+                .thenReturn(Mono.just(dto));
 
         MockMultipartFile file = new MockMultipartFile(
                 "file", "input.png", "image/png", "pngbytes".getBytes()
@@ -79,10 +81,14 @@ public class WatermarkControllerTest {
                 "message", "", "text/plain", "abcd".getBytes(StandardCharsets.UTF_8)
         );
 
-        mockMvc.perform(multipart("/api/watermark")
+        MvcResult pending = mockMvc.perform(multipart("/api/watermark")
                         .file(file)
                         .file(message)
                         .param("taskId", "task-1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 // ResponseDTO 기본 필드 체크
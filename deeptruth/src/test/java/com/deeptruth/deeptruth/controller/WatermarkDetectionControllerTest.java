@@ -16,10 +16,13 @@ import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.beans.factory.annotation.Autowired;
+import reactor.core.publisher.Mono;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -56,18 +59,22 @@ class WatermarkDetectionControllerTest {
                 .taskId("task-1")
                 .build();
 
-        Mockito.when(detectionService.detect(any(Long.class), any(), eq("task-1")))
-                .thenReturn(dto);
+        Mockito.when(detectionService.detectAsync(any(Long.class), any(), eq("task-1")))
+                .thenReturn(Mono.just(dto));
 
         MockMultipartFile file = new MockMultipartFile(
                 "file", "input.png", "image/png", "pngbytes".getBytes()
         );
 
         // when & then
-        mockMvc.perform(multipart("/api/watermark/detection")
+        MvcResult pending = mockMvc.perform(multipart("/api/watermark/detection")
                         .file(file)
                         .param("taskId", "task-1")
                         .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 // ResponseDTO 공통 필드
@@ -4,7 +4,12 @@ import com.deeptruth.deeptruth.entity.User;
 import com.deeptruth.deeptruth.repository.UserRepository;
 import com.deeptruth.deeptruth.repository.NoiseRepository;
 import com.deeptruth.deeptruth.repository.DeepfakeDetectionRepository;
+import com.deeptruth.deeptruth.repository.DeepfakeJobRepository;
 import com.deeptruth.deeptruth.repository.WatermarkRepository;
+import com.deeptruth.deeptruth.service.BlobStorageService;
+import com.deeptruth.deeptruth.service.DirectUploadService;
+import com.deeptruth.deeptruth.service.ResumableUploadService;
+import com.deeptruth.deeptruth.service.WatermarkPhashIndex;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -39,6 +44,21 @@ class UserCleanupSchedulerTest {
     @Mock
     private WatermarkRepository watermarkRepository;
 
+    @Mock
+    private DeepfakeJobRepository deepfakeJobRepository;
+
+    @Mock
+    private WatermarkPhashIndex watermarkPhashIndex;
+
+    @Mock
+    private ResumableUploadService resumableUploadService;
+
+    @Mock
+    private BlobStorageService blobStorageService;
+
+    @Mock
+    private DirectUploadService directUploadService;
+
     @InjectMocks
     private UserCleanupScheduler scheduler;
 
@@ -56,6 +76,7 @@ class UserCleanupSchedulerTest {
 
         // any()를 사용해서 어떤 User 객체든 처리 가능하도록 설정
         when(deepfakeRepository.deleteByUser(any(User.class))).thenReturn(2);
+        when(watermarkRepository.findIdsByUser(any(User.class))).thenReturn(List.of(10L));
         when(watermarkRepository.deleteByUser(any(User.class))).thenReturn(1);
         when(noiseRepository.deleteByUser(any(User.class))).thenReturn(3);
 
@@ -66,7 +87,39 @@ class UserCleanupSchedulerTest {
         verify(userRepository, times(1)).findUsersForPermanentDeletion(any(LocalDateTime.class));
         verify(deepfakeRepository, times(1)).deleteByUser(any(User.class));
         verify(watermarkRepository, times(1)).deleteByUser(any(User.class));
+        verify(watermarkPhashIndex, times(1)).removeAfterCommit(List.of(10L));
         verify(noiseRepository, times(1)).deleteByUser(any(User.class));
+        verify(resumableUploadService, times(1)).purgeUser(any(User.class));
+        verify(directUploadService, times(1)).purgeUser(any(User.class));
+        verify(userRepository, times(1)).deleteUserPermanently(1L);
+    }
+
+    @Test
+    @DisplayName("삭제한 행이 가리키던 결과물 참조를 행 삭제 후 해제")
+    void 삭제한_결과물_참조_해제_테스트() {
+        // Given
+        User testUser = mock(User.class);
+        when(testUser.getUserId()).thenReturn(1L);
+        when(userRepository.findUsersForPermanentDeletion(any(LocalDateTime.class)))
+                .thenReturn(List.of(testUser));
+
+        when(deepfakeRepository.findFilePathsByUser(any(User.class))).thenReturn(List.of("df.jpg"));
+        WatermarkRepository.ArtifactKeyRow watermark = mock(WatermarkRepository.ArtifactKeyRow.class);
+        when(watermark.getS3WatermarkedKey()).thenReturn("wm.png");
+        when(watermark.getS3MessageKey()).thenReturn("msg.txt");
+        when(watermarkRepository.findArtifactKeysByUser(any(User.class))).thenReturn(List.of(watermark));
+        NoiseRepository.FilePathRow noise = mock(NoiseRepository.FilePathRow.class);
+        when(noise.getOriginalFilePath()).thenReturn("original.jpg");
+        when(noise.getProcessedFilePath()).thenReturn("processed.jpg");
+        when(noiseRepository.findFilePathsByUser(any(User.class))).thenReturn(List.of(noise));
+
+        // When
+        scheduler.purgeDeletedUsers();
+
+        // Then
+        var order = inOrder(noiseRepository, blobStorageService);
+        order.verify(noiseRepository).deleteByUser(any(User.class));
+        order.verify(blobStorageService).release(List.of("df.jpg", "wm.png", "msg.txt", "original.jpg", "processed.jpg"));
         verify(userRepository, times(1)).deleteUserPermanently(1L);
     }
 
@@ -0,0 +1,83 @@
+package com.deeptruth.deeptruth.service;
+
+import com.deeptruth.deeptruth.base.exception.S3UploadFailedException;
+import com.deeptruth.deeptruth.repository.UserRepository;
+import com.deeptruth.deeptruth.service.storage.ObjectStorage;
+import com.deeptruth.deeptruth.util.SpooledBinary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AmazonS3ServiceTest {
+
+    private static final long PUT_DELAY_MS = 300;
+
+    @TempDir Path dir;
+
+    private ObjectStorage objectStorage;
+    private AmazonS3Service amazonS3Service;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        objectStorage = mock(ObjectStorage.class);
+        // 한 번 PUT 에 PUT_DELAY_MS 가 걸리는 저장소, 키에 "fail" 이 있으면 실패
+        when(objectStorage.put(anyString(), any(), anyLong(), anyString())).thenAnswer(inv -> {
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(PUT_DELAY_MS);
+                String key = inv.getArgument(0);
+                if (key.contains("fail")) throw new IOException("503 Slow Down");
+                return "https://s3.example/" + key;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        amazonS3Service = new AmazonS3Service(objectStorage, mock(UserRepository.class),
+                new SimpleAsyncTaskExecutor("storage-io-test-"));
+    }
+
+    private AmazonS3Service.BinaryUpload upload(String key) throws IOException {
+        Path file = Files.createTempFile(dir, "img-", ".jpg");
+        Files.write(file, new byte[]{1, 2, 3});
+        return new AmazonS3Service.BinaryUpload(new SpooledBinary(file, 3, "image/jpeg"), key, "image/jpeg");
+    }
+
+    @Test
+    @DisplayName("uploadBinaries: 독립 업로드를 동시에 보내고 입력 순서대로 URL 반환")
+    void uploadBinaries_runsConcurrently() throws Exception {
+        List<String> urls = amazonS3Service.uploadBinaries(List.of(
+                upload("noise/1/original/a.jpg"), upload("noise/1/processed/b.jpg")));
+
+        assertThat(urls).containsExactly("https://s3.example/noise/1/original/a.jpg",
+                "https://s3.example/noise/1/processed/b.jpg");
+        // 순차였다면 동시 PUT 은 1건
+        assertThat(peakInFlight.get()).isEqualTo(2);
+        verify(objectStorage, never()).delete(anyString());
+    }
+
+    @Test
+    @DisplayName("uploadBinaries: 하나가 실패하면 이미 올라간 객체를 지우고 실패를 전달")
+    void uploadBinaries_cleansUpOnFailure() throws Exception {
+        assertThatThrownBy(() -> amazonS3Service.uploadBinaries(List.of(
+                upload("noise/1/original/a.jpg"), upload("noise/1/processed/fail.jpg"))))
+                .isInstanceOf(S3UploadFailedException.class);
+
+        verify(objectStorage).delete("noise/1/original/a.jpg");
+        verify(objectStorage, never()).delete("noise/1/processed/fail.jpg");
+    }
+}
@@ -0,0 +1,240 @@
+package com.deeptruth.deeptruth.service;
+
+import com.deeptruth.deeptruth.base.exception.StorageException;
+import com.deeptruth.deeptruth.config.BlobStorageProperties;
+import com.deeptruth.deeptruth.repository.StoredBlobRepository;
+import com.deeptruth.deeptruth.util.ImageHashUtils;
+import com.deeptruth.deeptruth.util.SpooledBinary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BlobStorageServiceTest {
+
+    @TempDir Path dir;
+
+    @Mock private StoredBlobRepository storedBlobRepository;
+    @Mock private AmazonS3Service amazonS3Service;
+    @Spy private BlobStorageProperties properties = new BlobStorageProperties();
+    @Spy private TaskExecutor storageIoExecutor = new SyncTaskExecutor();
+
+    @InjectMocks
+    private BlobStorageService service;
+
+    private static final byte[] BYTES = {1, 2, 3, 4};
+    private static final String SHA = ImageHashUtils.sha256(BYTES);
+    private static final String KEY = "blobs/" + SHA.substring(0, 2) + "/" + SHA;
+
+    @BeforeEach
+    void setUp() {
+        when(amazonS3Service.getUrl(anyString())).thenAnswer(inv -> "https://s3.example/" + inv.getArgument(0));
+    }
+
+    private SpooledBinary binary() throws Exception {
+        Path tmp = Files.createTempFile(dir, "flask-", ".jpg");
+        Files.write(tmp, BYTES);
+        return new SpooledBinary(tmp, BYTES.length, "image/jpeg");
+    }
+
+    @Test
+    @DisplayName("put: 같은 내용이 이미 올라가 있으면 PUT 없이 같은 URL")
+    void put_storedContent_skipsUpload() throws Exception {
+        when(storedBlobRepository.touchStored(eq(SHA), any())).thenReturn(1);
+
+        String url = service.put(binary(), "image/jpeg");
+
+        assertThat(url).isEqualTo("https://s3.example/" + KEY);
+        verify(amazonS3Service, never()).uploadBinary(any(), anyString(), anyString());
+        verify(storedBlobRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("put: 처음 보는 내용은 행을 만들고 sha256 키로 올린 뒤 올라감 표시")
+    void put_newContent_registersUploadsAndMarks() throws Exception {
+        when(storedBlobRepository.touchStored(eq(SHA), any())).thenReturn(0);
+        when(storedBlobRepository.touch(eq(SHA), any())).thenReturn(0);
+
+        String url = service.put(binary(), "image/jpeg");
+
+        assertThat(url).isEqualTo("https://s3.example/" + KEY);
+        verify(storedBlobRepository).saveAndFlush(argThat(b -> SHA.equals(b.getSha256()) && KEY.equals(b.getObjectKey())
+                && b.getRefCount() == 0 && !b.getStored() && b.getSize() == BYTES.length));
+        var order = inOrder(amazonS3Service, storedBlobRepository);
+        order.verify(amazonS3Service).uploadBinary(any(SpooledBinary.class), eq(KEY), eq("image/jpeg"));
+        order.verify(storedBlobRepository).markStored(eq(SHA), any());
+    }
+
+    @Test
+    @DisplayName("register: 동시에 같은 내용이 들어와 유니크 충돌이면 먼저 만든 행을 그대로 씀")
+    void register_concurrentInsert_reusesRow() {
+        when(storedBlobRepository.touch(eq(SHA), any())).thenReturn(0, 1);
+        when(storedBlobRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("uk_blob_sha256"));
+
+        String url = service.register(SHA, 4, "image/jpeg");
+
+        assertThat(url).isEqualTo("https://s3.example/" + KEY);
+        verify(storedBlobRepository, times(2)).touch(eq(SHA), any());
+        verify(storedBlobRepository, times(1)).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("register: 같은 내용이 정리 중이면 행이 지워질 때까지 기다렸다 새로 만듦")
+    void register_collecting_waitsForCollection() {
+        when(storedBlobRepository.touch(eq(SHA), any())).thenReturn(0);
+        when(storedBlobRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("uk_blob_sha256"))
+                .thenAnswer(inv -> inv.getArgument(0));
+
+        String url = service.register(SHA, 4, "image/jpeg");
+
+        assertThat(url).isEqualTo("https://s3.example/" + KEY);
+        verify(storedBlobRepository, times(2)).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("register: 정리가 기다리는 시간 안에 끝나지 않으면 지워질 객체를 쓰지 않고 실패")
+    void register_collectingTooLong_fails() {
+        properties.setCollectWaitMillis(0);
+        when(storedBlobRepository.touch(eq(SHA), any())).thenReturn(0);
+        when(storedBlobRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("uk_blob_sha256"));
+
+        assertThatThrownBy(() -> service.register(SHA, 4, "image/jpeg")).isInstanceOf(StorageException.class);
+    }
+
+    @Test
+    @DisplayName("registerStaged: 행이 없으면 예외 없이 INSERT IGNORE 로 만들어 호출한 트랜잭션에 묶음")
+    void registerStaged_newContent_inserts() {
+        when(storedBlobRepository.touch(eq(SHA), any())).thenReturn(0);
+        when(storedBlobRepository.insertIfAbsent(eq(SHA), eq(KEY), eq(4L), eq("image/png"), any())).thenReturn(1);
+
+        service.registerStaged(SHA, 4, "image/png");
+
+        verify(storedBlobRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("registerStaged: 동시에 다른 요청이 행을 만들었으면 그 행을 씀")
+    void registerStaged_concurrentInsert_touchesRow() {
+        when(storedBlobRepository.touch(eq(SHA), any())).thenReturn(0, 1);
+        when(storedBlobRepository.insertIfAbsent(eq(SHA), anyString(), anyLong(), anyString(), any())).thenReturn(0);
+
+        service.registerStaged(SHA, 4, "image/png");
+
+        verify(storedBlobRepository, times(2)).touch(eq(SHA), any());
+    }
+
+    @Test
+    @DisplayName("registerStaged: 그 사이 정리가 시작된 행이면 실패해 트랜잭션 전체를 롤백")
+    void registerStaged_collecting_fails() {
+        when(storedBlobRepository.touch(eq(SHA), any())).thenReturn(0);
+        when(storedBlobRepository.insertIfAbsent(eq(SHA), anyString(), anyLong(), anyString(), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> service.registerStaged(SHA, 4, "image/png")).isInstanceOf(StorageException.class);
+    }
+
+    @Test
+    @DisplayName("awaitCollected: 정리 중인 행이 지워질 때까지 기다리고, 기다리는 시간을 넘기면 실패")
+    void awaitCollected_waitsThenFails() {
+        when(storedBlobRepository.existsBySha256AndCollectingSinceIsNotNull(SHA)).thenReturn(true, false);
+        service.awaitCollected(SHA);
+        verify(storedBlobRepository, times(2)).existsBySha256AndCollectingSinceIsNotNull(SHA);
+
+        properties.setCollectWaitMillis(0);
+        when(storedBlobRepository.existsBySha256AndCollectingSinceIsNotNull(SHA)).thenReturn(true);
+        assertThatThrownBy(() -> service.awaitCollected(SHA)).isInstanceOf(StorageException.class);
+    }
+
+    @Test
+    @DisplayName("retain/release: 내용 주소 URL 만 세고 예전 UUID 키와 null 은 무시")
+    void retainRelease_ignoreLegacyUrls() {
+        List<String> urls = Arrays.asList("https://s3.example/" + KEY, "https://s3.example/noise/1/original/a.jpg", null);
+
+        service.retain(urls);
+        service.release(urls);
+
+        verify(storedBlobRepository).retain(eq(SHA), any());
+        verify(storedBlobRepository).release(eq(SHA), any());
+        verify(storedBlobRepository, times(1)).retain(anyString(), any());
+        verify(storedBlobRepository, times(1)).release(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("onUploaded: outbox 가 올린 내용 주소 키만 올라감 표시")
+    void onUploaded_marksBlobKeysOnly() {
+        service.onUploaded(KEY);
+        service.onUploaded("watermarks/1/a/message.txt");
+
+        verify(storedBlobRepository, times(1)).markStored(eq(SHA), any());
+    }
+
+    @Test
+    @DisplayName("collect: 정리 중 표시를 먼저 커밋하고, 객체를 지운 뒤 행 삭제")
+    void collect_unreferencedAfterGrace_deletes() {
+        when(storedBlobRepository.markCollecting(eq(SHA), any(), any())).thenReturn(1);
+        when(storedBlobRepository.deleteCollected(eq(SHA), any())).thenReturn(1);
+
+        assertThat(service.collect(SHA)).isTrue();
+
+        var order = inOrder(amazonS3Service, storedBlobRepository);
+        order.verify(storedBlobRepository).markCollecting(eq(SHA), any(), any());
+        order.verify(amazonS3Service).deleteObject(KEY);
+        order.verify(storedBlobRepository).deleteCollected(eq(SHA), any());
+    }
+
+    @Test
+    @DisplayName("collect: 참조가 생겼거나 유예 시간 안이면 객체를 건드리지 않음")
+    void collect_referencedOrRecent_keeps() {
+        when(storedBlobRepository.markCollecting(eq(SHA), any(), any())).thenReturn(0);
+
+        assertThat(service.collect(SHA)).isFalse();
+
+        verify(amazonS3Service, never()).deleteObject(anyString());
+        verify(storedBlobRepository, never()).deleteCollected(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("collect: 객체 삭제가 실패하면 행은 정리 중으로 남아 다음 실행에서 다시 시도")
+    void collect_deleteFails_keepsRowForRetry() {
+        when(storedBlobRepository.markCollecting(eq(SHA), any(), any())).thenReturn(1);
+        doThrow(new StorageException("failed to delete object: " + KEY, new RuntimeException()))
+                .when(amazonS3Service).deleteObject(KEY);
+
+        assertThatThrownBy(() -> service.collect(SHA)).isInstanceOf(StorageException.class);
+
+        verify(storedBlobRepository, never()).deleteCollected(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("collect: 지우는 사이 참조가 생기면 행을 남기고 다음 put 이 다시 올리도록 되살림")
+    void collect_retainedMeanwhile_cancelsCollecting() {
+        when(storedBlobRepository.markCollecting(eq(SHA), any(), any())).thenReturn(1);
+        when(storedBlobRepository.deleteCollected(eq(SHA), any())).thenReturn(0);
+
+        assertThat(service.collect(SHA)).isFalse();
+
+        verify(storedBlobRepository).cancelCollecting(eq(SHA), any());
+    }
+}
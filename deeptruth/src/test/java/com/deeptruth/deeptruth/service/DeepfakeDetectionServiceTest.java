@@ -1,6 +1,7 @@
 package com.deeptruth.deeptruth.service;
 
 import com.deeptruth.deeptruth.base.Enum.DeepfakeDetector;
+import com.deeptruth.deeptruth.base.Enum.FlaskJobClass;
 import com.deeptruth.deeptruth.base.Enum.DeepfakeMode;
 import com.deeptruth.deeptruth.base.Enum.DeepfakeResult;
 import com.deeptruth.deeptruth.base.dto.deepfake.*;
@@ -9,35 +10,47 @@ import com.deeptruth.deeptruth.entity.DeepfakeDetection;
 import com.deeptruth.deeptruth.entity.User;
 import com.deeptruth.deeptruth.repository.DeepfakeDetectionRepository;
 import com.deeptruth.deeptruth.repository.UserRepository;
-import org.junit.jupiter.api.BeforeEach;
+import com.deeptruth.deeptruth.service.flask.FlaskBinaryResponse;
+import com.deeptruth.deeptruth.service.flask.FlaskClient;
+import com.deeptruth.deeptruth.service.flask.FlaskJob;
+import com.deeptruth.deeptruth.service.flask.FlaskSingleFlight;
+import com.deeptruth.deeptruth.util.ImageHashUtils;
+import com.deeptruth.deeptruth.util.SpooledBinary;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpEntity;
 import org.springframework.mock.web.MockMultipartFile;
-import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.util.MultiValueMap;
+import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.net.URI;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,32 +60,39 @@ class DeepfakeDetectionServiceTest {
 
     @Mock private UserRepository userRepository;
     @Mock private DeepfakeDetectionRepository deepfakeDetectionRepository;
-    @Mock private AmazonS3Service amazonS3Service;
+    @Mock private BlobStorageService blobStorageService;
     @Mock private DeepfakeViewAssembler assembler;
-    @Mock private WebClient webClient;
-
-    @Mock private WebClient.RequestBodyUriSpec uriSpec;
-    @Mock private WebClient.RequestBodySpec bodySpec;
-    @Mock private WebClient.RequestHeadersSpec<?> headersSpec;
-    @Mock private WebClient.ResponseSpec responseSpec;
-
-    @BeforeEach
-    void setUp() {
-        try {
-            var f = WatermarkService.class.getDeclaredField("flaskServerUrl");
-            f.setAccessible(true);
-            f.set(service, "http://fake-flask.local");
-        } catch (Exception ignored) {}
+    @Mock private ActiveTaskService activeTaskService;
+    @Mock private FlaskClient flaskClient;
+    @Spy private Scheduler flaskIoScheduler = Schedulers.immediate();
+    @Mock private DeepfakeResultCache deepfakeResultCache;
+    @Spy private FlaskSingleFlight flaskSingleFlight = new FlaskSingleFlight();
+    @Mock private DirectUploadService directUploadService;
+
+    private static FlaskJob job(FlaskJobClass jobClass) {
+        return argThat(job -> job != null && job.jobClass() == jobClass);
     }
 
+    private void mockFlaskReturning(FlaskResponseDTO dto) {
+        when(flaskClient.postMultipartWithBinaries(any(FlaskJob.class), eq("/predict"), any(), eq(FlaskResponseDTO.class), anySet()))
+                .thenReturn(dto == null ? Mono.empty() : Mono.just(binaryResponse(dto)));
+    }
 
-    private void mockWebClientReturning(FlaskResponseDTO dto) {
-        when(webClient.post()).thenReturn(uriSpec);
-        when(uriSpec.uri(anyString())).thenReturn(bodySpec);
-        when(bodySpec.contentType(eq(MediaType.MULTIPART_FORM_DATA))).thenReturn(bodySpec);
-        when(bodySpec.body(any(BodyInserters.MultipartInserter.class))).thenReturn((WebClient.RequestHeadersSpec) headersSpec);
-        when(headersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(eq(FlaskResponseDTO.class))).thenReturn(Mono.justOrEmpty(dto));
+    // FlaskClient 는 most_suspect_image(base64)를 수신 중에 임시 파일로 디코딩해 넘겨줌
+    private static FlaskBinaryResponse<FlaskResponseDTO> binaryResponse(FlaskResponseDTO dto) {
+        Map<String, SpooledBinary> binaries = new HashMap<>();
+        if (dto.getBase64Url() != null) {
+            try {
+                byte[] bytes = Base64.getDecoder().decode(dto.getBase64Url());
+                Path tmp = Files.createTempFile("flask-", ".jpg");
+                Files.write(tmp, bytes);
+                binaries.put("most_suspect_image", new SpooledBinary(tmp, bytes.length, "application/octet-stream"));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            dto.setBase64Url(null);
+        }
+        return new FlaskBinaryResponse<>(dto, binaries);
     }
 
     private static MockMultipartFile mockFile(String name, String contentType, byte[] bytes) {
@@ -150,11 +170,15 @@ class DeepfakeDetectionServiceTest {
         FlaskResponseDTO flask = minimalFlaskResponse();
         flask.setBase64Url(Base64.getEncoder().encodeToString(new byte[]{9, 9, 9}));
         flask.setImageUrl(null);
-        mockWebClientReturning(flask);
+        mockFlaskReturning(flask);
 
-        // S3 업로드 (base64 이미지)
-        when(amazonS3Service.uploadBase64Image(any(InputStream.class), argThat(k -> k.startsWith("deepfake/" + uid + "/"))))
-                .thenReturn("https://s3.example/df/" + uid + "/thumb.jpg");
+        // S3 업로드 (디코딩된 의심 프레임 파일, 내용 주소 blob)
+        when(blobStorageService.put(any(SpooledBinary.class), eq("image/jpeg")))
+                .thenAnswer(inv -> {
+                    SpooledBinary frame = inv.getArgument(0);
+                    assertThat(Arrays.equals(Files.readAllBytes(frame.getPath()), new byte[]{9, 9, 9})).isTrue();
+                    return "https://s3.example/df/" + uid + "/thumb.jpg";
+                });
 
         when(deepfakeDetectionRepository.save(any(DeepfakeDetection.class)))
                 .thenAnswer(inv -> inv.getArgument(0));
@@ -198,11 +222,178 @@ class DeepfakeDetectionServiceTest {
         assertThat(dto.getResult()).isEqualTo(DeepfakeResult.FAKE);
         assertThat(dto.getFilePath()).isEqualTo("https://s3.example/df/" + uid + "/thumb.jpg");
 
-        verify(webClient).post();
-        verify(amazonS3Service).uploadBase64Image(any(InputStream.class), anyString());
+        verify(flaskClient).postMultipartWithBinaries(job(FlaskJobClass.VIDEO_DEEPFAKE), eq("/predict"), any(),
+                eq(FlaskResponseDTO.class), eq(Set.of("most_suspect_image")));
+        verify(activeTaskService).registerTask("login", "tid-123");
+        verify(activeTaskService).deregisterTask("login");
+        verify(blobStorageService).put(any(SpooledBinary.class), eq("image/jpeg"));
+        verify(blobStorageService).retain(List.of("https://s3.example/df/" + uid + "/thumb.jpg"));
         verify(deepfakeDetectionRepository).save(any(DeepfakeDetection.class));
         verify(assembler).makeStabilityBullets(any());
         verify(assembler).makeSpeedBullets(any());
+        // 같은 내용 + 파라미터 재요청을 위해 결과 키 등록
+        String cacheKey = DeepfakeResultCache.key(sha256Hex(bytes), form);
+        verify(deepfakeResultCache).find(cacheKey);
+        verify(deepfakeResultCache).put(eq(cacheKey), any());
+    }
+
+    @Test
+    @DisplayName("createDetectionFromObject: 파일 대신 S3 객체 키를 Flask 에 넘기고 ETag 로 캐시 키 생성, 끝나면 원본 삭제")
+    void createDetectionFromObject_sendsObjectKey() {
+        long uid = 10L;
+        String key = "deepfake/uploads/10/clip.mp4";
+        when(userRepository.findById(uid)).thenReturn(Optional.of(user(uid)));
+        when(directUploadService.verify(uid, key))
+                .thenReturn(new DirectUploadService.UploadedObject("bucket", key, 2048, "video/mp4", "etag-1"));
+        mockFlaskReturning(minimalFlaskResponse());
+        when(deepfakeDetectionRepository.save(any(DeepfakeDetection.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(assembler.makeStabilityBullets(any())).thenReturn(List.of());
+        when(assembler.makeSpeedBullets(any())).thenReturn(List.of());
+
+        Map<String, String> form = new HashMap<>();
+        form.put("taskId", "tid-123");
+        DeepfakeDetectionDTO dto = service.createDetectionFromObject(uid, key, form);
+
+        assertThat(dto.getTaskId()).isEqualTo("tid-123");
+        verify(flaskClient).postMultipartWithBinaries(job(FlaskJobClass.VIDEO_DEEPFAKE), eq("/predict"),
+                argThat((MultiValueMap<String, ?> parts) -> parts.containsKey("object_key")
+                        && parts.containsKey("bucket") && !parts.containsKey("file")),
+                eq(FlaskResponseDTO.class), anySet());
+        verify(deepfakeResultCache).put(eq(DeepfakeResultCache.key("s3-etag:etag-1:2048", form)), any());
+        verify(activeTaskService).registerTask("login", "tid-123");
+        verify(activeTaskService).deregisterTask("login");
+        verify(directUploadService, times(1)).discard(key);
+    }
+
+    @Test
+    @DisplayName("createDetectionFromObject 캐시 적중: Flask 없이 복제하고 원본 삭제")
+    void createDetectionFromObject_cacheHit_discardsUpload() {
+        long uid = 10L;
+        String key = "deepfake/uploads/10/clip.mp4";
+        when(userRepository.findById(uid)).thenReturn(Optional.of(user(uid)));
+        when(directUploadService.verify(uid, key))
+                .thenReturn(new DirectUploadService.UploadedObject("bucket", key, 2048, "video/mp4", "etag-1"));
+        DeepfakeDetection source = DeepfakeDetection.builder()
+                .user(user(99L))
+                .taskId("old-task")
+                .filePath("https://s3.example/deepfake/99/frame.jpg")
+                .result(DeepfakeResult.FAKE)
+                .scoreWeighted(0.9f)
+                .stabilityScore(0.6f)
+                .speedScore(0.7f)
+                .build();
+        when(deepfakeResultCache.find(anyString())).thenReturn(Optional.of(source));
+        when(deepfakeDetectionRepository.save(any(DeepfakeDetection.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(assembler.makeStabilityBullets(any())).thenReturn(List.of());
+        when(assembler.makeSpeedBullets(any())).thenReturn(List.of());
+
+        DeepfakeDetectionDTO dto = service.createDetectionFromObject(uid, key, new HashMap<>(Map.of("taskId", "tid-9")));
+
+        assertThat(dto.getTaskId()).isEqualTo("tid-9");
+        verifyNoInteractions(flaskClient);
+        verify(directUploadService, times(1)).discard(key);
+    }
+
+    @Test
+    @DisplayName("합쳐진 요청: leader 가 취소해도 스풀은 호출 끝까지 남고, 결과 저장·캐시 등록 뒤에 키가 풀리며 follower 는 leader 행을 복제")
+    void createDetection_singleFlight_flightOwnsSpoolAndCachesBeforeEvict() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L)));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(user(2L)));
+        byte[] bytes = {1, 2, 3};
+
+        Sinks.One<FlaskBinaryResponse<FlaskResponseDTO>> flask = Sinks.one();
+        AtomicReference<Path> spooled = new AtomicReference<>();
+        when(flaskClient.postMultipartWithBinaries(any(FlaskJob.class), eq("/predict"), any(), eq(FlaskResponseDTO.class), anySet()))
+                .thenAnswer(inv -> {
+                    MultiValueMap<String, HttpEntity<?>> parts = inv.getArgument(2);
+                    spooled.set(((FileSystemResource) parts.getFirst("file").getBody()).getFile().toPath());
+                    return flask.asMono();
+                });
+        when(deepfakeDetectionRepository.save(any(DeepfakeDetection.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(assembler.makeStabilityBullets(any())).thenReturn(List.of());
+        when(assembler.makeSpeedBullets(any())).thenReturn(List.of());
+        AtomicInteger inFlightAtCachePut = new AtomicInteger(-1);
+        doAnswer(inv -> {
+            inFlightAtCachePut.set(flaskSingleFlight.inFlightCount());
+            return null;
+        }).when(deepfakeResultCache).put(anyString(), any());
+
+        Disposable leader = service.createDetectionAsync(1L, mockFile("a.png", "image/png", bytes),
+                new HashMap<>(Map.of("taskId", "leader"))).subscribe();
+        AtomicReference<DeepfakeDetectionDTO> followerResult = new AtomicReference<>();
+        service.createDetectionAsync(2L, mockFile("a.png", "image/png", bytes),
+                new HashMap<>(Map.of("taskId", "follower"))).subscribe(followerResult::set);
+
+        // leader 취소: follower 가 남아 있으므로 호출과 스풀은 유지
+        leader.dispose();
+        assertThat(Files.exists(spooled.get())).isTrue();
+
+        flask.tryEmitValue(binaryResponse(minimalFlaskResponse()));
+
+        assertThat(followerResult.get().getTaskId()).isEqualTo("follower");
+        // 캐시 등록 시점에는 아직 키가 잡혀 있어 같은 요청이 두 번째 호출을 만들지 않음
+        assertThat(inFlightAtCachePut.get()).isEqualTo(1);
+        assertThat(flaskSingleFlight.inFlightCount()).isZero();
+        assertThat(Files.exists(spooled.get())).isFalse();
+        verify(flaskClient, times(1)).postMultipartWithBinaries(any(FlaskJob.class), eq("/predict"), any(),
+                eq(FlaskResponseDTO.class), anySet());
+        // leader 행 + follower 복제 행
+        verify(deepfakeDetectionRepository, times(2)).save(any(DeepfakeDetection.class));
+    }
+
+    @Test
+    @DisplayName("createDetection 캐시 적중: Flask/S3 호출 없이 결과를 새 사용자 소유로 복제 (S3 프레임 공유)")
+    void createDetection_cacheHit_clonesStoredResult() {
+        long uid = 11L;
+        User requester = user(uid);
+        when(userRepository.findById(uid)).thenReturn(Optional.of(requester));
+        MockMultipartFile file = mockFile("video.mp4", "video/mp4", new byte[]{1, 2, 3});
+
+        DeepfakeDetection source = DeepfakeDetection.builder()
+                .deepfakeDetectionId(5L)
+                .user(user(99L))
+                .taskId("old-task")
+                .filePath("https://s3.example/deepfake/99/frame.jpg")
+                .result(DeepfakeResult.FAKE)
+                .scoreWeighted(0.9f)
+                .stabilityScore(0.6f)
+                .speedScore(0.7f)
+                .cacheKey("k")
+                .build();
+        when(deepfakeResultCache.find(anyString())).thenReturn(Optional.of(source));
+        when(deepfakeDetectionRepository.save(any(DeepfakeDetection.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(assembler.makeStabilityBullets(any())).thenReturn(List.of());
+        when(assembler.makeSpeedBullets(any())).thenReturn(List.of());
+
+        Map<String, String> form = new HashMap<>();
+        form.put("taskId", "new-task");
+        DeepfakeDetectionDTO dto = service.createDetection(uid, file, form);
+
+        assertThat(dto.getTaskId()).isEqualTo("new-task");
+        assertThat(dto.getFilePath()).isEqualTo("https://s3.example/deepfake/99/frame.jpg");
+        assertThat(dto.getResult()).isEqualTo(DeepfakeResult.FAKE);
+
+        verify(deepfakeDetectionRepository).save(argThat(d ->
+                d != source
+                        && d.getDeepfakeDetectionId() == null
+                        && d.getUser() == requester
+                        && "new-task".equals(d.getTaskId())
+                        && "k".equals(d.getCacheKey())
+                        && Float.valueOf(0.9f).equals(d.getScoreWeighted())));
+        verify(blobStorageService, never()).put(any(), anyString());
+        // 공유하는 의심 프레임에 복제 행의 참조를 더함
+        verify(blobStorageService).retain(List.of("https://s3.example/deepfake/99/frame.jpg"));
+        verifyNoInteractions(flaskClient);
+        verify(activeTaskService).registerTask("login", "new-task");
+        verify(activeTaskService).deregisterTask("login");
+    }
+
+    private static String sha256Hex(byte[] bytes) {
+        try {
+            return ImageHashUtils.toHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     @Test
@@ -214,7 +405,7 @@ class DeepfakeDetectionServiceTest {
         assertThatThrownBy(() -> service.createDetection(999L, file, Map.of()))
                 .isInstanceOf(UserNotFoundException.class);
 
-        verifyNoInteractions(webClient, amazonS3Service, deepfakeDetectionRepository, assembler);
+        verifyNoInteractions(flaskClient, blobStorageService, deepfakeDetectionRepository, assembler);
     }
 
     @Test
@@ -242,7 +433,7 @@ class DeepfakeDetectionServiceTest {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L)));
         MockMultipartFile file = mockFile("x.png", "image/png", new byte[]{1});
 
-        mockWebClientReturning(null);
+        mockFlaskReturning(null);
 
         assertThatThrownBy(() -> service.createDetection(1L, file, Map.of()))
                 .isInstanceOf(ExternalServiceException.class)
@@ -255,14 +446,8 @@ class DeepfakeDetectionServiceTest {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L)));
         MockMultipartFile file = mockFile("x.png", "image/png", new byte[]{1});
 
-        when(webClient.post()).thenReturn(uriSpec);
-        when(uriSpec.uri(anyString())).thenReturn(bodySpec);
-        when(bodySpec.contentType(any())).thenReturn(bodySpec);
-        when(bodySpec.body(any(BodyInserters.MultipartInserter.class))).thenReturn((WebClient.RequestHeadersSpec) headersSpec);
-        when(headersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(FlaskResponseDTO.class))
-                .thenThrow(new org.springframework.web.reactive.function.client.WebClientResponseException(
-                        "boom", 500, "Internal", null, null, null));
+        when(flaskClient.postMultipartWithBinaries(job(FlaskJobClass.IMAGE_DEEPFAKE), eq("/predict"), any(), eq(FlaskResponseDTO.class), anySet()))
+                .thenReturn(Mono.error(new ExternalServiceException("Flask HTTP error: 500 boom")));
 
         assertThatThrownBy(() -> service.createDetection(1L, file, Map.of()))
                 .isInstanceOf(ExternalServiceException.class)
@@ -275,23 +460,15 @@ class DeepfakeDetectionServiceTest {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L)));
         MockMultipartFile file = mockFile("x.png", "image/png", new byte[]{1});
 
-        when(webClient.post()).thenReturn(uriSpec);
-        when(uriSpec.uri(anyString())).thenReturn(bodySpec);
-        when(bodySpec.contentType(any())).thenReturn(bodySpec);
-        when(bodySpec.body(any(BodyInserters.MultipartInserter.class))).thenReturn((WebClient.RequestHeadersSpec) headersSpec);
-        when(headersSpec.retrieve()).thenReturn(responseSpec);
-
-        WebClientRequestException connError = new WebClientRequestException(
-                new IOException("conn fail"),
-                HttpMethod.POST,
-                URI.create("http://fake-flask.local/predict"),
-                HttpHeaders.EMPTY
-        );
-        when(responseSpec.bodyToMono(eq(FlaskResponseDTO.class)))
-                .thenReturn(Mono.error(connError));
+        when(flaskClient.postMultipartWithBinaries(job(FlaskJobClass.IMAGE_DEEPFAKE), eq("/predict"), any(), eq(FlaskResponseDTO.class), anySet()))
+                .thenReturn(Mono.error(new ExternalServiceException("Flask request failed: conn fail")));
+
         assertThatThrownBy(() -> service.createDetection(1L, file, Map.of()))
                 .isInstanceOf(ExternalServiceException.class)
                 .hasMessageContaining("request failed");
+
+        verify(activeTaskService).deregisterTask("login");
+        verifyNoInteractions(blobStorageService, deepfakeDetectionRepository);
     }
 
     @Test
@@ -301,7 +478,7 @@ class DeepfakeDetectionServiceTest {
         MockMultipartFile file = mockFile("x.png", "image/png", new byte[]{1});
 
         FlaskResponseDTO bad = new FlaskResponseDTO(); // taskId/imageUrl/result 없음
-        mockWebClientReturning(bad);
+        mockFlaskReturning(bad);
 
         assertThatThrownBy(() -> service.createDetection(1L, file, Map.of()))
                 .isInstanceOf(DataMappingException.class);
@@ -315,7 +492,7 @@ class DeepfakeDetectionServiceTest {
 
         FlaskResponseDTO r = minimalFlaskResponse();
         r.setMode("NOPE"); // 잘못된 모드
-        mockWebClientReturning(r);
+        mockFlaskReturning(r);
 
         assertThatThrownBy(() -> service.createDetection(1L, file, Map.of()))
                 .isInstanceOf(InvalidEnumValueException.class);
@@ -328,7 +505,7 @@ class DeepfakeDetectionServiceTest {
         MockMultipartFile file = mockFile("x.png", "image/png", new byte[]{1});
 
         FlaskResponseDTO r = minimalFlaskResponse();
-        mockWebClientReturning(r);
+        mockFlaskReturning(r);
 
         List<BulletDTO> speed = List.of(
                 BulletDTO.builder()
@@ -483,6 +660,7 @@ class DeepfakeDetectionServiceTest {
         long uid = 8L;
         when(userRepository.findById(uid)).thenReturn(Optional.of(user(uid)));
         DeepfakeDetection entity = new DeepfakeDetection();
+        entity.setFilePath("https://s3.example/blobs/ab/frame");
         when(deepfakeDetectionRepository.findByDeepfakeDetectionIdAndUser(eq(100L), any(User.class)))
                 .thenReturn(Optional.of(entity));
         when(deepfakeDetectionRepository.deleteByDeepfakeDetectionIdAndUser(eq(100L), any(User.class)))
@@ -491,6 +669,7 @@ class DeepfakeDetectionServiceTest {
         service.deleteResult(uid, 100L);
 
         verify(deepfakeDetectionRepository).deleteByDeepfakeDetectionIdAndUser(eq(100L), any(User.class));
+        verify(blobStorageService).release(List.of("https://s3.example/blobs/ab/frame"));
     }
 
     @Test
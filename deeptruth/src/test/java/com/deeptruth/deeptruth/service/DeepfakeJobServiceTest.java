@@ -0,0 +1,205 @@
+package com.deeptruth.deeptruth.service;
+
+import com.deeptruth.deeptruth.base.Enum.JobStatus;
+import com.deeptruth.deeptruth.base.dto.deepfake.DeepfakeDetectionDTO;
+import com.deeptruth.deeptruth.base.dto.deepfake.DeepfakeJobDTO;
+import com.deeptruth.deeptruth.base.exception.DuplicateTaskIdException;
+import com.deeptruth.deeptruth.base.exception.ExternalServiceException;
+import com.deeptruth.deeptruth.base.exception.FileEmptyException;
+import com.deeptruth.deeptruth.base.exception.JobNotFoundException;
+import com.deeptruth.deeptruth.base.exception.JobQueueFullException;
+import com.deeptruth.deeptruth.entity.DeepfakeJob;
+import com.deeptruth.deeptruth.entity.User;
+import com.deeptruth.deeptruth.repository.DeepfakeJobRepository;
+import com.deeptruth.deeptruth.repository.UserRepository;
+import com.deeptruth.deeptruth.util.SpooledMultipartFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DeepfakeJobServiceTest {
+
+    @Mock private DeepfakeJobRepository deepfakeJobRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private DeepfakeDetectionService deepfakeDetectionService;
+    @Mock private SimpMessagingTemplate messagingTemplate;
+    @Spy private TaskExecutor deepfakeJobExecutor = new SyncTaskExecutor();
+
+    @InjectMocks
+    private DeepfakeJobService service;
+
+    private final AtomicReference<DeepfakeJob> stored = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        when(deepfakeJobRepository.save(any(DeepfakeJob.class))).thenAnswer(inv -> {
+            DeepfakeJob j = inv.getArgument(0);
+            if (j.getDeepfakeJobId() == null) j.setDeepfakeJobId(1L);
+            stored.set(j);
+            return j;
+        });
+        when(deepfakeJobRepository.findById(1L)).thenAnswer(inv -> Optional.ofNullable(stored.get()));
+    }
+
+    private static User user(long id) {
+        return User.builder()
+                .userId(id)
+                .email("u@test.com")
+                .loginId("login")
+                .name("name")
+                .nickname("nick")
+                .password("pwd")
+                .createdAt(LocalDate.now())
+                .build();
+    }
+
+    private static MockMultipartFile video() {
+        return new MockMultipartFile("file", "video.mp4", "video/mp4", new byte[]{1, 2, 3});
+    }
+
+    @Test
+    @DisplayName("submit 성공: 작업 QUEUED 저장 후 워커에서 SUCCEEDED 로 전이, 완료 알림 전송")
+    void submit_success() {
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user(7L)));
+        when(deepfakeDetectionService.createDetection(eq(7L), any(SpooledMultipartFile.class), anyMap()))
+                .thenReturn(DeepfakeDetectionDTO.builder().id(55L).taskId("task-1").build());
+
+        Map<String, String> form = new HashMap<>();
+        form.put("taskId", "task-1");
+        DeepfakeJobDTO dto = service.submit(7L, video(), form);
+
+        assertThat(dto.getTaskId()).isEqualTo("task-1");
+        assertThat(stored.get().getStatus()).isEqualTo(JobStatus.SUCCEEDED);
+        assertThat(stored.get().getDetectionId()).isEqualTo(55L);
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate).convertAndSendToUser(eq("login"), eq("/queue/progress/task-1"), payload.capture());
+        assertThat(((DeepfakeJobDTO) payload.getValue()).getStatus()).isEqualTo(JobStatus.SUCCEEDED);
+    }
+
+    @Test
+    @DisplayName("submit: 워커에서 탐지 실패 시 FAILED 와 사유 기록, 임시 파일 정리")
+    void submit_workerFailure() {
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user(7L)));
+        AtomicReference<Path> spooledPath = new AtomicReference<>();
+        when(deepfakeDetectionService.createDetection(eq(7L), any(SpooledMultipartFile.class), anyMap()))
+                .thenAnswer(inv -> {
+                    spooledPath.set(inv.getArgument(1, SpooledMultipartFile.class).getPath());
+                    throw new ExternalServiceException("Flask request failed: timeout");
+                });
+
+        service.submit(7L, video(), new HashMap<>());
+
+        assertThat(stored.get().getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(stored.get().getErrorMessage()).contains("timeout");
+        assertThat(Files.exists(spooledPath.get())).isFalse();
+    }
+
+    @Test
+    @DisplayName("submit 실패: 실행 풀 포화 → JobQueueFullException, 작업은 FAILED")
+    void submit_queueFull() {
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user(7L)));
+        doThrow(new java.util.concurrent.RejectedExecutionException("full"))
+                .when(deepfakeJobExecutor).execute(any(Runnable.class));
+
+        assertThatThrownBy(() -> service.submit(7L, video(), new HashMap<>()))
+                .isInstanceOf(JobQueueFullException.class);
+        assertThat(stored.get().getStatus()).isEqualTo(JobStatus.FAILED);
+        verifyNoInteractions(deepfakeDetectionService);
+    }
+
+    @Test
+    @DisplayName("submit 실패: 이미 쓰인 taskId → DuplicateTaskIdException")
+    void submit_duplicateTaskId() {
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user(7L)));
+        when(deepfakeJobRepository.existsByTaskId("task-1")).thenReturn(true);
+        Map<String, String> form = new HashMap<>();
+        form.put("taskId", "task-1");
+
+        assertThatThrownBy(() -> service.submit(7L, video(), form))
+                .isInstanceOf(DuplicateTaskIdException.class);
+        verify(deepfakeJobRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("submit 실패: 확인 직후 같은 taskId 가 저장돼 유니크 충돌 → DuplicateTaskIdException, 임시 파일 정리")
+    void submit_concurrentDuplicate_cleansUpSpool() throws Exception {
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user(7L)));
+        Path tmpDir = Path.of(System.getProperty("java.io.tmpdir"));
+        Set<Path> before = spools(tmpDir);
+        Set<Path> created = new HashSet<>();
+        when(deepfakeJobRepository.save(any(DeepfakeJob.class))).thenAnswer(inv -> {
+            created.addAll(spools(tmpDir));
+            created.removeAll(before);
+            throw new DataIntegrityViolationException("uk_dfj_task");
+        });
+        Map<String, String> form = new HashMap<>();
+        form.put("taskId", "task-1");
+
+        assertThatThrownBy(() -> service.submit(7L, video(), form))
+                .isInstanceOf(DuplicateTaskIdException.class);
+        assertThat(created).isNotEmpty().noneMatch(Files::exists);
+        verifyNoInteractions(deepfakeJobExecutor);
+    }
+
+    private static Set<Path> spools(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().startsWith("deeptruth-")
+                    && p.getFileName().toString().endsWith(".upload")).collect(Collectors.toSet());
+        }
+    }
+
+    @Test
+    @DisplayName("submit 실패: 빈 파일")
+    void submit_emptyFile() {
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user(7L)));
+        MockMultipartFile empty = new MockMultipartFile("file", "video.mp4", "video/mp4", new byte[0]);
+
+        assertThatThrownBy(() -> service.submit(7L, empty, new HashMap<>()))
+                .isInstanceOf(FileEmptyException.class);
+        verify(deepfakeJobRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("getJob 실패: 다른 사용자의 작업이거나 없음 → JobNotFoundException")
+    void getJob_notFound() {
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user(7L)));
+        when(deepfakeJobRepository.findByTaskIdAndUser_UserId("nope", 7L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.getJob(7L, "nope"))
+                .isInstanceOf(JobNotFoundException.class);
+    }
+}
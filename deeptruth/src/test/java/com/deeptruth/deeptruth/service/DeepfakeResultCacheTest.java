@@ -0,0 +1,107 @@
+package com.deeptruth.deeptruth.service;
+
+import com.deeptruth.deeptruth.entity.DeepfakeDetection;
+import com.deeptruth.deeptruth.repository.DeepfakeDetectionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeepfakeResultCacheTest {
+
+    @Mock private DeepfakeDetectionRepository deepfakeDetectionRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DeepfakeResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new DeepfakeResultCache(deepfakeDetectionRepository, meterRegistry, 2, 3600);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("deepfake.result.cache").tag("result", result).counter().count();
+    }
+
+    private static DeepfakeDetection detection(long id) {
+        return DeepfakeDetection.builder().deepfakeDetectionId(id).build();
+    }
+
+    @Test
+    @DisplayName("key: 결과에 영향 주는 파라미터만 반영 (taskId 등은 무시, 값 대소문자/공백 정규화)")
+    void key_dependsOnContentAndParams() {
+        Map<String, String> form = new HashMap<>();
+        form.put("mode", "DEFAULT");
+        form.put("use_tta", "true");
+        form.put("taskId", "t-1");
+        String base = DeepfakeResultCache.key("abc", form);
+
+        Map<String, String> sameParams = new HashMap<>(form);
+        sameParams.put("taskId", "t-2");
+        sameParams.put("mode", " default ");
+        assertThat(DeepfakeResultCache.key("abc", sameParams)).isEqualTo(base);
+
+        Map<String, String> otherParams = new HashMap<>(form);
+        otherParams.put("use_tta", "false");
+        assertThat(DeepfakeResultCache.key("abc", otherParams)).isNotEqualTo(base);
+        assertThat(DeepfakeResultCache.key("abd", form)).isNotEqualTo(base);
+        assertThat(base).hasSize(64);
+    }
+
+    @Test
+    @DisplayName("find: DB 적중은 메모리에 올리고, 다음 조회는 키 검색 없이 id 로 바로 조회")
+    void find_dbHitThenFrontHit() {
+        when(deepfakeDetectionRepository.findFirstByCacheKeyOrderByDeepfakeDetectionIdDesc("k"))
+                .thenReturn(Optional.of(detection(5L)));
+        when(deepfakeDetectionRepository.findById(5L)).thenReturn(Optional.of(detection(5L)));
+
+        assertThat(cache.find("k")).isPresent();
+        assertThat(cache.find("k")).isPresent();
+
+        verify(deepfakeDetectionRepository, times(1)).findFirstByCacheKeyOrderByDeepfakeDetectionIdDesc("k");
+        verify(deepfakeDetectionRepository, times(1)).findById(5L);
+        assertThat(count("hit")).isEqualTo(2.0);
+        assertThat(count("miss")).isEqualTo(0.0);
+    }
+
+    @Test
+    @DisplayName("find: 메모리 항목의 원본 행이 삭제됐으면 DB 키 검색으로 대체, 없으면 miss")
+    void find_staleFrontEntry_fallsBackToDb() {
+        cache.put("k", 5L);
+        when(deepfakeDetectionRepository.findById(5L)).thenReturn(Optional.empty());
+        when(deepfakeDetectionRepository.findFirstByCacheKeyOrderByDeepfakeDetectionIdDesc("k"))
+                .thenReturn(Optional.empty());
+
+        assertThat(cache.find("k")).isEmpty();
+        assertThat(cache.size()).isZero();
+        assertThat(count("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("put: 최대 크기를 넘으면 가장 오래 안 쓴 항목부터 제거, TTL 지난 항목은 조회되지 않음")
+    void put_evictsBySizeAndTtl() {
+        cache.put("a", 1L);
+        cache.put("b", 2L);
+        cache.put("c", 3L);
+        assertThat(cache.size()).isEqualTo(2);
+
+        DeepfakeResultCache expiring = new DeepfakeResultCache(deepfakeDetectionRepository, new SimpleMeterRegistry(), 10, 0);
+        expiring.put("k", 1L);
+        when(deepfakeDetectionRepository.findFirstByCacheKeyOrderByDeepfakeDetectionIdDesc("k"))
+                .thenReturn(Optional.empty());
+        assertThat(expiring.find("k")).isEmpty();
+        verify(deepfakeDetectionRepository, never()).findById(anyLong());
+    }
+}
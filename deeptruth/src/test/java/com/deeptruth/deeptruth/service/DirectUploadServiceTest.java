@@ -0,0 +1,128 @@
+package com.deeptruth.deeptruth.service;
+
+import com.deeptruth.deeptruth.base.dto.deepfake.PresignedUploadDTO;
+import com.deeptruth.deeptruth.base.exception.ArtifactNotFoundException;
+import com.deeptruth.deeptruth.base.exception.InvalidFileException;
+import com.deeptruth.deeptruth.base.exception.UnauthorizedOperationException;
+import com.deeptruth.deeptruth.base.exception.UnsupportedMediaTypeException;
+import com.deeptruth.deeptruth.config.DirectUploadProperties;
+import com.deeptruth.deeptruth.entity.User;
+import com.deeptruth.deeptruth.repository.UserRepository;
+import com.deeptruth.deeptruth.service.storage.S3ObjectStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * presigned PUT 발급 → 클라이언트 직접 업로드 → 탐지 전 확인 흐름을 로컬 S3 스텁에서 확인한다.
+ */
+class DirectUploadServiceTest {
+
+    private static final String BUCKET = "deeptruth-test";
+
+    private S3StubServer s3;
+    private DirectUploadProperties properties;
+    private DirectUploadService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        s3 = new S3StubServer();
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(User.builder().userId(1L).loginId("login").build()));
+
+        AmazonS3Service amazonS3Service = new AmazonS3Service(new S3ObjectStorage(s3.client(), BUCKET), userRepository,
+                new SyncTaskExecutor());
+        properties = new DirectUploadProperties();
+        properties.setMaxSizeBytes(1024);
+        service = new DirectUploadService(amazonS3Service, userRepository, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3.close();
+    }
+
+    private static int put(PresignedUploadDTO upload, byte[] body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(upload.getUploadUrl()))
+                .header("Content-Type", upload.getHeaders().get("Content-Type"))
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Test
+    @DisplayName("발급한 URL 로 직접 올린 객체를 objectKey 로 확인")
+    void issue_upload_verify() throws Exception {
+        byte[] video = new byte[512];
+        PresignedUploadDTO upload = service.issue(1L, "clip.MP4", "video/mp4", (long) video.length);
+
+        assertThat(upload.getObjectKey()).startsWith("deepfake/uploads/1/").endsWith(".mp4");
+        assertThat(upload.getMethod()).isEqualTo("PUT");
+        assertThat(upload.getUploadUrl()).startsWith(s3.url() + "/" + BUCKET + "/deepfake/uploads/1/");
+        assertThat(upload.getHeaders()).containsEntry("Content-Length", "512");
+        assertThat(put(upload, video)).isEqualTo(200);
+
+        DirectUploadService.UploadedObject object = service.verify(1L, upload.getObjectKey());
+        assertThat(object.bucket()).isEqualTo(BUCKET);
+        assertThat(object.size()).isEqualTo(512);
+        assertThat(object.isVideo()).isTrue();
+        assertThat(object.eTag()).isEqualTo(s3.get(BUCKET, upload.getObjectKey()).eTag());
+    }
+
+    @Test
+    @DisplayName("발급 거절: 최대 크기 초과, 허용되지 않은 타입")
+    void issue_rejectsSizeAndType() {
+        assertThatThrownBy(() -> service.issue(1L, "big.mp4", "video/mp4", 4096L))
+                .isInstanceOf(InvalidFileException.class);
+        assertThatThrownBy(() -> service.issue(1L, "doc.pdf", "application/pdf", 10L))
+                .isInstanceOf(UnsupportedMediaTypeException.class);
+    }
+
+    @Test
+    @DisplayName("확인 거절: 다른 사용자 prefix, 올라오지 않은 객체, 다른 경로로 올라온 큰 객체")
+    void verify_rejects() {
+        assertThatThrownBy(() -> service.verify(1L, "deepfake/uploads/2/x.mp4"))
+                .isInstanceOf(UnauthorizedOperationException.class);
+        assertThatThrownBy(() -> service.verify(1L, "deepfake/uploads/1/../2/x.mp4"))
+                .isInstanceOf(UnauthorizedOperationException.class);
+        assertThatThrownBy(() -> service.verify(1L, "deepfake/uploads/1/missing.mp4"))
+                .isInstanceOf(ArtifactNotFoundException.class);
+
+        s3.put(BUCKET, "deepfake/uploads/1/big.mp4", new byte[2048], "video/mp4");
+        assertThatThrownBy(() -> service.verify(1L, "deepfake/uploads/1/big.mp4"))
+                .isInstanceOf(InvalidFileException.class);
+    }
+
+    @Test
+    @DisplayName("정리: 탐지에 쓴 원본 삭제, 회원 영구 삭제 시 그 회원 prefix 의 원본만 전부 삭제")
+    void discardAndPurgeUser() {
+        s3.put(BUCKET, "deepfake/uploads/1/a.mp4", new byte[8], "video/mp4");
+        s3.put(BUCKET, "deepfake/uploads/1/b.mp4", new byte[8], "video/mp4");
+        s3.put(BUCKET, "deepfake/uploads/1/c.mp4", new byte[8], "video/mp4");
+        s3.put(BUCKET, "deepfake/uploads/10/a.mp4", new byte[8], "video/mp4");
+        s3.put(BUCKET, "deepfake/1/frame.jpg", new byte[8], "image/jpeg");
+
+        service.discard("deepfake/uploads/1/a.mp4");
+        assertThat(s3.get(BUCKET, "deepfake/uploads/1/a.mp4")).isNull();
+
+        assertThat(service.purgeUser(User.builder().userId(1L).build())).isEqualTo(2);
+        assertThat(s3.get(BUCKET, "deepfake/uploads/1/b.mp4")).isNull();
+        assertThat(s3.get(BUCKET, "deepfake/uploads/1/c.mp4")).isNull();
+        assertThat(s3.get(BUCKET, "deepfake/uploads/10/a.mp4")).isNotNull();
+        assertThat(s3.get(BUCKET, "deepfake/1/frame.jpg")).isNotNull();
+    }
+}
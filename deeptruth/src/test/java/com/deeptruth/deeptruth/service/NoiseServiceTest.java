@@ -36,9 +36,6 @@ class NoiseServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @Mock
-    private AmazonS3Service amazonS3Service;
-
     private User testUser;
     private NoiseFlaskResponseDTO testFlaskResponse;
     private Noise testNoise;
@@ -126,49 +123,6 @@ class NoiseServiceTest {
         verify(noiseRepository, never()).save(any());
     }
 
-    @Test
-    @DisplayName("Base64 이미지 S3 업로드 성공 테스트")
-    void Base64이미지_S3업로드_성공테스트() {
-        // given
-        String validBase64 = "data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mP8/5+hHgAHggJ/PchI7wAAAABJRU5ErkJggg==";
-        String expectedS3Url = "https://s3.amazonaws.com/test-image.jpg";
-
-        when(amazonS3Service.uploadBase64Image(any(), anyString()))
-                .thenReturn(expectedS3Url);
-
-        // when
-        String result = noiseService.uploadBase64ImageToS3(validBase64, 1L, "test");
-
-        // then
-        assertThat(result).isEqualTo(expectedS3Url);
-        verify(amazonS3Service).uploadBase64Image(any(), contains("noise/1/test/"));
-    }
-
-    @Test
-    @DisplayName("잘못된 Base64 데이터로 인한 예외 테스트")
-    void Base64이미지업로드_잘못된데이터_예외발생() {
-        // given
-        String invalidBase64 = "invalid-base64-data!!!";
-
-        // when & then
-        assertThatThrownBy(() -> noiseService.uploadBase64ImageToS3(invalidBase64, 1L, "test"))
-                .isInstanceOf(ImageDecodingException.class)
-                .hasMessageContaining("Invalid Base64 characters detected");
-
-        verify(amazonS3Service, never()).uploadBase64Image(any(), any());
-    }
-
-    @Test
-    @DisplayName("빈 Base64 문자열로 인한 예외 테스트")
-    void Base64이미지업로드_빈문자열_예외발생() {
-        // given
-        String emptyBase64 = "";
-
-        // when & then
-        assertThatThrownBy(() -> noiseService.uploadBase64ImageToS3(emptyBase64, 1L, "test"))
-                .isInstanceOf(ImageDecodingException.class)
-                .hasMessageContaining("empty string");
-    }
 /*
     @Test
     @DisplayName("사용자별 노이즈 목록 조회 테스트")
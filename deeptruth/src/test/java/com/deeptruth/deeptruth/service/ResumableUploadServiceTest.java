@@ -0,0 +1,157 @@
+package com.deeptruth.deeptruth.service;
+
+import com.deeptruth.deeptruth.base.dto.deepfake.DeepfakeJobDTO;
+import com.deeptruth.deeptruth.base.dto.deepfake.ResumableUploadDTO;
+import com.deeptruth.deeptruth.base.exception.ChecksumMismatchException;
+import com.deeptruth.deeptruth.base.exception.UploadOffsetConflictException;
+import com.deeptruth.deeptruth.config.ResumableUploadProperties;
+import com.deeptruth.deeptruth.entity.ResumableUpload;
+import com.deeptruth.deeptruth.entity.User;
+import com.deeptruth.deeptruth.repository.ResumableUploadRepository;
+import com.deeptruth.deeptruth.repository.UserRepository;
+import com.deeptruth.deeptruth.util.ImageHashUtils;
+import com.deeptruth.deeptruth.util.SpooledMultipartFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ResumableUploadServiceTest {
+
+    @TempDir Path dir;
+
+    @Mock private ResumableUploadRepository resumableUploadRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private DeepfakeJobService deepfakeJobService;
+    @Spy private ResumableUploadProperties properties = new ResumableUploadProperties();
+
+    @InjectMocks
+    private ResumableUploadService service;
+
+    private final AtomicReference<ResumableUpload> stored = new AtomicReference<>();
+    private byte[] video;
+
+    @BeforeEach
+    void setUp() {
+        properties.setDir(dir);
+        video = new byte[300_000];
+        new Random(20).nextBytes(video);
+
+        User user = User.builder().userId(1L).loginId("login").build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(resumableUploadRepository.save(any(ResumableUpload.class))).thenAnswer(inv -> {
+            stored.set(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+        when(resumableUploadRepository.findByUploadIdAndUser_UserId(anyString(), eq(1L)))
+                .thenAnswer(inv -> Optional.ofNullable(stored.get())
+                        .filter(u -> u.getUploadId().equals(inv.getArgument(0))));
+        when(deepfakeJobService.submit(eq(1L), any(), anyMap()))
+                .thenReturn(DeepfakeJobDTO.builder().taskId("task-1").build());
+    }
+
+    private ResumableUploadDTO append(String id, int from, int to, String checksum) {
+        return service.append(1L, id, from, checksum, new ByteArrayInputStream(Arrays.copyOfRange(video, from, to)));
+    }
+
+    private String sha256Checksum(int from, int to) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(Arrays.copyOfRange(video, from, to));
+        return "sha256 " + Base64.getEncoder().encodeToString(digest);
+    }
+
+    @Test
+    @DisplayName("청크로 나눠 올린 뒤 완료: 스풀 파일을 복사 없이 탐지 작업으로 넘김")
+    void chunks_thenComplete() throws Exception {
+        String id = service.create(1L, (long) video.length, "clip.mp4", "video/mp4").getUploadId();
+
+        assertThat(append(id, 0, 100_000, sha256Checksum(0, 100_000)).getOffset()).isEqualTo(100_000);
+        assertThat(append(id, 100_000, video.length, null).getOffset()).isEqualTo(video.length);
+        assertThat(service.get(1L, id).getOffset()).isEqualTo(video.length);
+
+        DeepfakeJobDTO job = service.complete(1L, id, Map.of("mode", "DEFAULT"));
+
+        ArgumentCaptor<SpooledMultipartFile> file = ArgumentCaptor.forClass(SpooledMultipartFile.class);
+        verify(deepfakeJobService).submit(eq(1L), file.capture(), eq(Map.of("mode", "DEFAULT")));
+        assertThat(job.getTaskId()).isEqualTo("task-1");
+        assertThat(file.getValue().getPath()).isEqualTo(service.spoolPath(id));
+        assertThat(file.getValue().getOriginalFilename()).isEqualTo("clip.mp4");
+        assertThat(file.getValue().getSize()).isEqualTo(video.length);
+        assertThat(file.getValue().getSha256())
+                .isEqualTo(ImageHashUtils.toHex(MessageDigest.getInstance("SHA-256").digest(video)));
+        assertThat(Arrays.equals(Files.readAllBytes(file.getValue().getPath()), video)).isTrue();
+        verify(resumableUploadRepository).delete(stored.get());
+    }
+
+    @Test
+    @DisplayName("청크 도중 끊김: offset 은 그대로, 같은 위치부터 다시 보내면 이어짐")
+    void interruptedChunk_isResent() {
+        String id = service.create(1L, (long) video.length, "clip.mp4", "video/mp4").getUploadId();
+        append(id, 0, 100_000, null);
+
+        InputStream broken = new InputStream() {
+            private int sent;
+            @Override
+            public int read() throws IOException {
+                if (sent++ < 50_000) return 1;
+                throw new IOException("connection reset");
+            }
+        };
+        assertThatThrownBy(() -> service.append(1L, id, 100_000, null, broken))
+                .isInstanceOf(UncheckedIOException.class);
+        assertThat(service.get(1L, id).getOffset()).isEqualTo(100_000);
+
+        assertThat(append(id, 100_000, video.length, null).getOffset()).isEqualTo(video.length);
+    }
+
+    @Test
+    @DisplayName("체크섬 불일치: offset 을 올리지 않음")
+    void checksumMismatch_keepsOffset() throws Exception {
+        String id = service.create(1L, (long) video.length, "clip.mp4", "video/mp4").getUploadId();
+
+        assertThatThrownBy(() -> append(id, 0, 100_000, sha256Checksum(1, 100_001)))
+                .isInstanceOf(ChecksumMismatchException.class);
+        assertThat(service.get(1L, id).getOffset()).isZero();
+    }
+
+    @Test
+    @DisplayName("offset 이 다르거나 다 받기 전 완료 요청 → 409")
+    void offsetConflicts() {
+        String id = service.create(1L, (long) video.length, "clip.mp4", "video/mp4").getUploadId();
+        append(id, 0, 100_000, null);
+
+        assertThatThrownBy(() -> append(id, 50_000, 150_000, null))
+                .isInstanceOf(UploadOffsetConflictException.class);
+        assertThatThrownBy(() -> service.complete(1L, id, Map.of()))
+                .isInstanceOf(UploadOffsetConflictException.class);
+        verifyNoInteractions(deepfakeJobService);
+    }
+}
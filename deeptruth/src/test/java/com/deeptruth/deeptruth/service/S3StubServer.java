@@ -0,0 +1,271 @@
+package com.deeptruth.deeptruth.service;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 테스트용 S3 호환 스텁 (path-style: /{bucket}/{key}).
+ * 서명은 검사하지 않고 PUT / HEAD / GET / DELETE, 목록(ListObjectsV2, 한 페이지)과 multipart(시작 / 파트 / 완료 / 중단)만 흉내 낸다.
+ * ETag 는 실제 S3 처럼 단일 PUT·파트는 본문 MD5.
+ */
+public final class S3StubServer implements AutoCloseable {
+
+    public record StoredObject(byte[] content, String contentType, String eTag) {
+    }
+
+    private record Upload(String path, String contentType, Map<Integer, byte[]> parts) {
+    }
+
+    private static final Pattern COMPLETED_PART = Pattern.compile("<PartNumber>(\\d+)</PartNumber>");
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+    private final Map<String, Upload> uploads = new ConcurrentHashMap<>();
+    private final Set<String> abortedUploads = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger partsInFlight = new AtomicInteger();
+    private final AtomicInteger peakPartsInFlight = new AtomicInteger();
+    private volatile int failingPart = -1;
+    private volatile long partDelayMillis;
+
+    public S3StubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        // 파트 동시 전송을 받을 수 있도록 요청마다 스레드
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /** 스텁을 가리키는 실제 SDK 클라이언트 */
+    public AmazonS3Client client() {
+        return (AmazonS3Client) AmazonS3ClientBuilder.standard()
+                .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials("test", "test")))
+                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(url(), "us-east-1"))
+                .withPathStyleAccessEnabled(true)
+                .build();
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public StoredObject get(String bucket, String key) {
+        return objects.get(bucket + "/" + key);
+    }
+
+    public void put(String bucket, String key, byte[] content, String contentType) {
+        objects.put(bucket + "/" + key, new StoredObject(content, contentType, md5(content)));
+    }
+
+    /** 이 번호의 파트 업로드를 500 으로 실패시킴 */
+    public void failPart(int partNumber) {
+        this.failingPart = partNumber;
+    }
+
+    /** 파트 하나를 받는 데 걸리는 시간 (동시 전송 확인용) */
+    public void setPartDelayMillis(long partDelayMillis) {
+        this.partDelayMillis = partDelayMillis;
+    }
+
+    public int peakPartsInFlight() {
+        return peakPartsInFlight.get();
+    }
+
+    /** 완료도 중단도 되지 않은 multipart 업로드 수 */
+    public int pendingUploads() {
+        return uploads.size();
+    }
+
+    public Set<String> abortedUploads() {
+        return abortedUploads;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = URLDecoder.decode(exchange.getRequestURI().getRawPath(), StandardCharsets.UTF_8).substring(1);
+        Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+        try {
+            if (query.containsKey("uploads") || query.containsKey("uploadId")) {
+                handleMultipart(exchange, path, query);
+                return;
+            }
+            if (query.containsKey("list-type")) {
+                list(exchange, path.endsWith("/") ? path.substring(0, path.length() - 1) : path,
+                        query.getOrDefault("prefix", ""));
+                return;
+            }
+            switch (exchange.getRequestMethod()) {
+                case "PUT" -> {
+                    byte[] body = exchange.getRequestBody().readAllBytes();
+                    StoredObject object = new StoredObject(body,
+                            exchange.getRequestHeaders().getFirst("Content-Type"), md5(body));
+                    objects.put(path, object);
+                    exchange.getResponseHeaders().add("ETag", "\"" + object.eTag() + "\"");
+                    exchange.sendResponseHeaders(200, -1);
+                }
+                case "HEAD", "GET" -> {
+                    StoredObject object = objects.get(path);
+                    if (object == null) {
+                        exchange.sendResponseHeaders(404, -1);
+                        return;
+                    }
+                    exchange.getResponseHeaders().add("ETag", "\"" + object.eTag() + "\"");
+                    if (object.contentType() != null) {
+                        exchange.getResponseHeaders().add("Content-Type", object.contentType());
+                    }
+                    if (exchange.getRequestMethod().equals("HEAD")) {
+                        exchange.getResponseHeaders().add("Content-Length", String.valueOf(object.content().length));
+                        exchange.sendResponseHeaders(200, -1);
+                    } else {
+                        exchange.sendResponseHeaders(200, object.content().length);
+                        try (OutputStream os = exchange.getResponseBody()) {
+                            os.write(object.content());
+                        }
+                    }
+                }
+                case "DELETE" -> {
+                    objects.remove(path);
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleMultipart(HttpExchange exchange, String path, Map<String, String> query) throws IOException {
+        String method = exchange.getRequestMethod();
+        if (method.equals("POST") && query.containsKey("uploads")) {
+            String uploadId = UUID.randomUUID().toString();
+            uploads.put(uploadId, new Upload(path, exchange.getRequestHeaders().getFirst("Content-Type"),
+                    new ConcurrentHashMap<>()));
+            int slash = path.indexOf('/');
+            sendXml(exchange, "<InitiateMultipartUploadResult><Bucket>" + path.substring(0, slash) + "</Bucket><Key>"
+                    + path.substring(slash + 1) + "</Key><UploadId>" + uploadId + "</UploadId></InitiateMultipartUploadResult>");
+            return;
+        }
+        Upload upload = uploads.get(query.get("uploadId"));
+        if (upload == null) {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+        switch (method) {
+            case "PUT" -> {
+                int partNumber = Integer.parseInt(query.get("partNumber"));
+                int now = partsInFlight.incrementAndGet();
+                peakPartsInFlight.accumulateAndGet(now, Math::max);
+                try {
+                    byte[] body = exchange.getRequestBody().readAllBytes();
+                    if (partDelayMillis > 0) Thread.sleep(partDelayMillis);
+                    if (partNumber == failingPart) {
+                        exchange.sendResponseHeaders(500, -1);
+                        return;
+                    }
+                    upload.parts().put(partNumber, body);
+                    exchange.getResponseHeaders().add("ETag", "\"" + md5(body) + "\"");
+                    exchange.sendResponseHeaders(200, -1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    exchange.sendResponseHeaders(500, -1);
+                } finally {
+                    partsInFlight.decrementAndGet();
+                }
+            }
+            case "POST" -> {
+                String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                ByteArrayOutputStream content = new ByteArrayOutputStream();
+                Matcher m = COMPLETED_PART.matcher(request);
+                while (m.find()) {
+                    content.write(upload.parts().get(Integer.parseInt(m.group(1))));
+                }
+                uploads.remove(query.get("uploadId"));
+                byte[] body = content.toByteArray();
+                objects.put(upload.path(), new StoredObject(body, upload.contentType(), md5(body)));
+                sendXml(exchange, "<CompleteMultipartUploadResult><Location>" + url() + "/" + upload.path()
+                        + "</Location><ETag>\"" + md5(body) + "\"</ETag></CompleteMultipartUploadResult>");
+            }
+            case "DELETE" -> {
+                uploads.remove(query.get("uploadId"));
+                abortedUploads.add(query.get("uploadId"));
+                exchange.sendResponseHeaders(204, -1);
+            }
+            default -> exchange.sendResponseHeaders(405, -1);
+        }
+    }
+
+    private void list(HttpExchange exchange, String bucket, String prefix) throws IOException {
+        StringBuilder contents = new StringBuilder();
+        int count = 0;
+        for (Map.Entry<String, StoredObject> entry : new TreeMap<>(objects).entrySet()) {
+            if (!entry.getKey().startsWith(bucket + "/" + prefix)) continue;
+            contents.append("<Contents><Key>").append(entry.getKey().substring(bucket.length() + 1))
+                    .append("</Key><Size>").append(entry.getValue().content().length)
+                    .append("</Size><ETag>&quot;").append(entry.getValue().eTag()).append("&quot;</ETag></Contents>");
+            count++;
+        }
+        sendXml(exchange, "<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\"><Name>" + bucket
+                + "</Name><Prefix>" + prefix + "</Prefix><KeyCount>" + count
+                + "</KeyCount><MaxKeys>1000</MaxKeys><IsTruncated>false</IsTruncated>" + contents + "</ListBucketResult>");
+    }
+
+    private static void sendXml(HttpExchange exchange, String xml) throws IOException {
+        byte[] body = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + xml).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) return query;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            query.put(name, value);
+        }
+        return query;
+    }
+
+    private static String md5(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,193 @@
+package com.deeptruth.deeptruth.service;
+
+import com.deeptruth.deeptruth.base.Enum.UploadStatus;
+import com.deeptruth.deeptruth.base.exception.S3UploadFailedException;
+import com.deeptruth.deeptruth.config.UploadOutboxProperties;
+import com.deeptruth.deeptruth.entity.PendingUpload;
+import com.deeptruth.deeptruth.repository.PendingUploadRepository;
+import com.deeptruth.deeptruth.util.SpooledBinary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class UploadOutboxServiceTest {
+
+    @TempDir Path dir;
+
+    @Mock private PendingUploadRepository pendingUploadRepository;
+    @Mock private AmazonS3Service amazonS3Service;
+    @Mock private BlobStorageService blobStorageService;
+    @Spy private UploadOutboxProperties properties = new UploadOutboxProperties();
+    // 커밋 직후 업로드가 호출 스레드에서 바로 실행되도록
+    @Spy private TaskExecutor uploadOutboxExecutor = new SyncTaskExecutor();
+
+    @InjectMocks
+    private UploadOutboxService service;
+
+    private final Map<Long, PendingUpload> rows = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        properties.setDir(dir.resolve("outbox"));
+        when(amazonS3Service.getUrl(anyString())).thenAnswer(inv -> "https://s3.example/" + inv.getArgument(0));
+        when(pendingUploadRepository.save(any(PendingUpload.class))).thenAnswer(inv -> {
+            PendingUpload row = inv.getArgument(0);
+            row.setPendingUploadId(ids.incrementAndGet());
+            rows.put(row.getPendingUploadId(), row);
+            return row;
+        });
+        when(pendingUploadRepository.findById(anyLong())).thenAnswer(inv -> Optional.ofNullable(rows.get(inv.<Long>getArgument(0))));
+        when(pendingUploadRepository.claim(anyLong(), anyString(), eq(UploadStatus.PENDING), any(), any())).thenReturn(1);
+    }
+
+    private SpooledBinary binary(byte[] bytes) throws Exception {
+        Path tmp = Files.createTempFile(dir, "flask-", ".png");
+        Files.write(tmp, bytes);
+        return new SpooledBinary(tmp, bytes.length, "image/png");
+    }
+
+    @Test
+    @DisplayName("stage → commit: 엔티티 저장과 같은 호출에서 행 저장, 커밋 후 업로드하고 완료 표시 + 스풀 삭제")
+    void commit_savesRowsAndUploadsAfterCommit() throws Exception {
+        byte[] png = {1, 2, 3, 4};
+        SpooledBinary image = binary(png);
+
+        UploadOutboxService.StagedUpload wm = service.stage(image, "watermarks/1/a/watermarked.png", "image/png");
+        UploadOutboxService.StagedUpload msg = service.stage("ab".getBytes(StandardCharsets.UTF_8),
+                "watermarks/1/a/message.txt", "text/plain");
+
+        // 응답 임시 파일은 복사 없이 outbox 로 이동
+        assertThat(Files.exists(image.getPath())).isFalse();
+        assertThat(wm.url()).isEqualTo("https://s3.example/watermarks/1/a/watermarked.png");
+        Path wmSpool = service.spoolPath(wm.spoolFile());
+        assertThat(Files.readAllBytes(wmSpool)).isEqualTo(png);
+
+        when(amazonS3Service.uploadBinary(any(SpooledBinary.class), anyString(), anyString())).thenAnswer(inv -> {
+            SpooledBinary spooled = inv.getArgument(0);
+            assertThat(spooled.getPath()).isEqualTo(service.spoolPath(
+                    inv.getArgument(1, String.class).endsWith(".png") ? wm.spoolFile() : msg.spoolFile()));
+            return "https://s3.example/" + inv.getArgument(1);
+        });
+
+        String saved = service.commit(List.of(wm, msg), () -> "entity");
+
+        assertThat(saved).isEqualTo("entity");
+        assertThat(rows.values()).extracting(PendingUpload::getObjectKey)
+                .containsExactlyInAnyOrder("watermarks/1/a/watermarked.png", "watermarks/1/a/message.txt");
+        assertThat(rows.values()).allMatch(row -> row.getStatus() == UploadStatus.PENDING && row.getAttempts() == 0
+                && service.instanceId().equals(row.getOwner()));
+        verify(amazonS3Service).uploadBinary(any(SpooledBinary.class), eq("watermarks/1/a/watermarked.png"), eq("image/png"));
+        verify(amazonS3Service).uploadBinary(any(SpooledBinary.class), eq("watermarks/1/a/message.txt"), eq("text/plain"));
+        verify(pendingUploadRepository, times(2)).finish(anyLong(), eq(UploadStatus.COMPLETED), isNull(), any());
+        verify(blobStorageService).onUploaded("watermarks/1/a/watermarked.png");
+        assertThat(Files.exists(wmSpool)).isFalse();
+        assertThat(Files.exists(service.spoolPath(msg.spoolFile()))).isFalse();
+    }
+
+    @Test
+    @DisplayName("업로드 실패: 스풀 파일은 남기고 시도 횟수 + 백오프로 재시도 예약")
+    void uploadFailure_reschedulesWithBackoff() throws Exception {
+        UploadOutboxService.StagedUpload staged = service.stage(binary(new byte[]{9}), "noise/1/a.png", "image/png");
+        when(amazonS3Service.uploadBinary(any(SpooledBinary.class), anyString(), anyString()))
+                .thenThrow(new S3UploadFailedException("noise/1/a.png", new RuntimeException("503 Slow Down")));
+
+        LocalDateTime before = LocalDateTime.now();
+        service.commit(List.of(staged), () -> null);
+
+        verify(pendingUploadRepository).reschedule(eq(1L), eq(1),
+                argThat(next -> !next.isBefore(before.plusSeconds(2))), anyString(), any());
+        verify(pendingUploadRepository, never()).finish(anyLong(), any(), any(), any());
+        assertThat(Files.exists(service.spoolPath(staged.spoolFile()))).isTrue();
+    }
+
+    @Test
+    @DisplayName("다른 워커가 lease 를 잡은 행은 건너뜀")
+    void claimedElsewhere_skips() throws Exception {
+        UploadOutboxService.StagedUpload staged = service.stage(binary(new byte[]{9}), "noise/1/a.png", "image/png");
+        when(pendingUploadRepository.claim(anyLong(), any(), any(), any(), any())).thenReturn(0);
+
+        service.commit(List.of(staged), () -> null);
+
+        verify(amazonS3Service, never()).uploadBinary(any(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("폴링과 claim 은 이 인스턴스 id 로 자기 행만, id 는 outbox 디렉터리에 남아 재시작 후에도 같음")
+    void dispatchDue_filtersByOwner() {
+        String owner = service.instanceId();
+        when(pendingUploadRepository.findDueIds(anyString(), any(), any(), any())).thenReturn(List.of());
+
+        service.dispatchDue();
+
+        verify(pendingUploadRepository).findDueIds(eq(owner), eq(UploadStatus.PENDING), any(), any());
+        UploadOutboxService restarted = new UploadOutboxService(pendingUploadRepository, amazonS3Service,
+                blobStorageService, properties, uploadOutboxExecutor);
+        assertThat(restarted.instanceId()).isEqualTo(owner);
+    }
+
+    @Test
+    @DisplayName("owner 없는 예전 행의 스풀 파일이 이 인스턴스에 없으면 실패로 끝내지 않고 lease 만 풀어 둠")
+    void legacyRowWithoutLocalSpool_releasesLease() {
+        rows.put(7L, PendingUpload.builder().pendingUploadId(7L).objectKey("noise/1/a.png")
+                .spoolFile("missing.outbox").size(1L).contentType("image/png")
+                .status(UploadStatus.PENDING).attempts(0).nextAttemptAt(LocalDateTime.now()).build());
+
+        service.process(7L);
+
+        verify(pendingUploadRepository).reschedule(eq(7L), eq(1), any(), eq("spool file not on this instance"), any());
+        verify(pendingUploadRepository, never()).finish(anyLong(), any(), any(), any());
+        verify(amazonS3Service, never()).uploadBinary(any(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("엔티티 저장 실패: 행을 만들지 않고 스풀 파일 삭제")
+    void workFailure_discardsSpool() throws Exception {
+        UploadOutboxService.StagedUpload staged = service.stage(binary(new byte[]{9}), "noise/1/a.png", "image/png");
+
+        assertThatThrownBy(() -> service.commit(List.of(staged), () -> {
+            throw new IllegalStateException("constraint violation");
+        })).isInstanceOf(IllegalStateException.class);
+
+        verify(pendingUploadRepository, never()).save(any());
+        assertThat(Files.exists(service.spoolPath(staged.spoolFile()))).isFalse();
+    }
+
+    @Test
+    @DisplayName("백오프: 2초부터 두 배씩, 상한 600초")
+    void backoff_doublesUpToMax() {
+        assertThat(service.backoff(1)).isEqualTo(Duration.ofSeconds(2));
+        assertThat(service.backoff(2)).isEqualTo(Duration.ofSeconds(4));
+        assertThat(service.backoff(5)).isEqualTo(Duration.ofSeconds(32));
+        assertThat(service.backoff(10)).isEqualTo(Duration.ofSeconds(600));
+        assertThat(service.backoff(100)).isEqualTo(Duration.ofSeconds(600));
+    }
+}
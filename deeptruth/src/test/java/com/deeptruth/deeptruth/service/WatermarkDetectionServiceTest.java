@@ -1,4 +1,5 @@
 package com.deeptruth.deeptruth.service;
+import com.deeptruth.deeptruth.base.Enum.FlaskJobClass;
 import com.deeptruth.deeptruth.base.dto.watermarkDetection.DetectResultDTO;
 import com.deeptruth.deeptruth.base.dto.watermarkDetection.WatermarkDetectionFlaskResponseDTO;
 import com.deeptruth.deeptruth.base.exception.*;
@@ -6,24 +7,29 @@ import com.deeptruth.deeptruth.entity.User;
 import com.deeptruth.deeptruth.entity.Watermark;
 import com.deeptruth.deeptruth.repository.UserRepository;
 import com.deeptruth.deeptruth.repository.WatermarkRepository;
+import com.deeptruth.deeptruth.config.FlaskHedgeProperties;
+import com.deeptruth.deeptruth.service.flask.FlaskClient;
+import com.deeptruth.deeptruth.service.flask.FlaskHedger;
+import com.deeptruth.deeptruth.service.flask.FlaskJob;
+import com.deeptruth.deeptruth.service.flask.FlaskSingleFlight;
 import com.deeptruth.deeptruth.util.ImageHashUtils;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
-import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.web.reactive.function.client.WebClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -34,23 +40,19 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class WatermarkDetectionServiceTest {
     @Mock private WatermarkRepository watermarkRepository;
-    @Mock private WebClient webClient;
     @Mock private UserRepository userRepository;
-
-    @Mock private WebClient.RequestBodyUriSpec uriSpec;
-    @Mock private WebClient.RequestBodySpec bodySpec;
-    @Mock private WebClient.RequestHeadersSpec<?> headersSpec;
+    @Mock private ActiveTaskService activeTaskService;
+    @Mock private FlaskClient flaskClient;
+    @Mock private WatermarkPhashIndex watermarkPhashIndex;
+    @Spy private FlaskSingleFlight flaskSingleFlight = new FlaskSingleFlight();
+    @Spy private FlaskHedger watermarkDetectionHedger = new FlaskHedger("watermark_detection",
+            new FlaskHedgeProperties(), new SimpleMeterRegistry(), Schedulers.parallel());
 
     @InjectMocks
     private WatermarkDetectionService service;
 
-    @BeforeEach
-    void setUp() {
-        try {
-            var f = WatermarkService.class.getDeclaredField("flaskServerUrl");
-            f.setAccessible(true);
-            f.set(service, "http://fake-flask.local");
-        } catch (Exception ignored) {}
+    private static FlaskJob job(FlaskJobClass jobClass) {
+        return argThat(job -> job != null && job.jobClass() == jobClass);
     }
 
     private static User user(long id) {
@@ -69,12 +71,9 @@ class WatermarkDetectionServiceTest {
         return new MockMultipartFile("file", name, contentType, bytes);
     }
 
-    private void mockWebClientOk(WatermarkDetectionFlaskResponseDTO flaskDto) {
-        when(webClient.post()).thenReturn(uriSpec);
-        when(uriSpec.uri(anyString())).thenReturn(bodySpec);
-        when(bodySpec.contentType(eq(MediaType.MULTIPART_FORM_DATA))).thenReturn(bodySpec);
-        when(bodySpec.body(any(BodyInserters.FormInserter.class))).thenReturn((WebClient.RequestHeadersSpec) headersSpec);
-        when(headersSpec.exchangeToMono(any())).thenReturn(Mono.just(flaskDto));
+    private void mockFlaskReturning(Mono<WatermarkDetectionFlaskResponseDTO> response) {
+        when(flaskClient.postMultipart(job(FlaskJobClass.WATERMARK_DETECTION), eq("/watermark-detection"), any(), eq(WatermarkDetectionFlaskResponseDTO.class), eq(watermarkDetectionHedger)))
+                .thenReturn(response);
     }
 
     private static byte[] tinyPng() {
@@ -113,8 +112,8 @@ class WatermarkDetectionServiceTest {
                 .message("ABCD")
                 .phash(p)
                 .build();
-        when(watermarkRepository.findNearestByPhash(anyLong()))
-                .thenReturn(near);
+        when(watermarkPhashIndex.findWithin(anyLong(), anyInt(), anyInt()))
+                .thenReturn(List.of(near));
 
         // Flask OK 응답
         WatermarkDetectionFlaskResponseDTO flask = new WatermarkDetectionFlaskResponseDTO();
@@ -122,7 +121,7 @@ class WatermarkDetectionServiceTest {
         flask.setDetected_at("2025-01-01T00:00:00Z");
         flask.setImage_base64(null);
         flask.setBasename("sample.png");
-        mockWebClientOk(flask);
+        mockFlaskReturning(Mono.just(flask));
 
         // when
         DetectResultDTO result = service.detect(uid, mf, "task-1");
@@ -139,11 +138,98 @@ class WatermarkDetectionServiceTest {
         verify(userRepository).findById(uid);
         verify(watermarkRepository).findFirstBySha256(anyString());
         verify(watermarkRepository).findFirstByNormalizedSha256(anyString());
-        verify(watermarkRepository).findNearestByPhash(anyLong());
-        verify(webClient).post();
+        verify(watermarkPhashIndex).findWithin(anyLong(), eq(30), anyInt());
+        verify(flaskClient).postMultipart(job(FlaskJobClass.WATERMARK_DETECTION), eq("/watermark-detection"), any(), eq(WatermarkDetectionFlaskResponseDTO.class), eq(watermarkDetectionHedger));
+        verify(activeTaskService).registerTask("login", "task-1");
+        verify(activeTaskService).deregisterTask("login");
     }
 
 
+    private static WatermarkDetectionFlaskResponseDTO flaskResult(double bitAccuracy, String imageBase64) {
+        WatermarkDetectionFlaskResponseDTO flask = new WatermarkDetectionFlaskResponseDTO();
+        flask.setBit_accuracy(bitAccuracy);
+        flask.setDetected_at("2025-01-01T00:00:00Z");
+        flask.setImage_base64(imageBase64);
+        return flask;
+    }
+
+    @Test
+    @DisplayName("detect 성공(PHASH 후보 여러 건): 첫 후보 미검출이면 다음 후보로 재시도하고 검출된 결과 반환")
+    void detect_phashCandidates_stopsAtFirstDetected() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L)));
+        byte[] bytes = tinyPng();
+        MockMultipartFile mf = file("a.png", "image/png", bytes);
+
+        when(watermarkRepository.findFirstBySha256(anyString())).thenReturn(Optional.empty());
+        when(watermarkRepository.findFirstByNormalizedSha256(anyString())).thenReturn(Optional.empty());
+        long p = ImageHashUtils.pHash(bytes);
+        Watermark first = Watermark.builder().artifactId("first").message("AAAA").phash(p).build();
+        Watermark second = Watermark.builder().artifactId("second").message("BBBB").phash(p ^ 0b11L).build();
+        Watermark third = Watermark.builder().artifactId("third").message("CCCC").phash(p ^ 0b111L).build();
+        when(watermarkPhashIndex.findWithin(anyLong(), anyInt(), anyInt())).thenReturn(List.of(first, second, third));
+
+        when(flaskClient.postMultipart(job(FlaskJobClass.WATERMARK_DETECTION), eq("/watermark-detection"), any(), eq(WatermarkDetectionFlaskResponseDTO.class), eq(watermarkDetectionHedger)))
+                .thenReturn(Mono.just(flaskResult(0.51D, "bm90LWRldGVjdGVk")))
+                .thenReturn(Mono.just(flaskResult(0.97D, null)));
+
+        DetectResultDTO result = service.detect(1L, mf, "t");
+
+        assertThat(result.getArtifactId()).isEqualTo("second");
+        assertThat(result.getPhashDistance()).isEqualTo(2);
+        assertThat(result.getBitAccuracy()).isEqualTo(0.97D);
+        // 세 번째 후보는 호출하지 않음
+        verify(flaskClient, times(2)).postMultipart(job(FlaskJobClass.WATERMARK_DETECTION), eq("/watermark-detection"), any(), eq(WatermarkDetectionFlaskResponseDTO.class), eq(watermarkDetectionHedger));
+    }
+
+    @Test
+    @DisplayName("detect(PHASH 후보): 이미지가 빠진 응답이어도 bit_accuracy 가 임계 미달이면 다음 후보로 진행")
+    void detect_phashCandidates_missingImageIsNotDetected() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L)));
+        byte[] bytes = tinyPng();
+        MockMultipartFile mf = file("a.png", "image/png", bytes);
+
+        when(watermarkRepository.findFirstBySha256(anyString())).thenReturn(Optional.empty());
+        when(watermarkRepository.findFirstByNormalizedSha256(anyString())).thenReturn(Optional.empty());
+        long p = ImageHashUtils.pHash(bytes);
+        Watermark first = Watermark.builder().artifactId("first").message("AAAA").phash(p).build();
+        Watermark second = Watermark.builder().artifactId("second").message("BBBB").phash(p ^ 1L).build();
+        when(watermarkPhashIndex.findWithin(anyLong(), anyInt(), anyInt())).thenReturn(List.of(first, second));
+
+        when(flaskClient.postMultipart(job(FlaskJobClass.WATERMARK_DETECTION), eq("/watermark-detection"), any(), eq(WatermarkDetectionFlaskResponseDTO.class), eq(watermarkDetectionHedger)))
+                .thenReturn(Mono.just(flaskResult(0.40D, null)))
+                .thenReturn(Mono.just(flaskResult(95.0D, null)));
+
+        DetectResultDTO result = service.detect(1L, mf, "t");
+
+        assertThat(result.getArtifactId()).isEqualTo("second");
+        verify(flaskClient, times(2)).postMultipart(job(FlaskJobClass.WATERMARK_DETECTION), eq("/watermark-detection"), any(), eq(WatermarkDetectionFlaskResponseDTO.class), eq(watermarkDetectionHedger));
+    }
+
+    @Test
+    @DisplayName("detect(PHASH 후보 모두 미검출): 가장 가까운 후보의 결과 반환")
+    void detect_phashCandidates_noneDetected_returnsNearest() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L)));
+        byte[] bytes = tinyPng();
+        MockMultipartFile mf = file("a.png", "image/png", bytes);
+
+        when(watermarkRepository.findFirstBySha256(anyString())).thenReturn(Optional.empty());
+        when(watermarkRepository.findFirstByNormalizedSha256(anyString())).thenReturn(Optional.empty());
+        long p = ImageHashUtils.pHash(bytes);
+        Watermark first = Watermark.builder().artifactId("first").message("AAAA").phash(p).build();
+        Watermark second = Watermark.builder().artifactId("second").message("BBBB").phash(p ^ 1L).build();
+        when(watermarkPhashIndex.findWithin(anyLong(), anyInt(), anyInt())).thenReturn(List.of(first, second));
+
+        when(flaskClient.postMultipart(job(FlaskJobClass.WATERMARK_DETECTION), eq("/watermark-detection"), any(), eq(WatermarkDetectionFlaskResponseDTO.class), eq(watermarkDetectionHedger)))
+                .thenReturn(Mono.just(flaskResult(0.55D, "Zmlyc3Q=")))
+                .thenReturn(Mono.just(flaskResult(0.52D, "c2Vjb25k")));
+
+        DetectResultDTO result = service.detect(1L, mf, "t");
+
+        assertThat(result.getArtifactId()).isEqualTo("first");
+        assertThat(result.getUploadedImageBase64()).isEqualTo("Zmlyc3Q=");
+        verify(flaskClient, times(2)).postMultipart(job(FlaskJobClass.WATERMARK_DETECTION), eq("/watermark-detection"), any(), eq(WatermarkDetectionFlaskResponseDTO.class), eq(watermarkDetectionHedger));
+    }
+
     @Test
     @DisplayName("detect 실패: 사용자 없음 → UserNotFoundException")
     void detect_userNotFound() {
@@ -152,7 +238,7 @@ class WatermarkDetectionServiceTest {
         assertThatThrownBy(() -> service.detect(99L, mf, "t"))
                 .isInstanceOf(UserNotFoundException.class);
         verifyNoInteractions(watermarkRepository);
-        verifyNoInteractions(webClient);
+        verifyNoInteractions(flaskClient);
     }
 
     @Test
@@ -163,7 +249,7 @@ class WatermarkDetectionServiceTest {
         assertThatThrownBy(() -> service.detect(1L, empty, "t"))
                 .isInstanceOf(FileEmptyException.class);
         verifyNoInteractions(watermarkRepository);
-        verifyNoInteractions(webClient);
+        verifyNoInteractions(flaskClient);
     }
 
     @Test
@@ -174,7 +260,7 @@ class WatermarkDetectionServiceTest {
         assertThatThrownBy(() -> service.detect(1L, mf, "t"))
                 .isInstanceOf(InvalidFilenameException.class);
         verifyNoInteractions(watermarkRepository);
-        verifyNoInteractions(webClient);
+        verifyNoInteractions(flaskClient);
     }
 
     @Test
@@ -186,11 +272,12 @@ class WatermarkDetectionServiceTest {
 
         when(watermarkRepository.findFirstBySha256(anyString())).thenReturn(Optional.empty());
         when(watermarkRepository.findFirstByNormalizedSha256(anyString())).thenReturn(Optional.empty());
-        when(watermarkRepository.findNearestByPhash(anyLong())).thenReturn(null);
+        when(watermarkPhashIndex.findWithin(anyLong(), anyInt(), anyInt())).thenReturn(List.of());
+        when(watermarkPhashIndex.isEmpty()).thenReturn(true);
 
         assertThatThrownBy(() -> service.detect(1L, mf, "t"))
                 .isInstanceOf(ArtifactNotFoundException.class);
-        verifyNoInteractions(webClient);
+        verifyNoInteractions(flaskClient);
     }
 
     @Test
@@ -203,18 +290,13 @@ class WatermarkDetectionServiceTest {
         when(watermarkRepository.findFirstBySha256(anyString())).thenReturn(Optional.empty());
         when(watermarkRepository.findFirstByNormalizedSha256(anyString())).thenReturn(Optional.empty());
 
-        long p = ImageHashUtils.pHash(bytes);
-        // p와 충분히 떨어진 값(다른 비트 많이 뒤집기). 간단히 보수(~p) 사용 -> 해밍거리는 보통 64에 근접
-        Watermark far = Watermark.builder()
-                .artifactId("far")
-                .message("ABCD")
-                .phash(~p)
-                .build();
-        when(watermarkRepository.findNearestByPhash(anyLong())).thenReturn(far);
+        // 저장된 워터마크는 있지만 임계 반경 안에는 후보가 없음
+        when(watermarkPhashIndex.findWithin(anyLong(), anyInt(), anyInt())).thenReturn(List.of());
+        when(watermarkPhashIndex.isEmpty()).thenReturn(false);
 
         assertThatThrownBy(() -> service.detect(1L, mf, "t"))
                 .isInstanceOf(SimilarityThresholdExceededException.class);
-        verifyNoInteractions(webClient);
+        verifyNoInteractions(flaskClient);
     }
 
     @Test
@@ -232,11 +314,11 @@ class WatermarkDetectionServiceTest {
         assertThatThrownBy(() -> service.detect(1L, mf, "t"))
                 .isInstanceOf(DataMappingException.class)
                 .hasMessageContaining("메시지가 없습니다");
-        verifyNoInteractions(webClient);
+        verifyNoInteractions(flaskClient);
     }
 
     @Test
-    @DisplayName("detect 실패: Flask exchangeToMono 비정상(예: 4xx/5xx 경로에서 IllegalStateException) → ExternalServiceException(Flask invocation failed)")
+    @DisplayName("detect 실패: Flask 비정상 응답(4xx/5xx) → ExternalServiceException(Flask invocation failed)")
     void detect_flaskNon2xxFlow() {
         // sha/nsha 미스 → pHash 매칭까지 진행되게 목 구성
         when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L)));
@@ -247,14 +329,10 @@ class WatermarkDetectionServiceTest {
         when(watermarkRepository.findFirstByNormalizedSha256(anyString())).thenReturn(Optional.empty());
         long p = ImageHashUtils.pHash(bytes);
         Watermark near = Watermark.builder().artifactId("art").message("ABCD").phash(p).build();
-        when(watermarkRepository.findNearestByPhash(anyLong())).thenReturn(near);
+        when(watermarkPhashIndex.findWithin(anyLong(), anyInt(), anyInt())).thenReturn(List.of(near));
 
-        when(webClient.post()).thenReturn(uriSpec);
-        when(uriSpec.uri(anyString())).thenReturn(bodySpec);
-        when(bodySpec.contentType(eq(MediaType.MULTIPART_FORM_DATA))).thenReturn(bodySpec);
-        when(bodySpec.body(any(BodyInserters.FormInserter.class))).thenReturn((WebClient.RequestHeadersSpec) headersSpec);
-        // exchangeToMono 내부에서 4xx/5xx면 IllegalStateException 으로 Mono.error -> 최종적으로 ExternalServiceException("Flask invocation failed")
-        when(headersSpec.exchangeToMono(any())).thenReturn(Mono.error(new IllegalStateException("4xx")));
+        // FlaskClient 가 4xx/5xx 를 ExternalServiceException("Flask invocation failed") 로 변환해 전달
+        mockFlaskReturning(Mono.error(new ExternalServiceException("Flask invocation failed")));
 
         assertThatThrownBy(() -> service.detect(1L, mf, "t"))
                 .isInstanceOf(ExternalServiceException.class)
@@ -272,13 +350,9 @@ class WatermarkDetectionServiceTest {
         when(watermarkRepository.findFirstByNormalizedSha256(anyString())).thenReturn(Optional.empty());
         long p = ImageHashUtils.pHash(bytes);
         Watermark near = Watermark.builder().artifactId("art").message("ABCD").phash(p).build();
-        when(watermarkRepository.findNearestByPhash(anyLong())).thenReturn(near);
+        when(watermarkPhashIndex.findWithin(anyLong(), anyInt(), anyInt())).thenReturn(List.of(near));
 
-        when(webClient.post()).thenReturn(uriSpec);
-        when(uriSpec.uri(anyString())).thenReturn(bodySpec);
-        when(bodySpec.contentType(eq(MediaType.MULTIPART_FORM_DATA))).thenReturn(bodySpec);
-        when(bodySpec.body(any(BodyInserters.FormInserter.class))).thenReturn((WebClient.RequestHeadersSpec) headersSpec);
-        when(headersSpec.exchangeToMono(any())).thenReturn(Mono.justOrEmpty(null)); // null
+        mockFlaskReturning(Mono.justOrEmpty(null)); // null
 
         assertThatThrownBy(() -> service.detect(1L, mf, "t"))
                 .isInstanceOf(ExternalServiceException.class)
@@ -296,11 +370,11 @@ class WatermarkDetectionServiceTest {
         when(watermarkRepository.findFirstByNormalizedSha256(anyString())).thenReturn(Optional.empty());
         long p = ImageHashUtils.pHash(bytes);
         Watermark near = Watermark.builder().artifactId("art").message("ABCD").phash(p).build();
-        when(watermarkRepository.findNearestByPhash(anyLong())).thenReturn(near);
+        when(watermarkPhashIndex.findWithin(anyLong(), anyInt(), anyInt())).thenReturn(List.of(near));
 
         WatermarkDetectionFlaskResponseDTO flask = new WatermarkDetectionFlaskResponseDTO();
         // bit_accuracy / detected_at 누락
-        mockWebClientOk(flask);
+        mockFlaskReturning(Mono.just(flask));
 
         assertThatThrownBy(() -> service.detect(1L, mf, "t"))
                 .isInstanceOf(DataMappingException.class)
@@ -1,5 +1,6 @@
 package com.deeptruth.deeptruth.service;
 
+import com.deeptruth.deeptruth.base.Enum.FlaskJobClass;
 import com.deeptruth.deeptruth.base.dto.watermark.InsertResultDTO;
 import com.deeptruth.deeptruth.base.dto.watermark.WatermarkFlaskResponseDTO;
 import com.deeptruth.deeptruth.base.exception.ExternalServiceException;
@@ -9,30 +10,45 @@ import com.deeptruth.deeptruth.entity.User;
 import com.deeptruth.deeptruth.entity.Watermark;
 import com.deeptruth.deeptruth.repository.UserRepository;
 import com.deeptruth.deeptruth.repository.WatermarkRepository;
-import org.junit.jupiter.api.BeforeEach;
+import com.deeptruth.deeptruth.service.flask.FlaskBinaryResponse;
+import com.deeptruth.deeptruth.service.flask.FlaskClient;
+import com.deeptruth.deeptruth.service.flask.FlaskJob;
+import com.deeptruth.deeptruth.service.storage.ObjectStorage;
+import com.deeptruth.deeptruth.util.ImageHashUtils;
+import com.deeptruth.deeptruth.util.SpooledBinary;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.MediaType;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpEntity;
 import org.springframework.mock.web.MockMultipartFile;
-import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.util.MultiValueMap;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
-import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
@@ -45,39 +61,64 @@ import static org.mockito.Mockito.*;
 public class WatermarkServiceTest {
     @Mock private WatermarkRepository watermarkRepository;
     @Mock private UserRepository userRepository;
-    @Mock private AmazonS3Service amazonS3Service;
-    @Mock private WebClient webClient;
-
-    // WebClient fluent 체인 목들
-    @Mock private WebClient.RequestBodyUriSpec uriSpec;
-    @Mock private WebClient.RequestBodySpec bodySpec;
-    @Mock private WebClient.RequestHeadersSpec<?> headersSpec;
-    @Mock private WebClient.ResponseSpec responseSpec;
+    @Mock private UploadOutboxService uploadOutboxService;
+    @Mock private BlobStorageService blobStorageService;
+    @Mock private ActiveTaskService activeTaskService;
+    @Mock private FlaskClient flaskClient;
+    @Mock private WatermarkPhashIndex watermarkPhashIndex;
+    @Spy private Scheduler flaskIoScheduler = Schedulers.immediate();
 
     @InjectMocks
     private WatermarkService watermarkService;
 
-    @BeforeEach
-    void setUp() {
-        try {
-            var f = WatermarkService.class.getDeclaredField("flaskServerUrl");
-            f.setAccessible(true);
-            f.set(watermarkService, "http://fake-flask.local");
-        } catch (Exception ignored) {}
+    private static FlaskJob job(FlaskJobClass jobClass) {
+        return argThat(job -> job != null && job.jobClass() == jobClass);
+    }
+
+    private final AtomicReference<byte[]> stagedImage = new AtomicReference<>();
+    private final AtomicReference<Path> stagedImagePath = new AtomicReference<>();
+
+    // outbox 는 스풀 결과만 돌려주고, commit 은 넘겨받은 저장 작업을 그대로 실행
+    private void mockOutbox() {
+        when(uploadOutboxService.stage(any(SpooledBinary.class), anyString(), anyString()))
+                .thenAnswer(inv -> {
+                    SpooledBinary image = inv.getArgument(0);
+                    stagedImage.set(Files.readAllBytes(image.getPath()));
+                    stagedImagePath.set(image.getPath());
+                    return staged(inv.getArgument(1), inv.getArgument(2));
+                });
+        when(uploadOutboxService.stage(any(byte[].class), anyString(), anyString()))
+                .thenAnswer(inv -> staged(inv.getArgument(1), inv.getArgument(2)));
+        when(uploadOutboxService.commit(anyList(), any()))
+                .thenAnswer(inv -> inv.<Supplier<?>>getArgument(1).get());
+    }
+
+    private static UploadOutboxService.StagedUpload staged(String key, String contentType) {
+        return new UploadOutboxService.StagedUpload(key, "spool", 1, contentType, "https://s3.example/" + key);
     }
 
-    private void mockWebClientReturning(WatermarkFlaskResponseDTO dto) {
-        when(webClient.post()).thenReturn(uriSpec);
-        when(uriSpec.uri(anyString())).thenReturn(bodySpec);
-        when(bodySpec.contentType(eq(MediaType.MULTIPART_FORM_DATA))).thenReturn(bodySpec);
-        when(bodySpec.body(any(BodyInserters.MultipartInserter.class))).thenReturn((WebClient.RequestHeadersSpec) headersSpec);
-        when(headersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(eq(WatermarkFlaskResponseDTO.class))).thenReturn(Mono.justOrEmpty(dto));
+    private void mockFlaskReturning(WatermarkFlaskResponseDTO dto) throws Exception {
+        when(flaskClient.postMultipartWithBinaries(job(FlaskJobClass.WATERMARK_INSERT), eq("/watermark-insert"), any(),
+                eq(WatermarkFlaskResponseDTO.class), anySet()))
+                .thenReturn(dto == null ? Mono.empty() : Mono.just(binaryResponse(dto)));
+    }
+
+    // FlaskClient 는 image_base64 를 수신 중에 임시 파일로 디코딩해 넘겨줌
+    private static FlaskBinaryResponse<WatermarkFlaskResponseDTO> binaryResponse(WatermarkFlaskResponseDTO dto) throws Exception {
+        Map<String, SpooledBinary> binaries = new HashMap<>();
+        if (dto.getImage_base64() != null) {
+            byte[] bytes = java.util.Base64.getDecoder().decode(dto.getImage_base64());
+            Path tmp = Files.createTempFile("flask-", ".png");
+            Files.write(tmp, bytes);
+            binaries.put("image_base64", new SpooledBinary(tmp, bytes.length, "application/octet-stream"));
+            dto.setImage_base64(null);
+        }
+        return new FlaskBinaryResponse<>(dto, binaries);
     }
 
 
     @Test
-    @DisplayName("insert 성공: Flask 응답을 받아 S3 업로드 후 DB 저장 및 DTO 반환")
+    @DisplayName("insert 성공: Flask 응답을 outbox 에 스풀하고 DB 저장과 함께 커밋, DTO 반환")
     void insert_success() throws Exception {
         // given
         long userId = 10L;
@@ -103,19 +144,9 @@ public class WatermarkServiceTest {
         var flaskDto = new WatermarkFlaskResponseDTO();
         flaskDto.setImage_base64(java.util.Base64.getEncoder().encodeToString(tinyPng));
         flaskDto.setFilename("watermarked.png");
-        mockWebClientReturning(flaskDto);
-
-        when(amazonS3Service.uploadStream(
-                any(InputStream.class),
-                argThat(k -> k != null && k.endsWith("watermarked.png")),
-                eq("image/png")
-        )).thenReturn("https://s3.example/watermarks/watermarked.png");
+        mockFlaskReturning(flaskDto);
 
-        when(amazonS3Service.uploadStream(
-                any(InputStream.class),
-                argThat(k -> k != null && k.endsWith("message.txt")),
-                eq("text/plain")
-        )).thenReturn("https://s3.example/watermarks/message.txt");
+        mockOutbox();
 
         // DB save mock
         when(watermarkRepository.save(any(Watermark.class)))
@@ -131,14 +162,111 @@ public class WatermarkServiceTest {
         // then
         assertThat(result).isNotNull();
         assertThat(result.getFileName()).isEqualTo("watermarked.png");
-        assertThat(result.getS3WatermarkedKey()).isEqualTo("https://s3.example/watermarks/watermarked.png");
+        String imageKey = BlobStorageService.key(ImageHashUtils.sha256(tinyPng));
+        assertThat(result.getS3WatermarkedKey()).isEqualTo("https://s3.example/" + imageKey);
         assertThat(result.getMessage()).isEqualTo("abcd");
         assertThat(result.getTaskId()).isEqualTo("task-1");
 
         verify(userRepository).findById(userId);
-        verify(webClient).post();
+        verify(flaskClient).postMultipartWithBinaries(job(FlaskJobClass.WATERMARK_INSERT), eq("/watermark-insert"), any(),
+                eq(WatermarkFlaskResponseDTO.class), eq(Set.of("image_base64")));
         verify(watermarkRepository).save(any(Watermark.class));
-        verify(amazonS3Service, times(2)).uploadStream(any(InputStream.class), anyString(), anyString());
+        // 결과물은 내용 주소(sha256) 키로 스풀, 엔티티 저장·blob 참조·pending_upload 행이 한 번의 commit 으로 묶임
+        verify(blobStorageService).awaitCollected(ImageHashUtils.sha256(tinyPng));
+        // blob 행은 commit 트랜잭션 안에서 retain 과 함께 생성 (저장 실패 시 함께 롤백)
+        var order = inOrder(uploadOutboxService, blobStorageService, watermarkRepository);
+        order.verify(uploadOutboxService).commit(anyList(), any());
+        order.verify(blobStorageService).registerStaged(ImageHashUtils.sha256(tinyPng), tinyPng.length, "image/png");
+        order.verify(blobStorageService).retain(anyList());
+        order.verify(watermarkRepository).save(any(Watermark.class));
+        verify(uploadOutboxService).stage(any(SpooledBinary.class), eq(imageKey), eq("image/png"));
+        assertThat(stagedImage.get()).isEqualTo(tinyPng);
+        // 메시지는 blob 저장소 밖, artifactId 아래 비공개 키로 스풀 (참조 카운트 대상 아님)
+        String msgKey = ObjectStorage.PRIVATE_PREFIX + "watermarks/" + userId + "/" + result.getArtifactId() + "/message.txt";
+        verify(uploadOutboxService).stage(eq("abcd".getBytes(StandardCharsets.UTF_8)), eq(msgKey), eq("text/plain"));
+        verify(uploadOutboxService).commit(argThat(list -> list.size() == 2), any());
+        verify(blobStorageService).retain(List.of("https://s3.example/" + imageKey));
+        verify(blobStorageService, never()).register(anyString(), anyLong(), anyString());
+        // outbox 로 옮기지 않은 디코딩 임시 파일은 응답 종료 시 삭제
+        assertThat(Files.exists(stagedImagePath.get())).isFalse();
+    }
+
+    @Test
+    @DisplayName("insert: 같은 내용의 결과물이 이미 올라가 있으면 스풀/업로드 없이 참조만 추가")
+    void insert_reusesStoredBlob() throws Exception {
+        long userId = 10L;
+        when(userRepository.findById(userId))
+                .thenReturn(Optional.of(User.builder().userId(userId).loginId("login").build()));
+
+        BufferedImage img = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ImageIO.write(img, "png", baos);
+        byte[] png = baos.toByteArray();
+
+        var flaskDto = new WatermarkFlaskResponseDTO();
+        flaskDto.setImage_base64(java.util.Base64.getEncoder().encodeToString(png));
+        flaskDto.setFilename("watermarked.png");
+        mockFlaskReturning(flaskDto);
+        when(uploadOutboxService.stage(any(byte[].class), anyString(), anyString()))
+                .thenAnswer(inv -> staged(inv.getArgument(1), inv.getArgument(2)));
+        when(uploadOutboxService.commit(anyList(), any()))
+                .thenAnswer(inv -> inv.<Supplier<?>>getArgument(1).get());
+        when(watermarkRepository.save(any(Watermark.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        String imageUrl = "https://s3.example/" + BlobStorageService.key(ImageHashUtils.sha256(png));
+        when(blobStorageService.reuse(ImageHashUtils.sha256(png))).thenReturn(Optional.of(imageUrl));
+
+        InsertResultDTO result = watermarkService.insert(userId, new MockMultipartFile("file", "input.png", "image/png", png),
+                "ab", "task-3");
+
+        assertThat(result.getS3WatermarkedKey()).isEqualTo(imageUrl);
+        verify(uploadOutboxService, never()).stage(any(SpooledBinary.class), anyString(), anyString());
+        verify(blobStorageService, never()).registerStaged(anyString(), anyLong(), anyString());
+        // 메시지만 새로 스풀, 결과 이미지만 참조 추가
+        verify(uploadOutboxService).commit(argThat(list -> list.size() == 1), any());
+        verify(blobStorageService).retain(List.of(imageUrl));
+    }
+
+    @Test
+    @DisplayName("insert: 업로드는 스풀 파일 리소스로 Flask 에 스트리밍되고, sha256 은 스풀에서 계산, 종료 후 스풀 삭제")
+    void insert_streamsSpooledFile() throws Exception {
+        Long userId = 1L;
+        when(userRepository.findById(userId))
+                .thenReturn(Optional.of(User.builder().userId(userId).loginId("login").build()));
+
+        BufferedImage img = new BufferedImage(2, 2, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ImageIO.write(img, "png", baos);
+        byte[] png = baos.toByteArray();
+
+        var flaskDto = new WatermarkFlaskResponseDTO();
+        flaskDto.setImage_base64(java.util.Base64.getEncoder().encodeToString(png));
+        flaskDto.setFilename("watermarked.png");
+
+        AtomicReference<Path> spooled = new AtomicReference<>();
+        when(flaskClient.postMultipartWithBinaries(job(FlaskJobClass.WATERMARK_INSERT), eq("/watermark-insert"), any(),
+                eq(WatermarkFlaskResponseDTO.class), anySet()))
+                .thenAnswer(inv -> {
+                    MultiValueMap<String, ?> parts = inv.getArgument(2);
+                    Object body = ((HttpEntity<?>) parts.getFirst("image")).getBody();
+                    assertThat(body).isInstanceOf(FileSystemResource.class);
+                    FileSystemResource resource = (FileSystemResource) body;
+                    assertThat(resource.getFilename()).isEqualTo("input.png");
+                    assertThat(Files.exists(resource.getFile().toPath())).isTrue();
+                    spooled.set(resource.getFile().toPath());
+                    return Mono.just(binaryResponse(flaskDto));
+                });
+        when(watermarkRepository.save(any(Watermark.class))).thenAnswer(inv -> inv.getArgument(0));
+        mockOutbox();
+
+        var file = new MockMultipartFile("file", "input.png", "image/png", png);
+
+        InsertResultDTO result = watermarkService.insert(userId, file, "ab", "task-2");
+
+        assertThat(result.getSha256()).isEqualTo(ImageHashUtils.sha256(png));
+        assertThat(result.getPhash()).isEqualTo(ImageHashUtils.pHash(png));
+        assertThat(spooled.get()).isNotNull();
+        assertThat(Files.exists(spooled.get())).isFalse();
     }
 
     @Test
@@ -151,8 +279,8 @@ public class WatermarkServiceTest {
         // when & then
         assertThatThrownBy(() -> watermarkService.insert(999L, file, "ab", "tid"))
                 .isInstanceOf(UserNotFoundException.class);
-        verifyNoInteractions(webClient);
-        verifyNoInteractions(amazonS3Service);
+        verifyNoInteractions(flaskClient);
+        verifyNoInteractions(uploadOutboxService);
         verify(watermarkRepository, never()).save(any());
     }
 
@@ -178,7 +306,7 @@ public class WatermarkServiceTest {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         ImageIO.write(img, "png", baos);
         byte[] validPng = baos.toByteArray();
-        mockWebClientReturning(null);
+        mockFlaskReturning(null);
 
         MockMultipartFile file = new MockMultipartFile(
                 "file", "input.png", "image/png", validPng);
@@ -205,13 +333,13 @@ public class WatermarkServiceTest {
         MockMultipartFile file =
                 new MockMultipartFile("file", "input.png", "image/png", validPng);
 
-        // Flask가 "깨진 base64" 반환하도록 목킹
-        WatermarkFlaskResponseDTO flaskDto = new WatermarkFlaskResponseDTO();
-        flaskDto.setFilename("watermarked.png");
-        flaskDto.setImage_base64("!!not-base64!!"); // 디코딩 실패 유도
-        mockWebClientReturning(flaskDto);
+        // Flask가 "깨진 base64" 반환 → FlaskClient 가 수신 중 디코딩에 실패
+        when(flaskClient.postMultipartWithBinaries(job(FlaskJobClass.WATERMARK_INSERT), eq("/watermark-insert"), any(),
+                eq(WatermarkFlaskResponseDTO.class), anySet()))
+                .thenReturn(Mono.error(new ImageDecodingException("invalid base64 character")));
         assertThatThrownBy(() -> watermarkService.insert(userId, file, "ab", "tid"))
                 .isInstanceOf(ImageDecodingException.class);
+        verifyNoInteractions(uploadOutboxService);
     }
 
     @Test
@@ -260,6 +388,24 @@ public class WatermarkServiceTest {
 
         assertThatThrownBy(() -> watermarkService.deleteWatermark(userId, 100L))
                 .hasMessageContaining("not found");
+        verifyNoInteractions(blobStorageService);
+    }
+
+    @Test
+    @DisplayName("deleteWatermark 성공: 행 삭제 후 두 결과물 참조 해제")
+    void deleteWatermark_releasesBlobs() {
+        long userId = 3L;
+        when(userRepository.findById(userId)).thenReturn(Optional.of(User.builder().userId(userId).build()));
+        Watermark mark = Watermark.builder().watermarkId(100L).s3WatermarkedKey("wm.png").s3MessageKey("msg.txt").build();
+        when(watermarkRepository.findByWatermarkIdAndUser(eq(100L), any(User.class))).thenReturn(Optional.of(mark));
+        when(watermarkRepository.deleteByWatermarkIdAndUser(eq(100L), any(User.class))).thenReturn(1);
+
+        watermarkService.deleteWatermark(userId, 100L);
+
+        var order = inOrder(watermarkRepository, blobStorageService);
+        order.verify(watermarkRepository).deleteByWatermarkIdAndUser(eq(100L), any(User.class));
+        order.verify(blobStorageService).release(List.of("wm.png", "msg.txt"));
+        verify(watermarkPhashIndex).removeAfterCommit(List.of(100L));
     }
 
 }
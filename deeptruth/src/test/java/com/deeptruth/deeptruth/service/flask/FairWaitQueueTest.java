@@ -0,0 +1,101 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskJobClass;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FairWaitQueueTest {
+
+    private static FlaskJob image(String user) {
+        return FlaskJob.of(FlaskJobClass.IMAGE_DEEPFAKE, user, null);
+    }
+
+    private static FlaskJob video(String user) {
+        return FlaskJob.of(FlaskJobClass.VIDEO_DEEPFAKE, user, null);
+    }
+
+    private static List<String> drain(FairWaitQueue<String> queue) {
+        List<String> out = new ArrayList<>();
+        String next;
+        while ((next = queue.poll(c -> true)) != null) out.add(next);
+        return out;
+    }
+
+    @Test
+    @DisplayName("가중치 비율대로 꺼내되, 가중치가 낮은 큐도 굶지 않음")
+    void dequeuesByWeight() {
+        FairWaitQueue<String> queue = new FairWaitQueue<>(Map.of(
+                FlaskJobClass.IMAGE_DEEPFAKE, 3, FlaskJobClass.VIDEO_DEEPFAKE, 1));
+        for (int i = 0; i < 8; i++) {
+            queue.add(video("a"), "v" + i);
+            queue.add(image("a"), "i" + i);
+        }
+
+        List<String> first = drain(queue).subList(0, 8);
+
+        assertThat(first.stream().filter(s -> s.startsWith("i"))).hasSize(6);
+        assertThat(first.stream().filter(s -> s.startsWith("v"))).hasSize(2);
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("같은 큐 안에서는 사용자별로 번갈아 꺼냄 (한 사용자의 대량 작업이 다른 사용자를 밀어내지 않음)")
+    void roundRobinsUsersWithinClass() {
+        FairWaitQueue<String> queue = new FairWaitQueue<>(Map.of());
+        for (int i = 0; i < 20; i++) {
+            queue.add(video("batch"), "batch" + i);
+        }
+        queue.add(video("alice"), "alice0");
+        queue.add(video("bob"), "bob0");
+
+        assertThat(drain(queue).subList(0, 6))
+                .containsExactly("batch0", "alice0", "bob0", "batch1", "batch2", "batch3");
+    }
+
+    @Test
+    @DisplayName("조건을 만족하지 않는 큐는 건너뜀")
+    void skipsIneligibleClasses() {
+        FairWaitQueue<String> queue = new FairWaitQueue<>(Map.of(FlaskJobClass.VIDEO_DEEPFAKE, 10));
+        queue.add(video("a"), "v0");
+        queue.add(image("b"), "i0");
+
+        assertThat(queue.poll(c -> c != FlaskJobClass.VIDEO_DEEPFAKE)).isEqualTo("i0");
+        assertThat(queue.poll(c -> c != FlaskJobClass.VIDEO_DEEPFAKE)).isNull();
+        assertThat(queue.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("order(): 실제로 꺼낼 순서를 큐를 바꾸지 않고 계산")
+    void orderMatchesPollWithoutMutating() {
+        FairWaitQueue<String> queue = new FairWaitQueue<>(Map.of(FlaskJobClass.IMAGE_DEEPFAKE, 2));
+        queue.add(video("a"), "v0");
+        queue.add(video("b"), "v1");
+        queue.add(image("a"), "i0");
+        queue.add(image("a"), "i1");
+        queue.add(image("c"), "i2");
+
+        List<String> predicted = queue.order();
+
+        assertThat(queue.size()).isEqualTo(5);
+        assertThat(drain(queue)).isEqualTo(predicted);
+    }
+
+    @Test
+    @DisplayName("remove: 대기 중 취소된 작업을 빼고 나머지 순서는 유지")
+    void removesCancelled() {
+        FairWaitQueue<String> queue = new FairWaitQueue<>(Map.of());
+        queue.add(image("a"), "i0");
+        queue.add(image("a"), "i1");
+        queue.add(image("b"), "i2");
+
+        assertThat(queue.remove(image("a"), "i0")).isTrue();
+        assertThat(queue.remove(image("a"), "i0")).isFalse();
+        assertThat(drain(queue)).containsExactly("i1", "i2");
+    }
+}
@@ -0,0 +1,235 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskBackend;
+import com.deeptruth.deeptruth.base.Enum.FlaskJobClass;
+import com.deeptruth.deeptruth.base.exception.FlaskBackendBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlaskBulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private FlaskBulkhead bulkhead(int maxConcurrent, int maxQueue, Duration maxWait) {
+        return new FlaskBulkhead(FlaskBackend.DEEPFAKE, maxConcurrent, maxQueue, maxWait, meterRegistry);
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("flask.bulkhead.rejected").tag("backend", "deepfake").tag("reason", reason)
+                .counter().count();
+    }
+
+    @Test
+    @DisplayName("허용치만큼만 동시에 호출하고, 나머지는 대기열에서 순서대로 실행")
+    void limitsConcurrency_andQueuesInOrder() {
+        FlaskBulkhead bulkhead = bulkhead(2, 10, Duration.ofSeconds(30));
+        List<Sinks.One<String>> calls = new CopyOnWriteArrayList<>();
+        List<String> results = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            bulkhead.run(() -> {
+                Sinks.One<String> call = Sinks.one();
+                calls.add(call);
+                return call.asMono();
+            }).subscribe(results::add);
+        }
+
+        assertThat(calls).hasSize(2);
+        assertThat(bulkhead.inFlight()).isEqualTo(2);
+        assertThat(bulkhead.queueDepth()).isEqualTo(2);
+        assertThat(meterRegistry.get("flask.bulkhead.queue.depth").tag("backend", "deepfake").gauge().value())
+                .isEqualTo(2.0);
+
+        calls.get(0).tryEmitValue("a");
+        assertThat(calls).hasSize(3);
+        calls.get(1).tryEmitValue("b");
+        calls.get(2).tryEmitValue("c");
+        calls.get(3).tryEmitValue("d");
+
+        assertThat(results).containsExactly("a", "b", "c", "d");
+        assertThat(bulkhead.inFlight()).isZero();
+        assertThat(bulkhead.queueDepth()).isZero();
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 Flask 를 호출하지 않고 즉시 FlaskBackendBusyException")
+    void rejectsWhenQueueFull() {
+        FlaskBulkhead bulkhead = bulkhead(1, 1, Duration.ofSeconds(30));
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> running = Sinks.one();
+
+        bulkhead.run(() -> { calls.incrementAndGet(); return running.asMono(); }).subscribe();
+        bulkhead.run(() -> { calls.incrementAndGet(); return Mono.just("queued"); }).subscribe();
+
+        assertThatThrownBy(() -> bulkhead.run(() -> { calls.incrementAndGet(); return Mono.just("x"); }).block())
+                .isInstanceOf(FlaskBackendBusyException.class)
+                .hasMessageContaining("queue_full")
+                .satisfies(e -> assertThat(((FlaskBackendBusyException) e).getRetryAfterSeconds()).isPositive());
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(rejected("queue_full")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("대기 시간이 지나면 wait_timeout 으로 거절하고 대기열에서 빠짐")
+    void rejectsAfterMaxWait() {
+        FlaskBulkhead bulkhead = bulkhead(1, 5, Duration.ofMillis(50));
+        bulkhead.run(() -> Sinks.<String>one().asMono()).subscribe();
+
+        assertThatThrownBy(() -> bulkhead.run(() -> Mono.just("late")).block())
+                .isInstanceOf(FlaskBackendBusyException.class)
+                .hasMessageContaining("wait_timeout");
+        assertThat(bulkhead.queueDepth()).isZero();
+        assertThat(bulkhead.inFlight()).isEqualTo(1);
+        assertThat(rejected("wait_timeout")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("실행 중 호출이 취소/실패해도 허가를 반납해 다음 대기 호출이 실행됨")
+    void releasesPermitOnCancelAndError() {
+        FlaskBulkhead bulkhead = bulkhead(1, 5, Duration.ofSeconds(30));
+        Disposable first = bulkhead.run(() -> Sinks.<String>one().asMono()).subscribe();
+        List<String> results = new CopyOnWriteArrayList<>();
+        bulkhead.run(() -> Mono.<String>error(new IllegalStateException("boom")))
+                .onErrorResume(e -> Mono.just("failed"))
+                .subscribe(results::add);
+        bulkhead.run(() -> Mono.just("third")).subscribe(results::add);
+
+        first.dispose();
+
+        assertThat(results).containsExactly("failed", "third");
+        assertThat(bulkhead.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("적응형 한도: 타임아웃이면 한도를 줄이고, 한도가 늘어나면 대기 호출을 바로 실행")
+    void adaptiveLimit_shrinksOnTimeout_andGrantsWaitersOnGrow() {
+        FlaskBulkhead bulkhead = new FlaskBulkhead(FlaskBackend.WATERMARK, 1, 10, Duration.ofSeconds(30),
+                new GradientLimit(4, 1, 16), meterRegistry);
+        List<Sinks.One<String>> calls = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            bulkhead.run(() -> {
+                Sinks.One<String> call = Sinks.one();
+                calls.add(call);
+                return call.asMono();
+            }).subscribe(v -> {}, e -> {});
+        }
+        assertThat(calls).hasSize(4);
+
+        // 과부하 신호 → 곱셈 감소(4 * 0.9), 빈 자리는 새 한도 안에서만 채움
+        calls.get(0).tryEmitError(new TimeoutException("flask timeout"));
+        assertThat(bulkhead.getLimit()).isEqualTo(3);
+        assertThat(calls).hasSize(4);
+
+        bulkhead.setLimit(6);
+        assertThat(calls).hasSize(7);
+        assertThat(bulkhead.queueDepth()).isEqualTo(1);
+        assertThat(meterRegistry.get("flask.bulkhead.limit").tag("backend", "watermark").gauge().value())
+                .isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("한도는 복제 서버 1대당 값: 사용 가능한 서버 수만큼 동시에 호출")
+    void limitScalesWithReplicas() {
+        AtomicInteger replicas = new AtomicInteger(2);
+        FlaskBulkhead bulkhead = new FlaskBulkhead(FlaskBackend.WATERMARK, 2, 10, Duration.ofSeconds(30), null,
+                FlaskBulkhead.Scheduling.FIFO, replicas::get, meterRegistry);
+        List<Sinks.One<String>> calls = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            bulkhead.run(() -> {
+                Sinks.One<String> call = Sinks.one();
+                calls.add(call);
+                return call.asMono();
+            }).subscribe(v -> {}, e -> {});
+        }
+        assertThat(calls).hasSize(4);
+        assertThat(bulkhead.getLimit()).isEqualTo(4);
+
+        // 한 대가 제외되면 반납된 자리를 새 한도(2) 안에서만 채움
+        replicas.set(1);
+        calls.get(0).tryEmitValue("ok");
+        calls.get(1).tryEmitValue("ok");
+        calls.get(2).tryEmitValue("ok");
+        assertThat(calls).hasSize(5);
+        assertThat(bulkhead.inFlight()).isEqualTo(2);
+
+        // 모두 제외돼도 한 대 몫은 유지
+        replicas.set(0);
+        assertThat(bulkhead.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("작업 종류별 우선순위: 영상은 슬롯 비율 상한까지만, 뒤에 온 이미지가 먼저 실행")
+    void jobClasses_videoCappedAndImagesFirst() {
+        FlaskBulkhead bulkhead = new FlaskBulkhead(FlaskBackend.DEEPFAKE, 4, 20, Duration.ofSeconds(30), null,
+                new FlaskBulkhead.Scheduling(
+                        Map.of(FlaskJobClass.IMAGE_DEEPFAKE, 8, FlaskJobClass.VIDEO_DEEPFAKE, 1),
+                        Map.of(FlaskJobClass.VIDEO_DEEPFAKE, 0.5),
+                        FlaskQueueListener.NONE),
+                meterRegistry);
+        List<String> started = new CopyOnWriteArrayList<>();
+        List<Sinks.One<String>> calls = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String name = "video" + i;
+            bulkhead.run(FlaskJob.of(FlaskJobClass.VIDEO_DEEPFAKE, "batch", "v" + i), () -> {
+                started.add(name);
+                Sinks.One<String> call = Sinks.one();
+                calls.add(call);
+                return call.asMono();
+            }).subscribe();
+        }
+        // 영상은 4 * 0.5 = 2건까지만 → 남은 2 슬롯은 이미지용
+        assertThat(started).containsExactly("video0", "video1");
+
+        for (int i = 0; i < 3; i++) {
+            String name = "image" + i;
+            bulkhead.run(FlaskJob.of(FlaskJobClass.IMAGE_DEEPFAKE, "user" + i, "i" + i), () -> {
+                started.add(name);
+                Sinks.One<String> call = Sinks.one();
+                calls.add(call);
+                return call.asMono();
+            }).subscribe();
+        }
+        assertThat(started).containsExactly("video0", "video1", "image0", "image1");
+        assertThat(bulkhead.inFlightOf(FlaskJobClass.VIDEO_DEEPFAKE)).isEqualTo(2);
+
+        // 영상 1건 완료 → 먼저 기다리던 영상이 아니라 가중치 높은 이미지가 실행
+        calls.get(0).tryEmitValue("done");
+        assertThat(started).endsWith("image2");
+    }
+
+    @Test
+    @DisplayName("대기 순번이 바뀔 때마다 예상 대기시간을 리스너로 알림")
+    void notifiesWaitingPositions() {
+        List<String> notices = new CopyOnWriteArrayList<>();
+        FlaskBulkhead bulkhead = new FlaskBulkhead(FlaskBackend.WATERMARK, 1, 10, Duration.ofSeconds(30), null,
+                new FlaskBulkhead.Scheduling(Map.of(), Map.of(),
+                        (job, position, eta) -> notices.add(job.taskId() + "@" + position)),
+                meterRegistry);
+        List<Sinks.One<String>> calls = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            bulkhead.run(FlaskJob.of(FlaskJobClass.WATERMARK_DETECTION, "u" + i, "t" + i), () -> {
+                Sinks.One<String> call = Sinks.one();
+                calls.add(call);
+                return call.asMono();
+            }).subscribe();
+        }
+        assertThat(notices).containsExactly("t1@0", "t2@1");
+
+        calls.get(0).tryEmitValue("ok");
+        assertThat(notices).containsExactly("t1@0", "t2@1", "t2@0");
+    }
+}
@@ -0,0 +1,178 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskBackend;
+import com.deeptruth.deeptruth.base.exception.FlaskBackendBusyException;
+import com.deeptruth.deeptruth.config.FlaskCircuitBreakerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlaskCircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private static FlaskCircuitBreakerProperties.Backend config() {
+        FlaskCircuitBreakerProperties.Backend config = new FlaskCircuitBreakerProperties.Backend(10_000);
+        config.setSlidingWindowSize(10);
+        config.setMinimumCalls(10);
+        return config;
+    }
+
+    private FlaskCircuitBreaker breaker(FlaskCircuitBreakerProperties.Backend config, LongSupplier nanoClock) {
+        return new FlaskCircuitBreaker(FlaskBackend.DEEPFAKE, config, meterRegistry, nanoClock, Schedulers.parallel());
+    }
+
+    private FlaskCircuitBreaker breaker(FlaskCircuitBreakerProperties.Backend config) {
+        return breaker(config, clock::get);
+    }
+
+    private static void succeed(FlaskCircuitBreaker breaker) {
+        breaker.run(() -> Mono.just("ok")).block();
+    }
+
+    private static void fail(FlaskCircuitBreaker breaker, int status) {
+        breaker.run(() -> Mono.error(WebClientResponseException.create(status, "err", null, null, null)))
+                .onErrorResume(WebClientResponseException.class, e -> Mono.empty())
+                .block();
+    }
+
+    private void openBreaker(FlaskCircuitBreaker breaker) {
+        for (int i = 0; i < 5; i++) succeed(breaker);
+        for (int i = 0; i < 5; i++) fail(breaker, 500);
+        assertThat(breaker.getState()).isEqualTo(FlaskCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("실패율이 임계 이상이면 열리고, 열린 동안은 Flask 를 부르지 않고 바로 503")
+    void opensOnFailureRate_andFailsFast() {
+        FlaskCircuitBreaker breaker = breaker(config());
+        openBreaker(breaker);
+
+        AtomicInteger invoked = new AtomicInteger();
+        assertThat(breaker.isCallPermitted()).isFalse();
+        assertThatThrownBy(() -> breaker.run(() -> {
+                    invoked.incrementAndGet();
+                    return Mono.just("ok");
+                }).block())
+                .isInstanceOf(FlaskBackendBusyException.class)
+                .hasMessageContaining("circuit_open")
+                .satisfies(e -> assertThat(((FlaskBackendBusyException) e).getRetryAfterSeconds()).isEqualTo(30));
+        assertThat(invoked).hasValue(0);
+        assertThat(meterRegistry.get("flask.circuit.calls").tag("backend", "deepfake").tag("outcome", "rejected")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("flask.circuit.state").tag("backend", "deepfake").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("최소 호출 수 전에는 실패가 있어도 열지 않고, 4xx 는 실패로 세지 않음")
+    void staysClosedBelowMinimumCalls_andIgnoresClientErrors() {
+        FlaskCircuitBreaker breaker = breaker(config());
+        for (int i = 0; i < 4; i++) fail(breaker, 500);
+        for (int i = 0; i < 20; i++) fail(breaker, 400);
+
+        assertThat(breaker.getState()).isEqualTo(FlaskCircuitBreaker.State.CLOSED);
+        assertThat(breaker.getFailureRate()).isZero();
+    }
+
+    @Test
+    @DisplayName("대기 시간이 지나면 HALF_OPEN: 시험 호출이 모두 성공하면 닫힘")
+    void halfOpen_closesAfterSuccessfulTrials() {
+        FlaskCircuitBreaker breaker = breaker(config());
+        openBreaker(breaker);
+
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(breaker.isCallPermitted()).isTrue();
+        succeed(breaker);
+        assertThat(breaker.getState()).isEqualTo(FlaskCircuitBreaker.State.HALF_OPEN);
+        succeed(breaker);
+        succeed(breaker);
+
+        assertThat(breaker.getState()).isEqualTo(FlaskCircuitBreaker.State.CLOSED);
+        assertThat(breaker.getBufferedCalls()).isZero();
+    }
+
+    @Test
+    @DisplayName("HALF_OPEN 시험 호출이 실패하면 다시 열림, 시험 호출 수를 넘는 요청은 거절")
+    void halfOpen_reopensOnFailure_andLimitsTrials() {
+        FlaskCircuitBreaker breaker = breaker(config());
+        openBreaker(breaker);
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        Sinks.One<String> pending = Sinks.one();
+        Disposable first = breaker.run(pending::asMono).subscribe();
+        breaker.run(Sinks.<String>one()::asMono).subscribe();
+        breaker.run(Sinks.<String>one()::asMono).subscribe();
+        assertThatThrownBy(() -> breaker.run(() -> Mono.just("ok")).block())
+                .isInstanceOf(FlaskBackendBusyException.class);
+
+        // 취소된 시험 호출은 자리를 돌려줌
+        first.dispose();
+        fail(breaker, 503);
+        assertThat(breaker.getState()).isEqualTo(FlaskCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("응답 없이 멈춘 호출은 느린 호출 기준 시간에 바로 기록되어 타임아웃 전에 열림")
+    void hungCallsOpenBeforeTimeout() throws InterruptedException {
+        FlaskCircuitBreakerProperties.Backend config = new FlaskCircuitBreakerProperties.Backend(50);
+        config.setSlidingWindowSize(4);
+        config.setMinimumCalls(4);
+        FlaskCircuitBreaker breaker = breaker(config, System::nanoTime);
+
+        for (int i = 0; i < 4; i++) {
+            breaker.run(Mono::never).subscribe();
+        }
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (breaker.getState() != FlaskCircuitBreaker.State.OPEN && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(breaker.getState()).isEqualTo(FlaskCircuitBreaker.State.OPEN);
+        assertThat(breaker.getSlowCallRate()).isEqualTo(100.0);
+    }
+
+    @Test
+    @DisplayName("호출마다 준 느린 호출 기준을 씀: 백엔드 기준이 길어도 짧은 작업은 그 기준으로 느림 판정")
+    void perCallSlowThreshold() {
+        FlaskCircuitBreakerProperties.Backend config = new FlaskCircuitBreakerProperties.Backend(240_000);
+        config.setSlidingWindowSize(4);
+        config.setMinimumCalls(4);
+        FlaskCircuitBreaker breaker = breaker(config);
+
+        for (int i = 0; i < 4; i++) {
+            breaker.run(30_000, () -> Mono.fromSupplier(() -> {
+                clock.addAndGet(Duration.ofSeconds(31).toNanos());
+                return "ok";
+            })).block();
+        }
+
+        assertThat(breaker.getState()).isEqualTo(FlaskCircuitBreaker.State.OPEN);
+        assertThat(breaker.getSlowCallRate()).isEqualTo(100.0);
+    }
+
+    @Test
+    @DisplayName("비활성화하면 항상 통과")
+    void disabledAlwaysPermits() {
+        FlaskCircuitBreakerProperties.Backend config = config();
+        config.setEnabled(false);
+        FlaskCircuitBreaker breaker = breaker(config);
+        for (int i = 0; i < 20; i++) fail(breaker, 500);
+
+        assertThat(breaker.isCallPermitted()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(FlaskCircuitBreaker.State.CLOSED);
+    }
+}
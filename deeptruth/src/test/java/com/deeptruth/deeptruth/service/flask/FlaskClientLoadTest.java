@@ -0,0 +1,144 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskBackend;
+import com.deeptruth.deeptruth.base.dto.deepfake.FlaskResponseDTO;
+import com.deeptruth.deeptruth.config.FlaskBulkheadProperties;
+import com.deeptruth.deeptruth.config.FlaskCircuitBreakerProperties;
+import com.deeptruth.deeptruth.config.FlaskConnectionPoolProperties;
+import com.deeptruth.deeptruth.config.FlaskLoadBalancerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.client.MultipartBodyBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 느린 Flask 스텁(요청당 200ms)에 동일 부하를 걸어
+ * block() 방식과 Mono 합성 방식의 동시 처리량(in-flight 최대치)을 비교한다.
+ */
+class FlaskClientLoadTest {
+
+    private static final int REQUESTS = 48;
+    private static final int BLOCKING_THREADS = 4;
+    private static final long FLASK_DELAY_MS = 200;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private FlaskWebClients flaskWebClients;
+    private FlaskClient flaskClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/predict", exchange -> {
+            int now = inFlight.incrementAndGet();
+            peakInFlight.accumulateAndGet(now, Math::max);
+            try {
+                exchange.getRequestBody().readAllBytes();
+                Thread.sleep(FLASK_DELAY_MS);
+                byte[] body = "{\"taskId\":\"load\"}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        serverExecutor = Executors.newFixedThreadPool(REQUESTS);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        FlaskConnectionPoolProperties poolProperties = new FlaskConnectionPoolProperties();
+        poolProperties.getDeepfake().setMaxConnections(64);
+        poolProperties.getDeepfake().setPendingAcquireTimeoutMillis(30_000);
+        flaskWebClients = new FlaskWebClients(poolProperties, new SimpleMeterRegistry());
+
+        // bulkhead 가 아닌 호출 방식 자체의 동시성을 보기 위해 제한을 요청 수보다 크게
+        FlaskBulkheadProperties bulkheadProperties = new FlaskBulkheadProperties();
+        bulkheadProperties.setDeepfake(new FlaskBulkheadProperties.Backend(REQUESTS, REQUESTS, 60));
+        String url = "http://127.0.0.1:" + server.getAddress().getPort();
+        flaskClient = new FlaskClient(flaskWebClients, new FlaskBulkheads(bulkheadProperties, new SimpleMeterRegistry()),
+                new FlaskEndpoints(url, url, url, new FlaskLoadBalancerProperties(), new SimpleMeterRegistry()),
+                new FlaskCircuitBreakers(new FlaskCircuitBreakerProperties(), new SimpleMeterRegistry()),
+                Schedulers.boundedElastic());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        flaskWebClients.destroy();
+    }
+
+    private Mono<FlaskResponseDTO> call() {
+        MultipartBodyBuilder mb = new MultipartBodyBuilder();
+        mb.part("file", new ByteArrayResource(new byte[1024]) {
+            @Override public String getFilename() { return "frame.jpg"; }
+        });
+        mb.part("taskId", "load");
+        return flaskClient.postMultipart(FlaskBackend.DEEPFAKE, "/predict", mb.build(), FlaskResponseDTO.class);
+    }
+
+    @Test
+    @DisplayName("block() 방식: 동시 처리량이 호출 스레드 수에 묶임")
+    void blocking_isBoundByThreads() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(BLOCKING_THREADS);
+        try {
+            List<Future<FlaskResponseDTO>> futures = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                futures.add(callers.submit(() -> call().block()));
+            }
+            for (Future<FlaskResponseDTO> f : futures) {
+                assertThat(f.get().getTaskId()).isEqualTo("load");
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(peakInFlight.get()).isLessThanOrEqualTo(BLOCKING_THREADS);
+    }
+
+    @Test
+    @DisplayName("Mono 합성 방식: 스레드 점유 없이 요청 수만큼 동시에 진행")
+    void reactive_scalesWithoutThreads() {
+        long started = System.nanoTime();
+
+        List<FlaskResponseDTO> results = Flux.range(0, REQUESTS)
+                .flatMap(i -> call(), REQUESTS)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        assertThat(results).hasSize(REQUESTS);
+        assertThat(peakInFlight.get()).isGreaterThan(BLOCKING_THREADS * 4);
+        // 순차 4스레드였다면 REQUESTS / 4 * 200ms = 2.4s
+        assertThat(elapsedMs).isLessThan(REQUESTS / BLOCKING_THREADS * FLASK_DELAY_MS);
+    }
+}
@@ -0,0 +1,134 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskBackend;
+import com.deeptruth.deeptruth.base.dto.deepfake.FlaskResponseDTO;
+import com.deeptruth.deeptruth.base.exception.ExternalServiceException;
+import com.deeptruth.deeptruth.config.FlaskBulkheadProperties;
+import com.deeptruth.deeptruth.config.FlaskCircuitBreakerProperties;
+import com.deeptruth.deeptruth.config.FlaskLoadBalancerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlaskClientTest {
+
+    @Mock private FlaskWebClients flaskWebClients;
+    @Mock private WebClient webClient;
+
+    @Mock private WebClient.RequestBodyUriSpec uriSpec;
+    @Mock private WebClient.RequestBodySpec bodySpec;
+    @Mock private WebClient.RequestHeadersSpec<?> headersSpec;
+    @Mock private WebClient.ResponseSpec responseSpec;
+
+    @Spy private FlaskBulkheads flaskBulkheads =
+            new FlaskBulkheads(new FlaskBulkheadProperties(), new SimpleMeterRegistry());
+
+    @Spy private FlaskEndpoints flaskEndpoints = new FlaskEndpoints(
+            "http://deepfake.local", "http://watermark.local", "http://noise.local",
+            new FlaskLoadBalancerProperties(), new SimpleMeterRegistry());
+    @Spy private FlaskCircuitBreakers flaskCircuitBreakers =
+            new FlaskCircuitBreakers(new FlaskCircuitBreakerProperties(), new SimpleMeterRegistry());
+    @Spy private Scheduler flaskIoScheduler = Schedulers.immediate();
+
+    @InjectMocks
+    private FlaskClient flaskClient;
+
+    private void mockChain(Mono<FlaskResponseDTO> body) {
+        when(flaskWebClients.get(any(FlaskBackend.class))).thenReturn(webClient);
+        when(webClient.post()).thenReturn(uriSpec);
+        when(uriSpec.uri(anyString())).thenReturn(bodySpec);
+        when(bodySpec.contentType(eq(MediaType.MULTIPART_FORM_DATA))).thenReturn(bodySpec);
+        when(bodySpec.body(any(BodyInserters.MultipartInserter.class))).thenReturn((WebClient.RequestHeadersSpec) headersSpec);
+        when(headersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(eq(FlaskResponseDTO.class))).thenReturn(body);
+    }
+
+    @Test
+    @DisplayName("postMultipart 성공: 백엔드별 base URL + path 로 호출하고 응답 DTO 반환")
+    void postMultipart_success() {
+        FlaskResponseDTO dto = new FlaskResponseDTO();
+        dto.setTaskId("tid");
+        mockChain(Mono.just(dto));
+
+        FlaskResponseDTO out = flaskClient
+                .postMultipart(FlaskBackend.DEEPFAKE, "/predict", new LinkedMultiValueMap<>(), FlaskResponseDTO.class)
+                .block();
+
+        assertThat(out).isSameAs(dto);
+        verify(uriSpec).uri("http://deepfake.local/predict");
+    }
+
+    @Test
+    @DisplayName("postMultipart: 구독 전에는 요청을 보내지 않음")
+    void postMultipart_lazy() {
+        flaskClient.postMultipart(FlaskBackend.NOISE, "/upload", new LinkedMultiValueMap<>(), FlaskResponseDTO.class);
+
+        verifyNoInteractions(flaskWebClients, webClient);
+    }
+
+    @Test
+    @DisplayName("postMultipart 실패: Flask HTTP 에러(4xx/5xx) → ExternalServiceException")
+    void postMultipart_httpError() {
+        mockChain(Mono.error(new WebClientResponseException("boom", 500, "Internal", null, null, null)));
+
+        assertThatThrownBy(() -> flaskClient
+                .postMultipart(FlaskBackend.DEEPFAKE, "/predict", new LinkedMultiValueMap<>(), FlaskResponseDTO.class)
+                .block())
+                .isInstanceOf(ExternalServiceException.class)
+                .hasMessageContaining("Flask HTTP error");
+    }
+
+    @Test
+    @DisplayName("postMultipart 실패: Flask 요청 실패(연결/타임아웃) → ExternalServiceException")
+    void postMultipart_requestError() {
+        WebClientRequestException connError = new WebClientRequestException(
+                new IOException("conn fail"),
+                HttpMethod.POST,
+                URI.create("http://watermark.local/watermark-detection"),
+                HttpHeaders.EMPTY
+        );
+        mockChain(Mono.error(connError));
+
+        assertThatThrownBy(() -> flaskClient
+                .postMultipart(FlaskBackend.WATERMARK, "/watermark-detection", new LinkedMultiValueMap<>(), FlaskResponseDTO.class)
+                .block())
+                .isInstanceOf(ExternalServiceException.class)
+                .hasMessageContaining("request failed");
+    }
+
+    @Test
+    @DisplayName("postMultipart 실패: 그 외 예외 → ExternalServiceException(Flask invocation failed)")
+    void postMultipart_otherError() {
+        mockChain(Mono.error(new IllegalStateException("decode")));
+
+        assertThatThrownBy(() -> flaskClient
+                .postMultipart(FlaskBackend.WATERMARK, "/watermark-insert", new LinkedMultiValueMap<>(), FlaskResponseDTO.class)
+                .block())
+                .isInstanceOf(ExternalServiceException.class)
+                .hasMessageContaining("Flask invocation failed");
+    }
+}
@@ -0,0 +1,158 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskBackend;
+import com.deeptruth.deeptruth.config.FlaskLoadBalancerProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlaskEndpointPoolTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final FlaskLoadBalancerProperties properties = new FlaskLoadBalancerProperties();
+
+    private FlaskEndpointPool pool(String... urls) {
+        return new FlaskEndpointPool(FlaskBackend.DEEPFAKE, List.of(urls), properties, clock::get);
+    }
+
+    private void advance(Duration d) {
+        clock.addAndGet(d.toNanos());
+    }
+
+    private static void fail(FlaskEndpointPool pool, String url, int status) {
+        pool.call(u -> {
+            assertThat(u).isEqualTo(url);
+            return Mono.error(WebClientResponseException.create(status, "err", null, null, null));
+        }).onErrorResume(e -> Mono.empty()).block();
+    }
+
+    private static FlaskEndpoint endpoint(FlaskEndpointPool pool, String url) {
+        return pool.getEndpoints().stream().filter(e -> e.getUrl().equals(url)).findFirst().orElseThrow();
+    }
+
+    @Test
+    @DisplayName("두 후보 중 진행 중 요청이 적은 서버를 고름")
+    void prefersLeastOutstanding() {
+        FlaskEndpointPool pool = pool("http://a", "http://b");
+        endpoint(pool, "http://a").begin();
+        endpoint(pool, "http://a").begin();
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(pool.choose().getUrl()).isEqualTo("http://b");
+        }
+    }
+
+    @Test
+    @DisplayName("연속 5xx 면 일정 시간 제외, 복귀 후 slow-start 동안 비중을 낮게")
+    void ejectsOnConsecutiveFailures_thenSlowStarts() {
+        FlaskEndpointPool pool = pool("http://a", "http://b");
+        FlaskEndpoint a = endpoint(pool, "http://a");
+        // a 로 간 요청만 503, b 는 정상 → a 만 제외
+        for (int guard = 0; guard < 200 && !a.isEjected(clock.get()); guard++) {
+            pool.call(u -> u.equals("http://a")
+                            ? Mono.error(WebClientResponseException.create(503, "err", null, null, null))
+                            : Mono.just("ok"))
+                    .onErrorResume(e -> Mono.empty())
+                    .block();
+        }
+        assertThat(a.isEjected(clock.get())).isTrue();
+        for (int i = 0; i < 20; i++) {
+            assertThat(pool.choose().getUrl()).isEqualTo("http://b");
+        }
+
+        advance(Duration.ofSeconds(properties.getEjectionSeconds()));
+        assertThat(a.isAvailable(clock.get())).isTrue();
+        // 방금 복귀한 a(가중치 0.1) 는 진행 중 요청이 같으면 밀림
+        for (int i = 0; i < 20; i++) {
+            assertThat(pool.choose().getUrl()).isEqualTo("http://b");
+        }
+
+        advance(Duration.ofSeconds(properties.getSlowStartSeconds()));
+        endpoint(pool, "http://b").begin();
+        assertThat(pool.choose().getUrl()).isEqualTo("http://a");
+    }
+
+    @Test
+    @DisplayName("4xx 는 서버 장애로 보지 않음")
+    void clientErrorsDoNotEject() {
+        FlaskEndpointPool pool = pool("http://a");
+        for (int i = 0; i < 20; i++) {
+            fail(pool, "http://a", 400);
+        }
+        assertThat(endpoint(pool, "http://a").isEjected(clock.get())).isFalse();
+    }
+
+    @Test
+    @DisplayName("반복해서 제외되면 제외 시간이 늘어남 (최대치까지)")
+    void ejectionBacksOff() {
+        FlaskEndpointPool pool = pool("http://a");
+        FlaskEndpoint a = endpoint(pool, "http://a");
+
+        for (int i = 0; i < properties.getEjectAfterFailures(); i++) fail(pool, "http://a", 500);
+        advance(Duration.ofSeconds(properties.getEjectionSeconds()));
+        assertThat(a.isEjected(clock.get())).isFalse();
+
+        for (int i = 0; i < properties.getEjectAfterFailures(); i++) fail(pool, "http://a", 500);
+        advance(Duration.ofSeconds(properties.getEjectionSeconds()));
+        assertThat(a.isEjected(clock.get())).isTrue();
+        advance(Duration.ofSeconds(properties.getEjectionSeconds()));
+        assertThat(a.isEjected(clock.get())).isFalse();
+        assertThat(a.getEjections()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("헤지 요청은 앞서 보낸 서버를 피하고, 모두 보냈으면 아무 서버로")
+    void callExcludesTriedEndpoints() {
+        FlaskEndpointPool pool = pool("http://a", "http://b");
+        Set<FlaskEndpoint> tried = ConcurrentHashMap.newKeySet();
+        // a 는 진행 중 요청이 많아도 b 를 이미 보냈으면 a 로
+        endpoint(pool, "http://a").begin();
+        endpoint(pool, "http://a").begin();
+
+        assertThat(pool.call(Mono::just, tried).block()).isEqualTo("http://b");
+        for (int i = 0; i < 20; i++) {
+            assertThat(pool.choose(tried).getUrl()).isEqualTo("http://a");
+        }
+        assertThat(pool.call(Mono::just, tried).block()).isEqualTo("http://a");
+        assertThat(tried).hasSize(2);
+        assertThat(pool.choose(tried)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("모든 서버가 제외돼도 요청은 보냄")
+    void fallsBackWhenAllUnavailable() {
+        FlaskEndpointPool pool = pool("http://a", "http://b");
+        for (FlaskEndpoint e : pool.getEndpoints()) {
+            pool.onHealthCheck(e, false);
+            pool.onHealthCheck(e, false);
+        }
+        assertThat(pool.getEndpoints()).noneMatch(e -> e.isAvailable(clock.get()));
+        assertThat(pool.choose()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("헬스체크 연속 실패면 제외, 다시 성공하면 slow-start 로 복귀")
+    void healthChecksMarkDownAndUp() {
+        FlaskEndpointPool pool = pool("http://a", "http://b");
+        FlaskEndpoint a = endpoint(pool, "http://a");
+
+        pool.onHealthCheck(a, false);
+        assertThat(a.isAvailable(clock.get())).isTrue();
+        pool.onHealthCheck(a, false);
+        assertThat(a.isAvailable(clock.get())).isFalse();
+
+        pool.onHealthCheck(a, true);
+        assertThat(a.isAvailable(clock.get())).isTrue();
+        assertThat(a.weight(clock.get(), Duration.ofSeconds(properties.getSlowStartSeconds()).toNanos()))
+                .isLessThan(1.0);
+    }
+}
@@ -0,0 +1,129 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.config.FlaskHedgeProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlaskHedgerTest {
+
+    private static final int WARMUP = 25;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private FlaskHedger hedger(boolean enabled) {
+        FlaskHedgeProperties properties = new FlaskHedgeProperties();
+        properties.setEnabled(enabled);
+        properties.setMinDelayMillis(20);
+        return new FlaskHedger("test", properties, meterRegistry, Schedulers.parallel());
+    }
+
+    // 빠른 응답으로 지연 표본을 채움 (헤지 대기시간 = 최소값 20ms, 예산 토큰 25 * 5% = 1.25)
+    private static void warmUp(FlaskHedger hedger) {
+        for (int i = 0; i < WARMUP; i++) {
+            hedger.hedge(() -> Mono.just("fast")).block();
+        }
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).tag("call", "test").counter().count();
+    }
+
+    @Test
+    @DisplayName("첫 요청이 p95 안에 응답하지 않으면 한 번 더 보내고, 먼저 온 응답을 쓰고 진 쪽은 취소")
+    void hedgesStalledCall_andCancelsLoser() {
+        FlaskHedger hedger = hedger(true);
+        warmUp(hedger);
+
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+        String result = hedger.hedge(() -> attempts.incrementAndGet() == 1
+                        ? Mono.<String>never().doOnCancel(() -> primaryCancelled.set(true))
+                        : Mono.just("hedge"))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(attempts).hasValue(2);
+        assertThat(primaryCancelled).isTrue();
+        assertThat(count("flask.hedge.sent")).isEqualTo(1);
+        assertThat(count("flask.hedge.wins")).isEqualTo(1);
+        assertThat(meterRegistry.get("flask.hedge.win.rate").tag("call", "test").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("헤지 예산(전체의 5%)을 다 쓰면 더 보내지 않음")
+    void respectsBudget() {
+        FlaskHedger hedger = hedger(true);
+        warmUp(hedger);
+
+        AtomicInteger attempts = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            attempts.set(0);
+            hedger.hedge(() -> attempts.incrementAndGet() == 1 ? Mono.<String>never() : Mono.just("hedge"))
+                    .timeout(Duration.ofMillis(300), Mono.just("timeout"))
+                    .block();
+        }
+
+        assertThat(count("flask.hedge.sent")).isEqualTo(1);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("헤지 전에 첫 요청이 실패하면 추가 요청 없이 그대로 실패")
+    void failsFastWithoutHedging() {
+        FlaskHedger hedger = hedger(true);
+        warmUp(hedger);
+
+        AtomicInteger attempts = new AtomicInteger();
+        assertThatThrownBy(() -> hedger.hedge(() -> {
+                    attempts.incrementAndGet();
+                    return Mono.<String>error(new IllegalStateException("flask 500"));
+                }).block(Duration.ofSeconds(5)))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(attempts).hasValue(1);
+        assertThat(count("flask.hedge.sent")).isZero();
+    }
+
+    @Test
+    @DisplayName("헤지 요청이 실패해도 첫 요청이 성공하면 그 응답을 씀")
+    void primaryCanStillWin() {
+        FlaskHedger hedger = hedger(true);
+        warmUp(hedger);
+
+        AtomicInteger attempts = new AtomicInteger();
+        String result = hedger.hedge(() -> attempts.incrementAndGet() == 1
+                        ? Mono.delay(Duration.ofMillis(150)).thenReturn("primary")
+                        : Mono.<String>error(new TimeoutException("replica down")))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(result).isEqualTo("primary");
+        assertThat(count("flask.hedge.sent")).isEqualTo(1);
+        assertThat(count("flask.hedge.wins")).isZero();
+    }
+
+    @Test
+    @DisplayName("표본이 부족하거나 비활성화면 헤징하지 않음")
+    void noHedgingWithoutSamplesOrWhenDisabled() {
+        for (FlaskHedger hedger : new FlaskHedger[]{hedger(true), hedger(false)}) {
+            AtomicInteger attempts = new AtomicInteger();
+            hedger.hedge(() -> {
+                        attempts.incrementAndGet();
+                        return Mono.<String>never();
+                    })
+                    .timeout(Duration.ofMillis(200), Mono.just("timeout"))
+                    .block();
+            assertThat(attempts).hasValue(1);
+        }
+    }
+}
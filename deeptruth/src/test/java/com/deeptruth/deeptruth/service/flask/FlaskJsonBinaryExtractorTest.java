@@ -0,0 +1,118 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.dto.deepfake.FlaskResponseDTO;
+import com.deeptruth.deeptruth.base.dto.noise.NoiseFlaskResponseDTO;
+import com.deeptruth.deeptruth.base.exception.ImageDecodingException;
+import com.deeptruth.deeptruth.util.SpooledBinary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlaskJsonBinaryExtractorTest {
+
+    private static final DefaultDataBufferFactory BUFFERS = DefaultDataBufferFactory.sharedInstance;
+
+    // 네트워크 청크처럼 작게 잘라서 흘려보냄 (토큰/이스케이프 중간에서 잘리는 경우 포함)
+    private static Flux<DataBuffer> chunked(String json, int chunkSize) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            int len = Math.min(chunkSize, bytes.length - i);
+            DataBuffer buffer = BUFFERS.allocateBuffer(len);
+            buffer.write(bytes, i, len);
+            buffers.add(buffer);
+        }
+        return Flux.fromIterable(buffers);
+    }
+
+    private static byte[] randomImage(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    @Test
+    @DisplayName("base64 필드는 임시 파일로 디코딩되고 나머지 필드는 DTO 로 매핑")
+    void extractsBase64FieldToFile() throws Exception {
+        byte[] frame = randomImage(50_000);
+        String json = "{\"taskId\":\"t-1\",\"result\":\"FAKE\","
+                + "\"most_suspect_image\":\"" + Base64.getEncoder().encodeToString(frame).replace("/", "\\/") + "\","
+                + "\"timeseries\":{\"most_suspect_image\":\"nested\"},\"frames_processed\":12}";
+
+        FlaskBinaryResponse<FlaskResponseDTO> response = FlaskClient.extractBinaries(
+                        chunked(json, 7), FlaskResponseDTO.class, Set.of("most_suspect_image"), Schedulers.boundedElastic())
+                .block(Duration.ofSeconds(5));
+
+        assertThat(response).isNotNull();
+        assertThat(response.getBody().getTaskId()).isEqualTo("t-1");
+        assertThat(response.getBody().getFramesProcessed()).isEqualTo(12);
+        assertThat(response.getBody().getBase64Url()).isNull();
+        SpooledBinary binary = response.binary("most_suspect_image").orElseThrow();
+        assertThat(binary.getSize()).isEqualTo(frame.length);
+        assertThat(Files.readAllBytes(binary.getPath())).isEqualTo(frame);
+
+        response.close();
+        assertThat(Files.exists(binary.getPath())).isFalse();
+    }
+
+    @Test
+    @DisplayName("data URL 은 접두어에서 content type 을 꺼내고, base64 가 아닌 값(URL)은 그대로 둠")
+    void handlesDataUrlsAndPlainValues() throws Exception {
+        byte[] processed = randomImage(3_001);
+        String json = "{\"originalFilePath\":\"https:\\/\\/cdn.example\\/a.png\","
+                + "\"processedFilePath\":\"data:image/png;base64," + Base64.getEncoder().encodeToString(processed) + "\","
+                + "\"attackSuccess\":true,\"level\":2}";
+
+        FlaskBinaryResponse<NoiseFlaskResponseDTO> response = FlaskClient.extractBinaries(
+                        chunked(json, 3), NoiseFlaskResponseDTO.class, Set.of("originalFilePath", "processedFilePath"),
+                        Schedulers.boundedElastic())
+                .block(Duration.ofSeconds(5));
+
+        assertThat(response).isNotNull();
+        assertThat(response.getBody().getOriginalFilePath()).isEqualTo("https://cdn.example/a.png");
+        assertThat(response.getBody().getProcessedFilePath()).isNull();
+        assertThat(response.getBody().getAttackSuccess()).isTrue();
+        assertThat(response.binary("originalFilePath")).isEmpty();
+        SpooledBinary binary = response.binary("processedFilePath").orElseThrow();
+        assertThat(binary.getContentType()).isEqualTo("image/png");
+        assertThat(Files.readAllBytes(binary.getPath())).isEqualTo(processed);
+        response.close();
+    }
+
+    @Test
+    @DisplayName("base64 가 깨져 있으면 ImageDecodingException, 만들던 임시 파일은 삭제")
+    void invalidBase64_failsAndCleansUp() throws Exception {
+        String json = "{\"image_base64\":\"" + Base64.getEncoder().encodeToString(randomImage(300)) + "!!\"}";
+        Path tmpDir = Path.of(System.getProperty("java.io.tmpdir"));
+        long before = countFlaskTempFiles(tmpDir);
+
+        assertThatThrownBy(() -> FlaskClient.extractBinaries(chunked(json, 64), NoiseFlaskResponseDTO.class, Set.of("image_base64"),
+                        Schedulers.boundedElastic())
+                .block(Duration.ofSeconds(5)))
+                .isInstanceOf(ImageDecodingException.class);
+
+        assertThat(countFlaskTempFiles(tmpDir)).isEqualTo(before);
+    }
+
+    private static long countFlaskTempFiles(Path dir) throws Exception {
+        try (var files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(".flask")).count();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskBackend;
+import com.deeptruth.deeptruth.base.dto.deepfake.FlaskResponseDTO;
+import com.deeptruth.deeptruth.config.FlaskBulkheadProperties;
+import com.deeptruth.deeptruth.config.FlaskCircuitBreakerProperties;
+import com.deeptruth.deeptruth.config.FlaskConnectionPoolProperties;
+import com.deeptruth.deeptruth.config.FlaskLoadBalancerProperties;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로컬 스텁 Flask 서버 3대(정상 2, 5xx 1)를 띄워 복제 서버 간 분배/제외/헬스체크를 확인한다.
+ */
+class FlaskLoadBalancingTest {
+
+    private static final int REQUESTS = 60;
+
+    private final List<HttpServer> servers = new ArrayList<>();
+    private final List<AtomicInteger> hits = new ArrayList<>();
+    private final FlaskLoadBalancerProperties lbProperties = new FlaskLoadBalancerProperties();
+    private final FlaskWebClients flaskWebClients =
+            new FlaskWebClients(new FlaskConnectionPoolProperties(), new SimpleMeterRegistry());
+
+    private FlaskEndpoints endpoints;
+    private FlaskClient flaskClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        List<String> urls = new ArrayList<>();
+        for (int status : new int[]{200, 200, 500}) {
+            urls.add(startStub(status));
+        }
+
+        FlaskBulkheadProperties bulkheadProperties = new FlaskBulkheadProperties();
+        FlaskBulkheadProperties.Backend deepfake = new FlaskBulkheadProperties.Backend(8, REQUESTS, 30);
+        deepfake.setAdaptive(false);
+        bulkheadProperties.setDeepfake(deepfake);
+
+        // 복제 서버 단위 제외만 보기 위해 백엔드 circuit breaker 는 끔
+        FlaskCircuitBreakerProperties circuitProperties = new FlaskCircuitBreakerProperties();
+        circuitProperties.getDeepfake().setEnabled(false);
+
+        endpoints = new FlaskEndpoints(String.join(",", urls), urls.get(0), urls.get(0),
+                lbProperties, new SimpleMeterRegistry());
+        flaskClient = new FlaskClient(flaskWebClients, new FlaskBulkheads(bulkheadProperties, new SimpleMeterRegistry()),
+                endpoints, new FlaskCircuitBreakers(circuitProperties, new SimpleMeterRegistry()), Schedulers.boundedElastic());
+    }
+
+    @AfterEach
+    void tearDown() {
+        servers.forEach(s -> s.stop(0));
+        flaskWebClients.destroy();
+    }
+
+    private String startStub(int status) throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/predict", exchange -> {
+            counter.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = "{\"taskId\":\"lb\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.createContext("/health", exchange -> {
+            exchange.sendResponseHeaders(status == 200 ? 200 : 503, -1);
+            exchange.close();
+        });
+        server.start();
+        servers.add(server);
+        hits.add(counter);
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    private Mono<FlaskResponseDTO> call() {
+        MultipartBodyBuilder mb = new MultipartBodyBuilder();
+        mb.part("file", new ByteArrayResource(new byte[16]) {
+            @Override public String getFilename() { return "frame.jpg"; }
+        });
+        return flaskClient.postMultipart(FlaskBackend.DEEPFAKE, "/predict", mb.build(), FlaskResponseDTO.class);
+    }
+
+    @Test
+    @DisplayName("5xx 를 연속으로 돌려주는 서버는 제외되고, 나머지 요청은 정상 서버들로 나뉨")
+    void ejectsFailingReplica_andSpreadsOverHealthy() {
+        int ok = 0;
+        for (int i = 0; i < REQUESTS; i++) {
+            FlaskResponseDTO out = call().onErrorResume(e -> Mono.empty()).block(Duration.ofSeconds(10));
+            if (out != null) ok++;
+        }
+
+        assertThat(hits.get(2).get()).isEqualTo(lbProperties.getEjectAfterFailures());
+        assertThat(ok).isEqualTo(REQUESTS - lbProperties.getEjectAfterFailures());
+        assertThat(hits.get(0).get()).isPositive();
+        assertThat(hits.get(1).get()).isPositive();
+    }
+
+    @Test
+    @DisplayName("능동 헬스체크: /health 가 5xx 인 서버는 요청을 받기 전에 제외")
+    void healthCheckRemovesUnhealthyReplica() {
+        FlaskHealthChecker checker = new FlaskHealthChecker(WebClient.create(), endpoints, lbProperties);
+        FlaskEndpointPool pool = endpoints.get(FlaskBackend.DEEPFAKE);
+        for (int round = 0; round < lbProperties.getHealthCheckFailures(); round++) {
+            for (FlaskEndpoint endpoint : pool.getEndpoints()) {
+                checker.check(pool, endpoint).block(Duration.ofSeconds(5));
+            }
+        }
+
+        for (int i = 0; i < 20; i++) {
+            call().block(Duration.ofSeconds(10));
+        }
+        assertThat(hits.get(2).get()).isZero();
+        assertThat(hits.get(0).get() + hits.get(1).get()).isEqualTo(20);
+    }
+}
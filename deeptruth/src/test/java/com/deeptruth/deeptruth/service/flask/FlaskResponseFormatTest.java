@@ -0,0 +1,115 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskJobClass;
+import com.deeptruth.deeptruth.base.dto.deepfake.FlaskResponseDTO;
+import com.deeptruth.deeptruth.config.FlaskBulkheadProperties;
+import com.deeptruth.deeptruth.config.FlaskCircuitBreakerProperties;
+import com.deeptruth.deeptruth.config.FlaskConnectionPoolProperties;
+import com.deeptruth.deeptruth.config.FlaskLoadBalancerProperties;
+import com.deeptruth.deeptruth.util.SpooledBinary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.client.MultipartBodyBuilder;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로컬 Flask 스텁으로 결과 이미지 응답 형식 협상을 확인한다.
+ * multipart/mixed 를 지원하면 원본 바이트로, 아니면 기존 base64 JSON 으로 받고 결과는 같아야 한다.
+ */
+class FlaskResponseFormatTest {
+
+    private static final String IMAGE_FIELD = "most_suspect_image";
+    private static final String METADATA = "{\"taskId\":\"fmt\",\"result\":\"FAKE\",\"score_weighted\":0.87}";
+
+    private byte[] image;
+    private FlaskStubServer flask;
+    private FlaskWebClients flaskWebClients;
+    private FlaskClient flaskClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        image = new byte[256 * 1024];
+        new Random(18).nextBytes(image);
+        flask = new FlaskStubServer("/predict", METADATA, IMAGE_FIELD, image, "image/jpeg");
+
+        flaskWebClients = new FlaskWebClients(new FlaskConnectionPoolProperties(), new SimpleMeterRegistry());
+        String url = flask.url();
+        flaskClient = new FlaskClient(flaskWebClients,
+                new FlaskBulkheads(new FlaskBulkheadProperties(), new SimpleMeterRegistry()),
+                new FlaskEndpoints(url, url, url, new FlaskLoadBalancerProperties(), new SimpleMeterRegistry()),
+                new FlaskCircuitBreakers(new FlaskCircuitBreakerProperties(), new SimpleMeterRegistry()),
+                Schedulers.boundedElastic());
+    }
+
+    @AfterEach
+    void tearDown() {
+        flask.close();
+        flaskWebClients.destroy();
+    }
+
+    private FlaskBinaryResponse<FlaskResponseDTO> call() {
+        MultipartBodyBuilder mb = new MultipartBodyBuilder();
+        mb.part("file", new ByteArrayResource(new byte[1024]) {
+            @Override public String getFilename() { return "frame.jpg"; }
+        });
+        return flaskClient.postMultipartWithBinaries(FlaskJob.of(FlaskJobClass.IMAGE_DEEPFAKE, "tester", "fmt"),
+                        "/predict", mb.build(), FlaskResponseDTO.class, Set.of(IMAGE_FIELD))
+                .block(Duration.ofSeconds(10));
+    }
+
+    private void assertSameResult(FlaskBinaryResponse<FlaskResponseDTO> response) throws Exception {
+        assertThat(response.getBody().getTaskId()).isEqualTo("fmt");
+        assertThat(response.getBody().getScoreWeighted()).isEqualTo(0.87f);
+        assertThat(response.getBody().getBase64Url()).isNull();
+        SpooledBinary binary = response.binary(IMAGE_FIELD).orElseThrow();
+        assertThat(binary.getContentType()).isEqualTo("image/jpeg");
+        assertThat(binary.getSize()).isEqualTo(image.length);
+        try (InputStream in = binary.getInputStream()) {
+            assertThat(Arrays.equals(in.readAllBytes(), image)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("multipart/mixed 를 지원하는 Flask: 이미지 파트를 원본 바이트로 받아 임시 파일에 저장")
+    void multipart_streamsRawImagePart() throws Exception {
+        try (FlaskBinaryResponse<FlaskResponseDTO> response = call()) {
+            assertSameResult(response);
+        }
+        assertThat(flask.lastAccept()).startsWith("multipart/mixed");
+    }
+
+    @Test
+    @DisplayName("multipart/mixed 를 모르는 Flask: 기존 base64 JSON 응답으로 대체")
+    void jsonFallback_whenMultipartUnsupported() throws Exception {
+        flask.setMultipartSupported(false);
+        try (FlaskBinaryResponse<FlaskResponseDTO> response = call()) {
+            assertSameResult(response);
+        }
+    }
+
+    @Test
+    @DisplayName("multipart 응답은 base64 JSON 보다 전송 바이트가 약 1/4 적음")
+    void multipart_sendsFewerBytes() {
+        flask.setMultipartSupported(false);
+        call().close();
+        long jsonBytes = flask.bytesSent();
+
+        flask.setMultipartSupported(true);
+        call().close();
+        long multipartBytes = flask.bytesSent() - jsonBytes;
+
+        assertThat(multipartBytes).isLessThan(jsonBytes * 8 / 10);
+    }
+}
@@ -0,0 +1,87 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.exception.ExternalServiceException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlaskSingleFlightTest {
+
+    private final FlaskSingleFlight singleFlight = new FlaskSingleFlight();
+
+    @Test
+    @DisplayName("진행 중인 같은 키 요청은 Flask 를 한 번만 호출하고 결과를 모두에게 전달")
+    void duplicates_shareOneCall() {
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> flask = Sinks.one();
+        List<String> results = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            singleFlight.execute("k", "user" + i, "task-" + i, () -> {
+                calls.incrementAndGet();
+                return flask.asMono();
+            }).subscribe(results::add);
+        }
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(singleFlight.inFlightCount()).isEqualTo(1);
+        assertThat(singleFlight.followersOf("task-0")).containsExactly(
+                new FlaskSingleFlight.ProgressTarget("user1", "task-1"),
+                new FlaskSingleFlight.ProgressTarget("user2", "task-2"));
+
+        flask.tryEmitValue("done");
+
+        assertThat(results).containsExactly("done", "done", "done");
+        assertThat(singleFlight.inFlightCount()).isZero();
+        assertThat(singleFlight.followersOf("task-0")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("완료 후 들어온 요청과 다른 키 요청은 새로 호출")
+    void completedOrDifferentKey_callsAgain() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String first = singleFlight.execute("k", "u", "t1", () -> Mono.fromCallable(calls::incrementAndGet).map(String::valueOf)).block();
+        String second = singleFlight.execute("k", "u", "t2", () -> Mono.fromCallable(calls::incrementAndGet).map(String::valueOf)).block();
+        String other = singleFlight.execute("k2", "u", "t3", () -> Mono.fromCallable(calls::incrementAndGet).map(String::valueOf)).block();
+
+        assertThat(List.of(first, second, other)).containsExactly("1", "2", "3");
+    }
+
+    @Test
+    @DisplayName("Flask 오류는 합쳐진 요청 모두에게 전달되고, 이후 요청은 다시 호출")
+    void error_fansOutAndClears() {
+        Sinks.One<String> flask = Sinks.one();
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+        singleFlight.execute("k", "a", "t1", flask::asMono).subscribe(v -> {}, errors::add);
+        singleFlight.execute("k", "b", "t2", flask::asMono).subscribe(v -> {}, errors::add);
+        flask.tryEmitError(new ExternalServiceException("Flask invocation failed"));
+
+        assertThat(errors).hasSize(2).allMatch(e -> e instanceof ExternalServiceException);
+        assertThat(singleFlight.inFlightCount()).isZero();
+        assertThat(singleFlight.execute("k", "a", "t3", () -> Mono.just("retry")).block()).isEqualTo("retry");
+    }
+
+    @Test
+    @DisplayName("follower 가 먼저 취소해도 leader 는 결과를 받고, follower 는 진행률 대상에서 빠짐")
+    void followerCancel_doesNotAffectLeader() {
+        Sinks.One<String> flask = Sinks.one();
+        List<String> leaderResults = new CopyOnWriteArrayList<>();
+
+        singleFlight.execute("k", "a", "t1", flask::asMono).subscribe(leaderResults::add);
+        var follower = singleFlight.execute("k", "b", "t2", flask::asMono).subscribe();
+        follower.dispose();
+
+        assertThat(singleFlight.followersOf("t1")).isEmpty();
+        flask.tryEmitValue("ok");
+        assertThat(leaderResults).containsExactly("ok");
+    }
+}
@@ -0,0 +1,91 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 결과 이미지 하나를 돌려주는 로컬 Flask 스텁.
+ * 요청 Accept 에 multipart/mixed 가 있고 multipartSupported 면 metadata(JSON) + 이미지 파트로,
+ * 아니면 지금 Flask 처럼 이미지를 data URL(base64)로 JSON 에 넣어 답한다. 보낸 응답 본문 바이트 수를 센다.
+ */
+final class FlaskStubServer implements AutoCloseable {
+
+    static final String BOUNDARY = "flask-stub-boundary";
+
+    private final HttpServer server;
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicReference<String> lastAccept = new AtomicReference<>();
+    private volatile boolean multipartSupported = true;
+
+    FlaskStubServer(String path, String metadataJson, String imageField, byte[] image, String imageType) throws IOException {
+        byte[] json = jsonBody(metadataJson, imageField, image, imageType);
+        byte[] multipart = multipartBody(metadataJson, imageField, image, imageType);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(path, exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            String accept = exchange.getRequestHeaders().getFirst("Accept");
+            lastAccept.set(accept);
+            boolean asMultipart = multipartSupported && accept != null && accept.contains("multipart/mixed");
+            byte[] body = asMultipart ? multipart : json;
+            exchange.getResponseHeaders().add("Content-Type",
+                    asMultipart ? "multipart/mixed; boundary=" + BOUNDARY : "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+            bytesSent.addAndGet(body.length);
+        });
+        server.start();
+    }
+
+    static byte[] jsonBody(String metadataJson, String imageField, byte[] image, String imageType) {
+        String dataUrl = "data:" + imageType + ";base64," + Base64.getEncoder().encodeToString(image);
+        String json = metadataJson.substring(0, metadataJson.lastIndexOf('}'))
+                + ",\"" + imageField + "\":\"" + dataUrl + "\"}";
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] multipartBody(String metadataJson, String imageField, byte[] image, String imageType) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(image.length + 512);
+        out.writeBytes(("--" + BOUNDARY + "\r\n"
+                + "Content-Type: application/json\r\n"
+                + "Content-Disposition: form-data; name=\"" + FlaskMultipartResponseReader.METADATA_PART + "\"\r\n\r\n"
+                + metadataJson + "\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Type: " + imageType + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + imageField + "\"; filename=\"" + imageField + "\"\r\n\r\n")
+                .getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(image);
+        out.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    void setMultipartSupported(boolean multipartSupported) {
+        this.multipartSupported = multipartSupported;
+    }
+
+    long bytesSent() {
+        return bytesSent.get();
+    }
+
+    String lastAccept() {
+        return lastAccept.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,129 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskBackend;
+import com.deeptruth.deeptruth.config.FlaskConnectionPoolProperties;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로컬 스텁 서버(/slow 300ms, /fast 즉시)로 백엔드별 연결 풀 분리와 풀 지표를 확인한다.
+ */
+class FlaskWebClientsTest {
+
+    private static final long SLOW_MS = 300;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private FlaskWebClients flaskWebClients;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(SLOW_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange);
+        });
+        server.createContext("/fast", FlaskWebClientsTest::respond);
+        serverExecutor = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverExecutor);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        // 연결 1개짜리 풀: 두 번째 요청은 연결을 기다려야 함
+        FlaskConnectionPoolProperties properties = new FlaskConnectionPoolProperties();
+        properties.getDeepfake().setMaxConnections(1);
+        properties.getWatermark().setMaxConnections(1);
+        flaskWebClients = new FlaskWebClients(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        flaskWebClients.destroy();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private static void respond(com.sun.net.httpserver.HttpExchange exchange) throws java.io.IOException {
+        byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private Mono<String> get(FlaskBackend backend, String path) {
+        return flaskWebClients.get(backend).get().uri(baseUrl + path).retrieve().bodyToMono(String.class);
+    }
+
+    @Test
+    @DisplayName("풀이 가득 차면 대기 요청이 pending 게이지에 잡히고, 연결 대기 시간이 acquire 타이머에 기록됨")
+    void publishesPoolGaugesAndAcquireTime() throws Exception {
+        // 첫 요청으로 원격 주소별 풀(과 게이지)을 만듦
+        assertThat(get(FlaskBackend.DEEPFAKE, "/fast").block(Duration.ofSeconds(5))).isEqualTo("ok");
+        assertThat(meterRegistry.get("flask.pool.max").tag("backend", "deepfake").gauge().value()).isEqualTo(1);
+
+        Mono<List<String>> both = Flux.merge(get(FlaskBackend.DEEPFAKE, "/slow"), get(FlaskBackend.DEEPFAKE, "/slow"))
+                .collectList()
+                .cache();
+        both.subscribe();
+
+        double peakPending = 0;
+        double peakActive = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (System.nanoTime() < deadline && peakPending < 1) {
+            peakPending = Math.max(peakPending,
+                    meterRegistry.get("flask.pool.pending").tag("backend", "deepfake").gauge().value());
+            peakActive = Math.max(peakActive,
+                    meterRegistry.get("flask.pool.active").tag("backend", "deepfake").gauge().value());
+            Thread.sleep(5);
+        }
+        assertThat(both.block(Duration.ofSeconds(5))).containsExactly("ok", "ok");
+
+        assertThat(peakPending).isGreaterThanOrEqualTo(1);
+        assertThat(peakActive).isEqualTo(1);
+        Timer acquire = meterRegistry.get("flask.pool.acquire").tag("backend", "deepfake").timer();
+        assertThat(acquire.count()).isEqualTo(3);
+        // 두 번째 /slow 는 첫 번째가 끝날 때까지 연결을 기다림
+        assertThat(acquire.max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(SLOW_MS / 2.0);
+    }
+
+    @Test
+    @DisplayName("딥페이크 풀이 가득 차도 워터마크 호출은 자기 풀로 바로 나감")
+    void backendsDoNotShareConnections() {
+        Mono<String> slow = get(FlaskBackend.DEEPFAKE, "/slow").cache();
+        slow.subscribe();
+
+        long started = System.nanoTime();
+        assertThat(get(FlaskBackend.WATERMARK, "/fast").block(Duration.ofSeconds(5))).isEqualTo("ok");
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertThat(elapsedMs).isLessThan(SLOW_MS);
+        assertThat(slow.block(Duration.ofSeconds(5))).isEqualTo("ok");
+        assertThat(flaskWebClients.provider(FlaskBackend.DEEPFAKE).name()).isEqualTo("flask-deepfake");
+        assertThat(flaskWebClients.provider(FlaskBackend.WATERMARK).name()).isEqualTo("flask-watermark");
+    }
+}
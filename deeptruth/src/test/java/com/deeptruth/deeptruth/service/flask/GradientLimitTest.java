@@ -0,0 +1,87 @@
+package com.deeptruth.deeptruth.service.flask;
+
+import com.deeptruth.deeptruth.base.Enum.FlaskJobClass;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientLimitTest {
+
+    private static final long MS = 1_000_000L;
+    private static final FlaskJobClass IMAGE = FlaskJobClass.IMAGE_DEEPFAKE;
+    private static final FlaskJobClass VIDEO = FlaskJobClass.VIDEO_DEEPFAKE;
+
+    @Test
+    @DisplayName("지연이 일정하고 한도를 다 쓰는 중이면 한도가 최대치까지 증가")
+    void growsWhileLatencyStable() {
+        GradientLimit limit = new GradientLimit(4, 1, 32);
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(IMAGE, 200 * MS, limit.getLimit(), false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(32);
+        assertThat(limit.getGradient()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("동시 호출이 늘수록 지연이 늘어나면(Flask 큐잉) 한도가 줄어들어 수렴")
+    void shrinksWhenLatencyInflates() {
+        GradientLimit limit = new GradientLimit(4, 1, 64);
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(IMAGE, 200 * MS, limit.getLimit(), false);
+        }
+        int peak = limit.getLimit();
+
+        // 실제 처리 용량 8: 그 이상은 대기하므로 지연이 비례해서 증가
+        for (int i = 0; i < 300; i++) {
+            int l = limit.getLimit();
+            long rtt = (long) (200 * MS * Math.max(1.0, l / 8.0));
+            limit.onSample(IMAGE, rtt, l, false);
+        }
+        assertThat(limit.getLimit()).isLessThan(peak);
+        assertThat(limit.getGradient()).isLessThan(1.0);
+    }
+
+    @Test
+    @DisplayName("타임아웃/5xx 는 곱셈 감소, 최소 한도 아래로는 내려가지 않음")
+    void backsOffOnDrop() {
+        GradientLimit limit = new GradientLimit(20, 2, 64);
+        assertThat(limit.onSample(IMAGE, 0, 0, true)).isEqualTo(18);
+        for (int i = 0; i < 100; i++) limit.onSample(IMAGE, 0, 0, true);
+        assertThat(limit.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("한도의 절반도 쓰지 않으면 늘리지 않음")
+    void doesNotGrowWhenUnderused() {
+        GradientLimit limit = new GradientLimit(10, 1, 64);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(IMAGE, 100 * MS, 1, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("대당 동시 호출 수가 소수(복제 서버 평균)여도 내림하지 않고 한도 사용 여부를 판단")
+    void fractionalInFlightIsNotRoundedDown() {
+        GradientLimit limit = new GradientLimit(21, 1, 64);
+        limit.onSample(IMAGE, 100 * MS, 0, false);
+        // 10.5 / 21 = 절반 사용 → 표본 반영 (정수로 내림한 10 이면 미사용으로 보고 무시됨)
+        limit.onSample(IMAGE, 1000 * MS, 10.5, false);
+        assertThat(limit.getGradient()).isLessThan(1.0);
+    }
+
+    @Test
+    @DisplayName("작업 종류별 RTT 기준선: 느린 영상 표본이 섞여도 이미지 기준선 대비로는 지연이 늘지 않아 한도 유지")
+    void separatesBaselinesPerJobClass() {
+        GradientLimit limit = new GradientLimit(8, 1, 8);
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(IMAGE, 200 * MS, limit.getLimit(), false);
+            limit.onSample(VIDEO, 60_000 * MS, limit.getLimit(), false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(8);
+        assertThat(limit.getGradient()).isEqualTo(1.0);
+        assertThat(limit.getRttBaselines().get(IMAGE).longRttMillis()).isEqualTo(200.0);
+        assertThat(limit.getRttBaselines().get(VIDEO).longRttMillis()).isEqualTo(60_000.0);
+    }
+}
@@ -0,0 +1,149 @@
+package com.deeptruth.deeptruth.service.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalObjectStorageTest {
+
+    @TempDir Path root;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private LocalObjectStorage storage;
+    private byte[] image;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalObjectStorage(root, "http://localhost:8080/local-storage/",
+                "secret".getBytes(StandardCharsets.UTF_8), clock);
+        image = new byte[200_000];
+        new Random(21).nextBytes(image);
+    }
+
+    @Test
+    @DisplayName("put → stat / 구간 읽기 / delete")
+    void putGetRangeDelete() throws Exception {
+        String url = storage.put("noise/1/a.png", new ByteArrayInputStream(image), image.length, "image/png");
+
+        assertThat(url).isEqualTo("http://localhost:8080/local-storage/noise/1/a.png");
+        ObjectStorage.StoredObject object = storage.stat("noise/1/a.png").orElseThrow();
+        assertThat(object.size()).isEqualTo(image.length);
+        assertThat(object.contentType()).isEqualTo("image/png");
+        assertThat(object.eTag()).hasSize(32);
+
+        try (InputStream in = storage.get("noise/1/a.png", 1000, 5000)) {
+            assertThat(Arrays.equals(in.readAllBytes(), Arrays.copyOfRange(image, 1000, 6000))).isTrue();
+        }
+        try (InputStream in = storage.get("noise/1/a.png", 199_990, -1)) {
+            assertThat(in.readAllBytes()).hasSize(10);
+        }
+
+        storage.delete("noise/1/a.png");
+        assertThat(storage.exists("noise/1/a.png")).isFalse();
+    }
+
+    @Test
+    @DisplayName("길이가 맞지 않는 put 은 기존 객체를 건드리지 않고 임시 파일도 남기지 않음")
+    void failedPut_keepsPreviousObject() throws Exception {
+        storage.put("wm/1/a.png", new ByteArrayInputStream(image), image.length, "image/png");
+
+        assertThatThrownBy(() -> storage.put("wm/1/a.png", new ByteArrayInputStream(new byte[10]), 20, "image/png"))
+                .isInstanceOf(java.io.IOException.class);
+
+        assertThat(storage.stat("wm/1/a.png").orElseThrow().size()).isEqualTo(image.length);
+        try (Stream<Path> files = Files.list(root.resolve("wm/1"))) {
+            assertThat(files.map(p -> p.getFileName().toString()).collect(Collectors.toList()))
+                    .containsExactly("a.png");
+        }
+    }
+
+    @Test
+    @DisplayName("presigned PUT: 같은 키/타입/길이/기한 안에서만 서명이 맞음")
+    void presignPut_verify() {
+        String url = storage.presignPut("deepfake/uploads/1/v.mp4", "video/mp4", 1024,
+                clock.instant().plusSeconds(60)).toString();
+        Map<String, String> query = Arrays.stream(URI.create(url).getQuery().split("&"))
+                .map(kv -> kv.split("=", 2))
+                .collect(Collectors.toMap(kv -> kv[0], kv -> kv[1]));
+        long expires = Long.parseLong(query.get("expires"));
+        String signature = query.get("signature");
+
+        assertThat(storage.verifyPut("deepfake/uploads/1/v.mp4", "video/mp4", 1024, expires, signature)).isTrue();
+        assertThat(storage.verifyPut("deepfake/uploads/1/v.mp4", "video/mp4", 2048, expires, signature)).isFalse();
+        assertThat(storage.verifyPut("deepfake/uploads/2/v.mp4", "video/mp4", 1024, expires, signature)).isFalse();
+        assertThat(storage.verifyPut("deepfake/uploads/1/v.mp4", "image/png", 1024, expires, signature)).isFalse();
+        assertThat(storage.verifyPut("deepfake/uploads/1/v.mp4", "video/mp4", 1024, expires - 3600, signature)).isFalse();
+    }
+
+    @Test
+    @DisplayName("presigned GET: 비공개 접두어 아래 객체만 서명이 필요하고, 같은 키/기한 안에서만 맞음")
+    void presignGet_verify() {
+        LocalObjectStorage storage = new LocalObjectStorage(root, "http://localhost:8080/local-storage/",
+                "secret".getBytes(StandardCharsets.UTF_8), clock, List.of("deepfake/uploads/"));
+        String url = storage.presignGet("deepfake/uploads/1/v.mp4", clock.instant().plusSeconds(60)).toString();
+        Map<String, String> query = Arrays.stream(URI.create(url).getQuery().split("&"))
+                .map(kv -> kv.split("=", 2))
+                .collect(Collectors.toMap(kv -> kv[0], kv -> kv[1]));
+        long expires = Long.parseLong(query.get("expires"));
+        String signature = query.get("signature");
+
+        assertThat(storage.isPublicRead("deepfake/uploads/1/v.mp4")).isFalse();
+        assertThat(storage.isPublicRead("deepfake/1/frame.jpg")).isTrue();
+        assertThat(storage.isPublicRead(ObjectStorage.PRIVATE_PREFIX + "watermarks/1/a/message.txt")).isFalse();
+        assertThat(storage.verifyGet("deepfake/uploads/1/v.mp4", expires, signature)).isTrue();
+        assertThat(storage.verifyGet("deepfake/uploads/2/v.mp4", expires, signature)).isFalse();
+        assertThat(storage.verifyGet("deepfake/uploads/1/v.mp4", expires + 3600, signature)).isFalse();
+        // PUT 서명으로는 읽을 수 없음
+        String putSignature = URI.create(storage.presignPut("deepfake/uploads/1/v.mp4", "video/mp4", 1024,
+                clock.instant().plusSeconds(60)).toString()).getQuery().replaceAll(".*signature=", "");
+        assertThat(storage.verifyGet("deepfake/uploads/1/v.mp4", expires, putSignature)).isFalse();
+    }
+
+    @Test
+    @DisplayName("list: prefix 아래 객체 키만 (메타데이터 / 다른 prefix 제외)")
+    void listByPrefix() throws Exception {
+        storage.put("deepfake/uploads/1/a.mp4", new ByteArrayInputStream(image), image.length, "video/mp4");
+        storage.put("deepfake/uploads/1/sub/b.mp4", new ByteArrayInputStream(image), image.length, "video/mp4");
+        storage.put("deepfake/uploads/10/c.mp4", new ByteArrayInputStream(image), image.length, "video/mp4");
+
+        assertThat(storage.list("deepfake/uploads/1/"))
+                .containsExactlyInAnyOrder("deepfake/uploads/1/a.mp4", "deepfake/uploads/1/sub/b.mp4");
+        assertThat(storage.list("deepfake/uploads/2/")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("root 밖이나 메타데이터 디렉터리를 가리키는 키 거절 (정규화한 뒤 판단)")
+    void rejectsTraversal() {
+        assertThatThrownBy(() -> storage.put("../x", new ByteArrayInputStream(image), image.length, "image/png"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> storage.stat("/etc/passwd"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> storage.stat(".meta/noise/1/a.png.properties"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> storage.put("noise/../.meta/noise/1/a.png.properties",
+                new ByteArrayInputStream(image), image.length, "image/png"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> storage.stat("./.meta/x"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
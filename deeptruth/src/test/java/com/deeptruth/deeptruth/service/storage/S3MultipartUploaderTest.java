@@ -0,0 +1,101 @@
+package com.deeptruth.deeptruth.service.storage;
+
+import com.deeptruth.deeptruth.service.S3StubServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class S3MultipartUploaderTest {
+
+    private static final String BUCKET = "deeptruth";
+    private static final int PART_SIZE = 64 * 1024;
+    private static final int PARALLELISM = 3;
+
+    private S3StubServer s3;
+    private ExecutorService executor;
+    private S3ObjectStorage storage;
+    private byte[] video;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        s3 = new S3StubServer();
+        executor = Executors.newFixedThreadPool(8);
+        S3MultipartUploader uploader = new S3MultipartUploader(s3.client(), executor, PART_SIZE, PARALLELISM);
+        storage = new S3ObjectStorage(s3.client(), BUCKET, uploader, PART_SIZE * 2L);
+        video = new byte[PART_SIZE * 10 + 1234];
+        new Random(22).nextBytes(video);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        s3.close();
+    }
+
+    // available() 로 길이를 알 수 없는 스트림
+    private static InputStream unknownLength(byte[] content) {
+        return new FilterInputStream(new ByteArrayInputStream(content)) {
+            @Override
+            public int available() {
+                return 0;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("길이를 모르는 스트림: 파트로 나눠 병렬 전송, 동시 파트 수는 parallelism 이하")
+    void unknownLength_uploadsPartsInParallel() throws Exception {
+        s3.setPartDelayMillis(100);
+
+        String url = storage.put("deepfake/1/video.mp4", unknownLength(video), -1, "video/mp4");
+
+        assertThat(url).endsWith("/deeptruth/deepfake/1/video.mp4");
+        S3StubServer.StoredObject stored = s3.get(BUCKET, "deepfake/1/video.mp4");
+        assertThat(stored.content()).isEqualTo(video);
+        assertThat(stored.contentType()).isEqualTo("video/mp4");
+        assertThat(s3.peakPartsInFlight()).isGreaterThan(1).isLessThanOrEqualTo(PARALLELISM);
+        assertThat(s3.pendingUploads()).isZero();
+    }
+
+    @Test
+    @DisplayName("파트 하나가 실패하면 multipart 업로드를 abort 하고 객체를 남기지 않음")
+    void failedPart_abortsUpload() {
+        s3.failPart(4);
+
+        assertThatThrownBy(() -> storage.put("deepfake/1/video.mp4", new ByteArrayInputStream(video),
+                video.length, "video/mp4"))
+                .isInstanceOf(IOException.class);
+
+        assertThat(s3.abortedUploads()).hasSize(1);
+        assertThat(s3.pendingUploads()).isZero();
+        assertThat(s3.get(BUCKET, "deepfake/1/video.mp4")).isNull();
+    }
+
+    @Test
+    @DisplayName("임계값 미만은 단일 PUT, 한 파트 안에 끝나는 스트림도 multipart 없이 단일 PUT")
+    void smallObjects_useSinglePut() throws Exception {
+        byte[] small = new byte[PART_SIZE / 2];
+        new Random(1).nextBytes(small);
+
+        storage.put("noise/1/a.png", new ByteArrayInputStream(small), small.length, "image/png");
+        storage.put("watermark/1/msg.txt", unknownLength(small), -1, "text/plain");
+
+        assertThat(s3.get(BUCKET, "noise/1/a.png").content()).isEqualTo(small);
+        assertThat(s3.get(BUCKET, "watermark/1/msg.txt").content()).isEqualTo(small);
+        assertThat(s3.get(BUCKET, "watermark/1/msg.txt").contentType()).isEqualTo("text/plain");
+        assertThat(s3.peakPartsInFlight()).isZero();
+        assertThat(s3.abortedUploads()).isEmpty();
+    }
+}
@@ -0,0 +1,63 @@
+package com.deeptruth.deeptruth.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageFingerprintTest {
+
+    private static byte[] encode(String format, int width, int height) throws Exception {
+        Random random = new Random(42);
+        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++)
+            for (int x = 0; x < width; x++)
+                img.setRGB(x, y, ((x * 5) << 16 | (y * 3) << 8 | random.nextInt(64)) & 0xFFFFFF);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(img, format, out);
+        return out.toByteArray();
+    }
+
+    @Test
+    @DisplayName("of(byte[]): 기존 세 번 호출(sha256 / normalize+sha256 / pHash)과 동일한 결과")
+    void matchesThreeCallSequence() throws Exception {
+        for (String format : new String[]{"png", "jpg"}) {
+            byte[] data = encode(format, 320, 240);
+
+            ImageFingerprint fp = ImageFingerprint.of(data);
+
+            assertThat(fp.getSha256()).isEqualTo(ImageHashUtils.sha256(data));
+            assertThat(fp.getNormalizedSha256()).isEqualTo(ImageHashUtils.sha256(ImageNormalizer.normalizeToPng(data)));
+            assertThat(fp.getPhash()).isEqualTo(ImageHashUtils.pHash(data));
+        }
+    }
+
+    @Test
+    @DisplayName("of(sha256, path): 파일에서 직접 디코딩해도 동일한 정규화 해시/pHash")
+    void fromPath(@TempDir Path dir) throws Exception {
+        byte[] data = encode("png", 200, 100);
+        Path file = Files.write(dir.resolve("img.upload"), data);
+
+        ImageFingerprint fp = ImageFingerprint.of("precomputed", file);
+
+        assertThat(fp.getSha256()).isEqualTo("precomputed");
+        assertThat(fp.getNormalizedSha256()).isEqualTo(ImageHashUtils.sha256(ImageNormalizer.normalizeToPng(data)));
+        assertThat(fp.getPhash()).isEqualTo(ImageHashUtils.pHash(data));
+    }
+
+    @Test
+    @DisplayName("이미지가 아니면 IllegalArgumentException")
+    void invalidImage() {
+        assertThatThrownBy(() -> ImageFingerprint.of(new byte[]{1, 2, 3}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,110 @@
+package com.deeptruth.deeptruth.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageHashUtilsTest {
+
+    @Test
+    @DisplayName("pHash golden: 기존 구현으로 만든 코퍼스 해시와 비트 단위로 동일")
+    void pHash_matchesGoldenCorpus() throws Exception {
+        List<String> lines;
+        try (InputStream in = getClass().getResourceAsStream("/phash/golden.txt")) {
+            lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .filter(l -> !l.isBlank() && !l.startsWith("#"))
+                    .toList();
+        }
+        assertThat(lines).hasSizeGreaterThanOrEqualTo(20);
+
+        for (String line : lines) {
+            String[] parts = line.split(" ");
+            byte[] data;
+            try (InputStream in = getClass().getResourceAsStream("/phash/corpus/" + parts[0])) {
+                data = in.readAllBytes();
+            }
+            assertThat(String.format("%016x", ImageHashUtils.pHash(data)))
+                    .as(parts[0])
+                    .isEqualTo(parts[1]);
+        }
+    }
+
+    @Test
+    @DisplayName("pHash: 임의 이미지에서도 기존 전체 32x32 DCT 구현과 동일")
+    void pHash_matchesNaiveReference() throws Exception {
+        Random random = new Random(3);
+        for (int i = 0; i < 200; i++) {
+            int w = 1 + random.nextInt(120), h = 1 + random.nextInt(120);
+            int mode = random.nextInt(3);
+            BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            for (int y = 0; y < h; y++)
+                for (int x = 0; x < w; x++)
+                    img.setRGB(x, y, switch (mode) {
+                        case 0 -> random.nextInt(0xFFFFFF);
+                        case 1 -> 0x7F7F7F; // 단색: AC 계수가 반올림 잡음 수준
+                        default -> ((x * 3 + y) & 0xFF) * 0x010101;
+                    });
+
+            assertThat(ImageHashUtils.pHash(img)).isEqualTo(naivePHash(img));
+        }
+    }
+
+    @Test
+    @DisplayName("hammingDistance: 다른 비트 수")
+    void hammingDistance() {
+        assertThat(ImageHashUtils.hammingDistance(0L, 0L)).isZero();
+        assertThat(ImageHashUtils.hammingDistance(0L, -1L)).isEqualTo(64);
+        assertThat(ImageHashUtils.hammingDistance(0b1010L, 0b0110L)).isEqualTo(2);
+    }
+
+    // 최적화 이전 구현 (32x32 전체 DCT, 매번 Math.cos)
+    private static long naivePHash(BufferedImage img) {
+        BufferedImage gray = new BufferedImage(32, 32, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = gray.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(img, 0, 0, 32, 32, null);
+        g.dispose();
+
+        double[][] f = new double[32][32];
+        for (int y = 0; y < 32; y++)
+            for (int x = 0; x < 32; x++)
+                f[y][x] = gray.getRaster().getSample(x, y, 0);
+
+        int N = 32;
+        double[][] F = new double[N][N];
+        double c0 = Math.sqrt(1.0 / N), c = Math.sqrt(2.0 / N);
+        for (int u = 0; u < N; u++) for (int v = 0; v < N; v++) {
+            double sum = 0.0;
+            for (int x = 0; x < N; x++) for (int y = 0; y < N; y++) {
+                sum += f[x][y] *
+                        Math.cos(((2 * x + 1) * u * Math.PI) / (2 * N)) *
+                        Math.cos(((2 * y + 1) * v * Math.PI) / (2 * N));
+            }
+            double au = (u == 0) ? c0 : c, av = (v == 0) ? c0 : c;
+            F[u][v] = au * av * sum;
+        }
+
+        double[] coeff = new double[64];
+        int k = 0;
+        for (int y = 0; y < 8; y++)
+            for (int x = 0; x < 8; x++) {
+                if (x == 0 && y == 0) continue;
+                coeff[k++] = F[y][x];
+            }
+        double[] sorted = coeff.clone();
+        Arrays.sort(sorted);
+        double median = (sorted[31] + sorted[32]) / 2.0;
+        long hash = 0L;
+        for (int i = 0; i < 64; i++) if (coeff[i] >= median) hash |= (1L << (63 - i));
+        return hash;
+    }
+}
@@ -0,0 +1,121 @@
+package com.deeptruth.deeptruth.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhashIndexTest {
+
+    @Test
+    @DisplayName("nearest: 전체 스캔(SQL 정렬과 동일 기준)과 같은 id/거리를 반환")
+    void nearest_matchesBruteForce() {
+        Random random = new Random(42);
+        PhashIndex index = new PhashIndex();
+        Map<Long, Long> stored = new HashMap<>();
+        long[] hashes = new long[20_000];
+
+        for (int i = 0; i < hashes.length; i++) {
+            // 일부는 기존 해시의 near-duplicate 로 넣어 동률/근접 상황을 만든다
+            long hash = (i > 0 && random.nextInt(4) == 0)
+                    ? hashes[random.nextInt(i)] ^ (1L << random.nextInt(64))
+                    : random.nextLong();
+            hashes[i] = hash;
+            long id = 1000L + i * 3L;
+            index.put(id, hash);
+            stored.put(id, hash);
+        }
+        for (int i = 0; i < 2_000; i++) {
+            long id = 1000L + random.nextInt(hashes.length) * 3L;
+            index.remove(id);
+            stored.remove(id);
+        }
+        assertThat(index.size()).isEqualTo(stored.size());
+
+        for (int q = 0; q < 2_000; q++) {
+            long query;
+            if (random.nextBoolean()) {
+                query = hashes[random.nextInt(hashes.length)];
+                for (int f = random.nextInt(24); f > 0; f--) query ^= 1L << random.nextInt(64);
+            } else {
+                query = random.nextLong();
+            }
+
+            long bestId = Long.MAX_VALUE;
+            int bestDist = Integer.MAX_VALUE;
+            for (Map.Entry<Long, Long> e : stored.entrySet()) {
+                int d = ImageHashUtils.hammingDistance(query, e.getValue());
+                if (d < bestDist || (d == bestDist && e.getKey() < bestId)) {
+                    bestDist = d;
+                    bestId = e.getKey();
+                }
+            }
+
+            Optional<PhashIndex.Match> match = index.nearest(query);
+            assertThat(match).contains(new PhashIndex.Match(bestId, bestDist));
+            assertThat(index.nearestByScan(query)).isEqualTo(match);
+        }
+    }
+
+    @Test
+    @DisplayName("search: 반경 이내 항목을 (거리, id) 순 top-K 로, 전체 스캔 결과와 동일하게 반환")
+    void search_matchesBruteForce() {
+        Random random = new Random(7);
+        PhashIndex index = new PhashIndex();
+        long[] hashes = new long[5_000];
+        for (int i = 0; i < hashes.length; i++) {
+            long hash = (i > 0 && random.nextInt(3) == 0)
+                    ? hashes[random.nextInt(i)] ^ (1L << random.nextInt(64)) ^ (1L << random.nextInt(64))
+                    : random.nextLong();
+            hashes[i] = hash;
+            index.put(i + 1L, hash);
+        }
+
+        Comparator<PhashIndex.Match> order =
+                Comparator.comparingInt(PhashIndex.Match::distance).thenComparingLong(PhashIndex.Match::id);
+        int[] radii = {0, 4, 12, 30, 64};
+        for (int q = 0; q < 500; q++) {
+            long query = random.nextBoolean()
+                    ? hashes[random.nextInt(hashes.length)] ^ (1L << random.nextInt(64))
+                    : random.nextLong();
+            int radius = radii[random.nextInt(radii.length)];
+            int limit = 1 + random.nextInt(8);
+
+            List<PhashIndex.Match> expected = new ArrayList<>();
+            for (int i = 0; i < hashes.length; i++) {
+                int d = ImageHashUtils.hammingDistance(query, hashes[i]);
+                if (d <= radius) expected.add(new PhashIndex.Match(i + 1L, d));
+            }
+            expected.sort(order);
+
+            assertThat(index.search(query, radius, limit))
+                    .containsExactlyElementsOf(expected.subList(0, Math.min(limit, expected.size())));
+        }
+    }
+
+    @Test
+    @DisplayName("put/remove: 같은 id 재등록은 덮어쓰고, 제거 후에는 조회되지 않음")
+    void putAndRemove() {
+        PhashIndex index = new PhashIndex();
+        assertThat(index.nearest(0L)).isEmpty();
+
+        index.put(1L, 0xFFL);
+        index.put(1L, 0L);
+        index.put(2L, 0L);
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.nearest(0L)).contains(new PhashIndex.Match(1L, 0));
+
+        assertThat(index.remove(1L)).isTrue();
+        assertThat(index.remove(1L)).isFalse();
+        assertThat(index.nearest(0L)).contains(new PhashIndex.Match(2L, 0));
+        assertThat(index.nearest(-1L)).contains(new PhashIndex.Match(2L, 64));
+    }
+}